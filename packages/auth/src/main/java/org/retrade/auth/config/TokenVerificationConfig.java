@@ -0,0 +1,19 @@
+package org.retrade.auth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.token.verification")
+public class TokenVerificationConfig {
+    private String accessTokenKey;
+    private int claimsCacheSize = 10000;
+    private int accountCacheSize = 5000;
+    private Duration accountCacheTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,18 @@
+package org.retrade.auth.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class AccountStatus {
+    private final String accountId;
+    private final String username;
+    private final List<String> roles;
+    private final boolean active;
+    private final boolean verified;
+}
@@ -0,0 +1,17 @@
+package org.retrade.auth.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class TokenClaims {
+    private final String username;
+    private final List<String> roles;
+    private final String tokenType;
+    private final String sessionId;
+}
@@ -0,0 +1,28 @@
+package org.retrade.auth.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class VerifiedUser {
+    private final String accountId;
+    private final String username;
+    private final List<String> roles;
+    private final boolean active;
+    private final boolean verified;
+
+    public static VerifiedUser of(TokenClaims claims, AccountStatus status) {
+        return VerifiedUser.builder()
+                .accountId(status.getAccountId())
+                .username(claims.getUsername())
+                .roles(claims.getRoles())
+                .active(status.isActive())
+                .verified(status.isVerified())
+                .build();
+    }
+}
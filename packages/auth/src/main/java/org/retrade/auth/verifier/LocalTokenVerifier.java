@@ -0,0 +1,139 @@
+package org.retrade.auth.verifier;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.auth.config.TokenVerificationConfig;
+import org.retrade.auth.model.AccountStatus;
+import org.retrade.auth.model.TokenClaims;
+import org.retrade.auth.model.VerifiedUser;
+import org.retrade.common.util.ExpiringCache;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalTokenVerifier {
+    private final TokenVerificationConfig tokenVerificationConfig;
+    private final RemoteTokenVerifier remoteTokenVerifier;
+    private JwtParser accessTokenParser;
+    private ExpiringCache<String, TokenClaims> claimsCache;
+    private ExpiringCache<String, AccountStatus> accountCache;
+    private ExpiringCache<String, VerifiedUser> remoteCache;
+
+    @PostConstruct
+    void init() {
+        var accessTokenKey = tokenVerificationConfig.getAccessTokenKey();
+        if (accessTokenKey != null && !accessTokenKey.isBlank()) {
+            accessTokenParser = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(accessTokenKey)))
+                    .build();
+        } else {
+            log.warn("No access token key configured, tokens will be verified remotely");
+        }
+        claimsCache = new ExpiringCache<>(tokenVerificationConfig.getClaimsCacheSize());
+        accountCache = new ExpiringCache<>(tokenVerificationConfig.getAccountCacheSize());
+        remoteCache = new ExpiringCache<>(tokenVerificationConfig.getClaimsCacheSize());
+    }
+
+    public Optional<VerifiedUser> verifyAccessToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        if (accessTokenParser == null) {
+            return verifyRemotely(token);
+        }
+        var claims = parseAccessToken(token);
+        if (claims.isEmpty()) {
+            return Optional.empty();
+        }
+        return getAccountStatus(claims.get().getUsername())
+                .map(status -> VerifiedUser.of(claims.get(), status));
+    }
+
+    public Optional<TokenClaims> parseAccessToken(String token) {
+        if (accessTokenParser == null || token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        var cacheKey = hash(token);
+        var cached = claimsCache.get(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            var body = accessTokenParser.parseClaimsJws(token).getBody();
+            if (!(body.get("user") instanceof Map<?, ?> user) || !(user.get("username") instanceof String username)) {
+                return Optional.empty();
+            }
+            var roles = user.get("roles") instanceof List<?> values
+                    ? values.stream().map(String::valueOf).toList()
+                    : List.<String>of();
+            var claims = TokenClaims.builder()
+                    .username(username)
+                    .roles(roles)
+                    .tokenType(user.get("tokenType") != null ? user.get("tokenType").toString() : null)
+                    .sessionId(user.get("sessionId") != null ? user.get("sessionId").toString() : null)
+                    .build();
+            if (body.getExpiration() != null) {
+                claimsCache.put(cacheKey, claims, body.getExpiration().getTime());
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    public Optional<AccountStatus> getAccountStatus(String username) {
+        var cached = accountCache.get(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            var status = remoteTokenVerifier.getAccountStatus(username);
+            status.ifPresent(value -> accountCache.put(username, value, tokenVerificationConfig.getAccountCacheTtl()));
+            return status;
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load account status for {}", username, ex);
+            return Optional.empty();
+        }
+    }
+
+
+    private Optional<VerifiedUser> verifyRemotely(String token) {
+        var cacheKey = hash(token);
+        var cached = remoteCache.get(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            var user = remoteTokenVerifier.verifyAccessToken(token);
+            user.ifPresent(value -> remoteCache.put(cacheKey, value, tokenVerificationConfig.getAccountCacheTtl()));
+            return user;
+        } catch (RuntimeException ex) {
+            log.warn("Remote token verification failed", ex);
+            return Optional.empty();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
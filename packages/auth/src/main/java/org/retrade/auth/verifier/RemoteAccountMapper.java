@@ -0,0 +1,66 @@
+package org.retrade.auth.verifier;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+import org.retrade.auth.model.AccountStatus;
+import org.retrade.auth.model.VerifiedUser;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maps the authentication gRPC responses to the auth models. Every service generates its own copy of the
+ * authentication proto, so the shared {@code is_valid}/{@code user_info} fields are read through the descriptor.
+ */
+public final class RemoteAccountMapper {
+    private RemoteAccountMapper() {
+    }
+
+    public static Optional<VerifiedUser> toVerifiedUser(Message response) {
+        return userInfo(response).map(userInfo -> VerifiedUser.builder()
+                .accountId(stringField(userInfo, "account_id"))
+                .username(stringField(userInfo, "username"))
+                .roles(rolesField(userInfo))
+                .active(booleanField(userInfo, "is_active"))
+                .verified(booleanField(userInfo, "is_verified"))
+                .build());
+    }
+
+    public static Optional<AccountStatus> toAccountStatus(Message response) {
+        return userInfo(response).map(userInfo -> AccountStatus.builder()
+                .accountId(stringField(userInfo, "account_id"))
+                .username(stringField(userInfo, "username"))
+                .roles(rolesField(userInfo))
+                .active(booleanField(userInfo, "is_active"))
+                .verified(booleanField(userInfo, "is_verified"))
+                .build());
+    }
+
+    private static Optional<Message> userInfo(Message response) {
+        if (!booleanField(response, "is_valid")) {
+            return Optional.empty();
+        }
+        return Optional.of((Message) response.getField(field(response, "user_info")));
+    }
+
+    private static String stringField(Message message, String name) {
+        return (String) message.getField(field(message, name));
+    }
+
+    private static boolean booleanField(Message message, String name) {
+        return (Boolean) message.getField(field(message, name));
+    }
+
+    private static List<String> rolesField(Message message) {
+        var roles = (List<?>) message.getField(field(message, "roles"));
+        return roles.stream().map(String::valueOf).toList();
+    }
+
+    private static Descriptors.FieldDescriptor field(Message message, String name) {
+        var field = message.getDescriptorForType().findFieldByName(name);
+        if (field == null) {
+            throw new IllegalArgumentException(message.getDescriptorForType().getFullName() + " has no field " + name);
+        }
+        return field;
+    }
+}
@@ -0,0 +1,12 @@
+package org.retrade.auth.verifier;
+
+import org.retrade.auth.model.AccountStatus;
+import org.retrade.auth.model.VerifiedUser;
+
+import java.util.Optional;
+
+public interface RemoteTokenVerifier {
+    Optional<VerifiedUser> verifyAccessToken(String token);
+
+    Optional<AccountStatus> getAccountStatus(String username);
+}
@@ -0,0 +1,46 @@
+package org.retrade.common.model.dto.request;
+
+import lombok.Getter;
+import org.retrade.common.model.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+@Getter
+public class KeysetCursor {
+    public static final String SORT_FIELD = "createdDate";
+    public static final String TIE_BREAKER_FIELD = "id";
+    private static final String SEPARATOR = "|";
+
+    private final Timestamp createdDate;
+    private final String id;
+
+    public KeysetCursor(Timestamp createdDate, String id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    public String encode() {
+        var raw = createdDate.getTime() + SEPARATOR + createdDate.getNanos() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split("\\|", 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            var createdDate = new Timestamp(Long.parseLong(parts[0]));
+            createdDate.setNanos(Integer.parseInt(parts[1]));
+            return new KeysetCursor(createdDate, parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("The cursor is not valid", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.retrade.common.model.dto.request;
+
+import lombok.Getter;
+import org.retrade.common.model.constant.QueryOperatorEnum;
+import org.retrade.common.model.exception.ValidationException;
+import org.retrade.common.util.TextUtils;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Getter
+public final class QueryPlan {
+    private static final Pattern QUERY_PATTERN = Pattern.compile("([^&=]+)=([^&]+)");
+    private static final Pattern RANGE_PATTERN = Pattern.compile("\\.\\.");
+    private static final int MAX_CACHED_PLANS = 1024;
+    private static final Map<String, QueryPlan> PLAN_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, QueryPlan> eldest) {
+                    return size() > MAX_CACHED_PLANS;
+                }
+            });
+
+    private final List<Condition> conditions;
+
+    private QueryPlan(List<Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    public static QueryPlan compile(String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return new QueryPlan(List.of());
+        }
+        var cached = PLAN_CACHE.get(queryString);
+        if (cached != null) {
+            return cached;
+        }
+        var plan = parse(queryString);
+        PLAN_CACHE.put(queryString, plan);
+        return plan;
+    }
+
+    public Map<String, QueryFieldWrapper> toSearch() {
+        Map<String, QueryFieldWrapper> search = new HashMap<>();
+        for (Condition condition : conditions) {
+            search.put(condition.getField(), QueryFieldWrapper.builder()
+                    .operator(condition.getOperator())
+                    .value(condition.getValue())
+                    .build());
+        }
+        return search;
+    }
+
+    private static QueryPlan parse(String queryString) {
+        Map<String, Condition> conditions = new LinkedHashMap<>();
+        try {
+            String decodedQuery = URLDecoder.decode(queryString, StandardCharsets.UTF_8);
+            Matcher matcher = QUERY_PATTERN.matcher(decodedQuery);
+            while (matcher.find()) {
+                String field = TextUtils.kebabToCamel(matcher.group(1));
+                conditions.put(field, parseCondition(field, matcher.group(2)));
+            }
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValidationException("The query is not valid", e);
+        }
+        return new QueryPlan(List.copyOf(conditions.values()));
+    }
+
+    private static Condition parseCondition(String field, String value) {
+        if (value.startsWith("~")) {
+            return new Condition(field, QueryOperatorEnum.LIKE, value.substring(1));
+        } else if (value.startsWith(">=")) {
+            return new Condition(field, QueryOperatorEnum.GTE, value.substring(2));
+        } else if (value.startsWith("<=")) {
+            return new Condition(field, QueryOperatorEnum.LTE, value.substring(2));
+        } else if (value.startsWith(">")) {
+            return new Condition(field, QueryOperatorEnum.GT, value.substring(1));
+        } else if (value.startsWith("<")) {
+            return new Condition(field, QueryOperatorEnum.LT, value.substring(1));
+        } else if (value.startsWith("!")) {
+            return new Condition(field, QueryOperatorEnum.NE, value.substring(1));
+        } else if (value.contains(",")) {
+            return new Condition(field, QueryOperatorEnum.IN, List.of(value.split(",")));
+        } else if (value.contains("..")) {
+            String[] range = RANGE_PATTERN.split(value);
+            if (range.length != 2 || range[0].isEmpty() || range[1].isEmpty()) {
+                throw new ValidationException("The range of field " + field + " is not valid");
+            }
+            return new Condition(field, QueryOperatorEnum.BETWEEN, List.of(range[0], range[1]));
+        }
+        return new Condition(field, QueryOperatorEnum.EQ, value);
+    }
+
+    @Getter
+    public static final class Condition {
+        private final String field;
+        private final QueryOperatorEnum operator;
+        private final Object value;
+
+        private Condition(String field, QueryOperatorEnum operator, Object value) {
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+        }
+    }
+}
@@ -1,31 +1,30 @@
 package org.retrade.common.model.dto.request;
 
-import jakarta.validation.ValidationException;
-import org.retrade.common.model.constant.QueryOperatorEnum;
 import org.retrade.common.util.TextUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class QueryWrapper {
     private final Map<String, QueryFieldWrapper> search;
     private Pageable pageable;
+    private boolean keyset;
+    private KeysetCursor cursor;
+    private boolean skipCount;
     public QueryWrapper() {
         this.search = new HashMap<>();
     }
 
-    private QueryWrapper(Map<String, QueryFieldWrapper> search, Pageable pageable) {
+    private QueryWrapper(Map<String, QueryFieldWrapper> search, Pageable pageable, boolean keyset, KeysetCursor cursor, boolean skipCount) {
         this.search = search;
         this.pageable = pageable;
+        this.keyset = keyset;
+        this.cursor = cursor;
+        this.skipCount = skipCount;
     }
 
     public Map<String, QueryFieldWrapper> search() {
@@ -39,64 +38,31 @@ public class QueryWrapper {
     public Pageable pagination () {
         return this.pageable;
     }
+
+    public boolean isKeyset() {
+        return this.keyset;
+    }
+
+    public KeysetCursor cursor() {
+        return this.cursor;
+    }
+
+    public boolean isSkipCount() {
+        return this.skipCount;
+    }
+
     public static class QueryWrapperBuilder {
         private final Map<String, QueryFieldWrapper> search;
         private Pageable pageable;
+        private boolean keyset;
+        private KeysetCursor cursor;
+        private boolean skipCount;
         public QueryWrapperBuilder() {
             this.search = new HashMap<>();
         }
         public QueryWrapperBuilder search(String queryString) {
             if (queryString == null || queryString.isEmpty()) return this;
-            try {
-                String decodedQuery = URLDecoder.decode(queryString, StandardCharsets.UTF_8);
-                Pattern pattern = Pattern.compile("([^&=]+)=([^&]+)");
-                Matcher matcher = pattern.matcher(decodedQuery);
-                while (matcher.find()) {
-                    String key = matcher.group(1);
-                    String value = matcher.group(2);
-
-                    String camelKey = TextUtils.kebabToCamel(key);
-                    QueryOperatorEnum type = QueryOperatorEnum.EQ;
-                    Object queryValue = value;
-
-                    if (value.startsWith("~")) {
-                        type = QueryOperatorEnum.LIKE;
-                        queryValue = value.substring(1);
-                    } else if (value.startsWith(">=")) {
-                        type = QueryOperatorEnum.GTE;
-                        queryValue = value.substring(2);
-                    } else if (value.startsWith("<=")) {
-                        type = QueryOperatorEnum.LTE;
-                        queryValue = value.substring(2);
-                    } else if (value.startsWith(">")) {
-                        type = QueryOperatorEnum.GT;
-                        queryValue = value.substring(1);
-                    } else if (value.startsWith("<")) {
-                        type = QueryOperatorEnum.LT;
-                        queryValue = value.substring(1);
-                    } else if (value.startsWith("!")) {
-                        type = QueryOperatorEnum.NE;
-                        queryValue = value.substring(1);
-                    } else if (value.contains(",")) {
-                        type = QueryOperatorEnum.IN;
-                        queryValue = Arrays.asList(value.split(","));
-                    } else if (value.contains("..")) {
-                        type = QueryOperatorEnum.BETWEEN;
-                        String[] range = value.split("\\.\\.");
-                        if (range.length == 2) {
-                            queryValue = Arrays.asList(range[0], range[1]);
-                        }
-                    }
-
-                    this.search.put(camelKey, QueryFieldWrapper.builder()
-                            .operator(type)
-                            .value(queryValue)
-                            .build());
-                }
-
-            } catch (Exception e) {
-                throw new ValidationException("The query is not valid", e);
-            }
+            this.search.putAll(QueryPlan.compile(queryString).toSearch());
             return this;
         }
 
@@ -127,11 +93,23 @@ public class QueryWrapper {
             return this;
         }
 
+        public QueryWrapperBuilder cursor(String cursorToken) {
+            if (cursorToken == null) return this;
+            this.keyset = true;
+            this.cursor = KeysetCursor.decode(cursorToken);
+            return this;
+        }
+
+        public QueryWrapperBuilder skipCount(Boolean skipCount) {
+            this.skipCount = Boolean.TRUE.equals(skipCount);
+            return this;
+        }
+
         public QueryWrapper build() {
             if (this.pageable == null) {
                 this.pageable = PageRequest.of(0, 10);
             }
-            return new QueryWrapper(search, pageable);
+            return new QueryWrapper(search, pageable, keyset, cursor, skipCount);
         }
     }
     public static QueryWrapperBuilder builder() {
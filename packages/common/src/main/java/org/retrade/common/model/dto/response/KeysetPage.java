@@ -0,0 +1,46 @@
+package org.retrade.common.model.dto.response;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+public class KeysetPage<T> extends PageImpl<T> {
+    public static final long UNKNOWN_TOTAL = -1L;
+    private final String nextCursor;
+    private final boolean counted;
+
+    public KeysetPage(List<T> content, Pageable pageable, long total, String nextCursor) {
+        super(content, pageable, total == UNKNOWN_TOTAL ? content.size() : total);
+        this.nextCursor = nextCursor;
+        this.counted = total != UNKNOWN_TOTAL;
+    }
+
+    @Override
+    public long getTotalElements() {
+        return counted ? super.getTotalElements() : UNKNOWN_TOTAL;
+    }
+
+    @Override
+    public int getTotalPages() {
+        return counted ? super.getTotalPages() : (int) UNKNOWN_TOTAL;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext();
+    }
+
+    @Override
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetPage<>(getConvertedContent(converter), getPageable(), counted ? super.getTotalElements() : UNKNOWN_TOTAL, nextCursor);
+    }
+}
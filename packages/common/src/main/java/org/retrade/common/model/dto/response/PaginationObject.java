@@ -10,4 +10,6 @@ public class PaginationObject {
     private int size;
     private int totalPages;
     private int totalElements;
+    private String nextCursor;
+    private boolean hasNext;
 }
@@ -14,17 +14,25 @@ public class PaginationWrapper <T extends List<?>> {
     private final int size;
     private final int totalPages;
     private final int totalElements;
+    private final String nextCursor;
+    private final boolean hasNext;
 
     public PaginationWrapper(T data, int page, int size, int totalPages, int totalElements) {
+        this(data, page, size, totalPages, totalElements, null, page + 1 < totalPages);
+    }
+
+    public PaginationWrapper(T data, int page, int size, int totalPages, int totalElements, String nextCursor, boolean hasNext) {
         this.data = data;
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
         this.totalPages = totalPages;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
     }
 
     private PaginationWrapper(Builder<T> builder) {
-        this(builder.data, builder.page, builder.size, builder.totalPages, builder.totalElements);
+        this(builder.data, builder.page, builder.size, builder.totalPages, builder.totalElements, builder.nextCursor, builder.hasNext);
     }
 
     public PaginationObject exportPaginationInfo () {
@@ -33,6 +41,8 @@ public class PaginationWrapper <T extends List<?>> {
                 .size(size)
                 .totalPages(totalPages)
                 .totalElements(totalElements)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
                 .build();
     }
 
@@ -42,6 +52,8 @@ public class PaginationWrapper <T extends List<?>> {
         private int size;
         private int totalPages;
         private int totalElements;
+        private String nextCursor;
+        private boolean hasNext;
         public Builder<T> setData(T data) {
             this.data = data;
             return this;
@@ -62,11 +74,23 @@ public class PaginationWrapper <T extends List<?>> {
             this.totalElements = totalElements;
             return this;
         }
+        public Builder<T> setNextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+        public Builder<T> setHasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+            return this;
+        }
         public Builder<T> setPaginationInfo (Page<?> page) {
             this.page = page.getNumber();
             this.size = page.getSize();
             this.totalElements = (int) page.getTotalElements();
             this.totalPages = page.getTotalPages();
+            this.hasNext = page.hasNext();
+            if (page instanceof KeysetPage<?> keysetPage) {
+                this.nextCursor = keysetPage.getNextCursor();
+            }
             return this;
         }
         public Builder<T> setPaginationInfoEmpty () {
@@ -74,6 +98,8 @@ public class PaginationWrapper <T extends List<?>> {
             this.size = 0;
             this.totalElements = 0;
             this.totalPages = 0;
+            this.nextCursor = null;
+            this.hasNext = false;
             return this;
         }
         public PaginationWrapper<T> build() {
@@ -4,23 +4,24 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.retrade.common.model.dto.request.KeysetCursor;
 import org.retrade.common.model.dto.request.QueryFieldWrapper;
 import org.retrade.common.model.dto.request.QueryWrapper;
+import org.retrade.common.model.dto.response.KeysetPage;
 import org.retrade.common.model.dto.response.PaginationWrapper;
+import org.retrade.common.model.entity.BaseSQLEntity;
 import org.springframework.cglib.core.internal.Function;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -46,46 +47,31 @@ public interface BaseJpaRepository <T, ID extends Serializable> extends JpaRepos
             Map<String, QueryFieldWrapper> queryWrapper
     ) {
         return queryWrapper.entrySet().stream().map(entry -> {
-            String field = entry.getKey();
             QueryFieldWrapper wrapper = entry.getValue();
+            EntityFieldMetadata metadata = EntityFieldMetadata.of(root, entry.getKey());
+            metadata.validate(wrapper.getOperator());
             Object value = wrapper.getValue();
 
             return switch (wrapper.getOperator()) {
-                case EQ -> buildComparisonPredicate(criteriaBuilder, root, field, value, ComparisonOperator.EQ);
-                case NE -> criteriaBuilder.notEqual(root.get(field), value);
-                case LIKE -> criteriaBuilder.like(root.get(field), "%" + value.toString() + "%");
+                case EQ -> buildComparisonPredicate(criteriaBuilder, root, metadata, value, ComparisonOperator.EQ);
+                case NE -> criteriaBuilder.notEqual(root.get(metadata.getField()), metadata.convert(value));
+                case LIKE -> criteriaBuilder.like(root.get(metadata.getField()), "%" + value.toString() + "%");
 
-                case GT -> buildComparisonPredicate(criteriaBuilder, root, field, value, ComparisonOperator.GT);
-                case GTE -> buildComparisonPredicate(criteriaBuilder, root, field, value, ComparisonOperator.GTE);
-                case LT -> buildComparisonPredicate(criteriaBuilder, root, field, value, ComparisonOperator.LT);
-                case LTE -> buildComparisonPredicate(criteriaBuilder, root, field, value, ComparisonOperator.LTE);
+                case GT -> buildComparisonPredicate(criteriaBuilder, root, metadata, value, ComparisonOperator.GT);
+                case GTE -> buildComparisonPredicate(criteriaBuilder, root, metadata, value, ComparisonOperator.GTE);
+                case LT -> buildComparisonPredicate(criteriaBuilder, root, metadata, value, ComparisonOperator.LT);
+                case LTE -> buildComparisonPredicate(criteriaBuilder, root, metadata, value, ComparisonOperator.LTE);
 
                 case IN -> {
                     if (value instanceof Collection<?> collection) {
-                        if ("id".equals(field)) {
-                            yield root.get(field).in(collection.stream().map(val -> Long.parseLong(val.toString())).toList());
-                        } else {
-                            yield root.get(field).in(collection.stream().map(Object::toString).toList());
-                        }
+                        yield root.get(metadata.getField()).in(collection.stream().map(metadata::convert).toList());
                     }
                     yield criteriaBuilder.conjunction();
                 }
 
                 case BETWEEN -> {
                     if (value instanceof List<?> range && range.size() == 2) {
-                        if ("id".equals(field)) {
-                            yield criteriaBuilder.between(
-                                    root.get(field).as(Long.class),
-                                    Long.parseLong(range.get(0).toString()),
-                                    Long.parseLong(range.get(1).toString())
-                            );
-                        } else {
-                            yield criteriaBuilder.between(
-                                    root.get(field),
-                                    range.get(0).toString(),
-                                    range.get(1).toString()
-                            );
-                        }
+                        yield buildBetweenPredicate(criteriaBuilder, root, metadata, range.get(0), range.get(1));
                     }
                     yield criteriaBuilder.conjunction();
                 }
@@ -95,49 +81,28 @@ public interface BaseJpaRepository <T, ID extends Serializable> extends JpaRepos
         }).toArray(Predicate[]::new);
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
     private Predicate buildComparisonPredicate(
             CriteriaBuilder cb,
             Root<?> root,
-            String field,
+            EntityFieldMetadata metadata,
             Object value,
             ComparisonOperator op
     ) {
-        Path<?> path = root.get(field);
-        Class<?> fieldType = path.getJavaType();
-
-        try {
-            if (fieldType.equals(Boolean.class)) {
-                return op.build(cb, root.get(field), Boolean.parseBoolean(value.toString()));
-            } else if (fieldType.equals(Integer.class)) {
-                return op.build(cb, root.get(field), Integer.parseInt(value.toString()));
-            } else if (fieldType.equals(Long.class)) {
-                return op.build(cb, root.get(field), Long.parseLong(value.toString()));
-            } else if (fieldType.equals(Float.class)) {
-                return op.build(cb, root.get(field), Float.parseFloat(value.toString()));
-            } else if (fieldType.equals(Double.class)) {
-                return op.build(cb, root.get(field), Double.parseDouble(value.toString()));
-            } else if (fieldType.equals(BigDecimal.class)) {
-                return op.build(cb, root.get(field), new BigDecimal(value.toString()));
-            } else if (fieldType.equals(LocalDate.class)) {
-                return op.build(cb, root.get(field), LocalDate.parse(value.toString(), DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-            } else if (fieldType.equals(LocalDateTime.class)) {
-                String dateStr = value.toString();
-                DateTimeFormatter formatter;
-                if (dateStr.contains(".")) {
-                    int len = dateStr.substring(dateStr.indexOf('.') + 1).length();
-                    formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss" + (len == 3 ? ".SSS" : len == 6 ? ".SSSSSS" : ""));
-                } else {
-                    formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-                }
-                return op.build(cb, root.get(field), LocalDateTime.parse(dateStr, formatter));
-            } else if (fieldType.equals(Instant.class)) {
-                return op.build(cb, root.get(field), Instant.parse(value.toString()));
-            } else {
-                return op.build(cb, root.get(field), value.toString());
-            }
-        } catch (Exception e) {
-            return cb.conjunction();
-        }
+        Path path = root.get(metadata.getField());
+        return op.build(cb, path, (Comparable) metadata.convert(value));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate buildBetweenPredicate(
+            CriteriaBuilder cb,
+            Root<?> root,
+            EntityFieldMetadata metadata,
+            Object lower,
+            Object upper
+    ) {
+        Path path = root.get(metadata.getField());
+        return cb.between(path, (Comparable) metadata.convert(lower), (Comparable) metadata.convert(upper));
     }
 
 
@@ -187,6 +152,9 @@ public interface BaseJpaRepository <T, ID extends Serializable> extends JpaRepos
         return findAll(query.apply(param), pageable);
     }
     default Page<T> query(QueryWrapper queryWrapper, Function<Map<String, QueryFieldWrapper>, Specification<T>> query) {
+        if (queryWrapper.isKeyset()) {
+            return seek(queryWrapper, query);
+        }
         return query(queryWrapper.search(), queryWrapper.pagination(), query);
     }
     default Page<T> query(Specification<T> query, Pageable pageable) {
@@ -197,6 +165,56 @@ public interface BaseJpaRepository <T, ID extends Serializable> extends JpaRepos
         return mapper.apply(entityResult);
     }
     default <D extends List<?>> PaginationWrapper<D> query(QueryWrapper queryWrapper, Function<Map<String, QueryFieldWrapper>, Specification<T>> query, Function<Page<T>, PaginationWrapper<D>> mapper) {
+        if (queryWrapper.isKeyset()) {
+            return mapper.apply(seek(queryWrapper, query));
+        }
         return query(queryWrapper.search(), queryWrapper.pagination(), query, mapper);
     }
+
+    default KeysetPage<T> seek(QueryWrapper queryWrapper, Function<Map<String, QueryFieldWrapper>, Specification<T>> query) {
+        int size = queryWrapper.pagination().getPageSize();
+        var requestedOrder = queryWrapper.pagination().getSort().getOrderFor(KeysetCursor.SORT_FIELD);
+        var direction = requestedOrder != null ? requestedOrder.getDirection() : Sort.Direction.DESC;
+        var sort = Sort.by(direction, KeysetCursor.SORT_FIELD, KeysetCursor.TIE_BREAKER_FIELD);
+        Specification<T> baseSpec = query.apply(queryWrapper.search());
+        Specification<T> seekSpec = baseSpec.and(seekSpecification(queryWrapper.cursor(), direction));
+        List<T> rows = this.<T, List<T>>findBy(seekSpec, q -> q.sortBy(sort).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            if (!(content.get(content.size() - 1) instanceof BaseSQLEntity last)) {
+                throw new IllegalStateException("Keyset pagination requires entities extending BaseSQLEntity");
+            }
+            nextCursor = new KeysetCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+        long total = queryWrapper.isSkipCount() ? KeysetPage.UNKNOWN_TOTAL : count(baseSpec);
+        return new KeysetPage<>(content, PageRequest.of(0, size, sort), total, nextCursor);
+    }
+
+    private Specification<T> seekSpecification(KeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return criteriaBuilder.conjunction();
+            }
+            Path<Timestamp> createdDate = root.get(KeysetCursor.SORT_FIELD);
+            Path<String> id = root.get(KeysetCursor.TIE_BREAKER_FIELD);
+            if (direction.isAscending()) {
+                return criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(createdDate, cursor.getCreatedDate()),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(createdDate, cursor.getCreatedDate()),
+                                criteriaBuilder.greaterThan(id, cursor.getId())
+                        )
+                );
+            }
+            return criteriaBuilder.or(
+                    criteriaBuilder.lessThan(createdDate, cursor.getCreatedDate()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(createdDate, cursor.getCreatedDate()),
+                            criteriaBuilder.lessThan(id, cursor.getId())
+                    )
+            );
+        };
+    }
 }
@@ -0,0 +1,107 @@
+package org.retrade.common.repository;
+
+import jakarta.persistence.criteria.Root;
+import lombok.Getter;
+import org.retrade.common.model.constant.QueryOperatorEnum;
+import org.retrade.common.model.exception.ValidationException;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Getter
+public final class EntityFieldMetadata {
+    private static final Map<Class<?>, Map<String, EntityFieldMetadata>> CACHE = new ConcurrentHashMap<>();
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .optionalStart()
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .optionalEnd()
+            .toFormatter();
+    private static final Set<QueryOperatorEnum> EQUALITY_OPERATORS = EnumSet.of(
+            QueryOperatorEnum.EQ, QueryOperatorEnum.NE, QueryOperatorEnum.IN, QueryOperatorEnum.NOT_IN);
+    private static final Set<QueryOperatorEnum> ORDERED_OPERATORS = EnumSet.complementOf(EnumSet.of(QueryOperatorEnum.LIKE));
+
+    private final String field;
+    private final Class<?> javaType;
+    private final Set<QueryOperatorEnum> operators;
+    private final Function<String, ? extends Comparable<?>> converter;
+
+    private EntityFieldMetadata(String field, Class<?> javaType, Set<QueryOperatorEnum> operators, Function<String, ? extends Comparable<?>> converter) {
+        this.field = field;
+        this.javaType = javaType;
+        this.operators = operators;
+        this.converter = converter;
+    }
+
+    public static EntityFieldMetadata of(Root<?> root, String field) {
+        return CACHE.computeIfAbsent(root.getJavaType(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(field, key -> resolve(root, key));
+    }
+
+    public void validate(QueryOperatorEnum operator) {
+        if (!operators.contains(operator)) {
+            throw new ValidationException("Operator " + operator + " is not supported for field " + field);
+        }
+    }
+
+    public Comparable<?> convert(Object value) {
+        if (value == null) {
+            throw new ValidationException("Missing value for field " + field);
+        }
+        try {
+            return converter.apply(value.toString());
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid value for field " + field + ": " + value, e);
+        }
+    }
+
+    private static EntityFieldMetadata resolve(Root<?> root, String field) {
+        Class<?> javaType;
+        try {
+            javaType = root.get(field).getJavaType();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new ValidationException("Unknown query field: " + field, e);
+        }
+        if (javaType.equals(Boolean.class) || javaType.equals(boolean.class)) {
+            return new EntityFieldMetadata(field, javaType, EQUALITY_OPERATORS, Boolean::parseBoolean);
+        } else if (javaType.equals(Integer.class) || javaType.equals(int.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, Integer::parseInt);
+        } else if (javaType.equals(Long.class) || javaType.equals(long.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, Long::parseLong);
+        } else if (javaType.equals(Float.class) || javaType.equals(float.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, Float::parseFloat);
+        } else if (javaType.equals(Double.class) || javaType.equals(double.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, Double::parseDouble);
+        } else if (javaType.equals(BigDecimal.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, BigDecimal::new);
+        } else if (javaType.equals(LocalDate.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, value -> LocalDate.parse(value, DATE_FORMATTER));
+        } else if (javaType.equals(LocalDateTime.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, value -> LocalDateTime.parse(value, DATE_TIME_FORMATTER));
+        } else if (javaType.equals(Timestamp.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, value -> Timestamp.valueOf(LocalDateTime.parse(value, DATE_TIME_FORMATTER)));
+        } else if (javaType.equals(Instant.class)) {
+            return new EntityFieldMetadata(field, javaType, ORDERED_OPERATORS, Instant::parse);
+        } else if (javaType.isEnum()) {
+            return new EntityFieldMetadata(field, javaType, EQUALITY_OPERATORS, enumConverter(javaType));
+        }
+        return new EntityFieldMetadata(field, javaType, EnumSet.allOf(QueryOperatorEnum.class), value -> value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, ? extends Comparable<?>> enumConverter(Class<?> javaType) {
+        return value -> Enum.valueOf((Class) javaType, value.trim().toUpperCase());
+    }
+}
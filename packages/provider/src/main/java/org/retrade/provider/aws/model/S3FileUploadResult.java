@@ -0,0 +1,16 @@
+package org.retrade.provider.aws.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class S3FileUploadResult {
+    private String fileName;
+    private S3FileResponse response;
+    private String error;
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
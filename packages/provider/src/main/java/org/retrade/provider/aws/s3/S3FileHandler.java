@@ -3,13 +3,13 @@ package org.retrade.provider.aws.s3;
 import org.retrade.provider.aws.config.AWSConfigValue;
 import org.retrade.provider.aws.model.S3FileRequest;
 import org.retrade.provider.aws.model.S3FileResponse;
+import org.retrade.provider.aws.model.S3FileUploadResult;
 import org.retrade.provider.aws.util.FileUtils;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.ObjectCannedACL;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -19,23 +19,29 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 
 public class S3FileHandler {
+    private static final int DEFAULT_MAX_CONCURRENT_UPLOADS = 32;
     private final S3Client s3Client;
     private final S3AsyncClient s3AsyncClient;
     private final AWSConfigValue awsConfig;
+    private final Semaphore uploadPermits;
 
     public S3FileHandler(S3Client s3Client, S3AsyncClient s3AsyncClient, AWSConfigValue awsConfig) {
+        this(s3Client, s3AsyncClient, awsConfig, DEFAULT_MAX_CONCURRENT_UPLOADS);
+    }
+
+    public S3FileHandler(S3Client s3Client, S3AsyncClient s3AsyncClient, AWSConfigValue awsConfig, int maxConcurrentUploads) {
         this.s3Client = s3Client;
         this.s3AsyncClient = s3AsyncClient;
         this.awsConfig = awsConfig;
+        this.uploadPermits = new Semaphore(Math.max(1, maxConcurrentUploads));
     }
 
     public S3FileResponse upload(S3FileRequest file) {
@@ -77,6 +83,101 @@ public class S3FileHandler {
         }
     }
 
+    public String createMultipartUpload(String fileName, String contentType) {
+        try {
+            return s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                            .bucket(awsConfig.getBucket())
+                            .key(fileName)
+                            .contentType(contentType)
+                            .acl(ObjectCannedACL.PUBLIC_READ)
+                            .build())
+                    .uploadId();
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+    }
+
+    public CompletedPart uploadPart(String fileName, String uploadId, int partNumber, byte[] data, int length) {
+        try {
+            var response = s3Client.uploadPart(UploadPartRequest.builder()
+                            .bucket(awsConfig.getBucket())
+                            .key(fileName)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber)
+                            .contentLength((long) length)
+                            .build(),
+                    RequestBody.fromInputStream(new ByteArrayInputStream(data, 0, length), length));
+            return CompletedPart.builder()
+                    .partNumber(partNumber)
+                    .eTag(response.eTag())
+                    .build();
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+    }
+
+    public List<Part> listParts(String fileName, String uploadId) {
+        try {
+            List<Part> parts = new ArrayList<>();
+            s3Client.listPartsPaginator(ListPartsRequest.builder()
+                            .bucket(awsConfig.getBucket())
+                            .key(fileName)
+                            .uploadId(uploadId)
+                            .build())
+                    .forEach(page -> parts.addAll(page.parts()));
+            parts.sort(Comparator.comparing(Part::partNumber));
+            return parts;
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+    }
+
+    public S3FileResponse completeMultipartUpload(String fileName, String uploadId) {
+        var parts = listParts(fileName, uploadId).stream()
+                .map(part -> CompletedPart.builder()
+                        .partNumber(part.partNumber())
+                        .eTag(part.eTag())
+                        .build())
+                .toList();
+        try {
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(awsConfig.getBucket())
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            return S3FileResponse.builder()
+                    .fileName(fileName)
+                    .fileUrl(generatePublicUrl(fileName))
+                    .build();
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+    }
+
+    public void abortMultipartUpload(String fileName, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(awsConfig.getBucket())
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+    }
+
+    public void delete(String fileName) {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder()
+                    .bucket(awsConfig.getBucket())
+                    .key(fileName)
+                    .build());
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+    }
+
     public File downloadFile(String fileUrl) {
         try {
             var uri = new URI(fileUrl);
@@ -91,18 +192,17 @@ public class S3FileHandler {
         }
     }
 
-    public Set<S3FileResponse> uploadBulkFile(List<S3FileRequest> files) {
-        try (ExecutorService executorService = Executors.newFixedThreadPool(10)){
-            return files.stream()
-                    .map(file -> uploadFileAsync(file, executorService)
-                            .exceptionally(ex -> {
-                                System.err.println("Failed to upload file: " + file.getFileName());
-                                return null;
-                            }))
-                    .map(CompletableFuture::join)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toSet());
-        }
+    /**
+     * Starts every upload on the async client before joining any of them; in-flight requests are capped by a permit
+     * pool shared across callers. Results keep the order of the requests.
+     */
+    public List<S3FileUploadResult> uploadBulkFile(List<S3FileRequest> files) {
+        var futures = files.stream()
+                .map(this::uploadFileAsync)
+                .toList();
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
     }
     private String generatePublicUrl(String fileName) {
         return s3Client.utilities().getUrl(builder -> builder
@@ -110,24 +210,44 @@ public class S3FileHandler {
                         .key(fileName))
                 .toString();
     }
-    private CompletableFuture<S3FileResponse> uploadFileAsync(S3FileRequest file, ExecutorService executorService) {
+    private CompletableFuture<S3FileUploadResult> uploadFileAsync(S3FileRequest file) {
+        try {
+            uploadPermits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(failedResult(file, ex));
+        }
         try {
             PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                     .bucket(awsConfig.getBucket())
                     .key(file.getFileName())
                     .acl(ObjectCannedACL.PUBLIC_READ)
                     .build();
-            return s3AsyncClient.putObject(putObjectRequest,
-                            AsyncRequestBody.fromInputStream(new ByteArrayInputStream(file.getFile()), (long) file.getFile().length, executorService))
-                    .thenApply(response -> S3FileResponse.builder()
-                                .file(file.getFile())
+            return s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytesUnsafe(file.getFile()))
+                    .handle((response, ex) -> {
+                        uploadPermits.release();
+                        if (ex != null) {
+                            return failedResult(file, ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                        }
+                        return S3FileUploadResult.builder()
                                 .fileName(file.getFileName())
-                                .fileUrl(generatePublicUrl(file.getFileName()))
-                                .build());
+                                .response(S3FileResponse.builder()
+                                        .file(file.getFile())
+                                        .fileName(file.getFileName())
+                                        .fileUrl(generatePublicUrl(file.getFileName()))
+                                        .build())
+                                .build();
+                    });
         } catch (Exception ex) {
-            CompletableFuture<S3FileResponse> failedFuture = new CompletableFuture<>();
-            failedFuture.completeExceptionally(new RuntimeException("Failed to upload file: " + file.getFileName(), ex));
-            return failedFuture;
+            uploadPermits.release();
+            return CompletableFuture.completedFuture(failedResult(file, ex));
         }
     }
+
+    private S3FileUploadResult failedResult(S3FileRequest file, Throwable ex) {
+        return S3FileUploadResult.builder()
+                .fileName(file.getFileName())
+                .error(ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName())
+                .build();
+    }
 }
@@ -0,0 +1,141 @@
+package org.retrade.provider.aws.s3;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.retrade.provider.aws.config.AWSConfigValue;
+import org.retrade.provider.aws.model.S3FileRequest;
+import org.retrade.provider.aws.model.S3FileUploadResult;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Utilities;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3FileHandlerBulkUploadTest {
+    private static final long PUT_DELAY_MS = 200;
+
+    private final DelayedS3AsyncClient asyncClient = new DelayedS3AsyncClient();
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 50})
+    void uploadBulkFile_StartsAllUploadsBeforeJoining(int fileCount) {
+        var handler = new S3FileHandler(new UrlOnlyS3Client(), asyncClient, awsConfig(), 64);
+
+        long start = System.nanoTime();
+        var results = handler.uploadBulkFile(files(fileCount));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(fileCount, results.size());
+        assertTrue(results.stream().allMatch(S3FileUploadResult::isSuccess));
+        assertEquals(fileCount, asyncClient.maxInFlight.get());
+        // Chạy tuần tự sẽ mất fileCount * PUT_DELAY_MS, chạy song song chỉ khoảng một lần trễ
+        assertTrue(elapsedMs < PUT_DELAY_MS * 3,
+                "Uploading " + fileCount + " files took " + elapsedMs + " ms, sequential would take "
+                        + fileCount * PUT_DELAY_MS + " ms");
+    }
+
+    @Test
+    void uploadBulkFile_CapsInFlightUploadsAtThePermitCount() {
+        var handler = new S3FileHandler(new UrlOnlyS3Client(), asyncClient, awsConfig(), 5);
+
+        long start = System.nanoTime();
+        var results = handler.uploadBulkFile(files(20));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(results.stream().allMatch(S3FileUploadResult::isSuccess));
+        assertEquals(5, asyncClient.maxInFlight.get());
+        // 20 tệp với 5 lượt song song cần khoảng 4 lần trễ
+        assertTrue(elapsedMs >= PUT_DELAY_MS * 4 - 20, "Took " + elapsedMs + " ms");
+        assertTrue(elapsedMs < PUT_DELAY_MS * 7, "Took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void uploadBulkFile_ReportsFailuresPerFileInRequestOrder() {
+        var handler = new S3FileHandler(new UrlOnlyS3Client(), asyncClient, awsConfig(), 64);
+        asyncClient.failingKey = "file-1.jpg";
+
+        var results = handler.uploadBulkFile(files(3));
+
+        assertEquals(List.of("file-0.jpg", "file-1.jpg", "file-2.jpg"),
+                results.stream().map(S3FileUploadResult::getFileName).toList());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("S3 unavailable", results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals("https://retrade.s3.ap-southeast-1.amazonaws.com/file-2.jpg",
+                results.get(2).getResponse().getFileUrl());
+    }
+
+    private static List<S3FileRequest> files(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> S3FileRequest.builder()
+                        .fileName("file-" + i + ".jpg")
+                        .file(new byte[]{(byte) i})
+                        .build())
+                .toList();
+    }
+
+    private static AWSConfigValue awsConfig() {
+        var config = new AWSConfigValue();
+        config.setBucket("retrade");
+        config.setRegion("ap-southeast-1");
+        return config;
+    }
+
+    private static class DelayedS3AsyncClient implements S3AsyncClient {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private volatile String failingKey;
+
+        @Override
+        public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            var delayed = CompletableFuture.delayedExecutor(PUT_DELAY_MS, TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                if (request.key().equals(failingKey)) {
+                    throw new IllegalStateException("S3 unavailable");
+                }
+                return PutObjectResponse.builder().eTag(request.key()).build();
+            }, delayed);
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class UrlOnlyS3Client implements S3Client {
+        private final S3Utilities utilities = S3Utilities.builder().region(Region.AP_SOUTHEAST_1).build();
+
+        @Override
+        public S3Utilities utilities() {
+            return utilities;
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
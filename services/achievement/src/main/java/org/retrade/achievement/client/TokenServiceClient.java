@@ -6,16 +6,21 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.retrade.auth.model.AccountStatus;
+import org.retrade.auth.model.VerifiedUser;
+import org.retrade.auth.verifier.RemoteAccountMapper;
+import org.retrade.auth.verifier.RemoteTokenVerifier;
 import org.retrade.proto.authentication.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class TokenServiceClient {
+public class TokenServiceClient implements RemoteTokenVerifier {
     @Value("${grpc.client.main-service.host:localhost}")
     private String mainServiceHost;
 
@@ -32,6 +37,22 @@ public class TokenServiceClient {
                 .build());
     }
 
+    public GetAccountResponse getAccountInfoByUsername(String username) {
+        return blockingStub.getUserAccountByUserName(UsernameRequest.newBuilder()
+                .setUsername(username)
+                .build());
+    }
+
+    @Override
+    public Optional<VerifiedUser> verifyAccessToken(String token) {
+        return RemoteAccountMapper.toVerifiedUser(verifyToken(token, TokenType.ACCESS_TOKEN));
+    }
+
+    @Override
+    public Optional<AccountStatus> getAccountStatus(String username) {
+        return RemoteAccountMapper.toAccountStatus(getAccountInfoByUsername(username));
+    }
+
     public GetSellerProfileResponse getSellerProfileByToken(String token, TokenType tokenType) {
         return blockingStub.getSellerProfile(TokenRequest.newBuilder()
                 .setToken(token)
@@ -3,7 +3,10 @@ package org.retrade.achievement.config;
 import lombok.RequiredArgsConstructor;
 import org.retrade.achievement.security.CustomAuthenticationEntryPoint;
 import org.retrade.achievement.security.JwtAuthenticationFilter;
+import org.retrade.auth.config.TokenVerificationConfig;
+import org.retrade.auth.verifier.LocalTokenVerifier;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,6 +18,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableWebSecurity
+@ComponentScan(basePackageClasses = {TokenVerificationConfig.class, LocalTokenVerifier.class})
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
@@ -7,9 +7,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.retrade.achievement.client.TokenServiceClient;
 import org.retrade.achievement.util.TokenUtils;
-import org.retrade.proto.authentication.TokenType;
+import org.retrade.auth.verifier.LocalTokenVerifier;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,22 +24,22 @@ import java.io.IOException;
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final TokenServiceClient tokenServiceClient;
+    private final LocalTokenVerifier localTokenVerifier;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,@NonNull HttpServletResponse response,@NonNull FilterChain filterChain) throws ServletException, IOException {
         String accessToken = TokenUtils.getTokenFromHeader(request);
         if (accessToken != null) {
-            var userClaims = tokenServiceClient.verifyToken(accessToken, TokenType.ACCESS_TOKEN);
-            if (userClaims.getIsValid()) {
-                var claims = userClaims.getUserInfo();
-                var roles = claims.getRolesList().stream().map(SimpleGrantedAuthority::new).toList();
+            var verifiedUser = localTokenVerifier.verifyAccessToken(accessToken);
+            if (verifiedUser.isPresent()) {
+                var claims = verifiedUser.get();
+                var roles = claims.getRoles().stream().map(SimpleGrantedAuthority::new).toList();
                 UserDetails userDetails = User.builder()
                         .username(claims.getUsername())
                         .password("")
                         .authorities(roles)
-                        .disabled(!claims.getIsActive())
-                        .accountLocked(!claims.getIsVerified())
+                        .disabled(!claims.isActive())
+                        .accountLocked(!claims.isVerified())
                         .build();
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
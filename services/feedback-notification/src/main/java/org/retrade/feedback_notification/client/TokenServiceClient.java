@@ -6,19 +6,21 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.retrade.proto.authentication.AccountIdRequest;
-import org.retrade.proto.authentication.GetAccountResponse;
-import org.retrade.proto.authentication.GrpcTokenServiceGrpc;
-import org.retrade.proto.authentication.UsernameRequest;
+import org.retrade.auth.model.AccountStatus;
+import org.retrade.auth.model.VerifiedUser;
+import org.retrade.auth.verifier.RemoteAccountMapper;
+import org.retrade.auth.verifier.RemoteTokenVerifier;
+import org.retrade.proto.authentication.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class TokenServiceClient {
+public class TokenServiceClient implements RemoteTokenVerifier {
     @Value("${grpc.client.main-service.host:localhost}")
     private String mainServiceHost;
 
@@ -40,6 +42,23 @@ public class TokenServiceClient {
                 .build());
     }
 
+    public VerifyTokenResponse verifyToken(String token, TokenType tokenType) {
+        return blockingStub.verifyToken(TokenRequest.newBuilder()
+                .setToken(token)
+                .setType(tokenType)
+                .build());
+    }
+
+    @Override
+    public Optional<VerifiedUser> verifyAccessToken(String token) {
+        return RemoteAccountMapper.toVerifiedUser(verifyToken(token, TokenType.ACCESS_TOKEN));
+    }
+
+    @Override
+    public Optional<AccountStatus> getAccountStatus(String username) {
+        return RemoteAccountMapper.toAccountStatus(getAccountInfoByUsername(username));
+    }
+
     @PostConstruct
     public void init() {
         channel = ManagedChannelBuilder.forAddress(mainServiceHost, mainServicePort)
@@ -1,10 +1,13 @@
 package org.retrade.feedback_notification.config.security;
 
 import lombok.RequiredArgsConstructor;
+import org.retrade.auth.config.TokenVerificationConfig;
+import org.retrade.auth.verifier.LocalTokenVerifier;
 import org.retrade.feedback_notification.security.CustomAuthenticationEntryPoint;
 import org.retrade.feedback_notification.security.JwtAuthenticationFilter;
 import org.retrade.feedback_notification.security.JwtCookieAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,6 +19,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableWebSecurity
+@ComponentScan(basePackageClasses = {TokenVerificationConfig.class, LocalTokenVerifier.class})
 @EnableMethodSecurity(securedEnabled = true, jsr250Enabled = true, prePostEnabled = true)
 @RequiredArgsConstructor
 public class SecurityConfig {
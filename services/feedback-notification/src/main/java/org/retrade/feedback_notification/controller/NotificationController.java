@@ -20,10 +20,15 @@ public class NotificationController {
     private final NotificationService notificationService;
 
     @GetMapping("/me")
-    public ResponseEntity<ResponseObject<List<NotificationResponse>>> getUserNotification(@PageableDefault Pageable pageable, @RequestParam(required = false, name = "q") String query) {
+    public ResponseEntity<ResponseObject<List<NotificationResponse>>> getUserNotification(@PageableDefault Pageable pageable,
+                                                                                          @RequestParam(required = false, name = "q") String query,
+                                                                                          @RequestParam(required = false) String cursor,
+                                                                                          @RequestParam(required = false, name = "skip-count") Boolean skipCount) {
         var notifications = notificationService.getNotifications(QueryWrapper.builder()
                         .wrapSort(pageable)
                         .search(query)
+                        .cursor(cursor)
+                        .skipCount(skipCount)
                 .build());
         return ResponseEntity.ok(
           new ResponseObject.Builder<List<NotificationResponse>>()
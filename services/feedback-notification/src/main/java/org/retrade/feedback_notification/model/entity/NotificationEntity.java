@@ -9,6 +9,12 @@ import org.retrade.common.model.entity.BaseSQLEntity;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(
+        name = "notifications",
+        indexes = {
+                @Index(name = "idx_notifications_account_created_date_id", columnList = "account_id, created_date, id")
+        }
+)
 @Entity(name = "notifications")
 public class NotificationEntity extends BaseSQLEntity {
     @ManyToOne(fetch = FetchType.LAZY, targetEntity = AccountEntity.class)
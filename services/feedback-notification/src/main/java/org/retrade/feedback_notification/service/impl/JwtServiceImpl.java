@@ -1,12 +1,10 @@
 package org.retrade.feedback_notification.service.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.Cookie;
 import lombok.RequiredArgsConstructor;
+import org.retrade.auth.verifier.LocalTokenVerifier;
 import org.retrade.feedback_notification.config.security.HostConfig;
 import org.retrade.feedback_notification.config.security.JwtConfig;
 import org.retrade.feedback_notification.model.constant.JwtTokenType;
@@ -14,7 +12,6 @@ import org.retrade.feedback_notification.model.other.UserClaims;
 import org.retrade.feedback_notification.service.JwtService;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.sql.Date;
 import java.util.EnumMap;
 import java.util.Optional;
@@ -25,6 +22,7 @@ public class JwtServiceImpl implements JwtService {
 
     private final JwtConfig jwtTokenConfig;
     private final HostConfig hostConfig;
+    private final LocalTokenVerifier localTokenVerifier;
 
     @Override
     public Claims generateClaims(UserClaims claimInfo) {
@@ -33,28 +31,15 @@ public class JwtServiceImpl implements JwtService {
         return claims;
     }
 
-    private SecretKey getSigningKey(JwtTokenType tokenType) {
-        String secretKey = switch (tokenType) {
-            case ACCESS_TOKEN -> jwtTokenConfig.getAccessToken().getKey();
-        };
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
-    }
-
     @Override
     public Optional<UserClaims> getUserClaimsFromJwt(String token, JwtTokenType tokenType) {
-        try {
-            var claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey(tokenType))
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            String userJson = objectMapper.writeValueAsString(claims.get("user"));
-            return Optional.of(objectMapper.readValue(userJson, UserClaims.class));
-        } catch (Exception ex) {
-            return Optional.empty();
-        }
+        return localTokenVerifier.parseAccessToken(token)
+                .map(claims -> UserClaims.builder()
+                        .username(claims.getUsername())
+                        .roles(claims.getRoles())
+                        .tokenType(tokenType)
+                        .sessionId(claims.getSessionId())
+                        .build());
     }
 
     @Override
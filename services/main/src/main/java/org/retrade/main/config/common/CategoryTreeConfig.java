@@ -0,0 +1,15 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "category.tree")
+public class CategoryTreeConfig {
+    private Duration maxAge = Duration.ofMinutes(10);
+    private boolean broadcastEnabled = true;
+}
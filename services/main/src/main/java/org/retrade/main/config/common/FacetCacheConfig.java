@@ -0,0 +1,18 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.facet")
+public class FacetCacheConfig {
+    private Duration resultTtl = Duration.ofSeconds(30);
+    private int resultCacheSize = 1000;
+    private Duration dictionaryTtl = Duration.ofMinutes(10);
+    private int dictionaryCacheSize = 20000;
+    private int lookupConcurrency = 3;
+}
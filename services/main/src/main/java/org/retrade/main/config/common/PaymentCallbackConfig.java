@@ -0,0 +1,15 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "payment.dedup")
+public class PaymentCallbackConfig {
+    private Duration ttl = Duration.ofHours(1);
+    private int cacheSize = 10000;
+}
@@ -0,0 +1,20 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "payment.expiry")
+public class PaymentExpiryConfig {
+    private boolean enabled = true;
+    private Duration holdTtl = Duration.ofMinutes(30);
+    private int batchSize = 200;
+    private int maxBatchesPerSweep = 10;
+    private Duration leaseTtl = Duration.ofMinutes(2);
+    private String deadlineKey = "payment:expiry:deadlines";
+    private String leaseKey = "payment:expiry:lease";
+}
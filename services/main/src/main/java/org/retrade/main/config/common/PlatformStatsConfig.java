@@ -0,0 +1,17 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "platform.stats")
+public class PlatformStatsConfig {
+    private boolean enabled = true;
+    private Duration refreshInterval = Duration.ofSeconds(30);
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+    private Duration lockTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,12 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.product")
+public class ProductSearchConfig {
+    private boolean engineEnabled = true;
+}
@@ -0,0 +1,14 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.outbox")
+public class SearchOutboxConfig {
+    private boolean enabled = true;
+    private int batchSize = 200;
+    private int maxBatchesPerPoll = 20;
+}
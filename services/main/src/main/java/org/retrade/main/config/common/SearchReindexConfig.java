@@ -0,0 +1,19 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.reindex")
+public class SearchReindexConfig {
+    private boolean enabled = true;
+    private int batchSize = 500;
+    private int concurrency = 2;
+    private Duration commitLag = Duration.ofSeconds(10);
+    private Duration lockTtl = Duration.ofMinutes(10);
+    private String lockKey = "search:reindex:products:lock";
+}
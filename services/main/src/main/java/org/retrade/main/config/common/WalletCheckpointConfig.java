@@ -0,0 +1,13 @@
+package org.retrade.main.config.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "wallet.checkpoint")
+public class WalletCheckpointConfig {
+    private boolean enabled = true;
+    private int batchSize = 500;
+}
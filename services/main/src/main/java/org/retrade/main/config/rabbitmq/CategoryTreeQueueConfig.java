@@ -0,0 +1,24 @@
+package org.retrade.main.config.rabbitmq;
+
+import org.retrade.main.model.constant.ExchangeNameEnum;
+import org.springframework.amqp.core.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CategoryTreeQueueConfig {
+    @Bean
+    public FanoutExchange categoryTreeExchange() {
+        return new FanoutExchange(ExchangeNameEnum.CATEGORY_TREE_EXCHANGE.getName());
+    }
+
+    @Bean
+    public Queue categoryTreeInvalidationQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("category.tree.invalidation."));
+    }
+
+    @Bean
+    public Binding categoryTreeInvalidationBinding(FanoutExchange categoryTreeExchange, Queue categoryTreeInvalidationQueue) {
+        return BindingBuilder.bind(categoryTreeInvalidationQueue).to(categoryTreeExchange);
+    }
+}
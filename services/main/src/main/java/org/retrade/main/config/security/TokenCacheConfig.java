@@ -0,0 +1,16 @@
+package org.retrade.main.config.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.token.cache")
+public class TokenCacheConfig {
+    private int claimsMaxSize = 10000;
+    private int principalMaxSize = 5000;
+    private Duration principalTtl = Duration.ofSeconds(30);
+}
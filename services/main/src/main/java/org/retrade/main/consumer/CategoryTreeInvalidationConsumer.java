@@ -0,0 +1,47 @@
+package org.retrade.main.consumer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rabbitmq.client.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.message.MessageObject;
+import org.retrade.main.model.message.CategoryTreeInvalidationMessage;
+import org.retrade.main.service.CategoryTreeService;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@Slf4j
+public class CategoryTreeInvalidationConsumer {
+    private final ObjectMapper objectMapper;
+    private final CategoryTreeService categoryTreeService;
+
+    public CategoryTreeInvalidationConsumer(ObjectMapper objectMapper, CategoryTreeService categoryTreeService) {
+        this.objectMapper = objectMapper.copy()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.categoryTreeService = categoryTreeService;
+    }
+
+    @RabbitListener(queues = "#{categoryTreeInvalidationQueue.name}")
+    public void handleInvalidation(Message rawMessage, Channel channel) throws IOException {
+        long deliveryTag = rawMessage.getMessageProperties().getDeliveryTag();
+        CategoryTreeInvalidationMessage message = null;
+        try {
+            MessageObject<CategoryTreeInvalidationMessage> wrapper = objectMapper.readValue(
+                    rawMessage.getBody(),
+                    new TypeReference<>() {}
+            );
+            message = wrapper.getPayload();
+        } catch (Exception ex) {
+            log.warn("Unreadable category tree invalidation, invalidating anyway: {}", ex.getMessage());
+        }
+        categoryTreeService.handleRemoteInvalidation(message);
+        channel.basicAck(deliveryTag, false);
+    }
+}
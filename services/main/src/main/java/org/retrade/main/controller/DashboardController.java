@@ -4,10 +4,12 @@ import lombok.RequiredArgsConstructor;
 import org.retrade.common.model.dto.response.ResponseObject;
 import org.retrade.main.model.dto.response.*;
 import org.retrade.main.service.DashboardService;
+import org.retrade.main.service.SellerMetricService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,6 +22,7 @@ import java.util.List;
 @RequestMapping("dashboard")
 public class DashboardController {
     private final DashboardService dashboardService;
+    private final SellerMetricService sellerMetricService;
 
     @GetMapping("seller/metric")
     public ResponseEntity<ResponseObject<List<DashboardMetricResponse>>> getSellerDashboardMetric(
@@ -136,4 +139,15 @@ public class DashboardController {
                 .build());
     }
 
+    @PostMapping("admin/seller-metrics/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ResponseObject<Boolean>> rebuildSellerMetrics() {
+        var started = sellerMetricService.triggerRebuild();
+        return ResponseEntity.ok(new ResponseObject.Builder<Boolean>()
+                .success(true)
+                .code("SUCCESS")
+                .content(started)
+                .messages(started ? "Bắt đầu tính lại thống kê người bán" : "Đang tính lại thống kê người bán")
+                .build());
+    }
 }
@@ -307,8 +307,10 @@ public class OrderController {
     @PreAuthorize("hasRole('ROLE_SELLER')")
     @GetMapping("seller")
     public ResponseEntity<ResponseObject<List<CustomerOrderComboResponse>>> getOrderCombosBySeller(@RequestParam(required = false, name = "q") String q,
+                                                                                                     @RequestParam(required = false) String cursor,
+                                                                                                     @RequestParam(required = false, name = "skip-count") Boolean skipCount,
                                                                                                      @PageableDefault Pageable pageable) {
-        var queryWrapper = new QueryWrapper.QueryWrapperBuilder().search(q).wrapSort(pageable).build();
+        var queryWrapper = new QueryWrapper.QueryWrapperBuilder().search(q).wrapSort(pageable).cursor(cursor).skipCount(skipCount).build();
         var orders = orderService.getSellerOrderCombos(queryWrapper);
         return ResponseEntity.ok(new ResponseObject.Builder<List<CustomerOrderComboResponse>>()
                 .success(true)
@@ -99,10 +99,14 @@ public class ProductController {
     @GetMapping
     public ResponseEntity<ResponseObject<List<ProductResponse>>> getAllProducts(
             @Parameter(description = "Search query to filter products") @RequestParam(required = false, name = "q") String search,
+            @Parameter(description = "Keyset cursor from the previous page; send an empty value to start keyset pagination") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Skip the total count when paginating by cursor") @RequestParam(required = false, name = "skip-count") Boolean skipCount,
             @Parameter(description = "Pagination parameters") @PageableDefault(size = 10) Pageable pageable) {
         var queryWrapper = new QueryWrapper.QueryWrapperBuilder()
                 .search(search)
                 .wrapSort(pageable)
+                .cursor(cursor)
+                .skipCount(skipCount)
                 .build();
 
         var result = productService.getAllProducts(queryWrapper);
@@ -156,13 +160,14 @@ public class ProductController {
 
     @GetMapping("search")
     public ResponseEntity<ResponseObject<List<ProductResponse>>> searchProductsByName(
-            @PageableDefault Pageable pageable, @RequestParam(required = false, name = "q") String search
+            @PageableDefault Pageable pageable, @RequestParam(required = false, name = "q") String search,
+            @RequestParam(required = false) String cursor
     ) {
         var queryWrapper = QueryWrapper.builder()
                 .search(search)
                 .pageable(pageable)
                 .build();
-        var result = productService.searchProductByKeyword(queryWrapper);
+        var result = productService.searchProductByKeyword(queryWrapper, cursor);
         return ResponseEntity.ok(new ResponseObject.Builder<List<ProductResponse>>()
                 .success(true)
                 .code("SUCCESS")
@@ -336,8 +341,9 @@ public class ProductController {
     }
 
     @GetMapping("id/random")
-    public ResponseEntity<ResponseObject<RandomProductIdResponse>> randomProductId(){
-        var random = productService.getRandomProductId();
+    public ResponseEntity<ResponseObject<RandomProductIdResponse>> randomProductId(@RequestParam(required = false) String categoryId,
+                                                                                   @RequestParam(required = false) String sellerId) {
+        var random = productService.getRandomProductId(categoryId, sellerId);
         return ResponseEntity.ok(new ResponseObject.Builder<RandomProductIdResponse>()
                 .success(true)
                 .code("SUCCESS")
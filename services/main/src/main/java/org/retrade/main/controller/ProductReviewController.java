@@ -10,9 +10,11 @@ import org.retrade.main.model.dto.response.ProductOrderNoReview;
 import org.retrade.main.model.dto.response.ProductReviewResponse;
 import org.retrade.main.model.dto.response.ReviewStatsResponse;
 import org.retrade.main.service.ProductReviewService;
+import org.retrade.main.service.RatingAggregateService;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -22,6 +24,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductReviewController {
     private final ProductReviewService productReviewService;
+    private final RatingAggregateService ratingAggregateService;
 
     @PostMapping
     public ResponseEntity<ResponseObject<ProductReviewResponse>> createProductReview(@RequestBody CreateProductReviewRequest request) {
@@ -37,10 +40,14 @@ public class ProductReviewController {
     @GetMapping
     public ResponseEntity<ResponseObject<List<ProductReviewResponse>>> getProductReviews(
             @RequestParam(required = false, name = "q") String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, name = "skip-count") Boolean skipCount,
             @PageableDefault(size = 10) Pageable pageable) {
         var queryWrapper = new QueryWrapper.QueryWrapperBuilder()
                 .search(search)
                 .wrapSort(pageable)
+                .cursor(cursor)
+                .skipCount(skipCount)
                 .build();
         var result = productReviewService.geAllProductReviewBySeller(queryWrapper);
 
@@ -106,10 +113,14 @@ public class ProductReviewController {
     public ResponseEntity<ResponseObject<List<ProductReviewResponse>>> getAllShopReview(
             @PathVariable String sellerId,
             @RequestParam(required = false, name = "q") String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, name = "skip-count") Boolean skipCount,
             @PageableDefault(size = 10) Pageable pageable) {
         var queryWrapper = new QueryWrapper.QueryWrapperBuilder()
                 .search(search)
                 .wrapSort(pageable)
+                .cursor(cursor)
+                .skipCount(skipCount)
                 .build();
         var result = productReviewService.getProductReviewBySellerId(sellerId,queryWrapper);
         return ResponseEntity.ok(new ResponseObject.Builder<List<ProductReviewResponse>>()
@@ -119,6 +130,17 @@ public class ProductReviewController {
                 .messages("Lấy đánh giá sản phẩm thành công")
                 .build());
     }
+
+    @GetMapping("seller/{sellerId}/summary")
+    public ResponseEntity<ResponseObject<ReviewStatsResponse>> getShopReviewSummary(@PathVariable String sellerId) {
+        var result = productReviewService.getSellerReviewSummary(sellerId);
+        return ResponseEntity.ok(new ResponseObject.Builder<ReviewStatsResponse>()
+                .success(true)
+                .code("SUCCESS")
+                .content(result)
+                .messages("Lấy thống kê đánh giá của cửa hàng thành công")
+                .build());
+    }
     @PatchMapping("{id}/create-reply")
     public ResponseEntity<ResponseObject<ProductReviewResponse>> createReplyProductReview(@PathVariable String id, @RequestBody ProductReviewReplyRequest request){
         var result = productReviewService.createReplyProductReview(id,request.content());
@@ -218,4 +240,15 @@ public class ProductReviewController {
                 .build());
     }
 
+    @PostMapping("aggregates/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ResponseObject<Boolean>> rebuildRatingAggregates() {
+        var started = ratingAggregateService.triggerRebuild();
+        return ResponseEntity.ok(new ResponseObject.Builder<Boolean>()
+                .success(true)
+                .code("SUCCESS")
+                .content(started)
+                .messages(started ? "Bắt đầu tính lại thống kê đánh giá" : "Đang tính lại thống kê đánh giá")
+                .build());
+    }
 }
@@ -0,0 +1,41 @@
+package org.retrade.main.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.retrade.common.model.dto.response.ResponseObject;
+import org.retrade.main.model.dto.response.ReindexProgressResponse;
+import org.retrade.main.service.ProductReindexService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("search-index")
+public class SearchIndexController {
+    private final ProductReindexService productReindexService;
+
+    @GetMapping("products")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ResponseObject<ReindexProgressResponse>> getProductIndexProgress() {
+        return ResponseEntity.ok(new ResponseObject.Builder<ReindexProgressResponse>()
+                .success(true)
+                .code("SUCCESS")
+                .messages("Get product index progress successfully.")
+                .content(productReindexService.getProgress())
+                .build());
+    }
+
+    @PostMapping("products/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ResponseObject<Void>> rebuildProductIndex() {
+        productReindexService.triggerRebuild();
+        return ResponseEntity.ok(new ResponseObject.Builder<Void>()
+                .success(true)
+                .code("SUCCESS")
+                .messages("Product index rebuild started.")
+                .build());
+    }
+}
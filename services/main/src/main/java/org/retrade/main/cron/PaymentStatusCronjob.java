@@ -1,4 +1,49 @@
 package org.retrade.main.cron;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.PaymentExpiryConfig;
+import org.retrade.main.service.PaymentExpiryService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
 public class PaymentStatusCronjob {
+    private final PaymentExpiryService paymentExpiryService;
+    private final PaymentExpiryConfig expiryConfig;
+
+    @Scheduled(fixedDelayString = "${payment.expiry.sweep-interval:PT30S}", initialDelayString = "${payment.expiry.sweep-interval:PT30S}")
+    public void expireUnpaidOrders() {
+        if (!expiryConfig.isEnabled()) {
+            return;
+        }
+        try {
+            paymentExpiryService.sweep();
+        } catch (Exception e) {
+            log.error("Error during payment expiry sweep: {}", e.getMessage(), e);
+        } finally {
+            try {
+                paymentExpiryService.refreshMetrics();
+            } catch (Exception e) {
+                log.warn("Failed to refresh payment expiry metrics: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.expiry.reconcile-interval:PT10M}", initialDelayString = "${payment.expiry.initial-delay:PT1M}")
+    public void reconcileDeadlines() {
+        if (!expiryConfig.isEnabled()) {
+            return;
+        }
+        try {
+            int added = paymentExpiryService.reconcile();
+            if (added > 0) {
+                log.info("Re-indexed {} unpaid orders for payment expiry", added);
+            }
+        } catch (Exception e) {
+            log.error("Error during payment expiry reconciliation: {}", e.getMessage(), e);
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package org.retrade.main.cron;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.PlatformStatsConfig;
+import org.retrade.main.service.PlatformStatsService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformStatsCronjob {
+    private final PlatformStatsService platformStatsService;
+    private final PlatformStatsConfig statsConfig;
+
+    @Scheduled(fixedDelayString = "${platform.stats.reconcile-interval:PT10M}", initialDelayString = "${platform.stats.reconcile-initial-delay:PT2M}")
+    public void reconcilePlatformStats() {
+        if (!statsConfig.isEnabled()) {
+            return;
+        }
+        try {
+            platformStatsService.reconcile();
+        } catch (Exception e) {
+            log.error("Error during platform stats reconciliation: {}", e.getMessage(), e);
+        }
+    }
+}
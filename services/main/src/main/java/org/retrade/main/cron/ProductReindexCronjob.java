@@ -0,0 +1,35 @@
+package org.retrade.main.cron;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.SearchReindexConfig;
+import org.retrade.main.service.ProductReindexService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductReindexCronjob {
+    private final ProductReindexService productReindexService;
+    private final SearchReindexConfig reindexConfig;
+
+    @Scheduled(fixedDelayString = "${search.reindex.interval:PT1M}", initialDelayString = "${search.reindex.initial-delay:PT30S}")
+    public void syncProductIndex() {
+        if (!reindexConfig.isEnabled()) {
+            return;
+        }
+        try {
+            if (productReindexService.needsRebuild()) {
+                // Until the leader's rebuild writes a checkpoint, every other instance lands here on each tick.
+                if (!productReindexService.tryRebuild()) {
+                    log.debug("Product index needs a full rebuild but another run holds the reindex lock, skipping");
+                }
+            } else {
+                productReindexService.runIncremental();
+            }
+        } catch (Exception e) {
+            log.error("Error during product index synchronization: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.retrade.main.cron;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.ProductSamplingConfig;
+import org.retrade.main.service.ProductSamplingService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSamplingCronjob {
+    private final ProductSamplingService productSamplingService;
+    private final ProductSamplingConfig samplingConfig;
+
+    @Scheduled(fixedDelayString = "${product.sampling.refresh-interval:PT5M}", initialDelayString = "${product.sampling.initial-delay:PT30S}")
+    public void refreshSamplingPool() {
+        if (!samplingConfig.isEnabled()) {
+            return;
+        }
+        try {
+            productSamplingService.rebuild();
+        } catch (Exception e) {
+            log.error("Error during product sampling pool refresh: {}", e.getMessage(), e);
+        }
+    }
+}
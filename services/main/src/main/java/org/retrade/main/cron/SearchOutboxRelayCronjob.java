@@ -0,0 +1,34 @@
+package org.retrade.main.cron;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.SearchOutboxConfig;
+import org.retrade.main.service.SearchOutboxService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchOutboxRelayCronjob {
+    private final SearchOutboxService searchOutboxService;
+    private final SearchOutboxConfig outboxConfig;
+
+    @Scheduled(fixedDelayString = "${search.outbox.poll-interval:PT2S}")
+    public void relaySearchOutbox() {
+        if (!outboxConfig.isEnabled()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < outboxConfig.getMaxBatchesPerPoll(); i++) {
+                if (searchOutboxService.relayBatch() < outboxConfig.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error during search outbox relay: {}", e.getMessage(), e);
+        } finally {
+            searchOutboxService.refreshBacklog();
+        }
+    }
+}
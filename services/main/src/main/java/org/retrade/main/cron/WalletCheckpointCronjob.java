@@ -0,0 +1,31 @@
+package org.retrade.main.cron;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.WalletCheckpointConfig;
+import org.retrade.main.service.WalletLedgerService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WalletCheckpointCronjob {
+    private final WalletLedgerService walletLedgerService;
+    private final WalletCheckpointConfig checkpointConfig;
+
+    @Scheduled(fixedDelayString = "${wallet.checkpoint.interval:PT15M}", initialDelayString = "${wallet.checkpoint.initial-delay:PT2M}")
+    public void checkpointBalances() {
+        if (!checkpointConfig.isEnabled()) {
+            return;
+        }
+        try {
+            int checkpointed = walletLedgerService.checkpoint();
+            if (checkpointed > 0) {
+                log.info("Checkpointed wallet balances for {} accounts", checkpointed);
+            }
+        } catch (Exception e) {
+            log.error("Error during wallet balance checkpoint: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -15,10 +15,12 @@ import vn.payos.type.Webhook;
 
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
 
 @Component(value = "org.retrade.main.handler.PayOSPaymentHandler")
 @RequiredArgsConstructor
 public class PayOSPaymentHandler implements PaymentHandler {
+    private static final Set<String> FINAL_STATUSES = Set.of("PAID", "CANCELLED", "EXPIRED");
     private final PayOS payOS;
     private final NetUtils netUtils;
     private final ObjectMapper objectMapper;
@@ -47,6 +49,7 @@ public class PayOSPaymentHandler implements PaymentHandler {
             return PaymentAPICallback.builder()
                     .id((long) orderCode)
                     .status("PAID".equals(data.getStatus()))
+                    .verified(FINAL_STATUSES.contains(data.getStatus()))
                     .orderInfo(data.getStatus())
                     .transactionId(data.getId())
                     .total(new BigDecimal(data.getAmount()))
@@ -68,6 +71,7 @@ public class PayOSPaymentHandler implements PaymentHandler {
             return PaymentAPICallback.builder()
                     .id(result.getOrderCode())
                     .status(payload.getSuccess())
+                    .verified(true)
                     .orderInfo(result.getDesc())
                     .transactionId(result.getPaymentLinkId())
                     .total(new BigDecimal(result.getAmount()))
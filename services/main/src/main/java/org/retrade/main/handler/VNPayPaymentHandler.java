@@ -104,6 +104,7 @@ public class VNPayPaymentHandler implements PaymentHandler {
         Long orderId = Long.valueOf(request.getParameter("vnp_TxnRef"));
         return PaymentAPICallback.builder()
                 .status(paymentStatus == 1)
+                .verified(paymentStatus != -1)
                 .total(new BigDecimal(totalPrice))
                 .id(orderId)
                 .transactionId(transactionId)
@@ -135,6 +136,7 @@ public class VNPayPaymentHandler implements PaymentHandler {
             String orderInfo = fields.get("vnp_OrderInfo");
             return PaymentAPICallback.builder()
                     .status(status == 1)
+                    .verified(true)
                     .total(amount)
                     .id(orderId)
                     .transactionId(transactionId)
@@ -18,6 +18,7 @@ public class OrderStatusInitializer implements CommandLineRunner {
         Map<String, String> defaultStatuses = Map.ofEntries(
                 Map.entry(OrderStatusCodes.PENDING, "Pending"),
                 Map.entry(OrderStatusCodes.PAYMENT_CONFIRMATION, "Payment Confirmation"),
+                Map.entry(OrderStatusCodes.PAYMENT_CANCELLED, "Payment Cancelled"),
                 Map.entry(OrderStatusCodes.PREPARING, "Preparing"),
                 Map.entry(OrderStatusCodes.DELIVERING, "Delivering"),
                 Map.entry(OrderStatusCodes.DELIVERED, "Delivered"),
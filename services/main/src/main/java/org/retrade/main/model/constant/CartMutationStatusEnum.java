@@ -0,0 +1,9 @@
+package org.retrade.main.model.constant;
+
+public enum CartMutationStatusEnum {
+    OK,
+    MISSING,
+    NOT_FOUND,
+    CART_FULL,
+    QUANTITY_EXCEEDED,
+}
@@ -11,7 +11,8 @@ public enum ExchangeNameEnum {
     IDENTITY_EXCHANGE("identity.exchange"),
     IDENTITY_RETRY_EXCHANGE("identity.dlx.exchange"),
     ACHIEVEMENT_EXCHANGE("achievement.seller.event.exchange"),
-    ACHIEVEMENT_RETRY_EXCHANGE("achievement.seller.event.retry.exchange");
+    ACHIEVEMENT_RETRY_EXCHANGE("achievement.seller.event.retry.exchange"),
+    CATEGORY_TREE_EXCHANGE("category.tree.fanout.exchange");
     private final String name;
     ExchangeNameEnum(String name) {
         this.name = name;
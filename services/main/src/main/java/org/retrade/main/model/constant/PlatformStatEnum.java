@@ -0,0 +1,15 @@
+package org.retrade.main.model.constant;
+
+public enum PlatformStatEnum {
+    ACCOUNTS,
+    USERS,
+    SELLERS,
+    PRODUCTS,
+    VERIFIED_PRODUCTS,
+    SOLD_VERIFIED_PRODUCTS,
+    CATEGORIES,
+    ORDERS,
+    COMPLETED_ORDERS,
+    REPORTS,
+    NEW_USERS_THIS_MONTH
+}
@@ -0,0 +1,6 @@
+package org.retrade.main.model.constant;
+
+public enum SearchOutboxOperationEnum {
+    UPSERT,
+    DELETE
+}
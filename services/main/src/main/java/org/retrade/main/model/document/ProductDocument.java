@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.retrade.main.model.constant.ProductConditionEnum;
+import org.retrade.main.model.constant.ProductStatusEnum;
 import org.retrade.main.model.entity.ProductEntity;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.*;
@@ -72,6 +73,9 @@ public class ProductDocument {
     @Field(type = FieldType.Boolean)
     private Boolean verified;
 
+    @Field(type = FieldType.Keyword)
+    private ProductStatusEnum status;
+
     @Field(type = FieldType.Date, format = DateFormat.date_time)
     private Date createdAt;
 
@@ -101,6 +105,7 @@ public class ProductDocument {
                         .name(item.getName())
                         .build()).toList())
                 .verified(productEntity.getVerified())
+                .status(productEntity.getStatus())
                 .createdAt(productEntity.getCreatedDate() != null ? productEntity.getCreatedDate() : null)
                 .updatedAt(productEntity.getUpdatedDate() != null ? productEntity.getUpdatedDate() : null)
                 .build();
@@ -0,0 +1,23 @@
+package org.retrade.main.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReindexProgressResponse {
+    private String indexName;
+    private Boolean running;
+    private String mode;
+    private LocalDateTime startedAt;
+    private LocalDateTime checkpointUpdatedDate;
+    private String checkpointId;
+    private Long indexedCount;
+    private Long processedInRun;
+}
@@ -3,6 +3,8 @@ package org.retrade.main.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.main.model.listener.PlatformStatsListener;
+import org.retrade.main.security.PrincipalCacheEvictionListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -14,6 +16,7 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Entity(name = "accounts")
+@EntityListeners({PrincipalCacheEvictionListener.class, PlatformStatsListener.class})
 public class AccountEntity extends BaseSQLEntity {
     @Column(name = "username", unique = true, nullable = false)
     private String username;
@@ -35,7 +38,8 @@ public class AccountEntity extends BaseSQLEntity {
     private boolean changedUsername;
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
-    @Column(name = "balance", nullable = false, columnDefinition = "DECIMAL(19,4) DEFAULT 0.00")
+    // Written only through the atomic increments in AccountRepository; entity saves never touch it.
+    @Column(name = "balance", nullable = false, updatable = false, columnDefinition = "DECIMAL(19,4) DEFAULT 0.00")
     private BigDecimal balance;
     @OneToOne(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER, mappedBy = "account")
     private CustomerEntity customer;
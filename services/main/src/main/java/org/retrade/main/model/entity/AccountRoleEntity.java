@@ -3,6 +3,7 @@ package org.retrade.main.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.main.security.PrincipalCacheEvictionListener;
 
 
 @Getter
@@ -11,6 +12,7 @@ import org.retrade.common.model.entity.BaseSQLEntity;
 @NoArgsConstructor
 @Builder
 @Entity(name = "account_roles")
+@EntityListeners(PrincipalCacheEvictionListener.class)
 public class AccountRoleEntity extends BaseSQLEntity {
     @ManyToOne(targetEntity = AccountEntity.class, fetch = FetchType.EAGER, optional = false)
     @JoinColumn(name = "account_id", nullable = false)
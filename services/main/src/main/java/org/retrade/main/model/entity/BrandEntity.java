@@ -3,6 +3,7 @@ package org.retrade.main.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.main.model.listener.FacetDictionaryEvictionListener;
 
 import java.util.Set;
 
@@ -12,6 +13,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Entity(name = "brands")
+@EntityListeners(FacetDictionaryEvictionListener.class)
 public class BrandEntity extends BaseSQLEntity {
     private String name;
     private String description;
@@ -3,6 +3,9 @@ package org.retrade.main.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.main.model.listener.CategoryTreeInvalidationListener;
+import org.retrade.main.model.listener.FacetDictionaryEvictionListener;
+import org.retrade.main.model.listener.PlatformStatsListener;
 
 import java.util.Set;
 
@@ -12,6 +15,7 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Entity(name = "categories")
+@EntityListeners({FacetDictionaryEvictionListener.class, CategoryTreeInvalidationListener.class, PlatformStatsListener.class})
 public class CategoryEntity extends BaseSQLEntity {
     @Column(name = "name", nullable = false, length = 100)
     private String name;
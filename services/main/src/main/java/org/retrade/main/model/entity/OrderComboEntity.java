@@ -4,6 +4,7 @@ package org.retrade.main.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.main.model.listener.PlatformStatsListener;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
@@ -14,7 +15,14 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(
+        name = "order_combos",
+        indexes = {
+                @Index(name = "idx_order_combos_seller_created_date_id", columnList = "seller_id, created_date, id")
+        }
+)
 @Entity(name = "order_combos")
+@EntityListeners(PlatformStatsListener.class)
 public class OrderComboEntity extends BaseSQLEntity {
     @ManyToOne(targetEntity = SellerEntity.class, fetch = FetchType.EAGER, optional = false)
     @JoinColumn(name = "seller_id", nullable = false)
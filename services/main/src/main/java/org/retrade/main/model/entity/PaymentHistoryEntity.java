@@ -32,4 +32,6 @@ public class PaymentHistoryEntity extends BaseSQLEntity {
     private PaymentStatusEnum paymentStatus;
     @Column(name = "payment_time")
     private LocalDateTime paymentTime;
+    @Column(name = "provider_transaction_id", length = 64)
+    private String providerTransactionId;
 }
@@ -5,6 +5,8 @@ import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
 import org.retrade.main.model.constant.ProductConditionEnum;
 import org.retrade.main.model.constant.ProductStatusEnum;
+import org.retrade.main.model.listener.PlatformStatsListener;
+import org.retrade.main.model.listener.ProductSamplingListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,7 +17,15 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@Table(
+        name = "products",
+        indexes = {
+                @Index(name = "idx_products_created_date_id", columnList = "created_date, id"),
+                @Index(name = "idx_products_updated_date_id", columnList = "updated_date, id")
+        }
+)
 @Entity(name = "products")
+@EntityListeners({PlatformStatsListener.class, ProductSamplingListener.class})
 public class ProductEntity extends BaseSQLEntity {
     private String name;
     @ManyToOne(targetEntity = SellerEntity.class, fetch = FetchType.EAGER, optional = false)
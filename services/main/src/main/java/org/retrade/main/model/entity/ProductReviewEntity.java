@@ -13,6 +13,9 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Entity(name = "product_reviews")
+@Table(name = "product_reviews", indexes = {
+        @Index(name = "idx_product_reviews_seller_created_date_id", columnList = "seller_id, created_date, id")
+})
 public class ProductReviewEntity extends BaseSQLEntity {
     @ManyToOne(targetEntity = ProductEntity.class, fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "product_id", nullable = false)
@@ -0,0 +1,54 @@
+package org.retrade.main.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.main.model.constant.RatingTargetTypeEnum;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "rating_aggregates")
+@Table(name = "rating_aggregates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rating_aggregates_target", columnNames = {"target_type", "target_id"})
+})
+public class RatingAggregateEntity extends BaseSQLEntity {
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "target_type", nullable = false, columnDefinition = "SMALLINT DEFAULT 0")
+    private RatingTargetTypeEnum targetType;
+    @Column(name = "target_id", nullable = false, length = 64)
+    private String targetId;
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+    @Column(name = "vote_sum", nullable = false)
+    private double voteSum;
+    @Column(name = "one_star_count", nullable = false)
+    private long oneStarCount;
+    @Column(name = "two_star_count", nullable = false)
+    private long twoStarCount;
+    @Column(name = "three_star_count", nullable = false)
+    private long threeStarCount;
+    @Column(name = "four_star_count", nullable = false)
+    private long fourStarCount;
+    @Column(name = "five_star_count", nullable = false)
+    private long fiveStarCount;
+    @Column(name = "replied_count", nullable = false)
+    private long repliedCount;
+
+    public double getAverage() {
+        return reviewCount > 0 ? voteSum / reviewCount : 0.0;
+    }
+
+    public long getStarCount(int star) {
+        return switch (star) {
+            case 1 -> oneStarCount;
+            case 2 -> twoStarCount;
+            case 3 -> threeStarCount;
+            case 4 -> fourStarCount;
+            case 5 -> fiveStarCount;
+            default -> 0L;
+        };
+    }
+}
@@ -3,6 +3,7 @@ package org.retrade.main.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.main.model.listener.PlatformStatsListener;
 
 import java.sql.Timestamp;
 import java.util.Set;
@@ -13,6 +14,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Entity(name = "report_sellers")
+@EntityListeners(PlatformStatsListener.class)
 public class ReportSellerEntity extends BaseSQLEntity {
     @ManyToOne(targetEntity = SellerEntity.class, fetch = FetchType.EAGER, optional = false)
     @JoinColumn(name = "seller_id", nullable = false)
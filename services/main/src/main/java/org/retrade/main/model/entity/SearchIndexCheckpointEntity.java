@@ -0,0 +1,25 @@
+package org.retrade.main.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import lombok.*;
+import org.retrade.common.model.entity.BaseSQLEntity;
+
+import java.sql.Timestamp;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "search_index_checkpoints")
+public class SearchIndexCheckpointEntity extends BaseSQLEntity {
+    @Column(name = "index_name", nullable = false, unique = true, length = 64)
+    private String indexName;
+    @Column(name = "last_updated_date", nullable = false)
+    private Timestamp lastUpdatedDate;
+    @Column(name = "last_id", nullable = false, length = 64)
+    private String lastId;
+    @Column(name = "indexed_count", nullable = false)
+    private Long indexedCount;
+}
@@ -0,0 +1,23 @@
+package org.retrade.main.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.main.model.constant.SearchOutboxOperationEnum;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "search_outbox")
+@Table(name = "search_outbox", indexes = {
+        @Index(name = "idx_search_outbox_created_date_id", columnList = "created_date, id")
+})
+public class SearchOutboxEntity extends BaseSQLEntity {
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "operation", nullable = false, columnDefinition = "SMALLINT DEFAULT 0")
+    private SearchOutboxOperationEnum operation;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
 import org.retrade.main.model.constant.IdentityVerifiedStatusEnum;
+import org.retrade.main.model.listener.FacetDictionaryEvictionListener;
+import org.retrade.main.model.listener.PlatformStatsListener;
 
 @Getter
 @Setter
@@ -11,6 +13,7 @@ import org.retrade.main.model.constant.IdentityVerifiedStatusEnum;
 @NoArgsConstructor
 @Builder
 @Entity(name = "sellers")
+@EntityListeners({FacetDictionaryEvictionListener.class, PlatformStatsListener.class})
 public class SellerEntity extends BaseSQLEntity {
     @Column(name = "shop_name", length = 50, nullable = false)
     private String shopName;
@@ -0,0 +1,34 @@
+package org.retrade.main.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.retrade.common.model.entity.BaseSQLEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "seller_metric_daily")
+@Table(name = "seller_metric_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_seller_metric_daily_bucket", columnNames = {"seller_id", "bucket_date"})
+})
+public class SellerMetricDailyEntity extends BaseSQLEntity {
+    @Column(name = "seller_id", nullable = false, length = 64)
+    private String sellerId;
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+    @Column(name = "completed_orders", nullable = false)
+    private long completedOrders;
+    @Column(name = "completed_revenue", nullable = false)
+    private BigDecimal completedRevenue;
+    @Column(name = "net_revenue", nullable = false)
+    private BigDecimal netRevenue;
+    @Column(name = "cancelled_orders", nullable = false)
+    private long cancelledOrders;
+    @Column(name = "items_sold", nullable = false)
+    private long itemsSold;
+}
@@ -0,0 +1,26 @@
+package org.retrade.main.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.retrade.common.model.entity.BaseSQLEntity;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "wallet_balance_checkpoints")
+@Table(name = "wallet_balance_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_wallet_balance_checkpoints_account", columnNames = "account_id")
+})
+public class WalletBalanceCheckpointEntity extends BaseSQLEntity {
+    @Column(name = "account_id", nullable = false, length = 36)
+    private String accountId;
+    @Column(name = "balance", nullable = false, columnDefinition = "DECIMAL(19,4)")
+    private BigDecimal balance;
+    @Column(name = "checkpoint_date", nullable = false)
+    private Timestamp checkpointDate;
+}
@@ -12,11 +12,16 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @Builder
 @Entity(name = "wallet_transactions")
+@Table(name = "wallet_transactions", indexes = {
+        @Index(name = "idx_wallet_transactions_account_created_date", columnList = "account_id, created_date")
+})
 public class WalletTransactionEntity extends BaseSQLEntity {
     @Column(name = "amount", nullable = false, updatable = false)
     private BigDecimal amount;
     @Column(name = "note", length = 255, nullable = false, updatable = false)
     private String note;
+    @Column(name = "balance_after", updatable = false)
+    private BigDecimal balanceAfter;
     @ManyToOne(targetEntity = AccountEntity.class, fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "account_id", nullable = false)
     private AccountEntity account;
@@ -0,0 +1,39 @@
+package org.retrade.main.model.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.retrade.main.model.entity.CategoryEntity;
+import org.retrade.main.service.CategoryTreeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeInvalidationListener {
+    private final ObjectProvider<CategoryTreeService> categoryTreeServiceProvider;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCategoryChanged(CategoryEntity category) {
+        var categoryTreeService = categoryTreeServiceProvider.getIfAvailable();
+        if (categoryTreeService == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            categoryTreeService.publishInvalidation(category.getId());
+            return;
+        }
+        categoryTreeService.invalidate();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                categoryTreeService.publishInvalidation(category.getId());
+            }
+        });
+    }
+}
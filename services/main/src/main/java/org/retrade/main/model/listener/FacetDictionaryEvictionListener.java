@@ -0,0 +1,47 @@
+package org.retrade.main.model.listener;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.retrade.main.model.entity.BrandEntity;
+import org.retrade.main.model.entity.CategoryEntity;
+import org.retrade.main.model.entity.SellerEntity;
+import org.retrade.main.service.ProductFacetService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class FacetDictionaryEvictionListener {
+    private final ObjectProvider<ProductFacetService> productFacetServiceProvider;
+
+    @PostUpdate
+    @PostRemove
+    public void onDictionaryChanged(Object entity) {
+        var productFacetService = productFacetServiceProvider.getIfAvailable();
+        if (productFacetService == null) {
+            return;
+        }
+        Runnable eviction;
+        if (entity instanceof BrandEntity brand) {
+            eviction = () -> productFacetService.evictBrand(brand.getId());
+        } else if (entity instanceof SellerEntity seller) {
+            eviction = () -> productFacetService.evictSeller(seller.getId());
+        } else if (entity instanceof CategoryEntity category) {
+            eviction = () -> productFacetService.evictCategory(category.getId());
+        } else {
+            return;
+        }
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.retrade.main.model.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.retrade.main.model.constant.PlatformStatEnum;
+import org.retrade.main.model.entity.*;
+import org.retrade.main.service.PlatformStatsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PlatformStatsListener {
+    private final ObjectProvider<PlatformStatsService> platformStatsServiceProvider;
+
+    @PostPersist
+    public void onCreated(Object entity) {
+        apply(entity, 1);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        apply(entity, -1);
+    }
+
+    private void apply(Object entity, long delta) {
+        var platformStatsService = platformStatsServiceProvider.getIfAvailable();
+        if (platformStatsService == null) {
+            return;
+        }
+        statsFor(entity).forEach(stat -> platformStatsService.increment(stat, delta));
+    }
+
+    private List<PlatformStatEnum> statsFor(Object entity) {
+        return switch (entity) {
+            case AccountEntity ignored -> List.of(PlatformStatEnum.ACCOUNTS, PlatformStatEnum.USERS, PlatformStatEnum.NEW_USERS_THIS_MONTH);
+            case SellerEntity ignored -> List.of(PlatformStatEnum.SELLERS);
+            case ProductEntity ignored -> List.of(PlatformStatEnum.PRODUCTS);
+            case CategoryEntity ignored -> List.of(PlatformStatEnum.CATEGORIES);
+            case OrderComboEntity ignored -> List.of(PlatformStatEnum.ORDERS);
+            case ReportSellerEntity ignored -> List.of(PlatformStatEnum.REPORTS);
+            default -> List.of();
+        };
+    }
+}
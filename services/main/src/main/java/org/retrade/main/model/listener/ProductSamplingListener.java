@@ -0,0 +1,51 @@
+package org.retrade.main.model.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.ProductSamplingConfig;
+import org.retrade.main.model.entity.ProductEntity;
+import org.retrade.main.service.ProductSamplingService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSamplingListener {
+    private final ObjectProvider<ProductSamplingService> productSamplingServiceProvider;
+    private final ObjectProvider<ProductSamplingConfig> samplingConfigProvider;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onProductChanged(ProductEntity product) {
+        var productSamplingService = productSamplingServiceProvider.getIfAvailable();
+        var samplingConfig = samplingConfigProvider.getIfAvailable();
+        if (productSamplingService == null || samplingConfig == null || !samplingConfig.isEnabled()) {
+            return;
+        }
+        var productId = product.getId();
+        Runnable refresh = () -> {
+            try {
+                productSamplingService.refreshProduct(productId);
+            } catch (Exception e) {
+                log.warn("Failed to refresh sampling pool entry for product {}: {}", productId, e.getMessage());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package org.retrade.main.model.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTreeInvalidationMessage {
+    private String originId;
+    private String categoryId;
+}
@@ -0,0 +1,10 @@
+package org.retrade.main.model.other;
+
+import org.retrade.main.model.constant.CartMutationStatusEnum;
+import org.retrade.main.model.entity.CartEntity;
+
+/**
+ * Outcome of an atomic cart mutation together with the cart as it stood right after it.
+ */
+public record CartMutationResult(CartMutationStatusEnum status, int quantity, CartEntity cart) {
+}
@@ -0,0 +1,148 @@
+package org.retrade.main.model.other;
+
+import lombok.Getter;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the category hierarchy. Every node reachable from a root gets a pre-order
+ * interval [enter, exit] so ancestor checks are two integer comparisons.
+ */
+public final class CategoryTree {
+    @Getter
+    private final long version;
+    private final List<Node> nodes;
+    private final Map<String, Node> nodeIndex;
+    private final Map<String, List<Node>> childIndex;
+    private final Map<String, String> rootIndex;
+    private final Map<String, Integer> enterIndex;
+    private final Map<String, Integer> exitIndex;
+    private final List<String> preorder;
+
+    private CategoryTree(long version, List<Node> nodes, Map<String, Node> nodeIndex, Map<String, List<Node>> childIndex,
+                         Map<String, String> rootIndex, Map<String, Integer> enterIndex, Map<String, Integer> exitIndex,
+                         List<String> preorder) {
+        this.version = version;
+        this.nodes = nodes;
+        this.nodeIndex = nodeIndex;
+        this.childIndex = childIndex;
+        this.rootIndex = rootIndex;
+        this.enterIndex = enterIndex;
+        this.exitIndex = exitIndex;
+        this.preorder = preorder;
+    }
+
+    public static CategoryTree build(long version, List<Node> source) {
+        Map<String, Node> nodeIndex = new LinkedHashMap<>();
+        source.forEach(node -> nodeIndex.put(node.id(), node));
+        Map<String, List<Node>> children = new HashMap<>();
+        List<Node> roots = new ArrayList<>();
+        for (Node node : nodeIndex.values()) {
+            if (node.parentId() == null || !nodeIndex.containsKey(node.parentId())) {
+                roots.add(node);
+            } else {
+                children.computeIfAbsent(node.parentId(), key -> new ArrayList<>()).add(node);
+            }
+        }
+
+        List<String> preorder = new ArrayList<>(nodeIndex.size());
+        Map<String, Integer> enterIndex = new HashMap<>();
+        Map<String, String> rootIndex = new HashMap<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        for (Node root : roots) {
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                var node = stack.pop();
+                enterIndex.put(node.id(), preorder.size());
+                preorder.add(node.id());
+                rootIndex.put(node.id(), root.id());
+                var nodeChildren = children.getOrDefault(node.id(), List.of());
+                for (int i = nodeChildren.size() - 1; i >= 0; i--) {
+                    stack.push(nodeChildren.get(i));
+                }
+            }
+        }
+
+        Map<String, Integer> subtreeSize = new HashMap<>();
+        for (int i = preorder.size() - 1; i >= 0; i--) {
+            var id = preorder.get(i);
+            int size = 1;
+            for (Node child : children.getOrDefault(id, List.of())) {
+                size += subtreeSize.getOrDefault(child.id(), 0);
+            }
+            subtreeSize.put(id, size);
+        }
+        Map<String, Integer> exitIndex = new HashMap<>();
+        enterIndex.forEach((id, enter) -> exitIndex.put(id, enter + subtreeSize.get(id) - 1));
+
+        Map<String, List<Node>> childIndex = new HashMap<>();
+        children.forEach((id, list) -> childIndex.put(id, List.copyOf(list)));
+        return new CategoryTree(version, List.copyOf(nodeIndex.values()), Collections.unmodifiableMap(nodeIndex),
+                Collections.unmodifiableMap(childIndex), Collections.unmodifiableMap(rootIndex),
+                Collections.unmodifiableMap(enterIndex), Collections.unmodifiableMap(exitIndex),
+                Collections.unmodifiableList(preorder));
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public Optional<Node> find(String id) {
+        return Optional.ofNullable(nodeIndex.get(id));
+    }
+
+    public List<Node> getChildren(String id) {
+        return childIndex.getOrDefault(id, List.of());
+    }
+
+    public boolean isAncestorOrSelf(String ancestorId, String descendantId) {
+        var ancestorEnter = enterIndex.get(ancestorId);
+        var descendantEnter = enterIndex.get(descendantId);
+        if (ancestorEnter == null || descendantEnter == null) {
+            return false;
+        }
+        return ancestorEnter <= descendantEnter && descendantEnter <= exitIndex.get(ancestorId);
+    }
+
+    public boolean wouldCreateLoop(String id, String newParentId) {
+        return isAncestorOrSelf(id, newParentId);
+    }
+
+    public boolean isSameRoot(Collection<String> ids) {
+        return ids.stream()
+                .map(rootIndex::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .count() == 1;
+    }
+
+    /**
+     * Ids of every ancestor and descendant of the given categories, including the categories themselves.
+     */
+    public Set<String> getLineageIds(Collection<String> ids) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String id : ids) {
+            var enter = enterIndex.get(id);
+            if (enter == null) {
+                continue;
+            }
+            result.addAll(preorder.subList(enter, exitIndex.get(id) + 1));
+            var node = nodeIndex.get(id);
+            while (node.parentId() != null && nodeIndex.containsKey(node.parentId()) && result.add(node.parentId())) {
+                node = nodeIndex.get(node.parentId());
+            }
+        }
+        return result;
+    }
+
+    public record Node(String id,
+                       String name,
+                       String description,
+                       String parentId,
+                       Boolean visible,
+                       Boolean enabled,
+                       Timestamp createdDate,
+                       Timestamp updatedDate) {
+    }
+}
@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 @Builder
 public class PaymentAPICallback {
     private boolean status;
+    private boolean verified;
     private Long id;
     private BigDecimal total;
     private String orderInfo;
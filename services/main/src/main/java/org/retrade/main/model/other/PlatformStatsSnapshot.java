@@ -0,0 +1,36 @@
+package org.retrade.main.model.other;
+
+import org.retrade.main.model.constant.PlatformStatEnum;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Platform counters as last read from the shared store. Month-scoped values only apply while {@code period} is current.
+ */
+public record PlatformStatsSnapshot(long version,
+                                    Instant loadedAt,
+                                    YearMonth period,
+                                    Map<PlatformStatEnum, Long> counters,
+                                    BigDecimal revenueThisMonth) {
+    public static PlatformStatsSnapshot empty() {
+        return new PlatformStatsSnapshot(0L, Instant.EPOCH, null, Map.of(), BigDecimal.ZERO);
+    }
+
+    public long get(PlatformStatEnum stat) {
+        if (stat == PlatformStatEnum.NEW_USERS_THIS_MONTH && !isCurrentPeriod()) {
+            return 0L;
+        }
+        return Math.max(0L, counters.getOrDefault(stat, 0L));
+    }
+
+    public BigDecimal getRevenueThisMonth() {
+        return isCurrentPeriod() && revenueThisMonth != null ? revenueThisMonth : BigDecimal.ZERO;
+    }
+
+    public boolean isCurrentPeriod() {
+        return YearMonth.now().equals(period);
+    }
+}
@@ -0,0 +1,142 @@
+package org.retrade.main.model.other;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ids of sampleable products, bucketed globally, per seller and per category. Buckets keep ids in a dense list with a
+ * position index so add, remove and a uniform draw are all O(1). Not thread-safe; callers guard access.
+ */
+public final class ProductSamplingPool {
+    private final Bucket all = new Bucket();
+    private final Map<String, Bucket> bySeller = new HashMap<>();
+    private final Map<String, Bucket> byCategory = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public void put(String id, String sellerId, Collection<String> categoryIds) {
+        remove(id);
+        var entry = new Entry(sellerId, List.copyOf(categoryIds));
+        entries.put(id, entry);
+        all.add(id);
+        if (sellerId != null) {
+            bySeller.computeIfAbsent(sellerId, key -> new Bucket()).add(id);
+        }
+        entry.categoryIds().forEach(categoryId -> byCategory.computeIfAbsent(categoryId, key -> new Bucket()).add(id));
+    }
+
+    public void remove(String id) {
+        var entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        all.remove(id);
+        if (entry.sellerId() != null) {
+            removeFrom(bySeller, entry.sellerId(), id);
+        }
+        entry.categoryIds().forEach(categoryId -> removeFrom(byCategory, categoryId, id));
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    /**
+     * Draws up to {@code count} distinct ids uniformly at random. When both filters are given the smaller bucket is
+     * sampled and checked against the other.
+     */
+    public List<String> sample(int count, String categoryId, String sellerId, RandomGenerator random) {
+        Bucket source;
+        Predicate<String> filter = id -> true;
+        if (categoryId != null && sellerId != null) {
+            var categoryBucket = byCategory.get(categoryId);
+            var sellerBucket = bySeller.get(sellerId);
+            if (categoryBucket == null || sellerBucket == null) {
+                return List.of();
+            }
+            source = categoryBucket.size() <= sellerBucket.size() ? categoryBucket : sellerBucket;
+            var other = source == categoryBucket ? sellerBucket : categoryBucket;
+            filter = other::contains;
+        } else if (categoryId != null) {
+            source = byCategory.get(categoryId);
+        } else if (sellerId != null) {
+            source = bySeller.get(sellerId);
+        } else {
+            source = all;
+        }
+        return source == null ? List.of() : source.sample(count, random, filter);
+    }
+
+    private void removeFrom(Map<String, Bucket> buckets, String key, String id) {
+        var bucket = buckets.get(key);
+        if (bucket != null && bucket.remove(id) && bucket.size() == 0) {
+            buckets.remove(key);
+        }
+    }
+
+    private record Entry(String sellerId, List<String> categoryIds) {
+    }
+
+    private static final class Bucket {
+        private final List<String> ids = new ArrayList<>();
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        void add(String id) {
+            if (positions.putIfAbsent(id, ids.size()) == null) {
+                ids.add(id);
+            }
+        }
+
+        boolean remove(String id) {
+            Integer position = positions.remove(id);
+            if (position == null) {
+                return false;
+            }
+            var last = ids.removeLast();
+            if (position < ids.size()) {
+                ids.set(position, last);
+                positions.put(last, position);
+            }
+            return true;
+        }
+
+        boolean contains(String id) {
+            return positions.containsKey(id);
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        List<String> sample(int count, RandomGenerator random, Predicate<String> filter) {
+            int size = ids.size();
+            if (count <= 0 || size == 0) {
+                return List.of();
+            }
+            List<String> result = new ArrayList<>(Math.min(count, size));
+            // Sparse draws: pick random positions and skip repeats, giving up after a bounded number of misses.
+            if ((long) count * 4 < size) {
+                Set<Integer> seen = new HashSet<>();
+                int attempts = count * 8;
+                while (result.size() < count && attempts-- > 0) {
+                    int position = random.nextInt(size);
+                    if (seen.add(position) && filter.test(ids.get(position))) {
+                        result.add(ids.get(position));
+                    }
+                }
+                if (result.size() == count) {
+                    return result;
+                }
+                result.clear();
+            }
+            List<String> shuffled = new ArrayList<>(ids);
+            for (int i = 0; i < size && result.size() < count; i++) {
+                Collections.swap(shuffled, i, i + random.nextInt(size - i));
+                if (filter.test(shuffled.get(i))) {
+                    result.add(shuffled.get(i));
+                }
+            }
+            return result;
+        }
+    }
+}
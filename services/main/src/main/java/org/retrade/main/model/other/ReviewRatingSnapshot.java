@@ -0,0 +1,22 @@
+package org.retrade.main.model.other;
+
+import org.retrade.main.model.entity.ProductReviewEntity;
+
+/**
+ * What a single review contributes to the product and seller rating aggregates at one point in time.
+ */
+public record ReviewRatingSnapshot(String productId, String sellerId, boolean counted, double vote, int star, boolean replied) {
+    public static ReviewRatingSnapshot of(ProductReviewEntity review) {
+        var vote = review.getVote();
+        boolean counted = Boolean.TRUE.equals(review.getStatus()) && vote != null && vote > 0;
+        int star = counted ? (int) Math.max(1, Math.min(5, Math.round(vote))) : 0;
+        boolean replied = review.getReplyContent() != null && !review.getReplyContent().isEmpty();
+        return new ReviewRatingSnapshot(
+                review.getProduct().getId(),
+                review.getSeller().getId(),
+                counted,
+                counted ? vote : 0.0,
+                star,
+                counted && replied);
+    }
+}
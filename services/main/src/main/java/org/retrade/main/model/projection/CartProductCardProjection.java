@@ -0,0 +1,19 @@
+package org.retrade.main.model.projection;
+
+import org.retrade.main.model.constant.ProductStatusEnum;
+
+import java.math.BigDecimal;
+
+public interface CartProductCardProjection {
+    String getId();
+    String getName();
+    String getThumbnail();
+    String getShortDescription();
+    String getBrandName();
+    BigDecimal getCurrentPrice();
+    Integer getQuantity();
+    ProductStatusEnum getStatus();
+    String getSellerId();
+    String getSellerName();
+    String getSellerAvatarUrl();
+}
@@ -0,0 +1,14 @@
+package org.retrade.main.model.projection;
+
+import java.sql.Timestamp;
+
+public interface CategoryTreeProjection {
+    String getId();
+    String getName();
+    String getDescription();
+    String getParentId();
+    Boolean getVisible();
+    Boolean getEnabled();
+    Timestamp getCreatedDate();
+    Timestamp getUpdatedDate();
+}
@@ -0,0 +1,8 @@
+package org.retrade.main.model.projection;
+
+import java.sql.Timestamp;
+
+public interface ProductKeysetProjection {
+    String getId();
+    Timestamp getUpdatedDate();
+}
@@ -0,0 +1,28 @@
+package org.retrade.main.model.projection;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Set;
+
+public interface ProductReviewRowProjection {
+    String getId();
+    Timestamp getCreatedDate();
+    Timestamp getUpdatedDate();
+    Double getVote();
+    String getContent();
+    Set<String> getImageReview();
+    Boolean getStatus();
+    String getReplyContent();
+    Timestamp getReplyCreatedDate();
+    Timestamp getReplyUpdatedDate();
+    String getOrderComboId();
+    String getCustomerId();
+    String getCustomerFirstName();
+    String getCustomerLastName();
+    String getCustomerAvatarUrl();
+    String getProductId();
+    String getProductName();
+    String getProductThumbnail();
+    String getProductDescription();
+    BigDecimal getProductPrice();
+}
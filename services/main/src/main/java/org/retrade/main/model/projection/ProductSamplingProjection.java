@@ -0,0 +1,6 @@
+package org.retrade.main.model.projection;
+
+public interface ProductSamplingProjection {
+    String getId();
+    String getSellerId();
+}
@@ -0,0 +1,11 @@
+package org.retrade.main.model.projection;
+
+import java.math.BigDecimal;
+
+public interface SellerMetricTotalProjection {
+    Long getCompletedOrders();
+    BigDecimal getCompletedRevenue();
+    BigDecimal getNetRevenue();
+    Long getCancelledOrders();
+    Long getItemsSold();
+}
@@ -0,0 +1,8 @@
+package org.retrade.main.model.projection;
+
+public interface SellerProductMetricProjection {
+    Long getTotalProducts();
+    Long getActiveProducts();
+    Long getQuantityInStock();
+    Long getVerifiedProducts();
+}
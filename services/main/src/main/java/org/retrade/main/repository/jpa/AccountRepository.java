@@ -2,11 +2,13 @@ package org.retrade.main.repository.jpa;
 
 import org.retrade.common.repository.BaseJpaRepository;
 import org.retrade.main.model.entity.AccountEntity;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 @Repository
@@ -30,4 +32,18 @@ public interface AccountRepository extends BaseJpaRepository<AccountEntity, Stri
             "AND MONTH(a.createdDate) = :month")
     long countAccountsCreatedInMonth(@Param("year") int year, @Param("month") int month);
 
+    @Modifying
+    @Query(value = "UPDATE main.accounts SET balance = balance + :amount WHERE id = :id", nativeQuery = true)
+    int creditBalance(@Param("id") String id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "UPDATE main.accounts SET balance = balance - :amount WHERE id = :id AND balance >= :amount", nativeQuery = true)
+    int debitBalance(@Param("id") String id, @Param("amount") BigDecimal amount);
+
+    @Query(value = "SELECT balance FROM main.accounts WHERE id = :id", nativeQuery = true)
+    BigDecimal findBalanceById(@Param("id") String id);
+
+    @Query(value = "SELECT balance FROM main.accounts WHERE id = :id FOR UPDATE", nativeQuery = true)
+    BigDecimal lockBalanceById(@Param("id") String id);
+
 }
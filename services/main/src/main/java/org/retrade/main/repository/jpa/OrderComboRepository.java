@@ -1,19 +1,21 @@
 package org.retrade.main.repository.jpa;
 
+import jakarta.persistence.LockModeType;
 import org.retrade.common.repository.BaseJpaRepository;
 import org.retrade.main.model.entity.*;
 import org.retrade.main.model.projection.OrderStatusCountProjection;
+import org.retrade.main.model.projection.PendingOrderProjection;
 import org.retrade.main.model.projection.RecentOrderProjection;
-import org.retrade.main.model.projection.RevenueMonthProjection;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
-import java.sql.Timestamp;
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,32 @@ public interface OrderComboRepository extends BaseJpaRepository<OrderComboEntity
     List<OrderComboEntity> findByOrderDestination(OrderDestinationEntity orderDestination);
     List<OrderComboEntity> findByOrderItems_Order_Id(String orderId);
 
+    @Modifying
+    @Query("""
+        UPDATE order_combos c SET c.orderStatus = :status, c.updatedDate = CURRENT_TIMESTAMP
+        WHERE c.id IN (SELECT i.orderCombo.id FROM order_items i WHERE i.order.id = :orderId)
+    """)
+    int updateStatusByOrderId(@Param("orderId") String orderId, @Param("status") OrderStatusEntity status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT c FROM order_combos c
+        WHERE c.orderDestination.order.id IN :orderIds AND c.orderStatus.code = :statusCode
+    """)
+    List<OrderComboEntity> lockByOrderIdsAndStatusCode(@Param("orderIds") Collection<String> orderIds,
+                                                       @Param("statusCode") String statusCode);
+
+    @Query("""
+        SELECT c.orderDestination.order.id AS orderId, MIN(c.createdDate) AS createdDate
+        FROM order_combos c
+        WHERE c.orderStatus.code = :statusCode AND c.orderDestination.order.id > :after
+        GROUP BY c.orderDestination.order.id
+        ORDER BY c.orderDestination.order.id ASC
+    """)
+    List<PendingOrderProjection> findOrdersByStatusCodeAfter(@Param("statusCode") String statusCode,
+                                                             @Param("after") String after,
+                                                             Pageable pageable);
+
     boolean existsByOrderDestination_Order_CustomerAndId(@NonNull CustomerEntity customer, @NonNull String id);
 
     Optional<OrderComboEntity> findByIdAndSeller(String id, SellerEntity seller);
@@ -31,52 +59,11 @@ public interface OrderComboRepository extends BaseJpaRepository<OrderComboEntity
     @Query("SELECT COALESCE(SUM(o.grandPrice), 0) FROM order_combos o WHERE o.seller = :seller AND o.orderStatus = :status")
     BigDecimal getTotalGrandPriceBySellerAndStatus(@Param("seller") SellerEntity seller, @Param("status") OrderStatusEntity status);
 
-    @Query("SELECT COALESCE(SUM(o.grandPrice), 0) FROM order_combos o WHERE o.seller = :seller AND o.orderStatus = :status")
-    BigDecimal getTotalGrandPriceBySellerAndStatusAndDateRange(
-            @Param("seller") SellerEntity seller,
-            @Param("status") OrderStatusEntity status,
-            @Param("fromDate")LocalDateTime fromDate,
-            @Param("toDate")LocalDateTime toDate
-    );
-
-    @Query("SELECT COUNT(o) FROM order_combos o WHERE o.seller = :seller AND o.orderStatus = :status")
-    Long countOrdersBySellerAndStatus(@Param("seller") SellerEntity seller, @Param("status") OrderStatusEntity status);
-
-
-
-    @Query("SELECT COALESCE(SUM(o.grandPrice * (1 - CASE " +
-            "WHEN o.grandPrice < 500000 THEN 0.05 " +
-            "WHEN o.grandPrice <= 1000000 THEN 0.04 " +
-            "ELSE 0.03 END)), 0) " +
-            "FROM order_combos o WHERE o.seller = :seller AND o.orderStatus = :status")
-    BigDecimal getTotalPriceAfterFeeBySellerAndStatus(@Param("seller") SellerEntity seller, @Param("status") OrderStatusEntity status);
-
-    @Query("SELECT COALESCE(AVG(o.grandPrice), 0) FROM order_combos o WHERE o.seller = :seller AND o.orderStatus = :status")
-    BigDecimal getAverageGrandPriceBySellerAndStatus(@Param("seller") SellerEntity seller, @Param("status") OrderStatusEntity status);
-
-    @Query("SELECT COALESCE(SUM(oi.quantity), 0) " +
-            "FROM order_combos oc JOIN oc.orderItems oi " +
-            "WHERE oc.seller = :seller AND oc.orderStatus = :status")
-    Long getTotalItemsSoldBySellerAndStatus(@Param("seller") SellerEntity seller, @Param("status") OrderStatusEntity status);
-
     long countDistinctBySeller_IdAndOrderStatus_Code(@NonNull String id, @NonNull String code);
 
     @Query("SELECT COUNT(o) FROM order_combos o WHERE o.orderStatus.code = 'COMPLETED'")
     long countByOrderStatus();
 
-    long countBySellerAndCancelledReasonNotNullAndCreatedDateBetween(SellerEntity seller, Timestamp createdDateStart, Timestamp createdDateEnd);
-
-    long countBySellerAndOrderStatusAndCreatedDateBetween(@NonNull SellerEntity seller, @NonNull OrderStatusEntity orderStatus, @NonNull Timestamp createdDateStart, @NonNull Timestamp createdDateEnd);
-
-    @Query("""
-        SELECT MONTH(o.createdDate) AS month, SUM(o.grandPrice) AS total
-        FROM order_combos o
-        WHERE o.seller = :seller AND YEAR(o.createdDate) = :year AND o.orderStatus.code = 'COMPLETED'
-        GROUP BY MONTH(o.createdDate)
-        ORDER BY MONTH(o.createdDate)
-    """)
-    List<RevenueMonthProjection> getRevenuePerMonth(@Param("seller") SellerEntity seller, @Param("year") int year);
-
     @Query("""
         SELECT os.code AS code, COUNT(o) AS count
         FROM order_statuses os
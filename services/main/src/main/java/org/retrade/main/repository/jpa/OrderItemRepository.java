@@ -10,7 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
-import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -26,17 +26,11 @@ public interface OrderItemRepository extends BaseJpaRepository<OrderItemEntity,
 
     List<OrderItemEntity> findByOrder_Id(@NonNull String id);
 
-    @Query("""
-        SELECT COALESCE(SUM(oi.quantity), 0)
-        FROM order_items oi
-        WHERE oi.orderCombo.seller = :seller
-          AND oi.orderCombo.orderStatus = :status
-          AND oi.createdDate BETWEEN :fromDate AND :toDate
-    """)
-    Long getTotalProductSoldBySellerAndStatusAndDateRange(SellerEntity seller,
-                                                          OrderStatusEntity status,
-                                                          Timestamp fromDate,
-                                                          Timestamp toDate);
+    @Query("SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi WHERE oi.orderCombo.orderStatus.code = :statusCode")
+    long sumQuantityByOrderComboStatusCode(@Param("statusCode") String statusCode);
+
+    @Query("SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi WHERE oi.orderCombo.id IN :orderComboIds")
+    long sumQuantityByOrderComboIds(@Param("orderComboIds") Collection<String> orderComboIds);
 
     @Query("""
         SELECT COALESCE(SUM(oi.quantity)) FROM order_items oi
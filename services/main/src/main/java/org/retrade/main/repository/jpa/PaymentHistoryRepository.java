@@ -6,8 +6,13 @@ import org.retrade.main.model.entity.CustomerEntity;
 import org.retrade.main.model.entity.OrderEntity;
 import org.retrade.main.model.entity.PaymentHistoryEntity;
 import org.retrade.main.model.entity.PaymentMethodEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,5 +28,37 @@ public interface PaymentHistoryRepository extends BaseJpaRepository<PaymentHisto
 
     List<PaymentHistoryEntity> findByOrderAndPaymentStatus(OrderEntity order, PaymentStatusEnum paymentStatus);
 
+    boolean existsByOrderAndPaymentStatusIn(OrderEntity order, Collection<PaymentStatusEnum> paymentStatuses);
+
     List<PaymentHistoryEntity> findByOrder_Customer(CustomerEntity customer);
-}
\ No newline at end of file
+
+    @Query("SELECT p.paymentStatus FROM payment_histories p WHERE p.id = :id")
+    Optional<PaymentStatusEnum> findPaymentStatusById(@Param("id") String id);
+
+    @Modifying
+    @Query("""
+        UPDATE payment_histories p
+        SET p.paymentStatus = :target, p.paymentTime = :paymentTime,
+            p.providerTransactionId = :transactionId, p.updatedDate = CURRENT_TIMESTAMP
+        WHERE p.id = :id AND p.paymentStatus = :expected
+    """)
+    int transitionStatus(@Param("id") String id,
+                         @Param("expected") PaymentStatusEnum expected,
+                         @Param("target") PaymentStatusEnum target,
+                         @Param("paymentTime") LocalDateTime paymentTime,
+                         @Param("transactionId") String transactionId);
+
+    @Modifying
+    @Query("""
+        UPDATE payment_histories p
+        SET p.paymentStatus = :target, p.updatedDate = CURRENT_TIMESTAMP
+        WHERE p.order.id IN :orderIds AND p.paymentStatus = :expected
+    """)
+    int transitionStatusByOrderIds(@Param("orderIds") Collection<String> orderIds,
+                                   @Param("expected") PaymentStatusEnum expected,
+                                   @Param("target") PaymentStatusEnum target);
+
+    @Query("SELECT DISTINCT p.order.id FROM payment_histories p WHERE p.order.id IN :orderIds AND p.paymentStatus = :status")
+    List<String> findOrderIdsByPaymentStatus(@Param("orderIds") Collection<String> orderIds,
+                                             @Param("status") PaymentStatusEnum status);
+}
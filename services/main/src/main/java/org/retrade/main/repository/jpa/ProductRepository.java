@@ -5,16 +5,23 @@ import org.retrade.main.model.constant.ProductStatusEnum;
 import org.retrade.main.model.entity.OrderEntity;
 import org.retrade.main.model.entity.ProductEntity;
 import org.retrade.main.model.entity.SellerEntity;
+import org.retrade.main.model.projection.CartProductCardProjection;
+import org.retrade.main.model.projection.ProductCategoryIdProjection;
+import org.retrade.main.model.projection.ProductKeysetProjection;
+import org.retrade.main.model.projection.ProductSamplingProjection;
 import org.retrade.main.model.projection.ProductStatusCountProjection;
+import org.retrade.main.model.projection.SellerProductMetricProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -42,15 +49,17 @@ public interface ProductRepository extends BaseJpaRepository<ProductEntity, Stri
     Long calculateTotalProductPriceBySeller(@Param("seller") SellerEntity seller);
 
 
-    long countBySellerAndQuantityGreaterThan(SellerEntity seller, int quantity);
-    long countBySellerAndVerifiedTrue(SellerEntity seller);
-
     @Query("""
-        SELECT COALESCE(SUM(p.quantity), 0)
+        SELECT COUNT(p) AS totalProducts,
+               COALESCE(SUM(CASE WHEN p.quantity > 0 THEN 1 ELSE 0 END), 0) AS activeProducts,
+               COALESCE(SUM(p.quantity), 0) AS quantityInStock,
+               COALESCE(SUM(CASE WHEN p.verified = true THEN 1 ELSE 0 END), 0) AS verifiedProducts
         FROM products p
         WHERE p.seller = :seller
     """)
-    Long sumQuantityBySeller(SellerEntity seller);
+    SellerProductMetricProjection getSellerProductMetric(@Param("seller") SellerEntity seller);
+
+    long countBySellerAndVerifiedTrue(SellerEntity seller);
 
 
     @Query(
@@ -70,8 +79,6 @@ public interface ProductRepository extends BaseJpaRepository<ProductEntity, Stri
     )
     Set<String> findProductAncestryIds(@Param("productId") String productId);
 
-    @Query("SELECT AVG(p.avgVote) FROM products p WHERE p.seller = :seller AND p.avgVote > 0")
-    Double findAverageRatingBySeller(@Param("seller") SellerEntity seller);
     // Lấy danh sách seller có sản phẩm liên quan
     @Query("SELECT DISTINCT p.seller FROM products p WHERE p IN :products")
     List<SellerEntity> findSellersByProducts(@Param("products") List<ProductEntity> products);
@@ -132,33 +139,43 @@ public interface ProductRepository extends BaseJpaRepository<ProductEntity, Stri
     long countBySellerAndStatus(@NonNull SellerEntity seller, @NonNull ProductStatusEnum status);
 
 
-    @Modifying
+    boolean existsByIdAndParentProductNotNull(String id);
+
+    Optional<ProductEntity> findByIdAndSeller(String id, SellerEntity seller);
+
     @Query("""
-        UPDATE products p
-            SET p.avgVote = (
-                SELECT COALESCE(AVG(r.vote), 0)
-                FROM product_reviews r
-                WHERE r.product = p AND r.updatedDate > :lastSync
-            )
-        WHERE p.id IN (
-            SELECT DISTINCT r.product.id
-            FROM product_reviews r
-            WHERE r.updatedDate > :lastSync
-        )
+        SELECT p.id AS id, p.seller.id AS sellerId FROM products p
+        WHERE p.verified = true AND p.status = :status AND p.id > :after
+        ORDER BY p.id ASC
     """)
-    void updateProductAverageRatings(@Param("lastSync") LocalDateTime lastSync);
+    List<ProductSamplingProjection> findSamplingEntriesAfter(@Param("status") ProductStatusEnum status,
+                                                             @Param("after") String after,
+                                                             Pageable pageable);
 
-    boolean existsByIdAndParentProductNotNull(String id);
+    @Query("""
+        SELECT p.id AS id, p.seller.id AS sellerId FROM products p
+        WHERE p.id = :id AND p.verified = true AND p.status = :status
+    """)
+    Optional<ProductSamplingProjection> findSamplingEntry(@Param("id") String id, @Param("status") ProductStatusEnum status);
 
-    Optional<ProductEntity> findByIdAndSeller(String id, SellerEntity seller);
+    @Query("""
+        SELECT p.id AS id, p.name AS name, p.thumbnail AS thumbnail, p.shortDescription AS shortDescription,
+               b.name AS brandName, p.currentPrice AS currentPrice, p.quantity AS quantity, p.status AS status,
+               s.id AS sellerId, s.shopName AS sellerName, s.avatarUrl AS sellerAvatarUrl
+        FROM products p
+        JOIN p.seller s
+        LEFT JOIN p.brand b
+        WHERE p.id IN :ids
+    """)
+    List<CartProductCardProjection> findCartCardsByIdIn(@Param("ids") Collection<String> ids);
 
-    @Query(value = "SELECT p.id FROM main.products p WHERE p.verified = true AND p.status = :status ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
-    Set<String> findRandomProductId(@Param("limit") Long limit, @Param("status") int status);
+    @Query("SELECT p.id AS productId, c.id AS categoryId FROM products p JOIN p.categories c WHERE p.id IN :ids")
+    List<ProductCategoryIdProjection> findCategoryIdsByProductIds(@Param("ids") Collection<String> ids);
 
     @Modifying
     @Query("""
         UPDATE products p
-        SET p.status = :newStatus
+        SET p.status = :newStatus, p.updatedDate = CURRENT_TIMESTAMP
         WHERE p.quantity = 0
           AND p.status = :oldStatus
           AND p.verified = true
@@ -170,8 +187,53 @@ public interface ProductRepository extends BaseJpaRepository<ProductEntity, Stri
         SELECT p.status AS status, COUNT(p) AS count FROM products p GROUP BY p.status
     """)
     List<ProductStatusCountProjection> getProductStatusCount();
-}
 
+    @Query("""
+        SELECT p.id AS id, p.updatedDate AS updatedDate FROM products p
+        WHERE p.updatedDate <= :upperBound
+          AND (p.updatedDate > :updatedDate OR (p.updatedDate = :updatedDate AND p.id > :id))
+        ORDER BY p.updatedDate ASC, p.id ASC
+    """)
+    List<ProductKeysetProjection> findReindexKeys(@Param("updatedDate") Timestamp updatedDate,
+                                                  @Param("id") String id,
+                                                  @Param("upperBound") Timestamp upperBound,
+                                                  Pageable pageable);
 
+    @EntityGraph(attributePaths = {"seller", "brand", "categories"})
+    List<ProductEntity> findAllByIdIn(Collection<String> ids);
 
+    @EntityGraph(attributePaths = {"seller", "brand"})
+    List<ProductEntity> findByIdIn(Collection<String> ids);
 
+    @Query("SELECT p.id FROM products p WHERE p.id > :after ORDER BY p.id ASC")
+    List<String> findIdsAfter(@Param("after") String after, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE products p
+        SET p.quantity = p.quantity - :quantity
+        WHERE p.id = :id AND p.quantity >= :quantity
+    """)
+    int reserveStock(@Param("id") String id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE products p
+        SET p.quantity = p.quantity + :quantity
+        WHERE p.id = :id
+    """)
+    int releaseStock(@Param("id") String id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        UPDATE main.products p SET quantity = p.quantity + r.quantity
+        FROM (
+            SELECT oi.product_id, SUM(oi.quantity) AS quantity
+            FROM main.order_items oi
+            WHERE oi.order_combo_id IN (:orderComboIds)
+            GROUP BY oi.product_id
+        ) r
+        WHERE p.id = r.product_id
+    """, nativeQuery = true)
+    int releaseStockForOrderCombos(@Param("orderComboIds") Collection<String> orderComboIds);
+}
@@ -2,25 +2,60 @@ package org.retrade.main.repository.jpa;
 
 import org.retrade.common.repository.BaseJpaRepository;
 import org.retrade.main.model.entity.*;
+import org.retrade.main.model.projection.ProductReviewRowProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ProductReviewRepository extends BaseJpaRepository<ProductReviewEntity, String> {
+    String REVIEW_ROW_SELECT = """
+                SELECT r.id AS id, r.createdDate AS createdDate, r.updatedDate AS updatedDate,
+                       r.vote AS vote, r.content AS content, r.imageReview AS imageReview, r.status AS status,
+                       r.replyContent AS replyContent, r.replyCreatedDate AS replyCreatedDate,
+                       r.replyUpdatedDate AS replyUpdatedDate, r.orderCombo.id AS orderComboId,
+                       c.id AS customerId, c.firstName AS customerFirstName, c.lastName AS customerLastName,
+                       c.avatarUrl AS customerAvatarUrl,
+                       p.id AS productId, p.name AS productName, p.thumbnail AS productThumbnail,
+                       p.description AS productDescription, p.currentPrice AS productPrice
+                FROM product_reviews r
+                JOIN r.customer c
+                JOIN r.product p
+            """;
 
     List<ProductReviewEntity> findByProduct(ProductEntity product);
 
-    List<ProductReviewEntity> findBySeller(SellerEntity seller);
-
     List<ProductReviewEntity> findBySellerAndStatusTrue(SellerEntity seller);
 
-    Page<ProductReviewEntity> findBySeller(SellerEntity seller, Pageable pageable);
+    @Query(REVIEW_ROW_SELECT + """
+                WHERE r.seller.id = :sellerId AND r.status = true
+                ORDER BY r.createdDate DESC, r.id DESC
+            """)
+    List<ProductReviewRowProjection> findSellerReviewRows(@Param("sellerId") String sellerId, Pageable pageable);
+
+    @Query(REVIEW_ROW_SELECT + """
+                WHERE r.seller.id = :sellerId AND r.status = true
+                  AND (r.createdDate < :createdDate OR (r.createdDate = :createdDate AND r.id < :id))
+                ORDER BY r.createdDate DESC, r.id DESC
+            """)
+    List<ProductReviewRowProjection> findSellerReviewRowsBefore(@Param("sellerId") String sellerId,
+                                                                @Param("createdDate") Timestamp createdDate,
+                                                                @Param("id") String id,
+                                                                Pageable pageable);
+
+    @Query(value = REVIEW_ROW_SELECT + """
+                WHERE r.seller.id = :sellerId AND r.status = true
+            """, countQuery = "SELECT COUNT(r) FROM product_reviews r WHERE r.seller.id = :sellerId AND r.status = true")
+    Page<ProductReviewRowProjection> findSellerReviewRowPage(@Param("sellerId") String sellerId, Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM product_reviews r WHERE r.seller.id = :sellerId AND r.status = true")
+    long countSellerReviews(@Param("sellerId") String sellerId);
 
     List<ProductReviewEntity> findByCustomer(CustomerEntity customer);
 
@@ -31,9 +66,6 @@ public interface ProductReviewRepository extends BaseJpaRepository<ProductReview
     List<ProductReviewEntity> findByProductAndStatusTrue(ProductEntity product);
 
 
-    @Query("SELECT AVG(p.vote) FROM product_reviews p WHERE p.product = :product AND p.vote > 0")
-    Double calculateTotalRatingByProduct(@Param("product") ProductEntity product);
-
     @Query("""
                 SELECT AVG(p.vote)
                 FROM product_reviews p
@@ -101,33 +133,6 @@ public interface ProductReviewRepository extends BaseJpaRepository<ProductReview
 
     Page<ProductReviewEntity> findProductReviewsByCustomerAndStatusTrue(CustomerEntity customer, Pageable pageable);
 
-    @Query("""
-                SELECT COUNT(r)
-                FROM product_reviews r
-                WHERE r.status = true AND r.seller = :seller
-            """)
-    long countTotalReviews(@Param("seller") SellerEntity seller);
-
-    @Query("""
-                SELECT COUNT(r)
-                FROM product_reviews r
-                WHERE r.status = true
-                  AND r.seller = :seller
-                  AND r.replyContent IS NOT NULL
-                  AND r.replyContent <> ''
-            """)
-    long countRepliedReviews(@Param("seller") SellerEntity seller);
-
-    @Query("""
-                SELECT r.vote, COUNT(r)
-                FROM product_reviews r
-                WHERE r.status = true AND r.seller = :seller
-                GROUP BY r.vote
-                HAVING r.vote BETWEEN 1 AND 5
-                ORDER BY r.vote DESC
-            """)
-    List<Object[]> getRatingDistribution(@Param("seller") SellerEntity seller);
-
 
     long countByProductAndStatusTrue(ProductEntity product);
 
@@ -0,0 +1,133 @@
+package org.retrade.main.repository.jpa;
+
+import org.retrade.common.repository.BaseJpaRepository;
+import org.retrade.main.model.constant.RatingTargetTypeEnum;
+import org.retrade.main.model.entity.RatingAggregateEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface RatingAggregateRepository extends BaseJpaRepository<RatingAggregateEntity, String> {
+    Optional<RatingAggregateEntity> findByTargetTypeAndTargetId(RatingTargetTypeEnum targetType, String targetId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO main.rating_aggregates AS a (id, target_type, target_id, review_count, vote_sum,
+            one_star_count, two_star_count, three_star_count, four_star_count, five_star_count,
+            replied_count, created_date, updated_date)
+        VALUES (CAST(gen_random_uuid() AS VARCHAR), :targetType, :targetId, GREATEST(:reviewCount, 0), GREATEST(:voteSum, 0),
+            GREATEST(:oneStar, 0), GREATEST(:twoStar, 0), GREATEST(:threeStar, 0), GREATEST(:fourStar, 0), GREATEST(:fiveStar, 0),
+            GREATEST(:replied, 0), NOW(), NOW())
+        ON CONFLICT (target_type, target_id) DO UPDATE SET
+            review_count = GREATEST(a.review_count + :reviewCount, 0),
+            vote_sum = GREATEST(a.vote_sum + :voteSum, 0),
+            one_star_count = GREATEST(a.one_star_count + :oneStar, 0),
+            two_star_count = GREATEST(a.two_star_count + :twoStar, 0),
+            three_star_count = GREATEST(a.three_star_count + :threeStar, 0),
+            four_star_count = GREATEST(a.four_star_count + :fourStar, 0),
+            five_star_count = GREATEST(a.five_star_count + :fiveStar, 0),
+            replied_count = GREATEST(a.replied_count + :replied, 0),
+            updated_date = NOW()
+        """, nativeQuery = true)
+    int applyDelta(@Param("targetType") int targetType,
+                   @Param("targetId") String targetId,
+                   @Param("reviewCount") long reviewCount,
+                   @Param("voteSum") double voteSum,
+                   @Param("oneStar") long oneStar,
+                   @Param("twoStar") long twoStar,
+                   @Param("threeStar") long threeStar,
+                   @Param("fourStar") long fourStar,
+                   @Param("fiveStar") long fiveStar,
+                   @Param("replied") long replied);
+
+    @Modifying
+    @Query(value = "DELETE FROM main.rating_aggregates WHERE target_type = :targetType AND target_id IN (:targetIds)", nativeQuery = true)
+    int deleteByTargets(@Param("targetType") int targetType, @Param("targetIds") Collection<String> targetIds);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO main.rating_aggregates (id, target_type, target_id, review_count, vote_sum,
+            one_star_count, two_star_count, three_star_count, four_star_count, five_star_count,
+            replied_count, created_date, updated_date)
+        SELECT CAST(gen_random_uuid() AS VARCHAR), 0, r.product_id, COUNT(*), SUM(r.vote),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 1),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 2),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 3),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 4),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 5),
+            COUNT(*) FILTER (WHERE r.reply_content IS NOT NULL AND r.reply_content <> ''),
+            NOW(), NOW()
+        FROM main.product_reviews r
+        WHERE r.status = true AND r.vote > 0 AND r.product_id IN (:productIds)
+        GROUP BY r.product_id
+        ON CONFLICT (target_type, target_id) DO UPDATE SET
+            review_count = EXCLUDED.review_count,
+            vote_sum = EXCLUDED.vote_sum,
+            one_star_count = EXCLUDED.one_star_count,
+            two_star_count = EXCLUDED.two_star_count,
+            three_star_count = EXCLUDED.three_star_count,
+            four_star_count = EXCLUDED.four_star_count,
+            five_star_count = EXCLUDED.five_star_count,
+            replied_count = EXCLUDED.replied_count,
+            updated_date = NOW()
+        """, nativeQuery = true)
+    int rebuildProductAggregates(@Param("productIds") Collection<String> productIds);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO main.rating_aggregates (id, target_type, target_id, review_count, vote_sum,
+            one_star_count, two_star_count, three_star_count, four_star_count, five_star_count,
+            replied_count, created_date, updated_date)
+        SELECT CAST(gen_random_uuid() AS VARCHAR), 1, r.seller_id, COUNT(*), SUM(r.vote),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 1),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 2),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 3),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 4),
+            COUNT(*) FILTER (WHERE LEAST(GREATEST(ROUND(r.vote), 1), 5) = 5),
+            COUNT(*) FILTER (WHERE r.reply_content IS NOT NULL AND r.reply_content <> ''),
+            NOW(), NOW()
+        FROM main.product_reviews r
+        WHERE r.status = true AND r.vote > 0 AND r.seller_id IN (:sellerIds)
+        GROUP BY r.seller_id
+        ON CONFLICT (target_type, target_id) DO UPDATE SET
+            review_count = EXCLUDED.review_count,
+            vote_sum = EXCLUDED.vote_sum,
+            one_star_count = EXCLUDED.one_star_count,
+            two_star_count = EXCLUDED.two_star_count,
+            three_star_count = EXCLUDED.three_star_count,
+            four_star_count = EXCLUDED.four_star_count,
+            five_star_count = EXCLUDED.five_star_count,
+            replied_count = EXCLUDED.replied_count,
+            updated_date = NOW()
+        """, nativeQuery = true)
+    int rebuildSellerAggregates(@Param("sellerIds") Collection<String> sellerIds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE main.products p
+        SET avg_vote = COALESCE((
+            SELECT a.vote_sum / a.review_count
+            FROM main.rating_aggregates a
+            WHERE a.target_type = 0 AND a.target_id = p.id AND a.review_count > 0
+        ), 0)
+        WHERE p.id IN (:productIds)
+        """, nativeQuery = true)
+    int refreshProductAverages(@Param("productIds") Collection<String> productIds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE main.sellers s
+        SET avg_vote = COALESCE((
+            SELECT a.vote_sum / a.review_count
+            FROM main.rating_aggregates a
+            WHERE a.target_type = 1 AND a.target_id = s.id AND a.review_count > 0
+        ), 0)
+        WHERE s.id IN (:sellerIds)
+        """, nativeQuery = true)
+    int refreshSellerAverages(@Param("sellerIds") Collection<String> sellerIds);
+}
@@ -0,0 +1,12 @@
+package org.retrade.main.repository.jpa;
+
+import org.retrade.common.repository.BaseJpaRepository;
+import org.retrade.main.model.entity.SearchIndexCheckpointEntity;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SearchIndexCheckpointRepository extends BaseJpaRepository<SearchIndexCheckpointEntity, String> {
+    Optional<SearchIndexCheckpointEntity> findByIndexName(String indexName);
+}
@@ -0,0 +1,24 @@
+package org.retrade.main.repository.jpa;
+
+import org.retrade.common.repository.BaseJpaRepository;
+import org.retrade.main.model.entity.SearchOutboxEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public interface SearchOutboxRepository extends BaseJpaRepository<SearchOutboxEntity, String> {
+    @Query(value = """
+        SELECT * FROM main.search_outbox
+        ORDER BY created_date ASC, id ASC
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<SearchOutboxEntity> lockNextBatch(@Param("limit") int limit);
+
+    @Query("SELECT MIN(o.createdDate) FROM search_outbox o")
+    Timestamp findOldestCreatedDate();
+}
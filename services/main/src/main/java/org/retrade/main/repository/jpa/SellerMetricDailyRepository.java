@@ -0,0 +1,119 @@
+package org.retrade.main.repository.jpa;
+
+import org.retrade.common.repository.BaseJpaRepository;
+import org.retrade.main.model.entity.SellerMetricDailyEntity;
+import org.retrade.main.model.projection.RevenueMonthProjection;
+import org.retrade.main.model.projection.SellerMetricTotalProjection;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SellerMetricDailyRepository extends BaseJpaRepository<SellerMetricDailyEntity, String> {
+    @Modifying
+    @Query(value = """
+        INSERT INTO main.seller_metric_daily AS m (id, seller_id, bucket_date, completed_orders, completed_revenue,
+            net_revenue, cancelled_orders, items_sold, created_date, updated_date)
+        VALUES (CAST(gen_random_uuid() AS VARCHAR), :sellerId, :bucketDate, GREATEST(:completedOrders, 0),
+            GREATEST(:completedRevenue, 0), GREATEST(:netRevenue, 0), GREATEST(:cancelledOrders, 0),
+            GREATEST(:itemsSold, 0), NOW(), NOW())
+        ON CONFLICT (seller_id, bucket_date) DO UPDATE SET
+            completed_orders = GREATEST(m.completed_orders + :completedOrders, 0),
+            completed_revenue = GREATEST(m.completed_revenue + :completedRevenue, 0),
+            net_revenue = GREATEST(m.net_revenue + :netRevenue, 0),
+            cancelled_orders = GREATEST(m.cancelled_orders + :cancelledOrders, 0),
+            items_sold = GREATEST(m.items_sold + :itemsSold, 0),
+            updated_date = NOW()
+        """, nativeQuery = true)
+    int applyDelta(@Param("sellerId") String sellerId,
+                   @Param("bucketDate") LocalDate bucketDate,
+                   @Param("completedOrders") long completedOrders,
+                   @Param("completedRevenue") BigDecimal completedRevenue,
+                   @Param("netRevenue") BigDecimal netRevenue,
+                   @Param("cancelledOrders") long cancelledOrders,
+                   @Param("itemsSold") long itemsSold);
+
+    @Query("""
+        SELECT COALESCE(SUM(m.completedOrders), 0) AS completedOrders,
+               COALESCE(SUM(m.completedRevenue), 0) AS completedRevenue,
+               COALESCE(SUM(m.netRevenue), 0) AS netRevenue,
+               COALESCE(SUM(m.cancelledOrders), 0) AS cancelledOrders,
+               COALESCE(SUM(m.itemsSold), 0) AS itemsSold
+        FROM seller_metric_daily m
+        WHERE m.sellerId = :sellerId AND m.bucketDate BETWEEN :fromDate AND :toDate
+    """)
+    SellerMetricTotalProjection sumBySellerAndRange(@Param("sellerId") String sellerId,
+                                                    @Param("fromDate") LocalDate fromDate,
+                                                    @Param("toDate") LocalDate toDate);
+
+    @Query("""
+        SELECT COALESCE(SUM(m.completedOrders), 0) AS completedOrders,
+               COALESCE(SUM(m.completedRevenue), 0) AS completedRevenue,
+               COALESCE(SUM(m.netRevenue), 0) AS netRevenue,
+               COALESCE(SUM(m.cancelledOrders), 0) AS cancelledOrders,
+               COALESCE(SUM(m.itemsSold), 0) AS itemsSold
+        FROM seller_metric_daily m
+        WHERE m.sellerId = :sellerId
+    """)
+    SellerMetricTotalProjection sumBySeller(@Param("sellerId") String sellerId);
+
+    @Query("""
+        SELECT MONTH(m.bucketDate) AS month, SUM(m.completedRevenue) AS total
+        FROM seller_metric_daily m
+        WHERE m.sellerId = :sellerId AND m.bucketDate BETWEEN :fromDate AND :toDate
+        GROUP BY MONTH(m.bucketDate)
+        ORDER BY MONTH(m.bucketDate)
+    """)
+    List<RevenueMonthProjection> getRevenuePerMonth(@Param("sellerId") String sellerId,
+                                                    @Param("fromDate") LocalDate fromDate,
+                                                    @Param("toDate") LocalDate toDate);
+
+    @Query(value = """
+        SELECT COUNT(pg_advisory_xact_lock(hashtext('seller_metric_daily'), hashtext(l.id)))
+        FROM (SELECT DISTINCT s.id FROM main.sellers s WHERE s.id IN (:sellerIds) ORDER BY s.id) l
+        """, nativeQuery = true)
+    long lockSellers(@Param("sellerIds") Collection<String> sellerIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM main.seller_metric_daily WHERE seller_id IN (:sellerIds)", nativeQuery = true)
+    int deleteBySellers(@Param("sellerIds") Collection<String> sellerIds);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO main.seller_metric_daily (id, seller_id, bucket_date, completed_orders, completed_revenue,
+            net_revenue, cancelled_orders, items_sold, created_date, updated_date)
+        SELECT CAST(gen_random_uuid() AS VARCHAR), oc.seller_id, CAST(oc.created_date AS DATE),
+            COUNT(*) FILTER (WHERE s.code = 'COMPLETED'),
+            COALESCE(SUM(oc.grand_price) FILTER (WHERE s.code = 'COMPLETED'), 0),
+            COALESCE(SUM(COALESCE(sr.seller_revenue, oc.grand_price)) FILTER (WHERE s.code = 'COMPLETED'), 0),
+            COUNT(*) FILTER (WHERE s.code = 'CANCELLED'),
+            COALESCE(SUM(i.quantity) FILTER (WHERE s.code = 'COMPLETED'), 0),
+            NOW(), NOW()
+        FROM main.order_combos oc
+        JOIN main.order_statuses s ON s.id = oc.order_status_id
+        LEFT JOIN main.seller_revenues sr ON sr.order_combo_id = oc.id
+        LEFT JOIN (
+            SELECT oi.order_combo_id, SUM(oi.quantity) AS quantity
+            FROM main.order_items oi
+            JOIN main.order_combos c ON c.id = oi.order_combo_id
+            WHERE c.seller_id IN (:sellerIds)
+            GROUP BY oi.order_combo_id
+        ) i ON i.order_combo_id = oc.id
+        WHERE oc.seller_id IN (:sellerIds) AND s.code IN ('COMPLETED', 'CANCELLED')
+        GROUP BY oc.seller_id, CAST(oc.created_date AS DATE)
+        ON CONFLICT (seller_id, bucket_date) DO UPDATE SET
+            completed_orders = EXCLUDED.completed_orders,
+            completed_revenue = EXCLUDED.completed_revenue,
+            net_revenue = EXCLUDED.net_revenue,
+            cancelled_orders = EXCLUDED.cancelled_orders,
+            items_sold = EXCLUDED.items_sold,
+            updated_date = NOW()
+        """, nativeQuery = true)
+    int rebuildSellers(@Param("sellerIds") Collection<String> sellerIds);
+}
@@ -4,6 +4,7 @@ import org.retrade.common.repository.BaseJpaRepository;
 import org.retrade.main.model.constant.IdentityVerifiedStatusEnum;
 import org.retrade.main.model.entity.AccountEntity;
 import org.retrade.main.model.entity.SellerEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,32 +12,16 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SellerRepository extends BaseJpaRepository<SellerEntity, String> {
     Optional<SellerEntity> findByAccount(AccountEntity account);
     boolean existsByIdentityNumberIgnoreCase(@NonNull String identityNumber);
-    @Modifying
-    @Query("""
-        UPDATE sellers s
-        SET s.avgVote = (
-            SELECT COALESCE(AVG(p.avgVote), 0)
-            FROM products p
-            WHERE p.seller = s
-        )
-        WHERE s.id IN (
-            SELECT DISTINCT p.seller.id
-            FROM products p
-            WHERE p.id IN (
-                SELECT DISTINCT r.product.id
-                FROM product_reviews r
-                WHERE r.updatedDate > :lastSync
-            )
-        )
-    """)
-    void updateSellerAverageRatings(@Param("lastSync") LocalDateTime lastSync);
 
+    @Query("SELECT s.id FROM sellers s WHERE s.id > :after ORDER BY s.id ASC")
+    List<String> findIdsAfter(@Param("after") String after, Pageable pageable);
 
     @Modifying
     @Query("""
@@ -45,4 +45,7 @@ public interface SellerRevenueRepository extends BaseJpaRepository<SellerRevenue
     """)
     List<RevenueMonthProjection> getRevenuePerMonth(@Param("year") int year);
 
+    @Query("SELECT SUM(s.sellerRevenue) FROM seller_revenues s WHERE s.orderCombo.id = :orderComboId")
+    BigDecimal sumSellerRevenueByOrderComboId(@Param("orderComboId") String orderComboId);
+
 }
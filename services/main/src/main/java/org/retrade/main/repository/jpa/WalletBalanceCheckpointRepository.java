@@ -0,0 +1,12 @@
+package org.retrade.main.repository.jpa;
+
+import org.retrade.common.repository.BaseJpaRepository;
+import org.retrade.main.model.entity.WalletBalanceCheckpointEntity;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WalletBalanceCheckpointRepository extends BaseJpaRepository<WalletBalanceCheckpointEntity, String> {
+    Optional<WalletBalanceCheckpointEntity> findByAccountId(String accountId);
+}
@@ -2,8 +2,31 @@ package org.retrade.main.repository.jpa;
 
 import org.retrade.common.repository.BaseJpaRepository;
 import org.retrade.main.model.entity.WalletTransactionEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
 @Repository
 public interface WalletTransactionRepository extends BaseJpaRepository<WalletTransactionEntity, String> {
+
+    @Query("""
+        SELECT COALESCE(SUM(w.amount), 0) FROM wallet_transactions w
+        WHERE w.account.id = :accountId AND w.createdDate > :since
+    """)
+    BigDecimal sumAmountSince(@Param("accountId") String accountId, @Param("since") Timestamp since);
+
+    @Query("SELECT MAX(w.createdDate) FROM wallet_transactions w WHERE w.account.id = :accountId")
+    Timestamp findLatestCreatedDate(@Param("accountId") String accountId);
+
+    @Query(value = """
+        SELECT DISTINCT w.account_id FROM main.wallet_transactions w
+        LEFT JOIN main.wallet_balance_checkpoints c ON c.account_id = w.account_id
+        WHERE c.id IS NULL OR w.created_date > c.checkpoint_date
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<String> findAccountIdsPendingCheckpoint(@Param("limit") int limit);
 }
@@ -1,6 +1,7 @@
 package org.retrade.main.repository.redis;
 
 import org.retrade.main.model.entity.CartEntity;
+import org.retrade.main.model.other.CartMutationResult;
 
 import java.util.Optional;
 
@@ -8,6 +9,12 @@ public interface CartRepository {
     Optional<CartEntity> findByUserId(String userId);
     
     CartEntity save(CartEntity cart);
+
+    CartMutationResult addItem(String userId, String sellerId, String productId, int quantity, int maxQuantity);
+
+    CartMutationResult updateItem(String userId, String productId, int quantity, int maxQuantity);
+
+    CartMutationResult removeItem(String userId, String productId);
     
     void deleteByUserId(String userId);
     
@@ -3,18 +3,128 @@ package org.retrade.main.repository.redis.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.retrade.main.config.common.CartConfig;
+import org.retrade.main.model.constant.CartMutationStatusEnum;
 import org.retrade.main.model.entity.CartEntity;
+import org.retrade.main.model.entity.CartItemEntity;
+import org.retrade.main.model.other.CartMutationResult;
 import org.retrade.main.repository.redis.CartRepository;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Each cart is a Redis hash keyed by product id. Values pack {@code quantity|sellerId|addedAt|updatedAt} (epoch
+ * millis) and the {@code @updated} field holds the cart's last change. Mutations run as Lua scripts so the limit
+ * checks, the write, the TTL refresh and the resulting cart snapshot are a single atomic round-trip.
+ */
 @Repository
 @RequiredArgsConstructor
+@Slf4j
 public class CartRepositoryImpl implements CartRepository {
+    private static final String UPDATED_FIELD = "@updated";
+    private static final String HELPERS = """
+            local function snapshot(key, status, quantity, ttl)
+                if redis.call('EXISTS', key) == 1 then
+                    redis.call('PEXPIRE', key, ttl)
+                end
+                local result = redis.call('HGETALL', key)
+                table.insert(result, 1, tostring(quantity))
+                table.insert(result, 1, status)
+                return result
+            end
+            local function itemCount(key)
+                return redis.call('HLEN', key) - redis.call('HEXISTS', key, '@updated')
+            end
+            local function unpack_item(value)
+                local quantity, seller, addedAt = string.match(value, '^(%d+)|([^|]*)|(%d+)|')
+                return tonumber(quantity), seller, addedAt
+            end
+            """;
+    private static final RedisScript<List> ADD_ITEM_SCRIPT = new DefaultRedisScript<>(HELPERS + """
+            local key = KEYS[1]
+            local field, delta, limit, maxItems = ARGV[1], tonumber(ARGV[2]), tonumber(ARGV[3]), tonumber(ARGV[4])
+            local sellerId, now, ttl, create = ARGV[5], ARGV[6], tonumber(ARGV[7]), ARGV[8]
+            if create ~= '1' and redis.call('EXISTS', key) == 0 then
+                return {'MISSING', '0'}
+            end
+            local current = redis.call('HGET', key, field)
+            if current then
+                local quantity, seller, addedAt = unpack_item(current)
+                local updated = quantity + delta
+                if updated > limit then
+                    return snapshot(key, 'QUANTITY_EXCEEDED', quantity, ttl)
+                end
+                redis.call('HSET', key, field, updated .. '|' .. seller .. '|' .. addedAt .. '|' .. now, '@updated', now)
+                return snapshot(key, 'OK', updated, ttl)
+            end
+            if delta > limit then
+                return snapshot(key, 'QUANTITY_EXCEEDED', 0, ttl)
+            end
+            if itemCount(key) >= maxItems then
+                return snapshot(key, 'CART_FULL', 0, ttl)
+            end
+            redis.call('HSET', key, field, delta .. '|' .. sellerId .. '|' .. now .. '|' .. now, '@updated', now)
+            return snapshot(key, 'OK', delta, ttl)
+            """, List.class);
+    private static final RedisScript<List> UPDATE_ITEM_SCRIPT = new DefaultRedisScript<>(HELPERS + """
+            local key = KEYS[1]
+            local field, quantity, limit, now, ttl = ARGV[1], tonumber(ARGV[2]), tonumber(ARGV[3]), ARGV[4], tonumber(ARGV[5])
+            if redis.call('EXISTS', key) == 0 then
+                return {'MISSING', '0'}
+            end
+            local current = redis.call('HGET', key, field)
+            if not current then
+                return snapshot(key, 'NOT_FOUND', 0, ttl)
+            end
+            local previous, seller, addedAt = unpack_item(current)
+            if quantity > limit then
+                return snapshot(key, 'QUANTITY_EXCEEDED', previous, ttl)
+            end
+            redis.call('HSET', key, field, quantity .. '|' .. seller .. '|' .. addedAt .. '|' .. now, '@updated', now)
+            return snapshot(key, 'OK', quantity, ttl)
+            """, List.class);
+    private static final RedisScript<List> REMOVE_ITEM_SCRIPT = new DefaultRedisScript<>(HELPERS + """
+            local key = KEYS[1]
+            local field, now, ttl = ARGV[1], ARGV[2], tonumber(ARGV[3])
+            if redis.call('EXISTS', key) == 0 then
+                return {'MISSING', '0'}
+            end
+            if redis.call('HDEL', key, field) == 0 then
+                return snapshot(key, 'NOT_FOUND', 0, ttl)
+            end
+            if itemCount(key) == 0 then
+                redis.call('DEL', key)
+            else
+                redis.call('HSET', key, '@updated', now)
+            end
+            return snapshot(key, 'OK', 0, ttl)
+            """, List.class);
+    private static final RedisScript<List> REPLACE_SCRIPT = new DefaultRedisScript<>("""
+            local key = KEYS[1]
+            local now, ttl = ARGV[1], tonumber(ARGV[2])
+            redis.call('DEL', key)
+            if #ARGV < 3 then
+                return {'OK', '0'}
+            end
+            for i = 3, #ARGV, 2 do
+                redis.call('HSET', key, ARGV[i], ARGV[i + 1])
+            end
+            redis.call('HSET', key, '@updated', now)
+            redis.call('PEXPIRE', key, ttl)
+            return {'OK', '0'}
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
     private final RedisTemplate<String, Object> redisTemplate;
     private final CartConfig cartConfig;
     private final ObjectMapper objectMapper;
@@ -25,51 +135,159 @@ public class CartRepositoryImpl implements CartRepository {
 
     @Override
     public Optional<CartEntity> findByUserId(String userId) {
-        try {
-            String cartKey = getCartKey(userId);
-            Object cartData = redisTemplate.opsForValue().get(cartKey);
-            
-            if (cartData == null) {
-                return Optional.empty();
-            }
-            
-            CartEntity cart = objectMapper.readValue(cartData.toString(), CartEntity.class);
-            return Optional.of(cart);
-        } catch (JsonProcessingException e) {
-            return Optional.empty();
+        var fields = stringRedisTemplate.<String, String>opsForHash().entries(getCartKey(userId));
+        if (fields.isEmpty()) {
+            return migrateLegacyCart(userId) ? findByUserId(userId) : Optional.empty();
         }
+        return Optional.of(toCart(userId, fields));
     }
 
     @Override
     public CartEntity save(CartEntity cart) {
-        try {
-            String cartKey = getCartKey(cart.getCustomerId());
-            String cartJson = objectMapper.writeValueAsString(cart);
-            
-            redisTemplate.opsForValue().set(cartKey, cartJson);
-            setExpiration(cart.getCustomerId(), cartConfig.getTtlDays() * 24 * 60 * 60);
-            
-            return cart;
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to save cart", e);
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(toMillis(cart.getLastUpdated() != null ? cart.getLastUpdated() : LocalDateTime.now())));
+        args.add(String.valueOf(ttlMillis()));
+        cart.getShopItems().forEach((sellerId, items) -> items.forEach(item -> {
+            args.add(item.getProductId());
+            args.add(pack(item.getQuantity(), sellerId, item.getAddedAt(), item.getUpdatedAt()));
+        }));
+        stringRedisTemplate.execute(REPLACE_SCRIPT, List.of(getCartKey(cart.getCustomerId())), args.toArray());
+        return cart;
+    }
+
+    @Override
+    public CartMutationResult addItem(String userId, String sellerId, String productId, int quantity, int maxQuantity) {
+        var result = runAddItem(userId, sellerId, productId, quantity, maxQuantity, false);
+        if (result.status() == CartMutationStatusEnum.MISSING) {
+            migrateLegacyCart(userId);
+            result = runAddItem(userId, sellerId, productId, quantity, maxQuantity, true);
+        }
+        return result;
+    }
+
+    @Override
+    public CartMutationResult updateItem(String userId, String productId, int quantity, int maxQuantity) {
+        var result = execute(UPDATE_ITEM_SCRIPT, userId, productId, quantity, maxQuantity, now(), ttlMillis());
+        if (result.status() == CartMutationStatusEnum.MISSING && migrateLegacyCart(userId)) {
+            result = execute(UPDATE_ITEM_SCRIPT, userId, productId, quantity, maxQuantity, now(), ttlMillis());
+        }
+        return result;
+    }
+
+    @Override
+    public CartMutationResult removeItem(String userId, String productId) {
+        var result = execute(REMOVE_ITEM_SCRIPT, userId, productId, now(), ttlMillis());
+        if (result.status() == CartMutationStatusEnum.MISSING && migrateLegacyCart(userId)) {
+            result = execute(REMOVE_ITEM_SCRIPT, userId, productId, now(), ttlMillis());
         }
+        return result;
     }
 
     @Override
     public void deleteByUserId(String userId) {
         String cartKey = getCartKey(userId);
+        stringRedisTemplate.delete(cartKey);
         redisTemplate.delete(cartKey);
     }
 
     @Override
     public boolean existsByUserId(String userId) {
         String cartKey = getCartKey(userId);
-        return redisTemplate.hasKey(cartKey);
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(cartKey));
     }
 
     @Override
     public void setExpiration(String userId, long ttlInSeconds) {
         String cartKey = getCartKey(userId);
-        redisTemplate.expire(cartKey, ttlInSeconds, TimeUnit.SECONDS);
+        stringRedisTemplate.expire(cartKey, ttlInSeconds, TimeUnit.SECONDS);
+    }
+
+    private CartMutationResult runAddItem(String userId, String sellerId, String productId, int quantity, int maxQuantity, boolean create) {
+        return execute(ADD_ITEM_SCRIPT, userId, productId, quantity, maxQuantity, cartConfig.getMaxItemsPerCart(),
+                sellerId, now(), ttlMillis(), create ? "1" : "0");
+    }
+
+    private CartMutationResult execute(RedisScript<List> script, String userId, Object... args) {
+        var arguments = Arrays.stream(args).map(String::valueOf).toArray();
+        List<?> reply = stringRedisTemplate.execute(script, List.of(getCartKey(userId)), arguments);
+        if (reply == null || reply.size() < 2) {
+            throw new IllegalStateException("Unexpected reply from cart script");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 2; i + 1 < reply.size(); i += 2) {
+            fields.put(String.valueOf(reply.get(i)), String.valueOf(reply.get(i + 1)));
+        }
+        return new CartMutationResult(
+                CartMutationStatusEnum.valueOf(String.valueOf(reply.get(0))),
+                Integer.parseInt(String.valueOf(reply.get(1))),
+                toCart(userId, fields));
+    }
+
+    // Carts written before the hash layout were JDK-serialized JSON strings; move them over the first time they are missed.
+    private boolean migrateLegacyCart(String userId) {
+        var cartKey = getCartKey(userId);
+        var legacy = redisTemplate.opsForValue().get(cartKey);
+        if (legacy == null) {
+            return false;
+        }
+        try {
+            var cart = objectMapper.readValue(legacy.toString(), CartEntity.class);
+            cart.setCustomerId(userId);
+            save(cart);
+            return !cart.getShopItems().isEmpty();
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable legacy cart for user {}: {}", userId, e.getMessage());
+            return false;
+        } finally {
+            redisTemplate.delete(cartKey);
+        }
+    }
+
+    private CartEntity toCart(String userId, Map<String, String> fields) {
+        Map<String, Set<CartItemEntity>> shopItems = new HashMap<>();
+        LocalDateTime lastUpdated = null;
+        for (var entry : fields.entrySet()) {
+            if (UPDATED_FIELD.equals(entry.getKey())) {
+                lastUpdated = toDateTime(entry.getValue());
+                continue;
+            }
+            var parts = entry.getValue().split("\\|", -1);
+            if (parts.length < 4) {
+                continue;
+            }
+            shopItems.computeIfAbsent(parts[1], key -> new HashSet<>()).add(CartItemEntity.builder()
+                    .productId(entry.getKey())
+                    .quantity(Integer.parseInt(parts[0]))
+                    .addedAt(toDateTime(parts[2]))
+                    .updatedAt(toDateTime(parts[3]))
+                    .build());
+        }
+        return CartEntity.builder()
+                .customerId(userId)
+                .shopItems(shopItems)
+                .lastUpdated(lastUpdated != null ? lastUpdated : LocalDateTime.now())
+                .build();
+    }
+
+    private String pack(Integer quantity, String sellerId, LocalDateTime addedAt, LocalDateTime updatedAt) {
+        var now = LocalDateTime.now();
+        return (quantity != null ? quantity : 0) + "|" + sellerId + "|"
+                + toMillis(addedAt != null ? addedAt : now) + "|" + toMillis(updatedAt != null ? updatedAt : now);
+    }
+
+    private long ttlMillis() {
+        return TimeUnit.DAYS.toMillis(cartConfig.getTtlDays());
+    }
+
+    private long now() {
+        return System.currentTimeMillis();
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toDateTime(String millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(millis)), ZoneId.systemDefault());
     }
 }
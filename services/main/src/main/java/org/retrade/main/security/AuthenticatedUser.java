@@ -0,0 +1,22 @@
+package org.retrade.main.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+@Getter
+public class AuthenticatedUser extends User {
+    private final String accountId;
+    private final String customerId;
+    private final String sellerId;
+
+    public AuthenticatedUser(String username, boolean enabled, boolean locked, Collection<? extends GrantedAuthority> authorities,
+                             String accountId, String customerId, String sellerId) {
+        super(username, "", enabled, true, true, !locked, authorities);
+        this.accountId = accountId;
+        this.customerId = customerId;
+        this.sellerId = sellerId;
+    }
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final UserDetailServiceImpl userDetailService;
     private final JwtService jwtService;
+    private final ResolvedPrincipalHolder resolvedPrincipalHolder;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,@NonNull HttpServletResponse response,@NonNull FilterChain filterChain) throws ServletException, IOException {
@@ -31,7 +32,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             var userClaims = jwtService.getUserClaimsFromJwt(accessToken, JwtTokenType.ACCESS_TOKEN);
             if (userClaims.isPresent()) {
                 var claims = userClaims.get();
-                var userDetails = userDetailService.loadUserByUsername(claims.getUsername());
+                var userDetails = userDetailService.loadAuthenticatedUser(claims.getUsername());
+                resolvedPrincipalHolder.resolve(userDetails);
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
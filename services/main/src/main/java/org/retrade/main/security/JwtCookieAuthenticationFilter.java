@@ -28,6 +28,7 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
     private final UserDetailServiceImpl userDetailService;
     private final RedisTemplate<String, Object> redisTemplate;
     private final JwtService jwtService;
+    private final ResolvedPrincipalHolder resolvedPrincipalHolder;
     @Override
     protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response,@Nonnull FilterChain filterChain) throws ServletException, IOException {
         if (SecurityContextHolder.getContext().getAuthentication() != null) {
@@ -38,7 +39,8 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
         var userClaims = jwtService.getUserClaimsFromJwt(cookieMap);
         if (userClaims.isPresent()) {
             var claims = userClaims.get();
-            var userDetails = userDetailService.loadUserByUsername(claims.getUsername());
+            var userDetails = userDetailService.loadAuthenticatedUser(claims.getUsername());
+            resolvedPrincipalHolder.resolve(userDetails);
             if (claims.getTokenType() == JwtTokenType.REFRESH_TOKEN) {
                 if (!checkSessionValid(claims)) {
                     filterChain.doFilter(request, response);
@@ -0,0 +1,50 @@
+package org.retrade.main.security;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.retrade.main.model.entity.AccountEntity;
+import org.retrade.main.model.entity.AccountRoleEntity;
+import org.retrade.main.service.impl.UserDetailServiceImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheEvictionListener {
+    private final ObjectProvider<UserDetailServiceImpl> userDetailServiceProvider;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onAccountChanged(Object entity) {
+        String username = null;
+        if (entity instanceof AccountEntity account) {
+            username = account.getUsername();
+        } else if (entity instanceof AccountRoleEntity accountRole && accountRole.getAccount() != null) {
+            username = accountRole.getAccount().getUsername();
+        }
+        if (username != null) {
+            evict(username);
+        }
+    }
+
+    private void evict(String username) {
+        var userDetailService = userDetailServiceProvider.getIfAvailable();
+        if (userDetailService == null) {
+            return;
+        }
+        userDetailService.evictUser(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailService.evictUser(username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.retrade.main.security;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.retrade.main.model.entity.AccountEntity;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Getter
+public class ResolvedPrincipal {
+    private final String username;
+    private final String accountId;
+    private final String customerId;
+    private final String sellerId;
+    private final Set<String> roles;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<Optional<AccountEntity>> accountLoader;
+    @Getter(AccessLevel.NONE)
+    private final Counter avoidedLookups;
+    private AccountEntity account;
+
+    ResolvedPrincipal(AuthenticatedUser user, Supplier<Optional<AccountEntity>> accountLoader, Counter avoidedLookups) {
+        this.username = user.getUsername();
+        this.accountId = user.getAccountId();
+        this.customerId = user.getCustomerId();
+        this.sellerId = user.getSellerId();
+        this.roles = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toUnmodifiableSet());
+        this.accountLoader = accountLoader;
+        this.avoidedLookups = avoidedLookups;
+    }
+
+    public Optional<AccountEntity> getAccount() {
+        if (account != null) {
+            avoidedLookups.increment();
+            return Optional.of(account);
+        }
+        var loaded = accountLoader.get();
+        loaded.ifPresent(entity -> account = entity);
+        return loaded;
+    }
+
+    public void countAvoidedLookup() {
+        avoidedLookups.increment();
+    }
+}
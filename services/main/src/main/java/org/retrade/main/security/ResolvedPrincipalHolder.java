@@ -0,0 +1,54 @@
+package org.retrade.main.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.retrade.main.repository.jpa.AccountRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+@Component
+public class ResolvedPrincipalHolder {
+    private static final String ATTRIBUTE = ResolvedPrincipal.class.getName();
+    private final AccountRepository accountRepository;
+    private final Counter avoidedLookups;
+    private final Counter accountLoads;
+
+    public ResolvedPrincipalHolder(AccountRepository accountRepository, MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.avoidedLookups = Counter.builder("auth.principal.lookups")
+                .tag("outcome", "avoided")
+                .description("Current account lookups served by the request-scoped principal")
+                .register(meterRegistry);
+        this.accountLoads = Counter.builder("auth.principal.lookups")
+                .tag("outcome", "loaded")
+                .description("Current account lookups that hit the database")
+                .register(meterRegistry);
+    }
+
+    public void resolve(AuthenticatedUser user) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        var principal = new ResolvedPrincipal(user, () -> {
+            accountLoads.increment();
+            return accountRepository.findById(user.getAccountId());
+        }, avoidedLookups);
+        attributes.setAttribute(ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public Optional<ResolvedPrincipal> current(String username) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || username == null) {
+            return Optional.empty();
+        }
+        if (attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ResolvedPrincipal principal
+                && username.equals(principal.getUsername())) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+}
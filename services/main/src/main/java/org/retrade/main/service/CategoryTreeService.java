@@ -0,0 +1,14 @@
+package org.retrade.main.service;
+
+import org.retrade.main.model.message.CategoryTreeInvalidationMessage;
+import org.retrade.main.model.other.CategoryTree;
+
+public interface CategoryTreeService {
+    CategoryTree getTree();
+
+    void invalidate();
+
+    void publishInvalidation(String categoryId);
+
+    void handleRemoteInvalidation(CategoryTreeInvalidationMessage message);
+}
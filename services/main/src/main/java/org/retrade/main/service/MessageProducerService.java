@@ -13,5 +13,7 @@ public interface MessageProducerService {
 
     void sendAchievementMessage(AchievementMessage message);
 
+    void sendCategoryTreeInvalidation(CategoryTreeInvalidationMessage message);
+
     void sendMessageToDeadQueue(Message rawMessage);
 }
@@ -0,0 +1,13 @@
+package org.retrade.main.service;
+
+public interface PaymentExpiryService {
+    void schedule(String orderId);
+
+    void unschedule(String orderId);
+
+    int sweep();
+
+    int reconcile();
+
+    void refreshMetrics();
+}
@@ -0,0 +1,12 @@
+package org.retrade.main.service;
+
+import org.retrade.main.model.constant.PlatformStatEnum;
+import org.retrade.main.model.other.PlatformStatsSnapshot;
+
+public interface PlatformStatsService {
+    PlatformStatsSnapshot getSnapshot();
+
+    void increment(PlatformStatEnum stat, long delta);
+
+    void reconcile();
+}
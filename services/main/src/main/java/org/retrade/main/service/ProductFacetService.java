@@ -0,0 +1,14 @@
+package org.retrade.main.service;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import org.retrade.main.model.dto.response.FieldAdvanceSearch;
+
+public interface ProductFacetService {
+    FieldAdvanceSearch getFacets(String cacheKey, Query elasticQuery);
+
+    void evictBrand(String brandId);
+
+    void evictSeller(String sellerId);
+
+    void evictCategory(String categoryId);
+}
@@ -0,0 +1,17 @@
+package org.retrade.main.service;
+
+import org.retrade.main.model.dto.response.ReindexProgressResponse;
+
+public interface ProductReindexService {
+    boolean needsRebuild();
+
+    void runIncremental();
+
+    void rebuild();
+
+    boolean tryRebuild();
+
+    void triggerRebuild();
+
+    ReindexProgressResponse getProgress();
+}
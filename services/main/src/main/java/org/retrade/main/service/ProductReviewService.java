@@ -32,6 +32,8 @@ public interface ProductReviewService {
 
     ReviewStatsResponse getStatsSeller();
 
+    ReviewStatsResponse getSellerReviewSummary(String sellerId);
+
     PaginationWrapper <List<ProductReviewResponse>> getAllProductReviewsBySellerAndSearch(Double vote,String isReply, QueryWrapper queryWrapper);
 
     Long totalReviewByProductId(String productId);
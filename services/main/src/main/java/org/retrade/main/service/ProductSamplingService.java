@@ -0,0 +1,11 @@
+package org.retrade.main.service;
+
+import java.util.List;
+
+public interface ProductSamplingService {
+    List<String> sample(int count, String categoryId, String sellerId);
+
+    void refreshProduct(String productId);
+
+    void rebuild();
+}
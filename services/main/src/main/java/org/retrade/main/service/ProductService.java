@@ -12,7 +12,7 @@ public interface ProductService {
 
     ProductResponse updateProduct(String id, UpdateProductRequest request);
 
-    RandomProductIdResponse getRandomProductId();
+    RandomProductIdResponse getRandomProductId(String categoryId, String sellerId);
 
     ProductResponse updateProductQuantity(UpdateProductQuantityRequest request);
 
@@ -31,7 +31,7 @@ public interface ProductService {
     PaginationWrapper<List<ProductResponse>> getMyProducts(QueryWrapper queryWrapper);
 
 
-    PaginationWrapper<List<ProductResponse>> searchProductByKeyword(QueryWrapper queryWrapper);
+    PaginationWrapper<List<ProductResponse>> searchProductByKeyword(QueryWrapper queryWrapper, String cursor);
 
     List<ProductResponse> getProductsByCategory(String categoryName);
 
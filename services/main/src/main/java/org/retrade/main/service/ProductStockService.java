@@ -0,0 +1,9 @@
+package org.retrade.main.service;
+
+import java.util.Map;
+
+public interface ProductStockService {
+    void reserve(Map<String, Integer> quantities);
+
+    void release(Map<String, Integer> quantities);
+}
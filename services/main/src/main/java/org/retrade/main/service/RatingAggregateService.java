@@ -0,0 +1,13 @@
+package org.retrade.main.service;
+
+import org.retrade.main.model.constant.RatingTargetTypeEnum;
+import org.retrade.main.model.entity.RatingAggregateEntity;
+import org.retrade.main.model.other.ReviewRatingSnapshot;
+
+public interface RatingAggregateService {
+    void applyChange(ReviewRatingSnapshot before, ReviewRatingSnapshot after);
+
+    RatingAggregateEntity getAggregate(RatingTargetTypeEnum targetType, String targetId);
+
+    boolean triggerRebuild();
+}
@@ -0,0 +1,11 @@
+package org.retrade.main.service;
+
+public interface SearchOutboxService {
+    void enqueueUpsert(String productId);
+
+    void enqueueDelete(String productId);
+
+    int relayBatch();
+
+    void refreshBacklog();
+}
@@ -0,0 +1,20 @@
+package org.retrade.main.service;
+
+import org.retrade.main.model.entity.OrderComboEntity;
+import org.retrade.main.model.projection.RevenueMonthProjection;
+import org.retrade.main.model.projection.SellerMetricTotalProjection;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SellerMetricService {
+    void recordStatusChange(OrderComboEntity orderCombo, String previousStatusCode);
+
+    SellerMetricTotalProjection getTotals(String sellerId, LocalDate fromDate, LocalDate toDate);
+
+    SellerMetricTotalProjection getTotals(String sellerId);
+
+    List<RevenueMonthProjection> getRevenuePerMonth(String sellerId, int year);
+
+    boolean triggerRebuild();
+}
@@ -0,0 +1,16 @@
+package org.retrade.main.service;
+
+import org.retrade.main.model.entity.AccountEntity;
+import org.retrade.main.model.entity.WalletTransactionEntity;
+
+import java.math.BigDecimal;
+
+public interface WalletLedgerService {
+    WalletTransactionEntity credit(AccountEntity account, BigDecimal amount, String note);
+
+    WalletTransactionEntity debit(AccountEntity account, BigDecimal amount, String note);
+
+    BigDecimal getBalance(String accountId);
+
+    int checkpoint();
+}
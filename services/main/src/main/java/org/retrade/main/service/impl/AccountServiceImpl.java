@@ -44,6 +44,7 @@ public class AccountServiceImpl implements AccountService {
     private final AuthUtils authUtils;
     private final CustomerRepository customerRepository;
     private final AccountRoleRepository accountRoleRepository;
+    private final UserDetailServiceImpl userDetailService;
 
     @Override
     public AccountResponse getMe() {
@@ -187,6 +188,7 @@ public class AccountServiceImpl implements AccountService {
         if (!passwordEncoder.matches(updateRequest.passwordConfirm(), account.getHashPassword())) {
             throw new ValidationException("Mật khẩu không khớp.");
         }
+        userDetailService.evictUser(account.getUsername());
         account.setUsername(username);
         account.setChangedUsername(true);
         try {
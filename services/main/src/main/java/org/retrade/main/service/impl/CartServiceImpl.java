@@ -13,6 +13,8 @@ import org.retrade.main.model.entity.CartEntity;
 import org.retrade.main.model.entity.CartItemEntity;
 import org.retrade.main.model.entity.ProductEntity;
 import org.retrade.main.model.entity.SellerEntity;
+import org.retrade.main.model.other.CartMutationResult;
+import org.retrade.main.model.projection.CartProductCardProjection;
 import org.retrade.main.repository.jpa.ProductRepository;
 import org.retrade.main.repository.jpa.SellerRepository;
 import org.retrade.main.repository.redis.CartRepository;
@@ -46,49 +48,13 @@ public class CartServiceImpl implements CartService {
 
         String shopId = product.getSeller().getId();
 
-        CartEntity cart = getOrCreateCart(userId);
-
-        Set<CartItemEntity> itemsInShop = cart.getShopItems().computeIfAbsent(shopId, _ -> new HashSet<>());
-
-        int totalItemsInCart = cart.getShopItems().values().stream()
-                .mapToInt(Set::size)
-                .sum();
-
-        if (totalItemsInCart >= cartConfig.getMaxItemsPerCart()) {
-            throw new ValidationException("Giỏ hàng của bạn đã đạt giới hạn. Tối đa: %d sản phẩm " + cartConfig.getMaxItemsPerCart());
-        }
-
-        Optional<CartItemEntity> existingItem = itemsInShop.stream()
-                .filter(item -> item.getProductId().equals(request.getProductId()))
-                .findFirst();
-
-        if (existingItem.isPresent()) {
-            CartItemEntity item = existingItem.get();
-            item.setQuantity(item.getQuantity() + request.getQuantity());
-            if (item.getQuantity() > product.getQuantity()) {
-                throw new ValidationException(String.format("Bạn đã chọn quá số lượng hiện có. Còn lại: %d", product.getQuantity()));
-            }
-            item.setUpdatedAt(LocalDateTime.now());
-        } else {
-            CartItemEntity newItem = CartItemEntity.builder()
-                    .productId(request.getProductId())
-                    .addedAt(LocalDateTime.now())
-                    .updatedAt(LocalDateTime.now())
-                    .quantity(request.getQuantity())
-                    .build();
-            if (newItem.getQuantity() > product.getQuantity()) {
-                throw new ValidationException(String.format("Bạn đã chọn quá số lượng hiện có. Còn lại: %d", product.getQuantity()));
-            }
-            itemsInShop.add(newItem);
-        }
-        cart.setLastUpdated(LocalDateTime.now());
-
+        CartMutationResult result;
         try {
-            cart = cartRepository.save(cart);
-            return mapToCartResponse(cart);
+            result = cartRepository.addItem(userId, shopId, request.getProductId(), request.getQuantity(), maxQuantityFor(product));
         } catch (Exception e) {
             throw new ActionFailedException("Thêm sản phẩm vào giỏ hàng thất bại", e);
         }
+        return mapToCartResponse(requireApplied(result, product, "Món đồ không tồn tại trong giỏ hàng"));
     }
 
     @Override
@@ -96,38 +62,15 @@ public class CartServiceImpl implements CartService {
     public CartResponse updateCartItem(CartRequest request) {
         String userId = getCurrentUserId();
 
-        CartEntity cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new ValidationException("Không tìm thấy giỏ hảng"));
-
         var product = productRepository.findById(request.getProductId()).orElseThrow(() -> new ValidationException("Không tìm thấy sản phẩm"));
 
-        boolean updated = false;
-        for (Set<CartItemEntity> shopItems : cart.getShopItems().values()) {
-            for (CartItemEntity item : shopItems) {
-                if (item.getProductId().equals(request.getProductId())) {
-                    item.setUpdatedAt(LocalDateTime.now());
-                    item.setQuantity(request.getQuantity());
-                    if (item.getQuantity() > product.getQuantity()) {
-                        throw new ValidationException(String.format("Bạn đã chọn quá số lượng hiện có. Còn lại: %d", product.getQuantity()));
-                    }
-                    updated = true;
-                    break;
-                }
-            }
-            if (updated) break;
-        }
-
-        if (!updated) {
-            throw new ValidationException("Món đồ không tồn tại trong giỏ hàng");
-        }
-        cart.setLastUpdated(LocalDateTime.now());
-
+        CartMutationResult result;
         try {
-            cartRepository.save(cart);
-            return mapToCartResponse(cart);
+            result = cartRepository.updateItem(userId, request.getProductId(), request.getQuantity(), maxQuantityFor(product));
         } catch (Exception e) {
             throw new ActionFailedException("Lỗi khi cập nhập giỏ hàng", e);
         }
+        return mapToCartResponse(requireApplied(result, product, "Món đồ không tồn tại trong giỏ hàng"));
     }
 
     @Override
@@ -135,36 +78,13 @@ public class CartServiceImpl implements CartService {
     public CartResponse removeFromCart(String productId) {
         String userId = getCurrentUserId();
 
-        CartEntity cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new ValidationException("Không tìm thấy giỏ hàng"));
-
-        boolean removed = false;
-
-        for (Iterator<Map.Entry<String, Set<CartItemEntity>>> shopEntry = cart.getShopItems().entrySet().iterator(); shopEntry.hasNext();) {
-            Map.Entry<String, Set<CartItemEntity>> entry = shopEntry.next();
-            Set<CartItemEntity> items = entry.getValue();
-
-            boolean itemRemoved = items.removeIf(item -> item.getProductId().equals(productId));
-            if (itemRemoved) {
-                removed = true;
-                if (items.isEmpty()) {
-                    shopEntry.remove();
-                }
-                break;
-            }
-        }
-
-        if (!removed) {
-            throw new ValidationException("Không tìm thấy sản phẩm trong giỏ hàng");
-        }
-        cart.setLastUpdated(LocalDateTime.now());
-
+        CartMutationResult result;
         try {
-            cartRepository.save(cart);
-            return mapToCartResponse(cart);
+            result = cartRepository.removeItem(userId, productId);
         } catch (Exception e) {
             throw new ActionFailedException("Lỗi khi cập nhập giỏ hàng", e);
         }
+        return mapToCartResponse(requireApplied(result, null, "Không tìm thấy sản phẩm trong giỏ hàng"));
     }
 
 
@@ -191,12 +111,29 @@ public class CartServiceImpl implements CartService {
     }
 
     private String getCurrentUserId() {
-        return authUtils.getUserAccountFromAuthentication().getId();
+        return authUtils.getCurrentAccountId();
     }
 
-    private CartEntity getOrCreateCart(String userId) {
-        return cartRepository.findByUserId(userId)
-                .orElse(createEmptyCart(userId));
+    private int maxQuantityFor(ProductEntity product) {
+        int available = product.getQuantity() != null ? product.getQuantity() : 0;
+        return Math.min(available, cartConfig.getMaxQuantityPerItem());
+    }
+
+    private CartEntity requireApplied(CartMutationResult result, ProductEntity product, String notFoundMessage) {
+        return switch (result.status()) {
+            case OK -> result.cart();
+            case MISSING -> throw new ValidationException("Không tìm thấy giỏ hàng");
+            case NOT_FOUND -> throw new ValidationException(notFoundMessage);
+            case CART_FULL -> throw new ValidationException(
+                    String.format("Giỏ hàng của bạn đã đạt giới hạn. Tối đa: %d sản phẩm", cartConfig.getMaxItemsPerCart()));
+            case QUANTITY_EXCEEDED -> {
+                int available = product.getQuantity() != null ? product.getQuantity() : 0;
+                if (available > cartConfig.getMaxQuantityPerItem()) {
+                    throw new ValidationException(String.format("Số lượng tối đa cho mỗi sản phẩm là %d", cartConfig.getMaxQuantityPerItem()));
+                }
+                throw new ValidationException(String.format("Bạn đã chọn quá số lượng hiện có. Còn lại: %d", available));
+            }
+        };
     }
 
     private CartEntity createEmptyCart(String userId) {
@@ -217,70 +154,85 @@ public class CartServiceImpl implements CartService {
                 .build();
     }
 
+    // One projection query hydrates every item and its seller; groups and items keep the order they were added in.
     private List<CartGroupResponse> mapToCartGroupResponse(CartEntity cartEntity) {
         Map<String, Set<CartItemEntity>> items = cartEntity.getShopItems();
         if (items == null || items.isEmpty()) {
             return Collections.emptyList();
         }
 
-        Set<String> sellerIds = items.keySet();
-        Map<String, SellerEntity> sellerEntities = sellerRepository.findAllById(sellerIds).stream()
+        Set<String> productIds = items.values().stream()
+                .flatMap(Set::stream)
+                .map(CartItemEntity::getProductId)
+                .collect(Collectors.toSet());
+        Map<String, CartProductCardProjection> cards = productRepository.findCartCardsByIdIn(productIds).stream()
+                .collect(Collectors.toMap(CartProductCardProjection::getId, Function.identity()));
+        Map<String, CartProductCardProjection> sellerCards = new HashMap<>();
+        cards.values().forEach(card -> sellerCards.putIfAbsent(card.getSellerId(), card));
+        Set<String> unresolvedSellerIds = items.keySet().stream()
+                .filter(sellerId -> !sellerCards.containsKey(sellerId))
+                .collect(Collectors.toSet());
+        Map<String, SellerEntity> sellerEntities = unresolvedSellerIds.isEmpty() ? Map.of()
+                : sellerRepository.findAllById(unresolvedSellerIds).stream()
                 .collect(Collectors.toMap(SellerEntity::getId, Function.identity()));
 
-        List<CartGroupResponse> groups = new ArrayList<>();
-
-        for (Map.Entry<String, Set<CartItemEntity>> entry : items.entrySet()) {
-            String shopId = entry.getKey();
-            Set<CartItemEntity> cartItems = entry.getValue();
-            SellerEntity seller = sellerEntities.get(shopId);
-
-            Set<CartItemResponse> itemResponses = mapToCartItemResponse(cartItems);
-
-            CartGroupResponse group = CartGroupResponse.builder()
-                    .sellerId(shopId)
-                    .sellerName(seller != null ? seller.getShopName() : "Người bán không xác định")
-                    .sellerAvatarUrl(seller != null ? seller.getAvatarUrl() : "")
-                    .items(itemResponses)
-                    .build();
+        return items.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), sortByAddedAt(entry.getValue())))
+                .filter(entry -> !entry.getValue().isEmpty())
+                .sorted(Comparator.comparing((Map.Entry<String, List<CartItemEntity>> entry) -> addedAtOf(entry.getValue().getFirst()))
+                        .thenComparing(Map.Entry::getKey))
+                .map(entry -> {
+                    String shopId = entry.getKey();
+                    var sellerCard = sellerCards.get(shopId);
+                    var seller = sellerEntities.get(shopId);
+                    String sellerName = sellerCard != null ? sellerCard.getSellerName() : seller != null ? seller.getShopName() : null;
+                    String sellerAvatarUrl = sellerCard != null ? sellerCard.getSellerAvatarUrl() : seller != null ? seller.getAvatarUrl() : null;
+                    return CartGroupResponse.builder()
+                            .sellerId(shopId)
+                            .sellerName(sellerName != null ? sellerName : "Người bán không xác định")
+                            .sellerAvatarUrl(sellerAvatarUrl != null ? sellerAvatarUrl : "")
+                            .items(entry.getValue().stream()
+                                    .map(cartItem -> mapToCartItemResponse(cartItem, cards.get(cartItem.getProductId())))
+                                    .collect(Collectors.toCollection(LinkedHashSet::new)))
+                            .build();
+                })
+                .toList();
+    }
 
-            groups.add(group);
-        }
+    private List<CartItemEntity> sortByAddedAt(Set<CartItemEntity> cartItems) {
+        return cartItems.stream()
+                .sorted(Comparator.comparing(this::addedAtOf).thenComparing(CartItemEntity::getProductId))
+                .toList();
+    }
 
-        return groups;
+    private LocalDateTime addedAtOf(CartItemEntity cartItem) {
+        return cartItem.getAddedAt() != null ? cartItem.getAddedAt() : LocalDateTime.MIN;
     }
 
-    private Set<CartItemResponse> mapToCartItemResponse(Set<CartItemEntity> cartItems) {
-        if (cartItems == null || cartItems.isEmpty()) return Collections.emptySet();
-        Set<String> productIds = cartItems.stream()
-                .map(CartItemEntity::getProductId)
-                .collect(Collectors.toSet());
-        Map<String, ProductEntity> productMap = productRepository.findAllById(productIds).stream()
-                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
-        return cartItems.stream().map(cartItem -> {
-            ProductEntity product = productMap.get(cartItem.getProductId());
-            if (product == null) {
-                return CartItemResponse.builder()
-                        .productId(cartItem.getProductId())
-                        .productName("Không tìm thấy sản phẩm")
-                        .totalPrice(BigDecimal.ZERO)
-                        .addedAt(cartItem.getAddedAt())
-                        .description("N/A")
-                        .productAvailable(false)
-                        .quantity(0)
-                        .build();
-            }
+    private CartItemResponse mapToCartItemResponse(CartItemEntity cartItem, CartProductCardProjection product) {
+        if (product == null) {
             return CartItemResponse.builder()
                     .productId(cartItem.getProductId())
-                    .productName(product.getName())
-                    .productThumbnail(product.getThumbnail())
-                    .productBrand(product.getBrand().getName())
-                    .totalPrice(product.getCurrentPrice())
+                    .productName("Không tìm thấy sản phẩm")
+                    .totalPrice(BigDecimal.ZERO)
                     .addedAt(cartItem.getAddedAt())
-                    .description(product.getDescription() != null ? product.getDescription() : "N/A")
-                    .productAvailable(product.getQuantity() > 0 && product.getStatus() == ProductStatusEnum.ACTIVE)
-                    .productQuantity(product.getQuantity() != null ? product.getQuantity() : 0)
-                    .quantity(cartItem.getQuantity())
+                    .description("N/A")
+                    .productAvailable(false)
+                    .quantity(0)
                     .build();
-        }).collect(Collectors.toSet());
+        }
+        int available = product.getQuantity() != null ? product.getQuantity() : 0;
+        return CartItemResponse.builder()
+                .productId(cartItem.getProductId())
+                .productName(product.getName())
+                .productThumbnail(product.getThumbnail())
+                .productBrand(product.getBrandName())
+                .totalPrice(product.getCurrentPrice())
+                .addedAt(cartItem.getAddedAt())
+                .description(product.getShortDescription() != null ? product.getShortDescription() : "N/A")
+                .productAvailable(available > 0 && product.getStatus() == ProductStatusEnum.ACTIVE)
+                .productQuantity(available)
+                .quantity(cartItem.getQuantity())
+                .build();
     }
 }
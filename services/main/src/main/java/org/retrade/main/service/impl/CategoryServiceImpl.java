@@ -14,9 +14,11 @@ import org.retrade.main.model.document.ProductDocument;
 import org.retrade.main.model.dto.request.CategoryRequest;
 import org.retrade.main.model.dto.response.CategoryResponse;
 import org.retrade.main.model.entity.CategoryEntity;
+import org.retrade.main.model.other.CategoryTree;
 import org.retrade.main.repository.elasticsearch.ProductElasticsearchRepository;
 import org.retrade.main.repository.jpa.CategoryRepository;
 import org.retrade.main.service.CategoryService;
+import org.retrade.main.service.CategoryTreeService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final ProductElasticsearchRepository productElasticsearchRepository;
+    private final CategoryTreeService categoryTreeService;
 
     @Override
     public CategoryResponse createCategory(CategoryRequest request) {
@@ -53,10 +56,13 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
     public CategoryResponse updateCategory(String id, CategoryRequest request) {
         CategoryEntity category = getCategoryEntityById(id);
         CategoryEntity categoryParent = null;
         if (request.getCategoryParentId() != null) {
+            // The cached tree may lag behind other nodes, so re-parenting checks the database under a lock.
+            categoryRepository.lockHierarchy();
             if (categoryRepository.isCategoryLoop(category.getId(), request.getCategoryParentId())) {
                 throw new ValidationException("Phát hiện vòng lặp danh mục");
             }
@@ -220,14 +226,14 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     @Transactional(readOnly = true)
     public PaginationWrapper<List<CategoryResponse>> getValidCategoriesOnTrees(QueryWrapper queryWrapper, Set<String> categoryIds) {
-        var isSameRoot = categoryRepository.isSameRootCategory(categoryIds);
-        if (!isSameRoot) {
+        var tree = categoryTreeService.getTree();
+        if (!tree.isSameRoot(categoryIds)) {
             return new PaginationWrapper.Builder<List<CategoryResponse>>()
                     .setPaginationInfoEmpty()
                     .setData(Collections.emptyList())
                     .build();
         }
-        var ids = categoryRepository.findCategoryValidIdByCategoryIds(categoryIds);
+        var ids = tree.getLineageIds(categoryIds);
         return categoryRepository.query(queryWrapper, (param) -> (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(root.get("id").in(ids));
@@ -248,8 +254,10 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public List<CategoryResponse> getAllCategoriesNoPagination() {
-          List<CategoryEntity>categoryEntity = categoryRepository.findAll();
-          return categoryEntity.stream().map(this::mapToCategoryResponse).collect(Collectors.toList());
+        var tree = categoryTreeService.getTree();
+        return tree.getNodes().stream()
+                .map(node -> mapToCategoryResponse(tree, node))
+                .collect(Collectors.toList());
     }
 
     private CategoryResponse mapToCategoryResponse(CategoryEntity category) {
@@ -266,18 +274,37 @@ public class CategoryServiceImpl implements CategoryService {
                    .parentName(category.getCategoryParent().getName());
         }
 
-        List<CategoryEntity> children = categoryRepository.findByCategoryParent(category);
-        if (!children.isEmpty()) {
-            List<CategoryResponse> childrenResponses = children.stream()
-                    .filter(CategoryEntity::getVisible)
-                    .map(this::mapToCategoryResponse)
-                    .collect(Collectors.toList());
-            builder.children(childrenResponses);
-        }
+        builder.children(mapVisibleChildren(categoryTreeService.getTree(), category.getId()));
+        return builder.build();
+    }
 
+    private CategoryResponse mapToCategoryResponse(CategoryTree tree, CategoryTree.Node node) {
+        CategoryResponse.CategoryResponseBuilder builder = CategoryResponse.builder()
+                .id(node.id())
+                .name(node.name())
+                .description(node.description())
+                .visible(node.visible())
+                .createdAt(node.createdDate().toLocalDateTime())
+                .updatedAt(node.updatedDate().toLocalDateTime());
+        if (node.parentId() != null) {
+            builder.parentId(node.parentId())
+                    .parentName(tree.find(node.parentId()).map(CategoryTree.Node::name).orElse(null));
+        }
+        builder.children(mapVisibleChildren(tree, node.id()));
         return builder.build();
     }
 
+    private List<CategoryResponse> mapVisibleChildren(CategoryTree tree, String id) {
+        var children = tree.getChildren(id);
+        if (children.isEmpty()) {
+            return null;
+        }
+        return children.stream()
+                .filter(child -> Boolean.TRUE.equals(child.visible()))
+                .map(child -> mapToCategoryResponse(tree, child))
+                .collect(Collectors.toList());
+    }
+
     private Predicate getPredicate(Map<String, QueryFieldWrapper> param, Root<CategoryEntity> root, CriteriaBuilder criteriaBuilder, List<Predicate> predicates) {
         if (param != null && !param.isEmpty()) {
             Predicate[] defaultPredicates = categoryRepository.createDefaultPredicate(criteriaBuilder, root, param);
@@ -0,0 +1,110 @@
+package org.retrade.main.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.CategoryTreeConfig;
+import org.retrade.main.model.message.CategoryTreeInvalidationMessage;
+import org.retrade.main.model.other.CategoryTree;
+import org.retrade.main.repository.jpa.CategoryRepository;
+import org.retrade.main.service.CategoryTreeService;
+import org.retrade.main.service.MessageProducerService;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryTreeServiceImpl implements CategoryTreeService {
+    private final CategoryRepository categoryRepository;
+    private final MessageProducerService messageProducerService;
+    private final CategoryTreeConfig categoryTreeConfig;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong requestedVersion = new AtomicLong(1);
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Override
+    public CategoryTree getTree() {
+        var snapshot = current.get();
+        if (snapshot != null && isFresh(snapshot)) {
+            return snapshot.tree();
+        }
+        if (snapshot != null) {
+            // Serve the previous tree while another thread is already rebuilding.
+            if (!rebuildLock.tryLock()) {
+                return snapshot.tree();
+            }
+        } else {
+            rebuildLock.lock();
+        }
+        try {
+            snapshot = current.get();
+            if (snapshot != null && isFresh(snapshot)) {
+                return snapshot.tree();
+            }
+            return rebuild().tree();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        requestedVersion.incrementAndGet();
+    }
+
+    @Override
+    public void publishInvalidation(String categoryId) {
+        invalidate();
+        if (!categoryTreeConfig.isBroadcastEnabled()) {
+            return;
+        }
+        try {
+            messageProducerService.sendCategoryTreeInvalidation(CategoryTreeInvalidationMessage.builder()
+                    .originId(instanceId)
+                    .categoryId(categoryId)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to broadcast category tree invalidation for {}: {}", categoryId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void handleRemoteInvalidation(CategoryTreeInvalidationMessage message) {
+        if (message != null && instanceId.equals(message.getOriginId())) {
+            return;
+        }
+        invalidate();
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        return snapshot.tree().getVersion() >= requestedVersion.get()
+                && System.currentTimeMillis() - snapshot.builtAt() < categoryTreeConfig.getMaxAge().toMillis();
+    }
+
+    private Snapshot rebuild() {
+        long version = requestedVersion.get();
+        var nodes = categoryRepository.findTreeNodes().stream()
+                .map(node -> new CategoryTree.Node(
+                        node.getId(),
+                        node.getName(),
+                        node.getDescription(),
+                        node.getParentId(),
+                        node.getVisible(),
+                        node.getEnabled(),
+                        node.getCreatedDate(),
+                        node.getUpdatedDate()))
+                .toList();
+        var snapshot = new Snapshot(CategoryTree.build(version, nodes), System.currentTimeMillis());
+        current.set(snapshot);
+        log.debug("Rebuilt category tree version {} with {} nodes", version, nodes.size());
+        return snapshot;
+    }
+
+    private record Snapshot(CategoryTree tree, long builtAt) {
+    }
+}
@@ -21,6 +21,7 @@ import org.retrade.main.model.entity.CustomerContactEntity;
 import org.retrade.main.model.entity.CustomerEntity;
 import org.retrade.main.repository.jpa.*;
 import org.retrade.main.service.CustomerService;
+import org.retrade.main.service.WalletLedgerService;
 import org.retrade.main.util.AuthUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.domain.Specification;
@@ -28,7 +29,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -44,6 +44,7 @@ public class CustomerServiceImpl implements CustomerService {
     private final OrderRepository orderRepository;
     private final AuthUtils authUtils;
     private final PasswordEncoder passwordEncoder;
+    private final WalletLedgerService walletLedgerService;
 
     @Override
     public CustomerResponse getCurrentCustomerProfile() {
@@ -138,7 +139,7 @@ public class CustomerServiceImpl implements CustomerService {
                 .boughtItems(boughtProduct)
                 .orderPlace(orderPlace)
                 .orderComplete(orderCompleted)
-                .walletBalance(account.getBalance() != null ? account.getBalance() : BigDecimal.ZERO)
+                .walletBalance(walletLedgerService.getBalance(account.getId()))
                 .build();
     }
 
@@ -4,18 +4,20 @@ import lombok.RequiredArgsConstructor;
 import org.retrade.common.model.exception.ValidationException;
 import org.retrade.main.model.constant.DashboardMetricCodes;
 import org.retrade.main.model.constant.OrderStatusCodes;
+import org.retrade.main.model.constant.PlatformStatEnum;
 import org.retrade.main.model.constant.ProductStatusEnum;
 import org.retrade.main.model.dto.response.*;
 import org.retrade.main.model.projection.RevenueMonthProjection;
 import org.retrade.main.repository.jpa.*;
 import org.retrade.main.service.DashboardService;
+import org.retrade.main.service.PlatformStatsService;
+import org.retrade.main.service.SellerMetricService;
 import org.retrade.main.util.AuthUtils;
 import org.retrade.main.util.DateUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -31,10 +33,8 @@ public class DashboardServiceImpl implements DashboardService {
     private final OrderItemRepository orderItemRepository;
     private final OrderStatusRepository orderStatusRepository;
     private final SellerRevenueRepository sellerRevenueRepository;
-    private final AccountRepository accountRepository;
-    private final CategoryRepository categoryRepository;
-    private final SellerRepository sellerRepository;
-    private final ReportSellerRepository sellerReportRepository;
+    private final SellerMetricService sellerMetricService;
+    private final PlatformStatsService platformStatsService;
 
     @Override
     public List<DashboardMetricResponse> getSellerDashboardMetric(LocalDateTime fromDate, LocalDateTime toDate) {
@@ -43,17 +43,13 @@ public class DashboardServiceImpl implements DashboardService {
             throw new ValidationException("Người bán không tồn tại");
         }
         var seller = account.getSeller();
-        var orderStatus = orderStatusRepository.findByCode(OrderStatusCodes.COMPLETED)
-                .orElseThrow(() -> new ValidationException("Không tìm thấy trạng thái đơn hàng"));
-
-        long totalProduct = productRepository.countBySeller(seller);
-        BigDecimal currentRevenue = orderComboRepository.getTotalGrandPriceBySellerAndStatusAndDateRange(
-                seller, orderStatus, fromDate, toDate);
-        long currentOrders = orderComboRepository.countBySellerAndOrderStatusAndCreatedDateBetween(
-                seller, orderStatus, Timestamp.valueOf(fromDate), Timestamp.valueOf(toDate));
+        var productMetric = productRepository.getSellerProductMetric(seller);
+        long totalProduct = productMetric.getTotalProducts();
+        var current = sellerMetricService.getTotals(seller.getId(), fromDate.toLocalDate(), toDate.toLocalDate());
+        BigDecimal currentRevenue = current.getCompletedRevenue();
+        long currentOrders = current.getCompletedOrders();
         double avgVote = productRepository.getAverageVote(seller);
-        long cancelOrders = orderComboRepository.countBySellerAndCancelledReasonNotNullAndCreatedDateBetween(
-                seller, Timestamp.valueOf(fromDate), Timestamp.valueOf(toDate));
+        long cancelOrders = current.getCancelledOrders();
         double returnRate = 0.0;
         if (currentOrders > 0) {
             returnRate = ((double) cancelOrders / currentOrders) * 100;
@@ -62,10 +58,10 @@ public class DashboardServiceImpl implements DashboardService {
         LocalDateTime previousFromDate = DateUtils.getPreviousFromDate(fromDate, toDate);
         LocalDateTime previousToDate = DateUtils.getPreviousToDate(fromDate);
 
-        BigDecimal previousRevenue = orderComboRepository.getTotalGrandPriceBySellerAndStatusAndDateRange(
-                seller, orderStatus, previousFromDate, previousToDate);
-        long previousOrders = orderComboRepository.countBySellerAndOrderStatusAndCreatedDateBetween(
-                seller, orderStatus, Timestamp.valueOf(previousFromDate), Timestamp.valueOf(previousToDate));
+        var previous = sellerMetricService.getTotals(seller.getId(), previousFromDate.toLocalDate(),
+                previousToDate.toLocalDate().minusDays(1));
+        BigDecimal previousRevenue = previous.getCompletedRevenue();
+        long previousOrders = previous.getCompletedOrders();
 
         double changeRevenue = 0.0;
         if (previousRevenue != null && previousRevenue.compareTo(BigDecimal.ZERO) != 0) {
@@ -75,16 +71,15 @@ public class DashboardServiceImpl implements DashboardService {
         double changeOrders = DateUtils.calculatePercentageChange(
                 currentOrders, previousOrders);
 
-        long countActiveProducts = productRepository.countBySellerAndQuantityGreaterThan(seller, 0);
-        long totalQuantityInStock = productRepository.sumQuantityBySeller(seller);
-        long totalQuantitySold = orderItemRepository.getTotalProductSoldBySellerAndStatusAndDateRange(
-                seller, orderStatus, Timestamp.valueOf(fromDate), Timestamp.valueOf(toDate));
+        long countActiveProducts = productMetric.getActiveProducts();
+        long totalQuantityInStock = productMetric.getQuantityInStock();
+        long totalQuantitySold = current.getItemsSold();
         double soldRate = 0.0;
         if (totalQuantityInStock + totalQuantitySold > 0) {
             soldRate = ((double) totalQuantitySold / (totalQuantityInStock + totalQuantitySold)) * 100;
         }
 
-        long totalVerifiedProducts = productRepository.countBySellerAndVerifiedTrue(seller);
+        long totalVerifiedProducts = productMetric.getVerifiedProducts();
         double verifiedRate = 0.0;
         if (totalProduct > 0) {
             verifiedRate = ((double) totalVerifiedProducts / totalProduct) * 100;
@@ -109,7 +104,7 @@ public class DashboardServiceImpl implements DashboardService {
             throw new ValidationException("Người bán không tồn tại");
         }
         var seller = account.getSeller();
-        var rawResult =  orderComboRepository.getRevenuePerMonth(seller, year);
+        var rawResult = sellerMetricService.getRevenuePerMonth(seller.getId(), year);
         Map<Integer, BigDecimal> map = rawResult.stream()
                 .collect(Collectors.toMap(
                         RevenueMonthProjection::getMonth,
@@ -209,24 +204,16 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public AdminDashboardMetricResponse getAdminDashboardMetric() {
-        var currentDate  = LocalDateTime.now();
-        var totalUsers = accountRepository.count();
-        var totalOrders = orderComboRepository.count();
-        var totalProducts = productRepository.count();
-        var totalCategories = categoryRepository.count();
-        var totalSeller = sellerRepository.count();
-        var newUsersThisMonth = accountRepository.countAccountsCreatedInMonth(currentDate.getYear(), currentDate.getMonthValue());
-        var revenueThisMonth = sellerRevenueRepository.calculateAdminRevenueByMonthAndYear(currentDate.getYear(), currentDate.getMonthValue());
-        var totalReport = sellerReportRepository.count();
+        var stats = platformStatsService.getSnapshot();
         return AdminDashboardMetricResponse.builder()
-                .totalUsers(BigDecimal.valueOf(totalUsers))
-                .totalOrders(BigDecimal.valueOf(totalOrders))
-                .totalProducts(BigDecimal.valueOf(totalProducts))
-                .totalCategories(BigDecimal.valueOf(totalCategories))
-                .totalSellers(BigDecimal.valueOf(totalSeller))
-                .newUsersThisMonth(newUsersThisMonth)
-                .revenueThisMonth(revenueThisMonth)
-                .totalReport(totalReport)
+                .totalUsers(BigDecimal.valueOf(stats.get(PlatformStatEnum.ACCOUNTS)))
+                .totalOrders(BigDecimal.valueOf(stats.get(PlatformStatEnum.ORDERS)))
+                .totalProducts(BigDecimal.valueOf(stats.get(PlatformStatEnum.PRODUCTS)))
+                .totalCategories(BigDecimal.valueOf(stats.get(PlatformStatEnum.CATEGORIES)))
+                .totalSellers(BigDecimal.valueOf(stats.get(PlatformStatEnum.SELLERS)))
+                .newUsersThisMonth(stats.get(PlatformStatEnum.NEW_USERS_THIS_MONTH))
+                .revenueThisMonth(stats.getRevenueThisMonth())
+                .totalReport(stats.get(PlatformStatEnum.REPORTS))
                 .build();
     }
 
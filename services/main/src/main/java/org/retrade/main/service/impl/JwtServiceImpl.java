@@ -2,15 +2,20 @@ package org.retrade.main.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.retrade.common.util.ExpiringCache;
 import org.retrade.main.config.security.HostConfig;
 import org.retrade.main.config.security.JwtConfig;
+import org.retrade.main.config.security.TokenCacheConfig;
 import org.retrade.main.model.constant.JwtTokenType;
 import org.retrade.main.model.other.UserClaims;
 import org.retrade.main.service.JwtService;
@@ -24,6 +29,7 @@ import java.sql.Date;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -32,6 +38,21 @@ public class JwtServiceImpl implements JwtService {
 
     private final JwtConfig jwtTokenConfig;
     private final HostConfig hostConfig;
+    private final TokenCacheConfig tokenCacheConfig;
+    private final ObjectMapper objectMapper;
+    private final Map<JwtTokenType, SecretKey> signingKeys = new EnumMap<>(JwtTokenType.class);
+    private final Map<JwtTokenType, JwtParser> parsers = new EnumMap<>(JwtTokenType.class);
+    private ExpiringCache<String, UserClaims> claimsCache;
+
+    @PostConstruct
+    void init() {
+        for (JwtTokenType tokenType : JwtTokenType.values()) {
+            var signingKey = createSigningKey(tokenType);
+            signingKeys.put(tokenType, signingKey);
+            parsers.put(tokenType, Jwts.parserBuilder().setSigningKey(signingKey).build());
+        }
+        claimsCache = new ExpiringCache<>(tokenCacheConfig.getClaimsMaxSize());
+    }
 
     @Override
     public String generateToken(Authentication authentication, JwtTokenType tokenType) {
@@ -77,6 +98,10 @@ public class JwtServiceImpl implements JwtService {
     }
 
     private SecretKey getSigningKey(JwtTokenType tokenType) {
+        return signingKeys.get(tokenType);
+    }
+
+    private SecretKey createSigningKey(JwtTokenType tokenType) {
         String secretKey = switch (tokenType) {
             case ACCESS_TOKEN -> jwtTokenConfig.getAccessToken().getKey();
             case REFRESH_TOKEN -> jwtTokenConfig.getRefreshToken().getKey();
@@ -87,16 +112,26 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public Optional<UserClaims> getUserClaimsFromJwt(String token, JwtTokenType tokenType) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        var cacheKey = tokenType.name() + ":" + DigestUtils.sha256Hex(token);
+        var cached = claimsCache.get(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         try {
-            var claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey(tokenType))
-                    .build()
+            var claims = parsers.get(tokenType)
                     .parseClaimsJws(token)
                     .getBody();
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            String userJson = objectMapper.writeValueAsString(claims.get("user"));
-            return Optional.of(objectMapper.readValue(userJson, UserClaims.class));
+            var userClaims = objectMapper.convertValue(claims.get("user"), UserClaims.class);
+            if (userClaims == null) {
+                return Optional.empty();
+            }
+            if (claims.getExpiration() != null) {
+                claimsCache.put(cacheKey, userClaims, claims.getExpiration().getTime());
+            }
+            return Optional.of(userClaims);
         } catch (Exception ex) {
             return Optional.empty();
         }
@@ -165,15 +200,7 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public boolean isTokenValid(String token, JwtTokenType tokenType) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey(tokenType))
-                    .build()
-                    .parseClaimsJws(token);
-        } catch (Exception ex) {
-            return false;
-        }
-        return true;
+        return getUserClaimsFromJwt(token, tokenType).isPresent();
     }
 
     private Date getExpiryDate(JwtTokenType tokenType, Date currentDate) {
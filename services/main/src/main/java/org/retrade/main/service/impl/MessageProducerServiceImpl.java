@@ -121,6 +121,18 @@ public class MessageProducerServiceImpl implements MessageProducerService {
         );
     }
 
+    @Override
+    public void sendCategoryTreeInvalidation(CategoryTreeInvalidationMessage message) {
+        var messageWrapper = new MessageObject.Builder<CategoryTreeInvalidationMessage>()
+                .withPayload(message)
+                .withMessageId(UUID.randomUUID().toString())
+                .withSource("main-service")
+                .withType("category-tree-invalidation")
+                .withTimestamp(LocalDateTime.now())
+                .build();
+        rabbitTemplate.convertAndSend(ExchangeNameEnum.CATEGORY_TREE_EXCHANGE.getName(), "", messageWrapper);
+    }
+
     @Override
     public void sendMessageToDeadQueue(Message rawMessage) {
         log.info("Sending message to dead queue: {}", rawMessage.getMessageProperties().getConsumerQueue());
@@ -15,6 +15,9 @@ import org.retrade.main.model.message.SocketNotificationMessage;
 import org.retrade.main.repository.jpa.*;
 import org.retrade.main.service.MessageProducerService;
 import org.retrade.main.service.OrderHistoryService;
+import org.retrade.main.service.ProductStockService;
+import org.retrade.main.service.SellerMetricService;
+import org.retrade.main.service.WalletLedgerService;
 import org.retrade.main.util.AuthUtils;
 import org.retrade.main.validator.OrderStatusValidator;
 import org.springframework.stereotype.Service;
@@ -24,6 +27,7 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -37,11 +41,11 @@ public class OrderHistoryServiceImpl implements OrderHistoryService {
     private final OrderStatusRepository orderStatusRepository;
     private final OrderStatusValidator orderStatusValidator;
     private final AuthUtils authUtils;
-    private final AccountRepository accountRepository;
     private final MessageProducerService messageProducerService;
-    private final WalletTransactionRepository walletTransactionRepository;
     private final OrderComboDeliveryRepository orderComboDeliveryRepository;
-    private final ProductRepository productRepository;
+    private final ProductStockService productStockService;
+    private final SellerMetricService sellerMetricService;
+    private final WalletLedgerService walletLedgerService;
 
     @Override
     public List<OrderHistoryResponse> getAllNotesByOrderComboId(String id) {
@@ -126,6 +130,7 @@ public class OrderHistoryServiceImpl implements OrderHistoryService {
         try {
             orderComboRepository.save(orderCombo);
             orderHistoryRepository.save(orderHistoryEntity);
+            sellerMetricService.recordStatusChange(orderCombo, currentStatusCode);
         } catch (Exception e) {
             throw new ActionFailedException("Lỗi khi lưu đơn hàng", e);
         }
@@ -135,25 +140,12 @@ public class OrderHistoryServiceImpl implements OrderHistoryService {
 
         if (newStatusCode.equals(OrderStatusCodes.CANCELLED)) {
             rollbackPrice = orderCombo.getGrandPrice();
-            BigDecimal currentBalance = accountCombo.getBalance() != null ? accountCombo.getBalance() : BigDecimal.ZERO;
-            accountCombo.setBalance(currentBalance.add(rollbackPrice));
-
-            var walletTransactionHistory = WalletTransactionEntity.builder()
-                    .note("Hoàn tiền đơn hàng " + orderCombo.getId() + ": " + rollbackPrice.toPlainString())
-                    .amount(rollbackPrice)
-                    .account(accountCombo)
-                    .build();
-            List<ProductEntity> updatedProducts = orderCombo.getOrderItems().stream()
-                    .map(item -> {
-                        ProductEntity product = item.getProduct();
-                        product.setQuantity(product.getQuantity() + item.getQuantity());
-                        return product;
-                    })
-                    .toList();
+            Map<String, Integer> releasedQuantities = orderCombo.getOrderItems().stream()
+                    .collect(Collectors.toMap(item -> item.getProduct().getId(), OrderItemEntity::getQuantity, Integer::sum));
             try {
-                walletTransactionRepository.save(walletTransactionHistory);
-                accountRepository.save(accountCombo);
-                productRepository.saveAll(updatedProducts);
+                walletLedgerService.credit(accountCombo, rollbackPrice,
+                        "Hoàn tiền đơn hàng " + orderCombo.getId() + ": " + rollbackPrice.toPlainString());
+                productStockService.release(releasedQuantities);
             } catch (Exception e) {
                 throw new ActionFailedException("Lỗi khi xử lí giao dịch hoàn tiền cho khách hàng");
             }
@@ -22,6 +22,10 @@ import org.retrade.main.model.message.SocketNotificationMessage;
 import org.retrade.main.repository.jpa.*;
 import org.retrade.main.service.MessageProducerService;
 import org.retrade.main.service.OrderService;
+import org.retrade.main.service.PaymentExpiryService;
+import org.retrade.main.service.ProductStockService;
+import org.retrade.main.service.SellerMetricService;
+import org.retrade.main.service.WalletLedgerService;
 import org.retrade.main.util.AuthUtils;
 import org.retrade.main.validator.OrderStatusValidator;
 import org.springframework.data.domain.Page;
@@ -52,8 +56,11 @@ public class OrderServiceImpl implements OrderService {
     private final OrderStatusValidator  orderStatusValidator;
     private final PlatformFeeTierRepository platformFeeTierRepository;
     private final SellerRevenueRepository sellerRevenueRepository;
-    private final AccountRepository accountRepository;
     private final MessageProducerService messageProducerService;
+    private final ProductStockService productStockService;
+    private final SellerMetricService sellerMetricService;
+    private final WalletLedgerService walletLedgerService;
+    private final PaymentExpiryService paymentExpiryService;
 
     @Override
     @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
@@ -63,7 +70,8 @@ public class OrderServiceImpl implements OrderService {
         validateCreateOrderRequest(request);
         var orderDestinationEntity = wrapOrderDestination(contact);
         List<ProductEntity> products = validateAndGetProducts(request.getItems());
-        subtractProductQuantities(products, request.getItems());
+        productStockService.reserve(request.getItems().stream()
+                .collect(Collectors.toMap(OrderItemRequest::getProductId, OrderItemRequest::getQuantity)));
 
         Map<SellerEntity, List<ProductEntity>> productsBySeller = groupProductsBySeller(products);
 
@@ -85,6 +93,7 @@ public class OrderServiceImpl implements OrderService {
         List<OrderComboEntity> orderCombos = createOrderCombos(productsBySeller, orderDestination, request.getItems());
 
         createOrderItems(savedOrder, products, orderCombos, request.getItems());
+        paymentExpiryService.schedule(savedOrder.getId());
 
         return mapToOrderResponse(savedOrder);
     }
@@ -169,8 +178,10 @@ public class OrderServiceImpl implements OrderService {
 
         List<OrderComboEntity> orderCombos = orderComboRepository.findByOrderDestination(order.getOrderDestination());
         for (OrderComboEntity combo : orderCombos) {
+            var previousStatusCode = combo.getOrderStatus().getCode();
             combo.setOrderStatus(newStatus);
             orderComboRepository.save(combo);
+            sellerMetricService.recordStatusChange(combo, previousStatusCode);
         }
         return mapToOrderResponse(order);
     }
@@ -186,8 +197,10 @@ public class OrderServiceImpl implements OrderService {
 
         List<OrderComboEntity> orderCombos = orderComboRepository.findByOrderDestination(order.getOrderDestination());
         for (OrderComboEntity combo : orderCombos) {
+            var previousStatusCode = combo.getOrderStatus().getCode();
             combo.setOrderStatus(cancelledStatus);
             orderComboRepository.save(combo);
+            sellerMetricService.recordStatusChange(combo, previousStatusCode);
         }
     }
 
@@ -209,24 +222,18 @@ public class OrderServiceImpl implements OrderService {
         }
         OrderStatusEntity cancelledStatus = orderStatusRepository.findByCode(OrderStatusCodes.CANCELLED)
                 .orElseThrow(() -> new ValidationException("Không tìm thấy trạng thái đơn hàng đã hủy"));
+        var previousStatusCode = orderComboEntity.getOrderStatus().getCode();
         orderComboEntity.setCancelledReason(request.reason());
         orderComboEntity.setOrderStatus(cancelledStatus);
         orderComboEntity.setReasonCreatedDate(Timestamp.valueOf(LocalDateTime.now()));
-        List<ProductEntity> updatedProducts = orderComboEntity.getOrderItems().stream()
-                .map(item -> {
-                    ProductEntity product = item.getProduct();
-                    product.setQuantity(product.getQuantity() + item.getQuantity());
-                    return product;
-                })
-                .collect(Collectors.toList());
         try {
             orderComboRepository.save(orderComboEntity);
-            productRepository.saveAll(updatedProducts);
+            sellerMetricService.recordStatusChange(orderComboEntity, previousStatusCode);
+            productStockService.release(orderedQuantities(orderComboEntity));
             if (orderStatusValidator.isPaymentSuccessful(orderComboEntity.getOrderStatus().getCode())) {
                 BigDecimal rollbackPrice = orderComboEntity.getGrandPrice();
-                BigDecimal currentBalance = account.getBalance() != null ? account.getBalance() : BigDecimal.ZERO;
-                account.setBalance(currentBalance.add(rollbackPrice));
-                accountRepository.save(account);
+                walletLedgerService.credit(account, rollbackPrice,
+                        "Hoàn tiền đơn hàng " + orderComboEntity.getId() + ": " + rollbackPrice.toPlainString());
             }
         } catch (Exception e) {
             throw new ValidationException(e.getMessage());
@@ -245,24 +252,18 @@ public class OrderServiceImpl implements OrderService {
         OrderStatusEntity cancelledStatus = orderStatusRepository.findByCode(OrderStatusCodes.CANCELLED)
                 .orElseThrow(() -> new ValidationException("Không tìm thấy trạng thái đơn hàng đã hủy"));
 
+        var previousStatusCode = orderCombo.getOrderStatus().getCode();
         orderCombo.setCancelledReason(request.reason());
         orderCombo.setOrderStatus(cancelledStatus);
         orderCombo.setReasonCreatedDate(Timestamp.valueOf(LocalDateTime.now()));
         var accountCombo = orderCombo.getOrderDestination().getOrder().getCustomer().getAccount();
         BigDecimal rollbackPrice = orderCombo.getGrandPrice();
-        BigDecimal currentBalance = accountCombo.getBalance() != null ? accountCombo.getBalance() : BigDecimal.ZERO;
-        accountCombo.setBalance(currentBalance.add(rollbackPrice));
-        List<ProductEntity> updatedProducts = orderCombo.getOrderItems().stream()
-                .map(item -> {
-                    ProductEntity product = item.getProduct();
-                    product.setQuantity(product.getQuantity() + item.getQuantity());
-                    return product;
-                })
-                .toList();
         try {
             orderComboRepository.save(orderCombo);
-            productRepository.saveAll(updatedProducts);
-            accountRepository.save(accountCombo);
+            sellerMetricService.recordStatusChange(orderCombo, previousStatusCode);
+            productStockService.release(orderedQuantities(orderCombo));
+            walletLedgerService.credit(accountCombo, rollbackPrice,
+                    "Hoàn tiền đơn hàng " + orderCombo.getId() + ": " + rollbackPrice.toPlainString());
         } catch (Exception e) {
             throw new ActionFailedException(e.getMessage());
         }
@@ -311,6 +312,7 @@ public class OrderServiceImpl implements OrderService {
         }
         OrderStatusEntity completedStatus = orderStatusRepository.findByCode(OrderStatusCodes.COMPLETED)
                 .orElseThrow(() -> new ValidationException("Không tìm thấy trạng thái đơn hàng đã hoàn tất"));
+        var previousStatusCode = orderComboEntity.getOrderStatus().getCode();
         orderComboEntity.setOrderStatus(completedStatus);
         BigDecimal totalAmount = orderComboEntity.getGrandPrice();
         PlatformFeeTierEntity tier = platformFeeTierRepository.findMatchingTier(totalAmount)
@@ -319,8 +321,6 @@ public class OrderServiceImpl implements OrderService {
                 .setScale(2, RoundingMode.HALF_UP);
         BigDecimal sellerRevenueAmount = totalAmount.subtract(feeAmount);
         var sellerAccount = orderComboEntity.getSeller().getAccount();
-        BigDecimal currentBalance = sellerAccount.getBalance() != null ? sellerAccount.getBalance() : BigDecimal.ZERO;
-        sellerAccount.setBalance(currentBalance.add(sellerRevenueAmount));
         SellerRevenueEntity revenueEntity = SellerRevenueEntity.builder()
                 .orderCombo(orderComboEntity)
                 .totalAmount(totalAmount)
@@ -330,8 +330,10 @@ public class OrderServiceImpl implements OrderService {
                 .build();
         try {
             orderComboRepository.save(orderComboEntity);
-            accountRepository.save(sellerAccount);
             sellerRevenueRepository.save(revenueEntity);
+            walletLedgerService.credit(sellerAccount, sellerRevenueAmount,
+                    "Doanh thu đơn hàng " + orderComboEntity.getId() + ": " + sellerRevenueAmount.toPlainString());
+            sellerMetricService.recordStatusChange(orderComboEntity, previousStatusCode);
         } catch (Exception e) {
             throw new ActionFailedException(e.getMessage());
         }
@@ -707,13 +709,23 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private List<ProductEntity> validateAndGetProducts(List<OrderItemRequest> items) {
+        Set<String> productIds = new LinkedHashSet<>();
+        for (OrderItemRequest item : items) {
+            if (!productIds.add(item.getProductId())) {
+                throw new ValidationException("Sản phẩm với ID: " + item.getProductId() + " bị trùng trong đơn hàng");
+            }
+            if (item.getQuantity() <= 0) {
+                throw new ValidationException("Số lượng đặt không hợp lệ cho sản phẩm: " + item.getProductId());
+            }
+        }
+        Map<String, ProductEntity> productMap = productRepository.findByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, product -> product));
         List<ProductEntity> products = new ArrayList<>();
         List<String> notFoundProducts = new ArrayList<>();
         for (OrderItemRequest item : items) {
             var productId = item.getProductId();
-            Optional<ProductEntity> productOpt = productRepository.findById(productId);
-            if (productOpt.isPresent()) {
-                ProductEntity product = productOpt.get();
+            ProductEntity product = productMap.get(productId);
+            if (product != null) {
                 if (!product.getVerified()) {
                     throw new ValidationException("Sản phẩm với ID: " + productId + " chưa được xác minh");
                 }
@@ -733,6 +745,11 @@ public class OrderServiceImpl implements OrderService {
         return products;
     }
 
+    private Map<String, Integer> orderedQuantities(OrderComboEntity orderCombo) {
+        return orderCombo.getOrderItems().stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), OrderItemEntity::getQuantity, Integer::sum));
+    }
+
     private Map<SellerEntity, List<ProductEntity>> groupProductsBySeller(List<ProductEntity> products) {
         return products.stream()
                 .collect(Collectors.groupingBy(ProductEntity::getSeller));
@@ -790,6 +807,7 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toMap(OrderComboEntity::getSeller, combo -> combo));
         Map<String, Integer> requestItemMap = requestItems.stream()
                 .collect(Collectors.toMap(OrderItemRequest::getProductId, OrderItemRequest::getQuantity));
+        List<OrderItemEntity> orderItems = new ArrayList<>(products.size());
         for (ProductEntity product : products) {
             OrderComboEntity combo = sellerComboMap.get(product.getSeller());
 
@@ -808,8 +826,12 @@ public class OrderServiceImpl implements OrderService {
                     .quantity(quantity)
                     .unit("vnd")
                     .build();
-
-            orderItemRepository.save(orderItem);
+            orderItems.add(orderItem);
+        }
+        try {
+            orderItemRepository.saveAll(orderItems);
+        } catch (Exception ex) {
+            throw new ActionFailedException("Không thể lưu sản phẩm của đơn hàng", ex);
         }
     }
 
@@ -1068,22 +1090,6 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toList());
     }
 
-    private void subtractProductQuantities(List<ProductEntity> products, List<OrderItemRequest> items) {
-        Map<String, Integer> orderedQuantities = items.stream()
-                .collect(Collectors.toMap(OrderItemRequest::getProductId, OrderItemRequest::getQuantity));
-        for (ProductEntity product : products) {
-            Integer orderedQuantity = orderedQuantities.get(product.getId());
-            if (orderedQuantity == null) {
-                throw new ValidationException("Không tìm thấy sản phẩm với mã: " + product.getId());
-            }
-            if (product.getQuantity() < orderedQuantity) {
-                throw new ValidationException("Không đủ tồn kho cho sản phẩm: " + product.getName());
-            }
-            product.setQuantity(product.getQuantity() - orderedQuantity);
-        }
-        productRepository.saveAll(products);
-    }
-
     private void sendOrderStatusNotification(AccountEntity account, OrderComboEntity orderCombo, String newStatusCode, boolean isSeller) {
         var rollbackPrice = orderCombo.getGrandPrice();
         try {
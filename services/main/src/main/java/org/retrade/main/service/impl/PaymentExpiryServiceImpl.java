@@ -0,0 +1,250 @@
+package org.retrade.main.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.entity.BaseSQLEntity;
+import org.retrade.common.model.exception.ValidationException;
+import org.retrade.main.config.common.PaymentExpiryConfig;
+import org.retrade.main.model.constant.OrderStatusCodes;
+import org.retrade.main.model.constant.PaymentStatusEnum;
+import org.retrade.main.repository.jpa.*;
+import org.retrade.main.service.PaymentExpiryService;
+import org.retrade.main.service.SellerMetricService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unpaid orders hold reserved stock until their deadline in a Redis sorted set (score = deadline millis). One
+ * instance at a time holds the sweep lease, pops due orders in batches, expires their open payments, cancels the
+ * still-pending combos and gives their stock back with a single update per batch.
+ */
+@Service
+@Slf4j
+public class PaymentExpiryServiceImpl implements PaymentExpiryService {
+    private static final String EXPIRED_REASON = "Đơn hàng bị hủy do quá hạn thanh toán";
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+    private static final RedisScript<Long> RENEW_LEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+    private final StringRedisTemplate redisTemplate;
+    private final PaymentHistoryRepository paymentHistoryRepository;
+    private final OrderComboRepository orderComboRepository;
+    private final OrderStatusRepository orderStatusRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final SellerMetricService sellerMetricService;
+    private final PaymentExpiryConfig expiryConfig;
+    private final TransactionTemplate expiryTransaction;
+    private final Counter expiredReservations;
+    private final Counter releasedUnits;
+    private final AtomicLong heldStock = new AtomicLong();
+    private final AtomicLong scheduledOrders = new AtomicLong();
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+
+    public PaymentExpiryServiceImpl(StringRedisTemplate redisTemplate,
+                                    PaymentHistoryRepository paymentHistoryRepository,
+                                    OrderComboRepository orderComboRepository,
+                                    OrderStatusRepository orderStatusRepository,
+                                    OrderItemRepository orderItemRepository,
+                                    ProductRepository productRepository,
+                                    SellerMetricService sellerMetricService,
+                                    PaymentExpiryConfig expiryConfig,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.paymentHistoryRepository = paymentHistoryRepository;
+        this.orderComboRepository = orderComboRepository;
+        this.orderStatusRepository = orderStatusRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productRepository = productRepository;
+        this.sellerMetricService = sellerMetricService;
+        this.expiryConfig = expiryConfig;
+        this.expiryTransaction = new TransactionTemplate(transactionManager);
+        this.expiredReservations = Counter.builder("payment.expiry.reservations.expired")
+                .description("Pending order combos cancelled because their payment deadline passed")
+                .register(meterRegistry);
+        this.releasedUnits = Counter.builder("payment.expiry.stock.released")
+                .description("Product units returned to stock by expired reservations")
+                .register(meterRegistry);
+        Gauge.builder("payment.expiry.held.stock", heldStock, AtomicLong::get)
+                .description("Product units held by orders awaiting payment")
+                .register(meterRegistry);
+        Gauge.builder("payment.expiry.scheduled.orders", scheduledOrders, AtomicLong::get)
+                .description("Unpaid orders waiting in the expiry deadline index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void schedule(String orderId) {
+        long deadline = System.currentTimeMillis() + expiryConfig.getHoldTtl().toMillis();
+        afterCommit(() -> redisTemplate.opsForZSet().add(expiryConfig.getDeadlineKey(), orderId, deadline));
+    }
+
+    @Override
+    public void unschedule(String orderId) {
+        afterCommit(() -> redisTemplate.opsForZSet().remove(expiryConfig.getDeadlineKey(), orderId));
+    }
+
+    @Override
+    public int sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return 0;
+        }
+        var leaseKey = expiryConfig.getLeaseKey();
+        var token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey, token, expiryConfig.getLeaseTtl()))) {
+                log.debug("Payment expiry lease is held by another instance, skipping sweep");
+                return 0;
+            }
+            int expired = 0;
+            try {
+                int batchSize = Math.max(1, expiryConfig.getBatchSize());
+                for (int i = 0; i < expiryConfig.getMaxBatchesPerSweep(); i++) {
+                    var due = redisTemplate.opsForZSet().rangeByScore(expiryConfig.getDeadlineKey(), 0,
+                            System.currentTimeMillis(), 0, batchSize);
+                    if (due == null || due.isEmpty()) {
+                        break;
+                    }
+                    var result = expiryTransaction.execute(status -> expireOrders(due));
+                    redisTemplate.opsForZSet().remove(expiryConfig.getDeadlineKey(), due.toArray());
+                    if (result != null) {
+                        expiredReservations.increment(result.orderCombos());
+                        releasedUnits.increment(result.units());
+                        expired += result.orderCombos();
+                    }
+                    if (due.size() < batchSize || !renewLease(leaseKey, token)) {
+                        break;
+                    }
+                }
+            } finally {
+                redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey), token);
+            }
+            return expired;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    @Override
+    public int reconcile() {
+        int batchSize = Math.max(1, expiryConfig.getBatchSize());
+        long holdMillis = expiryConfig.getHoldTtl().toMillis();
+        var after = "";
+        int added = 0;
+        while (true) {
+            var pending = orderComboRepository.findOrdersByStatusCodeAfter(OrderStatusCodes.PENDING, after,
+                    PageRequest.of(0, batchSize));
+            if (pending.isEmpty()) {
+                return added;
+            }
+            Set<ZSetOperations.TypedTuple<String>> deadlines = new HashSet<>();
+            pending.forEach(order -> deadlines.add(ZSetOperations.TypedTuple.of(order.getOrderId(),
+                    (double) (order.getCreatedDate().getTime() + holdMillis))));
+            var result = redisTemplate.opsForZSet().addIfAbsent(expiryConfig.getDeadlineKey(), deadlines);
+            added += result != null ? result.intValue() : 0;
+            if (pending.size() < batchSize) {
+                return added;
+            }
+            after = pending.getLast().getOrderId();
+        }
+    }
+
+    @Override
+    public void refreshMetrics() {
+        heldStock.set(orderItemRepository.sumQuantityByOrderComboStatusCode(OrderStatusCodes.PENDING));
+        var size = redisTemplate.opsForZSet().zCard(expiryConfig.getDeadlineKey());
+        scheduledOrders.set(size != null ? size : 0L);
+    }
+
+    private ExpiryResult expireOrders(Collection<String> orderIds) {
+        // Expiring open payments first makes a late provider callback lose the CREATED claim instead of racing us.
+        paymentHistoryRepository.transitionStatusByOrderIds(orderIds, PaymentStatusEnum.CREATED, PaymentStatusEnum.EXPIRED);
+        // Paid orders keep their stock, and a cancelled payment already gave it back when the callback was handled.
+        Set<String> settledOrderIds = new HashSet<>(paymentHistoryRepository.findOrderIdsByPaymentStatus(orderIds, PaymentStatusEnum.PAID));
+        settledOrderIds.addAll(paymentHistoryRepository.findOrderIdsByPaymentStatus(orderIds, PaymentStatusEnum.CANCELED));
+        var unpaidOrderIds = orderIds.stream()
+                .filter(orderId -> !settledOrderIds.contains(orderId))
+                .toList();
+        if (unpaidOrderIds.isEmpty()) {
+            return new ExpiryResult(0, 0);
+        }
+        var orderCombos = orderComboRepository.lockByOrderIdsAndStatusCode(unpaidOrderIds, OrderStatusCodes.PENDING);
+        if (orderCombos.isEmpty()) {
+            return new ExpiryResult(0, 0);
+        }
+        var cancelledStatus = orderStatusRepository.findByCode(OrderStatusCodes.CANCELLED)
+                .orElseThrow(() -> new ValidationException("Không tìm thấy trạng thái đơn hàng đã hủy"));
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        orderCombos.forEach(orderCombo -> {
+            orderCombo.setOrderStatus(cancelledStatus);
+            orderCombo.setCancelledReason(EXPIRED_REASON);
+            orderCombo.setReasonCreatedDate(now);
+        });
+        orderComboRepository.saveAll(orderCombos);
+        orderCombos.forEach(orderCombo -> sellerMetricService.recordStatusChange(orderCombo, OrderStatusCodes.PENDING));
+        var orderComboIds = orderCombos.stream().map(BaseSQLEntity::getId).toList();
+        long units = orderItemRepository.sumQuantityByOrderComboIds(orderComboIds);
+        productRepository.releaseStockForOrderCombos(orderComboIds);
+        log.info("Expired {} unpaid order combos, released {} units of stock", orderCombos.size(), units);
+        return new ExpiryResult(orderCombos.size(), units);
+    }
+
+    private boolean renewLease(String leaseKey, String token) {
+        var renewed = redisTemplate.execute(RENEW_LEASE_SCRIPT, List.of(leaseKey), token,
+                String.valueOf(expiryConfig.getLeaseTtl().toMillis()));
+        if (renewed == null || renewed == 0) {
+            log.warn("Payment expiry lease was lost during sweep");
+            return false;
+        }
+        return true;
+    }
+
+    private void afterCommit(Runnable task) {
+        Runnable guarded = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                // The reconcile pass re-indexes pending orders from the database, so a missed write is only delayed.
+                log.warn("Failed to update payment expiry index: {}", e.getMessage());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            guarded.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guarded.run();
+            }
+        });
+    }
+
+    private record ExpiryResult(int orderCombos, long units) {
+    }
+}
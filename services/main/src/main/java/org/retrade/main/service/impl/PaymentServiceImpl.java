@@ -1,5 +1,6 @@
 package org.retrade.main.service.impl;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
@@ -11,7 +12,10 @@ import org.retrade.common.model.dto.response.PaginationWrapper;
 import org.retrade.common.model.entity.BaseSQLEntity;
 import org.retrade.common.model.exception.ActionFailedException;
 import org.retrade.common.model.exception.ValidationException;
+import org.retrade.common.util.ExpiringCache;
+import org.retrade.main.config.common.PaymentCallbackConfig;
 import org.retrade.main.handler.PaymentHandler;
+import org.retrade.main.model.constant.OrderStatusCodes;
 import org.retrade.main.model.constant.PaymentStatusEnum;
 import org.retrade.main.model.dto.request.PaymentInitRequest;
 import org.retrade.main.model.dto.response.PaymentHistoryResponse;
@@ -22,7 +26,9 @@ import org.retrade.main.model.entity.*;
 import org.retrade.main.model.other.PaymentAPICallback;
 import org.retrade.main.model.other.PaymentProviderCallbackWrapper;
 import org.retrade.main.repository.jpa.*;
+import org.retrade.main.service.PaymentExpiryService;
 import org.retrade.main.service.PaymentService;
+import org.retrade.main.service.ProductStockService;
 import org.retrade.main.util.AuthUtils;
 import org.retrade.main.util.RandomUtils;
 import org.springframework.beans.factory.annotation.Value;
@@ -30,6 +36,8 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -46,17 +54,28 @@ public class PaymentServiceImpl implements PaymentService {
     private final OrderRepository orderRepository;
     private final OrderComboRepository orderComboRepository;
     private final OrderItemRepository orderItemRepository;
-    private final ProductRepository productRepository;
+    private final ProductStockService productStockService;
+    private final PaymentExpiryService paymentExpiryService;
     @Value("${payment.callback}")
     private String callbackUrl;
     private final AuthUtils authUtils;
     private final CustomerRepository customerRepository;
+    private final PaymentCallbackConfig paymentCallbackConfig;
+    private ExpiringCache<String, Boolean> processedCallbacks;
+
+    @PostConstruct
+    public void init() {
+        processedCallbacks = new ExpiringCache<>(paymentCallbackConfig.getCacheSize());
+    }
 
     @Override
     @Transactional(rollbackFor = {ActionFailedException.class, ValidationException.class, Exception.class})
     public Optional<String> initPayment(PaymentInitRequest paymentInitRequest, HttpServletRequest httpServletRequest) {
         var orderEntity = orderRepository.findById(paymentInitRequest.getOrderId()).orElseThrow(() -> new ValidationException("Không tìm thấy đơn hàng"));
         var paymentMethodEntity = paymentMethodRepository.findById(paymentInitRequest.getPaymentMethodId()).orElseThrow(() -> new ValidationException("Không tìm thấy phương thức thanh toán"));
+        if (paymentHistoryRepository.existsByOrderAndPaymentStatusIn(orderEntity, List.of(PaymentStatusEnum.CANCELED, PaymentStatusEnum.EXPIRED))) {
+            throw new ValidationException("Đơn hàng đã bị hủy thanh toán, vui lòng tạo đơn hàng mới");
+        }
         var paymentCode = RandomUtils.generatePaymentCode();
         var payment = PaymentHistoryEntity.builder()
                 .order(orderEntity)
@@ -275,47 +294,85 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     private PaymentProviderCallbackWrapper getPaymentProviderCallbackWrapper(String methodCode, PaymentAPICallback paymentCallback) {
+        var dedupKey = dedupKey(methodCode, paymentCallback);
+        var processed = dedupKey != null ? processedCallbacks.get(dedupKey) : null;
+        if (processed != null) {
+            return wrapCallbackOutcome(methodCode, processed);
+        }
         var paymentEntity = paymentHistoryRepository.findByPaymentCode(String.valueOf(paymentCallback.getId()))
                 .orElseThrow(() -> new ValidationException("Không tìm thấy thanh toán tới mã này"));
-        paymentEntity.setPaymentTime(LocalDateTime.now());
-        var order = paymentEntity.getOrder();
-        if (paymentCallback.isStatus()) {
-            paymentEntity.setPaymentStatus(PaymentStatusEnum.PAID);
-            var orderStatus = orderStatusRepository.findByCode("PAYMENT_CONFIRMATION")
-                    .orElseThrow(() -> new ValidationException("Không tìm thấy trạng thái đơn hàng\""));
-            var orderCombos = orderComboRepository.findByOrderItems_Order_Id(order.getId());
-            orderCombos.forEach(orderCombo -> {
-                orderCombo.setOrderStatus(orderStatus);
-            });
-            orderComboRepository.saveAll(orderCombos);
-        } else {
-            paymentEntity.setPaymentStatus(PaymentStatusEnum.CANCELED);
-            restoreProductQuantities(order);
+        // A bad signature or a failed provider lookup says nothing about the payment, so it only reports the current status.
+        if (!paymentCallback.isVerified()) {
+            if (paymentEntity.getPaymentStatus() == PaymentStatusEnum.PAID) {
+                return handleSuccessCallback(methodCode);
+            }
+            return handleErrorCallback(methodCode, "Không xác thực được kết quả thanh toán");
+        }
+        var target = paymentCallback.isStatus() ? PaymentStatusEnum.PAID : PaymentStatusEnum.CANCELED;
+        // Only the callback that moves the payment out of CREATED does the work; replays see the settled status.
+        if (paymentEntity.getPaymentStatus() != PaymentStatusEnum.CREATED
+                || paymentHistoryRepository.transitionStatus(paymentEntity.getId(), PaymentStatusEnum.CREATED, target,
+                LocalDateTime.now(), paymentCallback.getTransactionId()) == 0) {
+            var settled = paymentHistoryRepository.findPaymentStatusById(paymentEntity.getId())
+                    .orElse(paymentEntity.getPaymentStatus());
+            return rememberOutcome(methodCode, dedupKey, settled == PaymentStatusEnum.PAID);
         }
+        var order = paymentEntity.getOrder();
         try {
-            paymentHistoryRepository.save(paymentEntity);
-            orderRepository.save(order);
+            if (paymentCallback.isStatus()) {
+                var orderStatus = orderStatusRepository.findByCode("PAYMENT_CONFIRMATION")
+                        .orElseThrow(() -> new ValidationException("Không tìm thấy trạng thái đơn hàng\""));
+                orderComboRepository.updateStatusByOrderId(order.getId(), orderStatus);
+                paymentExpiryService.unschedule(order.getId());
+            } else {
+                var orderStatus = orderStatusRepository.findByCode(OrderStatusCodes.PAYMENT_CANCELLED)
+                        .orElseThrow(() -> new ValidationException("Không tìm thấy trạng thái đơn hàng"));
+                orderComboRepository.updateStatusByOrderId(order.getId(), orderStatus);
+                paymentExpiryService.unschedule(order.getId());
+                restoreProductQuantities(order);
+            }
+        } catch (ValidationException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new ActionFailedException("Cập nhật thanh toán/đơn hàng thất bại:" + ex.getMessage());
         }
-        if (paymentCallback.isStatus()) {
-            return handleSuccessCallback(methodCode);
+        return rememberOutcome(methodCode, dedupKey, paymentCallback.isStatus());
+    }
+
+    private PaymentProviderCallbackWrapper rememberOutcome(String methodCode, String dedupKey, boolean success) {
+        if (dedupKey == null) {
+            return wrapCallbackOutcome(methodCode, success);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    processedCallbacks.put(dedupKey, success, paymentCallbackConfig.getTtl());
+                }
+            });
+        } else {
+            processedCallbacks.put(dedupKey, success, paymentCallbackConfig.getTtl());
         }
-        return handleErrorCallback(methodCode, "Thanh toán đã bị hủy");
+        return wrapCallbackOutcome(methodCode, success);
     }
 
-    private void restoreProductQuantities(OrderEntity order) {
-        List<OrderItemEntity> orderItems = orderItemRepository.findByOrder_Id(order.getId());
+    private PaymentProviderCallbackWrapper wrapCallbackOutcome(String methodCode, boolean success) {
+        return success ? handleSuccessCallback(methodCode) : handleErrorCallback(methodCode, "Thanh toán đã bị hủy");
+    }
 
-        for (OrderItemEntity item : orderItems) {
-            ProductEntity product = item.getProduct();
-            product.setQuantity(product.getQuantity() + item.getQuantity());
+    // VNPay reports cancelled or failed payments with transaction number 0, so only real provider ids are cached.
+    private String dedupKey(String methodCode, PaymentAPICallback paymentCallback) {
+        var transactionId = paymentCallback.getTransactionId();
+        if (!paymentCallback.isVerified() || transactionId == null || transactionId.isBlank() || "0".equals(transactionId)) {
+            return null;
         }
-        productRepository.saveAll(
-                orderItems.stream()
-                        .map(OrderItemEntity::getProduct)
-                        .collect(Collectors.toList())
-        );
+        return methodCode.toUpperCase() + ":" + paymentCallback.getId() + ":" + transactionId;
+    }
+
+    private void restoreProductQuantities(OrderEntity order) {
+        List<OrderItemEntity> orderItems = orderItemRepository.findByOrder_Id(order.getId());
+        productStockService.release(orderItems.stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), OrderItemEntity::getQuantity, Integer::sum)));
     }
 
 
@@ -0,0 +1,204 @@
+package org.retrade.main.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.PlatformStatsConfig;
+import org.retrade.main.model.constant.OrderStatusCodes;
+import org.retrade.main.model.constant.PlatformStatEnum;
+import org.retrade.main.model.other.PlatformStatsSnapshot;
+import org.retrade.main.repository.jpa.*;
+import org.retrade.main.service.PlatformStatsService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@Slf4j
+public class PlatformStatsServiceImpl implements PlatformStatsService {
+    private static final String STATS_KEY = "platform:stats";
+    private static final String LOCK_KEY = "platform:stats:reconcile-lock";
+    private static final String VERSION_FIELD = "version";
+    private static final String PERIOD_FIELD = "period";
+    private static final String REVENUE_FIELD = "revenueThisMonth";
+    private final StringRedisTemplate redisTemplate;
+    private final PlatformStatsConfig statsConfig;
+    private final ThreadPoolTaskScheduler taskScheduler;
+    private final AccountRepository accountRepository;
+    private final SellerRepository sellerRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final OrderComboRepository orderComboRepository;
+    private final ReportSellerRepository reportSellerRepository;
+    private final SellerRevenueRepository sellerRevenueRepository;
+    private final AtomicReference<PlatformStatsSnapshot> snapshot = new AtomicReference<>(PlatformStatsSnapshot.empty());
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final AtomicBoolean reconciling = new AtomicBoolean(false);
+
+    public PlatformStatsServiceImpl(StringRedisTemplate redisTemplate,
+                                    PlatformStatsConfig statsConfig,
+                                    ThreadPoolTaskScheduler taskScheduler,
+                                    AccountRepository accountRepository,
+                                    SellerRepository sellerRepository,
+                                    ProductRepository productRepository,
+                                    CategoryRepository categoryRepository,
+                                    OrderComboRepository orderComboRepository,
+                                    ReportSellerRepository reportSellerRepository,
+                                    SellerRevenueRepository sellerRevenueRepository) {
+        this.redisTemplate = redisTemplate;
+        this.statsConfig = statsConfig;
+        this.taskScheduler = taskScheduler;
+        this.accountRepository = accountRepository;
+        this.sellerRepository = sellerRepository;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.orderComboRepository = orderComboRepository;
+        this.reportSellerRepository = reportSellerRepository;
+        this.sellerRevenueRepository = sellerRevenueRepository;
+    }
+
+    @Override
+    public PlatformStatsSnapshot getSnapshot() {
+        var current = snapshot.get();
+        if (current.loadedAt().plus(statsConfig.getRefreshInterval()).isBefore(Instant.now())) {
+            scheduleRefresh();
+        }
+        return current;
+    }
+
+    @Override
+    public void increment(PlatformStatEnum stat, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyIncrement(stat, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyIncrement(stat, delta);
+            }
+        });
+    }
+
+    @Override
+    public void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        var token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, statsConfig.getLockTtl()))) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            var period = YearMonth.now();
+            Map<String, String> values = new HashMap<>();
+            values.put(PlatformStatEnum.ACCOUNTS.name(), String.valueOf(accountRepository.count()));
+            values.put(PlatformStatEnum.USERS.name(), String.valueOf(accountRepository.countByAccountRoles_Role_CodeNot("ROLE_ADMIN")));
+            values.put(PlatformStatEnum.SELLERS.name(), String.valueOf(sellerRepository.count()));
+            values.put(PlatformStatEnum.PRODUCTS.name(), String.valueOf(productRepository.count()));
+            values.put(PlatformStatEnum.VERIFIED_PRODUCTS.name(), String.valueOf(productRepository.countVerifiedProducts()));
+            values.put(PlatformStatEnum.SOLD_VERIFIED_PRODUCTS.name(),
+                    String.valueOf(productRepository.countDistinctSoldVerifiedProducts(OrderStatusCodes.COMPLETED)));
+            values.put(PlatformStatEnum.CATEGORIES.name(), String.valueOf(categoryRepository.count()));
+            values.put(PlatformStatEnum.ORDERS.name(), String.valueOf(orderComboRepository.count()));
+            values.put(PlatformStatEnum.COMPLETED_ORDERS.name(), String.valueOf(orderComboRepository.countByOrderStatus()));
+            values.put(PlatformStatEnum.REPORTS.name(), String.valueOf(reportSellerRepository.count()));
+            values.put(PlatformStatEnum.NEW_USERS_THIS_MONTH.name(),
+                    String.valueOf(accountRepository.countAccountsCreatedInMonth(period.getYear(), period.getMonthValue())));
+            var revenue = sellerRevenueRepository.calculateAdminRevenueByMonthAndYear(period.getYear(), period.getMonthValue());
+            values.put(REVENUE_FIELD, (revenue != null ? revenue : BigDecimal.ZERO).toPlainString());
+            values.put(PERIOD_FIELD, period.toString());
+            redisTemplate.opsForHash().putAll(STATS_KEY, values);
+            var version = redisTemplate.opsForHash().increment(STATS_KEY, VERSION_FIELD, 1);
+            log.info("Reconciled platform stats to version {} in {} ms", version, System.currentTimeMillis() - start);
+            load();
+        } catch (Exception e) {
+            log.error("Platform stats reconciliation failed", e);
+        } finally {
+            try {
+                if (token.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                    redisTemplate.delete(LOCK_KEY);
+                }
+            } finally {
+                reconciling.set(false);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (statsConfig.isEnabled()) {
+            scheduleRefresh();
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        taskScheduler.execute(() -> {
+            try {
+                if (!load()) {
+                    reconcile();
+                }
+            } catch (Exception e) {
+                log.error("Failed to load platform stats", e);
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private boolean load() {
+        var entries = redisTemplate.<String, String>opsForHash().entries(STATS_KEY);
+        if (entries.isEmpty() || !entries.containsKey(VERSION_FIELD)) {
+            return false;
+        }
+        Map<PlatformStatEnum, Long> counters = new EnumMap<>(PlatformStatEnum.class);
+        for (PlatformStatEnum stat : PlatformStatEnum.values()) {
+            var value = entries.get(stat.name());
+            if (value != null) {
+                counters.put(stat, Long.parseLong(value));
+            }
+        }
+        var period = entries.get(PERIOD_FIELD);
+        var revenue = entries.get(REVENUE_FIELD);
+        var loaded = new PlatformStatsSnapshot(
+                Long.parseLong(entries.get(VERSION_FIELD)),
+                Instant.now(),
+                period != null ? YearMonth.parse(period) : null,
+                counters,
+                revenue != null ? new BigDecimal(revenue) : BigDecimal.ZERO);
+        snapshot.set(loaded);
+        if (!loaded.isCurrentPeriod()) {
+            taskScheduler.execute(this::reconcile);
+        }
+        return true;
+    }
+
+    private void applyIncrement(PlatformStatEnum stat, long delta) {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForHash().hasKey(STATS_KEY, VERSION_FIELD))) {
+                redisTemplate.opsForHash().increment(STATS_KEY, stat.name(), delta);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to apply platform stat {} delta {}: {}", stat, delta, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.retrade.main.service.impl;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.retrade.common.util.ExpiringCache;
+import org.retrade.main.config.common.FacetCacheConfig;
+import org.retrade.main.model.document.ProductDocument;
+import org.retrade.main.model.dto.response.BrandResponse;
+import org.retrade.main.model.dto.response.CategoriesAdvanceSearch;
+import org.retrade.main.model.dto.response.FieldAdvanceSearch;
+import org.retrade.main.model.dto.response.SellerFilterResponse;
+import org.retrade.main.repository.jpa.BrandRepository;
+import org.retrade.main.repository.jpa.CategoryRepository;
+import org.retrade.main.repository.jpa.SellerRepository;
+import org.retrade.main.service.ProductFacetService;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.AggregationsContainer;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProductFacetServiceImpl implements ProductFacetService {
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final BrandRepository brandRepository;
+    private final SellerRepository sellerRepository;
+    private final CategoryRepository categoryRepository;
+    private final FacetCacheConfig facetCacheConfig;
+    private ExpiringCache<String, FacetAggregation> resultCache;
+    private ExpiringCache<String, BrandResponse> brandDictionary;
+    private ExpiringCache<String, SellerFilterResponse> sellerDictionary;
+    private ExpiringCache<String, CategoriesAdvanceSearch> categoryDictionary;
+    private ExecutorService lookupExecutor;
+
+    @PostConstruct
+    public void init() {
+        resultCache = new ExpiringCache<>(facetCacheConfig.getResultCacheSize());
+        brandDictionary = new ExpiringCache<>(facetCacheConfig.getDictionaryCacheSize());
+        sellerDictionary = new ExpiringCache<>(facetCacheConfig.getDictionaryCacheSize());
+        categoryDictionary = new ExpiringCache<>(facetCacheConfig.getDictionaryCacheSize());
+        lookupExecutor = Executors.newFixedThreadPool(Math.max(1, facetCacheConfig.getLookupConcurrency()),
+                new CustomizableThreadFactory("facet-lookup-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    @Override
+    public FieldAdvanceSearch getFacets(String cacheKey, Query elasticQuery) {
+        var aggregation = resultCache.get(cacheKey, facetCacheConfig.getResultTtl(), key -> aggregate(elasticQuery));
+        var brands = CompletableFuture.supplyAsync(() -> resolve(aggregation.brandIds(), brandDictionary,
+                ids -> brandRepository.findAllById(ids).stream()
+                        .map(b -> BrandResponse.builder()
+                                .id(b.getId())
+                                .name(b.getName())
+                                .imgUrl(b.getImgUrl())
+                                .build())
+                        .collect(Collectors.toMap(BrandResponse::getId, Function.identity()))), lookupExecutor);
+        var sellers = CompletableFuture.supplyAsync(() -> resolve(aggregation.sellerIds(), sellerDictionary,
+                ids -> sellerRepository.findAllById(ids).stream()
+                        .map(s -> SellerFilterResponse.builder()
+                                .sellerId(s.getId())
+                                .sellerName(s.getShopName())
+                                .sellerAvatarUrl(s.getAvatarUrl())
+                                .build())
+                        .collect(Collectors.toMap(SellerFilterResponse::getSellerId, Function.identity()))), lookupExecutor);
+        var categories = CompletableFuture.supplyAsync(() -> resolve(aggregation.categoryIds(), categoryDictionary,
+                ids -> categoryRepository.findAllById(ids).stream()
+                        .map(c -> new CategoriesAdvanceSearch(c.getId(), c.getName()))
+                        .collect(Collectors.toMap(CategoriesAdvanceSearch::id, Function.identity()))), lookupExecutor);
+        return FieldAdvanceSearch.builder()
+                .brands(new HashSet<>(brands.join()))
+                .sellers(new HashSet<>(sellers.join()))
+                .states(aggregation.states())
+                .minPrice(aggregation.minPrice())
+                .maxPrice(aggregation.maxPrice())
+                .categoriesAdvanceSearch(categories.join())
+                .build();
+    }
+
+    @Override
+    public void evictBrand(String brandId) {
+        brandDictionary.invalidate(brandId);
+    }
+
+    @Override
+    public void evictSeller(String sellerId) {
+        sellerDictionary.invalidate(sellerId);
+    }
+
+    @Override
+    public void evictCategory(String categoryId) {
+        categoryDictionary.invalidate(categoryId);
+    }
+
+    private <T> List<T> resolve(Set<String> ids, ExpiringCache<String, T> dictionary, Function<Set<String>, Map<String, T>> loader) {
+        List<T> values = new ArrayList<>(ids.size());
+        Set<String> missing = new HashSet<>();
+        for (String id : ids) {
+            var value = dictionary.get(id);
+            if (value != null) {
+                values.add(value);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            loader.apply(missing).forEach((id, value) -> {
+                dictionary.put(id, value, facetCacheConfig.getDictionaryTtl());
+                values.add(value);
+            });
+        }
+        return values;
+    }
+
+    private FacetAggregation aggregate(Query elasticQuery) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(elasticQuery)
+                .withAggregation("brandIds", Aggregation.of(a -> a
+                        .terms(t -> t.field("brandId").size(50))))
+                .withAggregation("sellerIds", Aggregation.of(a -> a
+                        .terms(t -> t.field("sellerId").size(50))))
+                .withAggregation("categoryIds", Aggregation.of(a -> a
+                        .nested(n -> n.path("categories"))
+                        .aggregations("ids", a2 -> a2
+                                .terms(t -> t.field("categories.id").size(50))
+                        )
+                ))
+                .withAggregation("states", Aggregation.of(a -> a
+                        .terms(t -> t.field("state.keyword").size(50))))
+                .withAggregation("minPrice", Aggregation.of(a -> a
+                        .min(m -> m.field("currentPrice"))))
+                .withAggregation("maxPrice", Aggregation.of(a -> a
+                        .max(m -> m.field("currentPrice"))))
+                .withSourceFilter(new FetchSourceFilter(new String[]{}, new String[]{"*"}))
+                .withMaxResults(0)
+                .build();
+        var aggregations = indexAggregations(elasticsearchOperations.search(query, ProductDocument.class).getAggregations());
+        var categoryAggregate = aggregations.get("categoryIds");
+        return new FacetAggregation(
+                bucketKeys(aggregations.get("brandIds")),
+                bucketKeys(aggregations.get("sellerIds")),
+                categoryAggregate != null && categoryAggregate.isNested()
+                        ? bucketKeys(categoryAggregate.nested().aggregations().get("ids"))
+                        : Set.of(),
+                bucketKeys(aggregations.get("states")),
+                minValue(aggregations.get("minPrice")),
+                maxValue(aggregations.get("maxPrice")));
+    }
+
+    private Map<String, Aggregate> indexAggregations(AggregationsContainer<?> aggregations) {
+        if (aggregations == null) {
+            return Map.of();
+        }
+        @SuppressWarnings("unchecked")
+        var aggList = (List<ElasticsearchAggregation>) aggregations.aggregations();
+        Map<String, Aggregate> aggMap = new HashMap<>();
+        aggList.forEach(item -> aggMap.put(item.aggregation().getName(), item.aggregation().getAggregate()));
+        return aggMap;
+    }
+
+    private Set<String> bucketKeys(Aggregate aggregate) {
+        if (aggregate == null || !aggregate.isSterms()) {
+            return Set.of();
+        }
+        Set<String> keys = new HashSet<>();
+        for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+            keys.add(bucket.key().stringValue());
+        }
+        return keys;
+    }
+
+    private BigDecimal minValue(Aggregate aggregate) {
+        return aggregate != null && aggregate.isMin() ? toDecimal(aggregate.min().value()) : BigDecimal.ZERO;
+    }
+
+    private BigDecimal maxValue(Aggregate aggregate) {
+        return aggregate != null && aggregate.isMax() ? toDecimal(aggregate.max().value()) : BigDecimal.ZERO;
+    }
+
+    private BigDecimal toDecimal(Double value) {
+        return value == null || value.isNaN() || value.isInfinite() ? BigDecimal.ZERO : BigDecimal.valueOf(value);
+    }
+
+    private record FacetAggregation(Set<String> brandIds,
+                                    Set<String> sellerIds,
+                                    Set<String> categoryIds,
+                                    Set<String> states,
+                                    BigDecimal minPrice,
+                                    BigDecimal maxPrice) {
+    }
+}
@@ -0,0 +1,388 @@
+package org.retrade.main.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.exception.ActionFailedException;
+import org.retrade.main.config.common.SearchReindexConfig;
+import org.retrade.main.model.document.ProductDocument;
+import org.retrade.main.model.dto.response.ReindexProgressResponse;
+import org.retrade.main.model.entity.SearchIndexCheckpointEntity;
+import org.retrade.main.model.projection.ProductKeysetProjection;
+import org.retrade.main.repository.jpa.ProductRepository;
+import org.retrade.main.repository.jpa.SearchIndexCheckpointRepository;
+import org.retrade.main.service.ProductReindexService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.MultiGetItem;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ProductReindexServiceImpl implements ProductReindexService {
+    private static final String INDEX_ALIAS = "products";
+    private static final Cursor START = new Cursor(new Timestamp(0), "");
+
+    private final ProductRepository productRepository;
+    private final SearchIndexCheckpointRepository checkpointRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ThreadPoolTaskScheduler taskScheduler;
+    private final SearchReindexConfig reindexConfig;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter indexedDocuments;
+    private final Counter skippedDocuments;
+    private final Counter failedDocuments;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong processedInRun = new AtomicLong();
+    private final AtomicLong checkpointMillis = new AtomicLong();
+    private volatile String mode;
+    private volatile LocalDateTime startedAt;
+    private volatile String lockToken;
+    private ExecutorService workers;
+
+    public ProductReindexServiceImpl(ProductRepository productRepository,
+                                     SearchIndexCheckpointRepository checkpointRepository,
+                                     ElasticsearchOperations elasticsearchOperations,
+                                     RedisTemplate<String, Object> redisTemplate,
+                                     ThreadPoolTaskScheduler taskScheduler,
+                                     SearchReindexConfig reindexConfig,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.redisTemplate = redisTemplate;
+        this.taskScheduler = taskScheduler;
+        this.reindexConfig = reindexConfig;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexedDocuments = documentCounter(meterRegistry, "indexed");
+        this.skippedDocuments = documentCounter(meterRegistry, "skipped");
+        this.failedDocuments = documentCounter(meterRegistry, "failed");
+        Gauge.builder("search.reindex.running", running, value -> value.get() ? 1 : 0)
+                .description("Whether a product reindex run is in progress")
+                .register(meterRegistry);
+        Gauge.builder("search.reindex.checkpoint.lag", checkpointMillis,
+                        value -> value.get() == 0 ? 0 : (System.currentTimeMillis() - value.get()) / 1000.0)
+                .baseUnit("seconds")
+                .description("Age of the newest product change already indexed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        workers = Executors.newFixedThreadPool(Math.max(1, reindexConfig.getConcurrency()),
+                new CustomizableThreadFactory("search-reindex-"));
+        checkpointRepository.findByIndexName(INDEX_ALIAS)
+                .ifPresent(checkpoint -> checkpointMillis.set(checkpoint.getLastUpdatedDate().getTime()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public boolean needsRebuild() {
+        if (checkpointRepository.findByIndexName(INDEX_ALIAS).isEmpty()) {
+            return true;
+        }
+        var aliasOps = elasticsearchOperations.indexOps(IndexCoordinates.of(INDEX_ALIAS));
+        if (!aliasOps.exists()) {
+            return true;
+        }
+        var expected = mappingProperties(aliasOps.createMapping(ProductDocument.class));
+        var actual = mappingProperties(aliasOps.getMapping());
+        return expected.entrySet().stream().anyMatch(entry -> !actual.containsKey(entry.getKey())
+                || !Objects.equals(fieldType(entry.getValue()), fieldType(actual.get(entry.getKey()))));
+    }
+
+    @Override
+    public void runIncremental() {
+        runExclusive("INCREMENTAL", this::catchUp);
+    }
+
+    @Override
+    public void rebuild() {
+        if (!tryRebuild()) {
+            throw new ActionFailedException("Đang có tiến trình đồng bộ chỉ mục sản phẩm khác chạy");
+        }
+    }
+
+    @Override
+    public boolean tryRebuild() {
+        return runExclusive("REBUILD", this::rebuildIndex);
+    }
+
+    @Override
+    public void triggerRebuild() {
+        if (running.get()) {
+            throw new ActionFailedException("Đang có tiến trình đồng bộ chỉ mục sản phẩm khác chạy");
+        }
+        taskScheduler.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Product index rebuild failed", e);
+            }
+        });
+    }
+
+    @Override
+    public ReindexProgressResponse getProgress() {
+        var checkpoint = checkpointRepository.findByIndexName(INDEX_ALIAS).orElse(null);
+        var started = startedAt;
+        return ReindexProgressResponse.builder()
+                .indexName(INDEX_ALIAS)
+                .running(running.get())
+                .mode(mode)
+                .startedAt(started)
+                .checkpointUpdatedDate(checkpoint != null ? checkpoint.getLastUpdatedDate().toLocalDateTime() : null)
+                .checkpointId(checkpoint != null ? checkpoint.getLastId() : null)
+                .indexedCount(checkpoint != null ? checkpoint.getIndexedCount() : 0L)
+                .processedInRun(started != null ? processedInRun.get() : 0L)
+                .build();
+    }
+
+    private boolean runExclusive(String runMode, Runnable task) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        var lockKey = reindexConfig.getLockKey();
+        var token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, reindexConfig.getLockTtl()))) {
+                log.debug("Product reindex lock is held by another instance, skipping {} run", runMode);
+                return false;
+            }
+            lockToken = token;
+            mode = runMode;
+            startedAt = LocalDateTime.now();
+            processedInRun.set(0);
+            try {
+                task.run();
+                log.info("Product {} reindex finished, {} products processed", runMode.toLowerCase(), processedInRun.get());
+            } finally {
+                if (token.equals(redisTemplate.opsForValue().get(lockKey))) {
+                    redisTemplate.delete(lockKey);
+                }
+                lockToken = null;
+                mode = null;
+                startedAt = null;
+            }
+            return true;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void catchUp() {
+        var checkpoint = checkpointRepository.findByIndexName(INDEX_ALIAS).orElse(null);
+        var from = checkpoint != null ? new Cursor(checkpoint.getLastUpdatedDate(), checkpoint.getLastId()) : START;
+        var indexedCount = new AtomicLong(checkpoint != null ? checkpoint.getIndexedCount() : 0L);
+        var upperBound = Timestamp.from(Instant.now().minus(reindexConfig.getCommitLag()));
+        scan(from, upperBound, IndexCoordinates.of(INDEX_ALIAS), true,
+                (cursor, processed) -> saveCheckpoint(cursor, indexedCount.addAndGet(processed)));
+    }
+
+    private void rebuildIndex() {
+        var rebuildStart = Timestamp.from(Instant.now());
+        var target = INDEX_ALIAS + "_" + rebuildStart.getTime();
+        var templateOps = elasticsearchOperations.indexOps(ProductDocument.class);
+        var targetOps = elasticsearchOperations.indexOps(IndexCoordinates.of(target));
+        targetOps.create(templateOps.createSettings(ProductDocument.class), templateOps.createMapping(ProductDocument.class));
+        log.info("Rebuilding product index into {}", target);
+        try {
+            scan(START, rebuildStart, IndexCoordinates.of(target), false, (cursor, processed) -> {});
+            targetOps.refresh();
+            swapAlias(target);
+        } catch (RuntimeException e) {
+            targetOps.delete();
+            throw e;
+        }
+        var catchUpFrom = Timestamp.from(rebuildStart.toInstant().minus(reindexConfig.getCommitLag()));
+        saveCheckpoint(new Cursor(catchUpFrom, ""), processedInRun.get());
+        catchUp();
+    }
+
+    private void swapAlias(String target) {
+        var aliasOps = elasticsearchOperations.indexOps(IndexCoordinates.of(INDEX_ALIAS));
+        Set<String> previous = aliasOps.exists() ? currentAliasTargets(aliasOps) : Set.of();
+        var actions = new ArrayList<AliasAction>();
+        actions.add(new AliasAction.Add(AliasActionParameters.builder()
+                .withIndices(target)
+                .withAliases(INDEX_ALIAS)
+                .build()));
+        if (previous.isEmpty() && aliasOps.exists()) {
+            actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder()
+                    .withIndices(INDEX_ALIAS)
+                    .build()));
+        } else if (!previous.isEmpty()) {
+            actions.add(new AliasAction.Remove(AliasActionParameters.builder()
+                    .withIndices(previous.toArray(String[]::new))
+                    .withAliases(INDEX_ALIAS)
+                    .build()));
+        }
+        aliasOps.alias(new AliasActions(actions.toArray(AliasAction[]::new)));
+        previous.forEach(index -> elasticsearchOperations.indexOps(IndexCoordinates.of(index)).delete());
+        log.info("Alias {} now points to {}", INDEX_ALIAS, target);
+    }
+
+    private Set<String> currentAliasTargets(IndexOperations aliasOps) {
+        try {
+            return aliasOps.getAliases(INDEX_ALIAS).keySet();
+        } catch (RuntimeException e) {
+            return Set.of();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> mappingProperties(Map<String, Object> mapping) {
+        return mapping != null && mapping.get("properties") instanceof Map<?, ?> properties
+                ? (Map<String, Object>) properties
+                : Map.of();
+    }
+
+    private Object fieldType(Object field) {
+        return field instanceof Map<?, ?> definition ? definition.get("type") : null;
+    }
+
+    private void scan(Cursor from, Timestamp upperBound, IndexCoordinates coordinates, boolean skipUpToDate,
+                      BiConsumer<Cursor, Integer> onWave) {
+        var batchSize = Math.max(1, reindexConfig.getBatchSize());
+        var waveSize = batchSize * Math.max(1, reindexConfig.getConcurrency());
+        var cursor = from;
+        while (true) {
+            var keys = productRepository.findReindexKeys(cursor.updatedDate(), cursor.id(), upperBound, PageRequest.of(0, waveSize));
+            if (keys.isEmpty()) {
+                return;
+            }
+            var batches = new ArrayList<List<ProductKeysetProjection>>();
+            for (int i = 0; i < keys.size(); i += batchSize) {
+                batches.add(keys.subList(i, Math.min(i + batchSize, keys.size())));
+            }
+            var futures = batches.stream()
+                    .map(batch -> CompletableFuture.runAsync(() -> indexBatch(batch, coordinates, skipUpToDate), workers))
+                    .toList();
+            RuntimeException failure = null;
+            var completed = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).join();
+                    if (failure == null) {
+                        var last = batches.get(i).getLast();
+                        cursor = new Cursor(last.getUpdatedDate(), last.getId());
+                        completed += batches.get(i).size();
+                    }
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (completed > 0) {
+                onWave.accept(cursor, completed);
+            }
+            if (failure != null) {
+                throw new ActionFailedException("Failed to index products after " + cursor.id(), failure);
+            }
+            extendLock();
+            if (keys.size() < waveSize) {
+                return;
+            }
+        }
+    }
+
+    private void indexBatch(List<ProductKeysetProjection> batch, IndexCoordinates coordinates, boolean skipUpToDate) {
+        var ids = batch.stream().map(ProductKeysetProjection::getId).toList();
+        var documents = readOnlyTransaction.execute(status -> productRepository.findAllByIdIn(ids).stream()
+                .map(ProductDocument::wrapEntityToDocument)
+                .toList());
+        if (documents == null) {
+            documents = List.of();
+        }
+        if (skipUpToDate && !documents.isEmpty()) {
+            var existing = elasticsearchOperations.multiGet(NativeQuery.builder().withIds(ids).build(), ProductDocument.class, coordinates)
+                    .stream()
+                    .filter(MultiGetItem::hasItem)
+                    .map(MultiGetItem::getItem)
+                    .collect(Collectors.toMap(ProductDocument::getId, Function.identity(), (first, second) -> first));
+            documents = documents.stream()
+                    .filter(document -> isStale(document, existing.get(document.getId())))
+                    .toList();
+        }
+        skippedDocuments.increment(ids.size() - documents.size());
+        if (!documents.isEmpty()) {
+            try {
+                elasticsearchOperations.save(documents, coordinates);
+            } catch (RuntimeException e) {
+                failedDocuments.increment(documents.size());
+                throw e;
+            }
+            indexedDocuments.increment(documents.size());
+        }
+        processedInRun.addAndGet(ids.size());
+    }
+
+    private boolean isStale(ProductDocument document, ProductDocument existing) {
+        if (existing == null || existing.getUpdatedAt() == null || document.getUpdatedAt() == null) {
+            return true;
+        }
+        return document.getUpdatedAt().getTime() > existing.getUpdatedAt().getTime();
+    }
+
+    private void saveCheckpoint(Cursor cursor, long indexedCount) {
+        var checkpoint = checkpointRepository.findByIndexName(INDEX_ALIAS)
+                .orElseGet(() -> SearchIndexCheckpointEntity.builder().indexName(INDEX_ALIAS).build());
+        checkpoint.setLastUpdatedDate(cursor.updatedDate());
+        checkpoint.setLastId(cursor.id());
+        checkpoint.setIndexedCount(indexedCount);
+        checkpointRepository.save(checkpoint);
+        checkpointMillis.set(cursor.updatedDate().getTime());
+    }
+
+    private void extendLock() {
+        var token = lockToken;
+        if (token != null && token.equals(redisTemplate.opsForValue().get(reindexConfig.getLockKey()))) {
+            redisTemplate.expire(reindexConfig.getLockKey(), reindexConfig.getLockTtl());
+        }
+    }
+
+    private static Counter documentCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("search.reindex.documents")
+                .tag("result", result)
+                .description("Products handled by the search reindexer")
+                .register(meterRegistry);
+    }
+
+    private record Cursor(Timestamp updatedDate, String id) {
+    }
+}
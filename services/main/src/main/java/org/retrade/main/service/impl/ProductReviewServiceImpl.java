@@ -4,22 +4,32 @@ import jakarta.persistence.criteria.*;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.retrade.common.model.dto.request.QueryFieldWrapper;
+import org.retrade.common.model.dto.request.KeysetCursor;
 import org.retrade.common.model.dto.request.QueryWrapper;
+import org.retrade.common.model.dto.response.KeysetPage;
 import org.retrade.common.model.dto.response.PaginationWrapper;
 import org.retrade.common.model.exception.ActionFailedException;
 import org.retrade.common.model.exception.ValidationException;
+import org.retrade.common.util.ExpiringCache;
 import org.retrade.main.model.constant.OrderStatusCodes;
+import org.retrade.main.model.constant.RatingTargetTypeEnum;
 import org.retrade.main.model.dto.request.CreateProductReviewRequest;
 import org.retrade.main.model.dto.request.UpdateProductReviewRequest;
 import org.retrade.main.model.dto.response.*;
 import org.retrade.main.model.entity.*;
+import org.retrade.main.model.other.ReviewRatingSnapshot;
+import org.retrade.main.model.projection.ProductReviewRowProjection;
 import org.retrade.main.repository.jpa.*;
 import org.retrade.main.service.ProductReviewService;
+import org.retrade.main.service.RatingAggregateService;
 import org.retrade.main.util.AuthUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,12 +39,16 @@ import java.util.stream.IntStream;
 @Transactional
 @RequiredArgsConstructor
 public class ProductReviewServiceImpl implements ProductReviewService {
+    private static final int SELLER_SUMMARY_CACHE_SIZE = 10_000;
+    private static final Duration SELLER_SUMMARY_TTL = Duration.ofSeconds(30);
     private final ProductReviewRepository productReviewRepository;
     private final AuthUtils authUtils;
     private final ProductRepository productRepository;
     private final OrderComboRepository orderComboRepository;
     private final SellerRepository sellerRepository;
     private final OrderItemRepository orderItemRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final ExpiringCache<String, ReviewStatsResponse> sellerSummaryCache = new ExpiringCache<>(SELLER_SUMMARY_CACHE_SIZE);
 
     @Override
     public ProductReviewResponse createProductReview(CreateProductReviewRequest request) {
@@ -75,8 +89,7 @@ public class ProductReviewServiceImpl implements ProductReviewService {
         productReviewEntity.setOrderCombo(orderComboEntity);
         try {
             productReviewEntity = productReviewRepository.save(productReviewEntity);
-            updateRatingProduct(productEntity);
-            updateRatingShop(sellerEntity);
+            ratingAggregateService.applyChange(null, ReviewRatingSnapshot.of(productReviewEntity));
             return maptoProductReviewResponse(productReviewEntity);
         } catch (Exception e) {
             throw new ActionFailedException("Không thể lưu đánh giá sản phẩm " + e.getMessage());
@@ -122,6 +135,9 @@ public class ProductReviewServiceImpl implements ProductReviewService {
 
     @Override
     public ProductReviewResponse updateProductReview(String id, UpdateProductReviewRequest request) {
+        if (request.getVote() <= 0) {
+            throw new ValidationException("Số sao phải lớn hơn 0");
+        }
         var customer = getCustomer();
 
         var productReviewEntity = productReviewRepository.findById(id).orElseThrow(
@@ -130,13 +146,13 @@ public class ProductReviewServiceImpl implements ProductReviewService {
         if (!customer.getId().equals(productReviewEntity.getCustomer().getId())) {
             throw new ValidationException("Khách hàng không khớp");
         }
+        var before = ReviewRatingSnapshot.of(productReviewEntity);
         productReviewEntity.setVote(request.getVote());
         productReviewEntity.setContent(request.getContent());
         productReviewEntity.setUpdatedDate(Timestamp.valueOf(LocalDateTime.now()));
         try {
             productReviewRepository.save(productReviewEntity);
-            updateRatingProduct(productReviewEntity.getProduct());
-            updateRatingShop(productReviewEntity.getSeller());
+            ratingAggregateService.applyChange(before, ReviewRatingSnapshot.of(productReviewEntity));
             return maptoProductReviewResponse(productReviewEntity);
         } catch (Exception e) {
             throw new ValidationException("Không thể lưu đánh giá sản phẩm " + e.getMessage());
@@ -163,11 +179,11 @@ public class ProductReviewServiceImpl implements ProductReviewService {
         if (!customer.getId().equals(productReviewEntity.getCustomer().getId())) {
             throw new ValidationException("Khách hàng không khớp");
         }
+        var before = ReviewRatingSnapshot.of(productReviewEntity);
         productReviewEntity.setStatus(false);
         try {
             productReviewRepository.save(productReviewEntity);
-            updateRatingProduct(productReviewEntity.getProduct());
-            updateRatingShop(productReviewEntity.getSeller());
+            ratingAggregateService.applyChange(before, ReviewRatingSnapshot.of(productReviewEntity));
             return maptoProductReviewResponse(productReviewEntity);
         } catch (Exception e) {
             throw new ValidationException("Không thể xóa đánh giá sản phẩm " + e.getMessage());
@@ -178,16 +194,10 @@ public class ProductReviewServiceImpl implements ProductReviewService {
     @Override
     public PaginationWrapper<List<ProductReviewResponse>> geAllProductReviewBySeller(QueryWrapper queryWrapper) {
         var seller = getSeller();
-        List<ProductReviewEntity> entities = productReviewRepository.findBySeller(seller);
-        Page<ProductReviewEntity> productReviewPage = productReviewRepository.findBySeller(seller, queryWrapper.pagination());
-        List<ProductReviewResponse> reviewResponses = productReviewPage.getContent()
-                .stream()
-                .map(this::maptoProductReviewResponse)
-                .toList();
-        return new PaginationWrapper.Builder<List<ProductReviewResponse>>()
-                .setData(reviewResponses)
-                .setPaginationInfo(productReviewPage)
-                .build();
+        if (seller == null) {
+            throw new ValidationException("Người dùng không phải là người bán");
+        }
+        return getSellerReviewPage(seller.getId(), queryWrapper);
     }
 
     public ProductReviewResponse maptoProductReviewResponse(ProductReviewEntity entity) {
@@ -345,42 +355,81 @@ public class ProductReviewServiceImpl implements ProductReviewService {
 
     @Override
     public PaginationWrapper<List<ProductReviewResponse>> getProductReviewBySellerId(String sellerId, QueryWrapper queryWrapper) {
+        if (!sellerRepository.existsById(sellerId)) {
+            throw new ValidationException("Không tìm thấy người bán");
+        }
+        return getSellerReviewPage(sellerId, queryWrapper);
+    }
 
-        SellerEntity sellerEntity = sellerRepository.findById(sellerId)
-                .orElseThrow(() -> new ValidationException("SKhông tìm thấy ngời bán"));
-
-        List<ProductReviewEntity> productReviews = productReviewRepository.findBySeller(sellerEntity);
-        List<ProductReviewResponse> reviewResponses = productReviews.stream()
-                .map(this::maptoProductReviewResponse)
-                .toList();
+    private PaginationWrapper<List<ProductReviewResponse>> getSellerReviewPage(String sellerId, QueryWrapper queryWrapper) {
+        var pageable = queryWrapper.pagination();
+        int size = pageable.getPageSize();
+        Page<ProductReviewResponse> page;
+        if (queryWrapper.isKeyset()) {
+            var cursor = queryWrapper.cursor();
+            var limit = PageRequest.of(0, size + 1);
+            var rows = cursor == null
+                    ? productReviewRepository.findSellerReviewRows(sellerId, limit)
+                    : productReviewRepository.findSellerReviewRowsBefore(sellerId, cursor.getCreatedDate(), cursor.getId(), limit);
+            String nextCursor = null;
+            if (rows.size() > size) {
+                rows = rows.subList(0, size);
+                var last = rows.getLast();
+                nextCursor = new KeysetCursor(last.getCreatedDate(), last.getId()).encode();
+            }
+            long total = queryWrapper.isSkipCount() ? KeysetPage.UNKNOWN_TOTAL : countSellerReviews(sellerId);
+            page = new KeysetPage<>(rows.stream().map(this::mapReviewRow).toList(), PageRequest.of(0, size), total, nextCursor);
+        } else {
+            var sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "createdDate");
+            if (sort.getOrderFor("id") == null) {
+                sort = sort.and(Sort.by(Sort.Direction.DESC, "id"));
+            }
+            page = productReviewRepository.findSellerReviewRowPage(sellerId, PageRequest.of(pageable.getPageNumber(), size, sort))
+                    .map(this::mapReviewRow);
+        }
         return new PaginationWrapper.Builder<List<ProductReviewResponse>>()
-                .setData(reviewResponses)
+                .setData(page.getContent())
+                .setPaginationInfo(page)
                 .build();
-
     }
 
-    @Transactional
-    public void updateRatingProduct(ProductEntity productEntity) {
-        var avgVote = productReviewRepository.calculateTotalRatingByProduct(productEntity);
-        productEntity.setAvgVote(avgVote);
-        try {
-            productRepository.save(productEntity);
-        } catch (Exception e) {
-            throw new ActionFailedException("Không thể lưu đánh giá sản phẩm " + e.getMessage());
-        }
-
+    // The rating aggregate only counts voted reviews, so the page total uses the listing's own predicate.
+    private long countSellerReviews(String sellerId) {
+        return productReviewRepository.countSellerReviews(sellerId);
     }
 
-    @Transactional
-    public void updateRatingShop(SellerEntity sellerEntity) {
-
-        var avgVote = productRepository.findAverageRatingBySeller(sellerEntity);
-        sellerEntity.setAvgVote(avgVote);
-        try {
-            sellerRepository.save(sellerEntity);
-        } catch (Exception e) {
-            throw new ActionFailedException("Không thể lưu đánh giá người bán " + e.getMessage());
+    private ProductReviewResponse mapReviewRow(ProductReviewRowProjection row) {
+        ReplyBaseResponse reply = null;
+        if (row.getReplyContent() != null || row.getReplyCreatedDate() != null || row.getReplyUpdatedDate() != null) {
+            reply = ReplyBaseResponse.builder()
+                    .content(row.getReplyContent())
+                    .createdAt(row.getReplyCreatedDate() != null ? row.getReplyCreatedDate().toLocalDateTime() : null)
+                    .updatedAt(row.getReplyUpdatedDate() != null ? row.getReplyUpdatedDate().toLocalDateTime() : null)
+                    .build();
         }
+        return ProductReviewResponse.builder()
+                .id(row.getId())
+                .createdAt(row.getCreatedDate().toLocalDateTime())
+                .updatedAt(row.getUpdatedDate().toLocalDateTime())
+                .vote(row.getVote())
+                .content(row.getContent())
+                .images(row.getImageReview())
+                .author(AuthorBaseResponse.builder()
+                        .authorId(row.getCustomerId())
+                        .name(row.getCustomerFirstName() + " " + row.getCustomerLastName())
+                        .avatarUrl(row.getCustomerAvatarUrl())
+                        .build())
+                .orderId(row.getOrderComboId())
+                .status(row.getStatus())
+                .product(ProductBaseResponse.builder()
+                        .productId(row.getProductId())
+                        .productName(row.getProductName())
+                        .thumbnailUrl(row.getProductThumbnail())
+                        .shortDescription(row.getProductDescription())
+                        .price(row.getProductPrice())
+                        .build())
+                .reply(reply)
+                .build();
     }
 
     @Override
@@ -391,10 +440,12 @@ public class ProductReviewServiceImpl implements ProductReviewService {
         if (!seller.equals(productReview.getSeller())) {
             throw new ValidationException("Người bán không khớp");
         }
+        var before = ReviewRatingSnapshot.of(productReview);
         productReview.setReplyContent(content);
         productReview.setReplyCreatedDate(Timestamp.valueOf(LocalDateTime.now()));
         try {
             productReviewRepository.save(productReview);
+            ratingAggregateService.applyChange(before, ReviewRatingSnapshot.of(productReview));
             return maptoProductReviewResponse(productReview);
         } catch (Exception e) {
             throw new ValidationException("Product review could not be saved " + e.getMessage());
@@ -409,10 +460,12 @@ public class ProductReviewServiceImpl implements ProductReviewService {
         if (!seller.equals(productReview.getSeller())) {
             throw new ValidationException("Người bán không khớp");
         }
+        var before = ReviewRatingSnapshot.of(productReview);
         productReview.setReplyContent(content);
         productReview.setReplyUpdatedDate(Timestamp.valueOf(LocalDateTime.now()));
         try {
             productReviewRepository.save(productReview);
+            ratingAggregateService.applyChange(before, ReviewRatingSnapshot.of(productReview));
             return maptoProductReviewResponse(productReview);
         } catch (Exception e) {
             throw new ValidationException("Không thể lưu đánh giá sản phẩm " + e.getMessage());
@@ -488,17 +541,21 @@ public class ProductReviewServiceImpl implements ProductReviewService {
     @Override
     public ReviewStatsResponse getStatsSeller() {
         var seller = getSeller();
-        long totalReviews = productReviewRepository.countTotalReviews(seller);
-        long repliedReviews = productReviewRepository.countRepliedReviews(seller);
-        List<Object[]> dist = productReviewRepository.getRatingDistribution(seller);
-        Map<Integer, Long> voteCountMap = dist.stream()
-                .collect(Collectors.toMap(
-                        row -> ((Number) row[0]).intValue(),
-                        row -> ((Number) row[1]).longValue()
-                ));
+        return toReviewStats(ratingAggregateService.getAggregate(RatingTargetTypeEnum.SELLER, seller.getId()));
+    }
+
+    @Override
+    public ReviewStatsResponse getSellerReviewSummary(String sellerId) {
+        return sellerSummaryCache.get(sellerId, SELLER_SUMMARY_TTL,
+                key -> toReviewStats(ratingAggregateService.getAggregate(RatingTargetTypeEnum.SELLER, key)));
+    }
+
+    private ReviewStatsResponse toReviewStats(RatingAggregateEntity aggregate) {
+        long totalReviews = aggregate.getReviewCount();
+        long repliedReviews = aggregate.getRepliedCount();
         List<RatingDistribution> distribution = IntStream.rangeClosed(1, 5)
                 .mapToObj(vote -> {
-                    long count = voteCountMap.getOrDefault(vote, 0L);
+                    long count = aggregate.getStarCount(vote);
                     double percentage = totalReviews > 0
                             ? Math.round((count * 1000.0) / totalReviews) / 10.0
                             : 0.0;
@@ -507,12 +564,7 @@ public class ProductReviewServiceImpl implements ProductReviewService {
                 .sorted(Comparator.comparingInt(RatingDistribution::getVote).reversed()) // để vote từ 5 → 1
                 .toList();
 
-        var averageRating = seller.getAvgVote();
-        if (averageRating == null) {
-            averageRating = 0.0;
-        } else {
-            averageRating = Math.round(averageRating * 10.0) / 10.0;
-        }
+        var averageRating = Math.round(aggregate.getAverage() * 10.0) / 10.0;
         long positiveReviews = distribution.stream()
                 .filter(d -> d.getVote() == 4 || d.getVote() == 5)
                 .mapToLong(RatingDistribution::getCount)
@@ -0,0 +1,125 @@
+package org.retrade.main.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.main.config.common.ProductSamplingConfig;
+import org.retrade.main.model.constant.ProductStatusEnum;
+import org.retrade.main.model.other.ProductSamplingPool;
+import org.retrade.main.model.projection.ProductCategoryIdProjection;
+import org.retrade.main.model.projection.ProductSamplingProjection;
+import org.retrade.main.repository.jpa.ProductRepository;
+import org.retrade.main.service.ProductSamplingService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSamplingServiceImpl implements ProductSamplingService {
+    private final ProductRepository productRepository;
+    private final ProductSamplingConfig samplingConfig;
+    private final ReentrantReadWriteLock poolLock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Set<String> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean loaded;
+    private ProductSamplingPool pool = new ProductSamplingPool();
+
+    @Override
+    public List<String> sample(int count, String categoryId, String sellerId) {
+        if (!loaded) {
+            rebuildLock.lock();
+            try {
+                if (!loaded) {
+                    doRebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        poolLock.readLock().lock();
+        try {
+            return pool.sample(count, categoryId, sellerId, ThreadLocalRandom.current());
+        } finally {
+            poolLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void refreshProduct(String productId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(productId);
+        }
+        var entry = productRepository.findSamplingEntry(productId, ProductStatusEnum.ACTIVE);
+        var categoryIds = entry.isPresent()
+                ? loadCategoryIds(List.of(productId)).getOrDefault(productId, List.of())
+                : List.<String>of();
+        poolLock.writeLock().lock();
+        try {
+            entry.ifPresentOrElse(
+                    item -> pool.put(item.getId(), item.getSellerId(), categoryIds),
+                    () -> pool.remove(productId));
+        } finally {
+            poolLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            var next = new ProductSamplingPool();
+            int batchSize = Math.max(1, samplingConfig.getBatchSize());
+            String after = "";
+            while (true) {
+                var batch = productRepository.findSamplingEntriesAfter(ProductStatusEnum.ACTIVE, after, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                var categoryIds = loadCategoryIds(batch.stream().map(ProductSamplingProjection::getId).toList());
+                batch.forEach(item -> next.put(item.getId(), item.getSellerId(), categoryIds.getOrDefault(item.getId(), List.of())));
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                after = batch.getLast().getId();
+            }
+            poolLock.writeLock().lock();
+            try {
+                pool = next;
+                loaded = true;
+            } finally {
+                poolLock.writeLock().unlock();
+            }
+            log.debug("Rebuilt product sampling pool with {} products", next.size());
+        } finally {
+            rebuilding = false;
+        }
+        // Changes committed while the scan was running may be missing from the new pool.
+        List<String> changed = new ArrayList<>(changedDuringRebuild);
+        changedDuringRebuild.removeAll(changed);
+        changed.forEach(this::refreshProduct);
+    }
+
+    private Map<String, List<String>> loadCategoryIds(Collection<String> productIds) {
+        return productRepository.findCategoryIdsByProductIds(productIds).stream()
+                .collect(Collectors.groupingBy(ProductCategoryIdProjection::getProductId,
+                        Collectors.mapping(ProductCategoryIdProjection::getCategoryId, Collectors.toList())));
+    }
+}
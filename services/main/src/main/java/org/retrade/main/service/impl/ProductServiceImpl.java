@@ -1,39 +1,43 @@
 package org.retrade.main.service.impl;
 
-import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
-import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
-import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.constant.QueryOperatorEnum;
 import org.retrade.common.model.dto.request.QueryFieldWrapper;
 import org.retrade.common.model.dto.request.QueryWrapper;
 import org.retrade.common.model.dto.response.PaginationWrapper;
 import org.retrade.common.model.exception.ActionFailedException;
 import org.retrade.common.model.exception.ValidationException;
 import org.retrade.main.client.ProductRecommendGrpcClient;
+import org.retrade.main.config.common.ProductSearchConfig;
 import org.retrade.main.model.constant.NotificationTypeCode;
 import org.retrade.main.model.constant.OrderStatusCodes;
+import org.retrade.main.model.constant.PlatformStatEnum;
 import org.retrade.main.model.constant.ProductStatusEnum;
-import org.retrade.main.model.document.CategoryInfoDocument;
 import org.retrade.main.model.document.ProductDocument;
 import org.retrade.main.model.dto.request.*;
 import org.retrade.main.model.dto.response.*;
 import org.retrade.main.model.entity.*;
 import org.retrade.main.model.message.SocketNotificationMessage;
-import org.retrade.main.repository.elasticsearch.ProductElasticsearchRepository;
 import org.retrade.main.repository.jpa.*;
 import org.retrade.main.service.MessageProducerService;
+import org.retrade.main.service.PlatformStatsService;
+import org.retrade.main.service.ProductFacetService;
+import org.retrade.main.service.ProductSamplingService;
 import org.retrade.main.service.ProductService;
+import org.retrade.main.service.SearchOutboxService;
 import org.retrade.main.util.AuthUtils;
+import org.retrade.main.util.SearchAfterCursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
-import org.springframework.data.elasticsearch.core.AggregationsContainer;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
@@ -41,16 +45,20 @@ import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
+    private static final Set<String> ENGINE_TERM_FIELDS = Set.of("categoryId", "brand", "seller", "state", "status", "verified");
+    private static final Set<QueryOperatorEnum> ENGINE_RANGE_OPERATORS = EnumSet.of(
+            QueryOperatorEnum.EQ, QueryOperatorEnum.GT, QueryOperatorEnum.GTE,
+            QueryOperatorEnum.LT, QueryOperatorEnum.LTE, QueryOperatorEnum.BETWEEN);
     private final ProductRepository productRepository;
-    private final ProductElasticsearchRepository productSearchRepository;
     private final ElasticsearchOperations elasticsearchOperations;
     private final SellerRepository sellerRepository;
     private final CategoryRepository categoryRepository;
@@ -58,10 +66,13 @@ public class ProductServiceImpl implements ProductService {
     private final AuthUtils authUtils;
     private final BrandRepository brandEntityRepository;
     private final ProductRecommendGrpcClient productRecommendGrpcClient;
-    private final OrderComboRepository orderComboRepository;
-    private final AccountRepository accountRepository;
     private final OrderItemRepository orderItemRepository;
     private final MessageProducerService messageProducerService;
+    private final SearchOutboxService searchOutboxService;
+    private final ProductSearchConfig productSearchConfig;
+    private final ProductFacetService productFacetService;
+    private final PlatformStatsService platformStatsService;
+    private final ProductSamplingService productSamplingService;
 
 
     @Override
@@ -107,7 +118,7 @@ public class ProductServiceImpl implements ProductService {
         }
         try {
             var savedProduct = productRepository.save(product);
-            saveProductDocument(savedProduct);
+            searchOutboxService.enqueueUpsert(savedProduct.getId());
             return mapToProductResponse(savedProduct);
         } catch (Exception ex) {
             throw new ActionFailedException("Tạo sản phẩm thất bại", ex);
@@ -150,7 +161,7 @@ public class ProductServiceImpl implements ProductService {
 
         try {
             var updatedProduct = productRepository.save(product);
-            saveProductDocument(updatedProduct, id);
+            searchOutboxService.enqueueUpsert(updatedProduct.getId());
             return mapToProductResponse(updatedProduct);
         } catch (Exception ex) {
             throw new ActionFailedException("Cập nhật sản phẩm thất bại", ex);
@@ -158,20 +169,20 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public RandomProductIdResponse getRandomProductId() {
-        var productIds = productRepository.findRandomProductId(3L, ProductStatusEnum.ACTIVE.ordinal());
-        int randomIndex = new Random().nextInt(productIds.size());
-        String randomId = productIds.stream()
-                .skip(randomIndex)
-                .findFirst()
-                .orElseThrow();
+    public RandomProductIdResponse getRandomProductId(String categoryId, String sellerId) {
+        var productIds = productSamplingService.sample(3, categoryId, sellerId);
+        if (productIds.isEmpty()) {
+            throw new ValidationException("Không tìm thấy sản phẩm phù hợp");
+        }
+        String randomId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
         return RandomProductIdResponse.builder()
                 .selectedProductId(randomId)
-                .randomProductIds(productIds)
+                .randomProductIds(new LinkedHashSet<>(productIds))
                 .build();
     }
 
     @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
     public ProductResponse updateProductQuantity(UpdateProductQuantityRequest request) {
         var account = authUtils.getUserAccountFromAuthentication();
         if (account.getSeller() == null) {
@@ -185,7 +196,7 @@ public class ProductServiceImpl implements ProductService {
         product.setQuantity(request.quantity());
         try {
             var result = productRepository.save(product);
-            saveProductDocument(result, result.getId());
+            searchOutboxService.enqueueUpsert(result.getId());
             return mapToProductResponse(result);
         } catch (Exception ex) {
             throw new ActionFailedException("Cập nhật số lượng sản phẩm thất bại", ex);
@@ -221,7 +232,7 @@ public class ProductServiceImpl implements ProductService {
         product.setStatus(request.status());
         try {
             var result = productRepository.save(product);
-            saveProductDocument(result, result.getId());
+            searchOutboxService.enqueueUpsert(result.getId());
         } catch (Exception ex) {
             throw new ActionFailedException("Cập nhật trạng thái sản phẩm thất bại", ex);
         }
@@ -239,7 +250,7 @@ public class ProductServiceImpl implements ProductService {
         }
         try {
             productRepository.delete(product);
-            productSearchRepository.deleteById(id);
+            searchOutboxService.enqueueDelete(id);
         } catch (Exception ex) {
             throw new ActionFailedException("Xóa sản phẩm thất bại", ex);
         }
@@ -333,9 +344,12 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public PaginationWrapper<List<ProductResponse>> searchProductByKeyword(QueryWrapper queryWrapper) {
+    public PaginationWrapper<List<ProductResponse>> searchProductByKeyword(QueryWrapper queryWrapper, String cursor) {
         var search = queryWrapper.search();
         QueryFieldWrapper keyword = search.remove("keyword");
+        if (productSearchConfig.isEngineEnabled() && isEngineSearchable(search)) {
+            return searchProductByEngine(keyword, search, queryWrapper.pagination(), cursor);
+        }
         return productRepository.query(queryWrapper, (param) -> (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             applyProductSearchFilters(predicates, keyword, queryWrapper.pagination(), criteriaBuilder, param, root);
@@ -389,7 +403,7 @@ public class ProductServiceImpl implements ProductService {
         product.setStatus(ProductStatusEnum.ACTIVE);
         try {
             var result = productRepository.save(product);
-            saveProductDocument(result, result.getId());
+            searchOutboxService.enqueueUpsert(result.getId());
             sendApproveProductSocketNotification(true, null, result.getSeller().getAccount());
         } catch (Exception ex) {
             throw new ActionFailedException("Xác thực sản phẩm thất bại", ex);
@@ -406,7 +420,8 @@ public class ProductServiceImpl implements ProductService {
         product.setStatus(ProductStatusEnum.INACTIVE);
         product.setVerified(false);
         try {
-            productRepository.save(product);
+            var result = productRepository.save(product);
+            searchOutboxService.enqueueUpsert(result.getId());
         } catch (Exception ex) {
             throw new ActionFailedException("Hủy xác thực sản phẩm thất bại", ex);
         }
@@ -431,9 +446,7 @@ public class ProductServiceImpl implements ProductService {
         }
         try {
             var result = productRepository.save(productEntity);
-            if (request.getApproved()) {
-                saveProductDocument(result, result.getId());
-            }
+            searchOutboxService.enqueueUpsert(result.getId());
             sendApproveProductSocketNotification(request.getApproved(), request.getReason(), result.getSeller().getAccount());
         } catch (Exception ex) {
             throw new ActionFailedException("");
@@ -445,8 +458,7 @@ public class ProductServiceImpl implements ProductService {
         QueryFieldWrapper keyword = queryWrapper.search().remove("keyword");
         var keywordValue = keyword != null ? keyword.getValue().toString() : "";
         var elasticQuery = elasticSearchKeywordQueryBuild(keywordValue);
-        AggregationsContainer<?> aggregations = aggregateFilterFields(elasticQuery);
-        return getFieldAdvanceSearch(aggregations);
+        return productFacetService.getFacets("all:" + keywordValue, elasticQuery);
     }
 
     @Override
@@ -460,11 +472,10 @@ public class ProductServiceImpl implements ProductService {
 
         QueryFieldWrapper keyword = queryWrapper.search().remove("keyword");
 
-        var elasticQuery = elasticSearchSellerIdAndKeywordQueryBuild(keyword != null ? keyword.getValue().toString() : "", seller.getId());
-
-        AggregationsContainer<?> aggregations = aggregateFilterFields(elasticQuery);
+        var keywordValue = keyword != null ? keyword.getValue().toString() : "";
+        var elasticQuery = elasticSearchSellerIdAndKeywordQueryBuild(keywordValue, seller.getId());
 
-        return getFieldAdvanceSearch(aggregations);
+        return productFacetService.getFacets("seller:" + seller.getId() + ":" + keywordValue, elasticQuery);
     }
 
     @Override
@@ -496,17 +507,12 @@ public class ProductServiceImpl implements ProductService {
     }
     @Override
     public ProductHomeStatsResponse getStatsHome() {
-        var totalProducts = productRepository.countVerifiedProducts();
-        var totalProductSell= productRepository.countDistinctSoldVerifiedProducts(OrderStatusCodes.COMPLETED);
-        var totalAccount = accountRepository.countByAccountRoles_Role_CodeNot("ROLE_ADMIN");
-
-        var totalOrder = orderComboRepository.countByOrderStatus();
-
+        var stats = platformStatsService.getSnapshot();
         return ProductHomeStatsResponse.builder()
-                .totalProducts(totalProducts)
-                .totaOrders(totalOrder)
-                .totalUsers(totalAccount)
-                .totalSoldProducts(totalProductSell)
+                .totalProducts(stats.get(PlatformStatEnum.VERIFIED_PRODUCTS))
+                .totaOrders(stats.get(PlatformStatEnum.COMPLETED_ORDERS))
+                .totalUsers(stats.get(PlatformStatEnum.USERS))
+                .totalSoldProducts(stats.get(PlatformStatEnum.SOLD_VERIFIED_PRODUCTS))
                 .build();
     }
 
@@ -660,97 +666,127 @@ public class ProductServiceImpl implements ProductService {
         }
     }
 
-    private Set<String> getElasticSearchIds(QueryFieldWrapper keyword) {
-        var searchHits = queryElasticSearchByKeyword(keyword);
-        return searchHits.getSearchHits()
-                .stream()
-                .map(SearchHit::getId)
-                .collect(Collectors.toSet());
+    private boolean isEngineSearchable(Map<String, QueryFieldWrapper> search) {
+        return search.entrySet().stream().allMatch(entry -> {
+            var operator = entry.getValue().getOperator();
+            if ("currentPrice".equals(entry.getKey())) {
+                return ENGINE_RANGE_OPERATORS.contains(operator);
+            }
+            return ENGINE_TERM_FIELDS.contains(entry.getKey())
+                    && (operator == QueryOperatorEnum.EQ || operator == QueryOperatorEnum.IN);
+        });
     }
 
-    private Set<String> extractBucketKeys(AggregationsContainer<?> aggregations, String aggName) {
-        Set<String> keys = new HashSet<>();
-        if (aggregations == null) return keys;
-
-        @SuppressWarnings("unchecked")
-        List<ElasticsearchAggregation> aggList = (List<ElasticsearchAggregation>) aggregations.aggregations();
-        for (ElasticsearchAggregation aggregation : aggList) {
-            if (aggName.equals(aggregation.aggregation().getName())) {
-                Aggregate agg = aggregation.aggregation().getAggregate();
-                if (agg.isSterms()) {
-                    for (StringTermsBucket bucket : agg.sterms().buckets().array()) {
-                        keys.add(bucket.key().stringValue());
-                    }
-                }
-                break;
-            }
+    private PaginationWrapper<List<ProductResponse>> searchProductByEngine(QueryFieldWrapper keyword,
+                                                                           Map<String, QueryFieldWrapper> filters,
+                                                                           Pageable pageable,
+                                                                           String cursor) {
+        var searchAfter = SearchAfterCursor.decode(cursor);
+        var size = pageable.getPageSize();
+        var page = searchAfter == null ? pageable.getPageNumber() : 0;
+        var keywordQuery = keyword != null
+                ? elasticSearchKeywordQueryBuild(keyword.getValue().toString())
+                : Query.of(q -> q.matchAll(ma -> ma));
+        var filterQueries = buildEngineFilters(filters);
+        var builder = NativeQuery.builder()
+                .withQuery(Query.of(q -> q.bool(b -> b.must(keywordQuery).filter(filterQueries))))
+                .withSourceFilter(new FetchSourceFilter(new String[]{"id"}, new String[]{}))
+                .withPageable(PageRequest.of(page, size));
+        if (keyword != null) {
+            builder.withSort(s -> s.score(sc -> sc.order(SortOrder.Desc)));
         }
-        return keys;
+        builder.withSort(s -> s.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                .withSort(s -> s.field(f -> f.field("id").order(SortOrder.Asc)));
+        if (searchAfter != null) {
+            builder.withSearchAfter(searchAfter);
+        }
+        var searchHits = elasticsearchOperations.search(builder.build(), ProductDocument.class);
+        var hits = searchHits.getSearchHits();
+        var ids = hits.stream().map(SearchHit::getId).toList();
+        Map<String, ProductEntity> products = ids.isEmpty() ? Map.of() : productRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+        var data = ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToProductResponse)
+                .toList();
+        var nextCursor = hits.size() == size ? SearchAfterCursor.encode(hits.getLast().getSortValues()) : null;
+        var total = searchHits.getTotalHits();
+        return new PaginationWrapper.Builder<List<ProductResponse>>()
+                .setData(data)
+                .setPage(page)
+                .setSize(size)
+                .setTotalElements((int) total)
+                .setTotalPages(size == 0 ? 0 : (int) ((total + size - 1) / size))
+                .setNextCursor(nextCursor)
+                .setHasNext(nextCursor != null)
+                .build();
     }
 
-    private Set<String> extractNestedBucketKeys(AggregationsContainer<?> aggregations, String nestedAggName, String termsAggName) {
-        Set<String> keys = new HashSet<>();
-        if (aggregations == null) return keys;
-
-        @SuppressWarnings("unchecked")
-        List<ElasticsearchAggregation> aggList = (List<ElasticsearchAggregation>) aggregations.aggregations();
-        for (ElasticsearchAggregation aggregation : aggList) {
-            if (nestedAggName.equals(aggregation.aggregation().getName())) {
-                Aggregate nested = aggregation.aggregation().getAggregate();
-                if (nested.isNested()) {
-                    Aggregate termsAgg = nested.nested().aggregations().get(termsAggName);
-                    if (termsAgg != null && termsAgg.isSterms()) {
-                        for (StringTermsBucket bucket : termsAgg.sterms().buckets().array()) {
-                            keys.add(bucket.key().stringValue());
-                        }
-                    }
-                }
-                break;
-            }
+    private List<Query> buildEngineFilters(Map<String, QueryFieldWrapper> filters) {
+        List<Query> queries = new ArrayList<>();
+        addEngineTermsFilter(queries, "brandId", extractStringValues(filters.get("brand")));
+        addEngineTermsFilter(queries, "sellerId", extractStringValues(filters.get("seller")));
+        addEngineTermsFilter(queries, "state.keyword", extractStringValues(filters.get("state")));
+        var statuses = extractStringValues(filters.get("status")).stream()
+                .map(value -> value.trim().toUpperCase())
+                .filter(value -> Arrays.stream(ProductStatusEnum.values()).anyMatch(status -> status.name().equals(value)))
+                .collect(Collectors.toSet());
+        if (filters.containsKey("status")) {
+            queries.add(termsQuery("status", statuses));
+        }
+        var categoryIds = extractStringValues(filters.get("categoryId"));
+        if (!categoryIds.isEmpty()) {
+            queries.add(Query.of(q -> q.nested(n -> n
+                    .path("categories")
+                    .query(termsQuery("categories.id", categoryIds)))));
+        }
+        var verified = filters.get("verified");
+        if (verified != null) {
+            queries.add(Query.of(q -> q.term(t -> t.field("verified")
+                    .value(Boolean.parseBoolean(verified.getValue().toString())))));
         }
-        return keys;
+        var price = filters.get("currentPrice");
+        if (price != null) {
+            queries.add(priceRangeQuery(price));
+        }
+        return queries;
     }
 
-    private BigDecimal extractMin(AggregationsContainer<?> aggregations, String aggName) {
-        if (aggregations != null) {
-            @SuppressWarnings("unchecked")
-            var aggList = (List<ElasticsearchAggregation>) aggregations.aggregations();
-            Map<String, Aggregate> aggMap = new HashMap<>();
-            aggList.forEach(item -> {
-                aggMap.put(item.aggregation().getName(), item.aggregation().getAggregate());
-            });
-
-            if (aggMap.containsKey(aggName)) {
-                Aggregate agg = aggMap.get(aggName);
-                if (agg.isMin()) {
-                    double value = agg.min().value();
-                    return BigDecimal.valueOf(value);
-                }
-            }
+    private void addEngineTermsFilter(List<Query> queries, String field, Set<String> values) {
+        if (!values.isEmpty()) {
+            queries.add(termsQuery(field, values));
         }
+    }
 
-        return BigDecimal.ZERO;
+    private Query termsQuery(String field, Collection<String> values) {
+        var fieldValues = values.stream().map(FieldValue::of).toList();
+        return Query.of(q -> q.terms(t -> t.field(field).terms(v -> v.value(fieldValues))));
     }
 
-    private BigDecimal extractMax(AggregationsContainer<?> aggregations, String aggName) {
-        if (aggregations != null) {
-            @SuppressWarnings("unchecked")
-            var aggList = (List<ElasticsearchAggregation>) aggregations.aggregations();
-            Map<String, Aggregate> aggMap = new HashMap<>();
-            aggList.forEach(item -> {
-                aggMap.put(item.aggregation().getName(), item.aggregation().getAggregate());
-            });
-
-            if (aggMap.containsKey(aggName)) {
-                Aggregate agg = aggMap.get(aggName);
-                if (agg.isMax()) {
-                    double value = agg.max().value();
-                    return BigDecimal.valueOf(value);
-                }
+    private Query priceRangeQuery(QueryFieldWrapper price) {
+        var value = price.getValue();
+        return switch (price.getOperator()) {
+            case BETWEEN -> {
+                var range = (List<?>) value;
+                var from = Double.parseDouble(range.get(0).toString());
+                var to = Double.parseDouble(range.get(1).toString());
+                yield Query.of(q -> q.range(r -> r.number(n -> n.field("currentPrice").gte(from).lte(to))));
             }
-        }
+            case GT -> Query.of(q -> q.range(r -> r.number(n -> n.field("currentPrice").gt(Double.parseDouble(value.toString())))));
+            case GTE -> Query.of(q -> q.range(r -> r.number(n -> n.field("currentPrice").gte(Double.parseDouble(value.toString())))));
+            case LT -> Query.of(q -> q.range(r -> r.number(n -> n.field("currentPrice").lt(Double.parseDouble(value.toString())))));
+            case LTE -> Query.of(q -> q.range(r -> r.number(n -> n.field("currentPrice").lte(Double.parseDouble(value.toString())))));
+            default -> Query.of(q -> q.term(t -> t.field("currentPrice").value(Double.parseDouble(value.toString()))));
+        };
+    }
 
-        return BigDecimal.ZERO;
+    private Set<String> getElasticSearchIds(QueryFieldWrapper keyword) {
+        var searchHits = queryElasticSearchByKeyword(keyword);
+        return searchHits.getSearchHits()
+                .stream()
+                .map(SearchHit::getId)
+                .collect(Collectors.toSet());
     }
 
     private ProductEntity getProductEntityById(String id) {
@@ -886,78 +922,6 @@ public class ProductServiceImpl implements ProductService {
         return elasticsearchOperations.search(nativeQuery, ProductDocument.class);
     }
 
-    private AggregationsContainer<?> aggregateFilterFields(Query elasticQuery) {
-        NativeQuery query = NativeQuery.builder()
-                .withQuery(elasticQuery)
-
-                .withAggregation("brandIds", Aggregation.of(a -> a
-                        .terms(t -> t.field("brandId").size(50))))
-
-                .withAggregation("sellerIds", Aggregation.of(a -> a
-                        .terms(t -> t.field("sellerId").size(50))))
-
-                .withAggregation("categoryIds", Aggregation.of(a -> a
-                        .nested(n -> n.path("categories"))
-                        .aggregations("ids", a2 -> a2
-                                .terms(t -> t.field("categories.id").size(50))
-                        )
-                ))
-                .withAggregation("states", Aggregation.of(a -> a
-                        .terms(t -> t.field("state.keyword").size(50))))
-                .withAggregation("minPrice", Aggregation.of(a -> a
-                        .min(m -> m.field("currentPrice"))))
-                .withAggregation("maxPrice", Aggregation.of(a -> a
-                        .max(m -> m.field("currentPrice"))))
-                .withSourceFilter(new FetchSourceFilter(new String[]{}, new String[]{"*"}))
-                .build();
-
-        return elasticsearchOperations.search(query, ProductDocument.class).getAggregations();
-    }
-
-    private FieldAdvanceSearch getFieldAdvanceSearch(AggregationsContainer<?> aggregations) {
-        Set<String> brandIds = extractBucketKeys(aggregations, "brandIds");
-        Set<String> sellerIds = extractBucketKeys(aggregations, "sellerIds");
-        Set<String> categoryIds = extractNestedBucketKeys(
-                aggregations,
-                "categoryIds",
-                "ids"
-        );
-
-        Set<String> states = extractBucketKeys(aggregations, "states");
-
-        BigDecimal minPrice = extractMin(aggregations, "minPrice");
-        BigDecimal maxPrice = extractMax(aggregations, "maxPrice");
-
-        Set<BrandResponse> brands = brandRepository.findAllById(brandIds).stream()
-                .map(b -> BrandResponse.builder()
-                        .id(b.getId())
-                        .name(b.getName())
-                        .imgUrl(b.getImgUrl())
-                        .build())
-                .collect(Collectors.toSet());
-
-        Set<SellerFilterResponse> sellers = sellerRepository.findAllById(sellerIds).stream()
-                .map(s -> SellerFilterResponse.builder()
-                        .sellerId(s.getId())
-                        .sellerName(s.getShopName())
-                        .sellerAvatarUrl(s.getAvatarUrl())
-                        .build())
-                .collect(Collectors.toSet());
-
-        List<CategoriesAdvanceSearch> categories = categoryRepository.findAllById(categoryIds).stream()
-                .map(c -> new CategoriesAdvanceSearch(c.getId(), c.getName()))
-                .toList();
-
-        return FieldAdvanceSearch.builder()
-                .brands(brands)
-                .sellers(sellers)
-                .states(states)
-                .minPrice(minPrice)
-                .maxPrice(maxPrice)
-                .categoriesAdvanceSearch(categories)
-                .build();
-    }
-
     private Query elasticSearchKeywordQueryBuild(String keyword) {
         if (keyword == null || keyword.isBlank()) {
             return Query.of(q -> q.matchAll(ma -> ma));
@@ -1148,28 +1112,6 @@ public class ProductServiceImpl implements ProductService {
         }
     }
 
-    private void saveProductDocument(ProductEntity productEntity, String id) {
-        var productDoc = productSearchRepository.findById(id).orElseThrow(() -> new ValidationException("Không tìm thấy sản phẩm với mã: " + id));
-        productDoc.setName(productEntity.getName());
-        productDoc.setSellerId(productEntity.getSeller().getId());
-        productDoc.setShortDescription(productEntity.getShortDescription());
-        productDoc.setDescription(productEntity.getDescription());
-        productDoc.setBrand(productEntity.getBrand().getName());
-        productDoc.setModel(productEntity.getModel());
-        productDoc.setCurrentPrice(productEntity.getCurrentPrice());
-        productDoc.setCategories(productEntity.getCategories().stream().map(item -> CategoryInfoDocument.builder()
-                .id(item.getId())
-                .name(item.getName())
-                .build()).toList());
-        productDoc.setUpdatedAt(productEntity.getUpdatedDate() != null ? productEntity.getUpdatedDate() : null);
-        productSearchRepository.save(productDoc);
-    }
-
-    private void saveProductDocument(ProductEntity productEntity) {
-        var product = ProductDocument.wrapEntityToDocument(productEntity);
-        productSearchRepository.save(product);
-    }
-
     private void sendApproveProductSocketNotification(boolean approved, String reason, AccountEntity accountEntity) {
         var accountId = accountEntity.getId();
         SocketNotificationMessage message = SocketNotificationMessage.builder()
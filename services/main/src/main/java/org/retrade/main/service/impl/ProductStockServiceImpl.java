@@ -0,0 +1,42 @@
+package org.retrade.main.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.retrade.common.model.exception.ActionFailedException;
+import org.retrade.common.model.exception.ValidationException;
+import org.retrade.main.repository.jpa.ProductRepository;
+import org.retrade.main.service.ProductStockService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class ProductStockServiceImpl implements ProductStockService {
+    private final ProductRepository productRepository;
+
+    // Rows are locked in ascending id order so concurrent multi-item checkouts cannot deadlock each other.
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public void reserve(Map<String, Integer> quantities) {
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new ValidationException("Số lượng đặt không hợp lệ cho sản phẩm: " + productId);
+            }
+            if (productRepository.reserveStock(productId, quantity) == 0) {
+                throw new ValidationException("Không đủ tồn kho cho sản phẩm: " + productId);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public void release(Map<String, Integer> quantities) {
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            if (quantity != null && quantity > 0) {
+                productRepository.releaseStock(productId, quantity);
+            }
+        });
+    }
+}
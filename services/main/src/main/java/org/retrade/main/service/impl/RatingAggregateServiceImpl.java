@@ -0,0 +1,142 @@
+package org.retrade.main.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.exception.ActionFailedException;
+import org.retrade.main.model.constant.RatingTargetTypeEnum;
+import org.retrade.main.model.entity.RatingAggregateEntity;
+import org.retrade.main.model.other.ReviewRatingSnapshot;
+import org.retrade.main.repository.jpa.ProductRepository;
+import org.retrade.main.repository.jpa.ProductReviewRepository;
+import org.retrade.main.repository.jpa.RatingAggregateRepository;
+import org.retrade.main.repository.jpa.SellerRepository;
+import org.retrade.main.service.RatingAggregateService;
+import org.retrade.main.util.KeysetBatchRebuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class RatingAggregateServiceImpl implements RatingAggregateService {
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private final RatingAggregateRepository ratingAggregateRepository;
+    private final ProductRepository productRepository;
+    private final SellerRepository sellerRepository;
+    private final ProductReviewRepository productReviewRepository;
+    private final KeysetBatchRebuilder rebuilder;
+
+    public RatingAggregateServiceImpl(RatingAggregateRepository ratingAggregateRepository,
+                                      ProductRepository productRepository,
+                                      SellerRepository sellerRepository,
+                                      ProductReviewRepository productReviewRepository,
+                                      ThreadPoolTaskScheduler taskScheduler,
+                                      PlatformTransactionManager transactionManager) {
+        this.ratingAggregateRepository = ratingAggregateRepository;
+        this.productRepository = productRepository;
+        this.sellerRepository = sellerRepository;
+        this.productReviewRepository = productReviewRepository;
+        this.rebuilder = new KeysetBatchRebuilder("Rating aggregate", REBUILD_BATCH_SIZE, taskScheduler, transactionManager);
+    }
+
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public void applyChange(ReviewRatingSnapshot before, ReviewRatingSnapshot after) {
+        var reference = after != null ? after : before;
+        if (reference == null) {
+            return;
+        }
+        var delta = Delta.between(before, after);
+        if (delta.isEmpty()) {
+            return;
+        }
+        apply(RatingTargetTypeEnum.PRODUCT, reference.productId(), delta);
+        apply(RatingTargetTypeEnum.SELLER, reference.sellerId(), delta);
+        if (delta.reviewCount() != 0 || delta.voteSum() != 0) {
+            ratingAggregateRepository.refreshProductAverages(List.of(reference.productId()));
+            ratingAggregateRepository.refreshSellerAverages(List.of(reference.sellerId()));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingAggregateEntity getAggregate(RatingTargetTypeEnum targetType, String targetId) {
+        return ratingAggregateRepository.findByTargetTypeAndTargetId(targetType, targetId)
+                .orElseGet(() -> RatingAggregateEntity.builder()
+                        .targetType(targetType)
+                        .targetId(targetId)
+                        .build());
+    }
+
+    @Override
+    public boolean triggerRebuild() {
+        return rebuilder.trigger(this::rebuildAll);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        rebuilder.backfillIf(() -> ratingAggregateRepository.count() == 0 && productReviewRepository.count() > 0,
+                this::rebuildAll);
+    }
+
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        int products = rebuilder.rebuild(productRepository::findIdsAfter, ids -> {
+            ratingAggregateRepository.deleteByTargets(RatingTargetTypeEnum.PRODUCT.ordinal(), ids);
+            ratingAggregateRepository.rebuildProductAggregates(ids);
+            ratingAggregateRepository.refreshProductAverages(ids);
+        });
+        int sellers = rebuilder.rebuild(sellerRepository::findIdsAfter, ids -> {
+            ratingAggregateRepository.deleteByTargets(RatingTargetTypeEnum.SELLER.ordinal(), ids);
+            ratingAggregateRepository.rebuildSellerAggregates(ids);
+            ratingAggregateRepository.refreshSellerAverages(ids);
+        });
+        log.info("Rebuilt rating aggregates for {} products and {} sellers in {} ms",
+                products, sellers, System.currentTimeMillis() - start);
+    }
+
+    private void apply(RatingTargetTypeEnum targetType, String targetId, Delta delta) {
+        ratingAggregateRepository.applyDelta(targetType.ordinal(), targetId,
+                delta.reviewCount(), delta.voteSum(),
+                delta.stars()[0], delta.stars()[1], delta.stars()[2], delta.stars()[3], delta.stars()[4],
+                delta.replied());
+    }
+
+    private record Delta(long reviewCount, double voteSum, long[] stars, long replied) {
+        static Delta between(ReviewRatingSnapshot before, ReviewRatingSnapshot after) {
+            long[] stars = new long[5];
+            long reviewCount = 0;
+            double voteSum = 0;
+            long replied = 0;
+            if (before != null && before.counted()) {
+                reviewCount--;
+                voteSum -= before.vote();
+                stars[before.star() - 1]--;
+                replied -= before.replied() ? 1 : 0;
+            }
+            if (after != null && after.counted()) {
+                reviewCount++;
+                voteSum += after.vote();
+                stars[after.star() - 1]++;
+                replied += after.replied() ? 1 : 0;
+            }
+            return new Delta(reviewCount, voteSum, stars, replied);
+        }
+
+        boolean isEmpty() {
+            if (reviewCount != 0 || voteSum != 0 || replied != 0) {
+                return false;
+            }
+            for (long star : stars) {
+                if (star != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -11,14 +11,16 @@ import org.retrade.main.model.constant.OrderStatusCodes;
 import org.retrade.main.model.dto.response.*;
 import org.retrade.main.model.entity.*;
 import org.retrade.main.repository.jpa.OrderComboRepository;
-import org.retrade.main.repository.jpa.OrderStatusRepository;
 import org.retrade.main.repository.jpa.SellerRevenueRepository;
 import org.retrade.main.service.RevenueService;
+import org.retrade.main.service.SellerMetricService;
 import org.retrade.main.util.AuthUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -29,7 +31,7 @@ public class RevenueServiceImpl implements RevenueService {
     private final OrderComboRepository orderComboRepository;
     private final AuthUtils authUtils;
     private final SellerRevenueRepository sellerRevenueRepository;
-    private final OrderStatusRepository orderStatusRepository;
+    private final SellerMetricService sellerMetricService;
 
     @Override
     public PaginationWrapper<List<RevenueResponse>> getMyRevenue(QueryWrapper queryWrapper) {
@@ -56,13 +58,16 @@ public class RevenueServiceImpl implements RevenueService {
     @Override
     public RevenueStatResponse getStatsRevenue() {
         var seller = getSeller();
-        OrderStatusEntity orderStatus = orderStatusRepository.findByCode(OrderStatusCodes.COMPLETED).orElseThrow(
-                () -> new ValidationException("Không tìm thấy trạng thái đơn hàng")
-        );
-        var totalPrice = orderComboRepository.getTotalPriceAfterFeeBySellerAndStatus(seller, orderStatus);
-        var totalOrder = orderComboRepository.countOrdersBySellerAndStatus(seller, orderStatus);
-        var aov = orderComboRepository.getAverageGrandPriceBySellerAndStatus(seller, orderStatus);
-        var totalItemsSold =orderComboRepository.getTotalItemsSoldBySellerAndStatus(seller, orderStatus);
+        if (seller == null) {
+            throw new ValidationException("Người dùng không phải là người bán");
+        }
+        var totals = sellerMetricService.getTotals(seller.getId());
+        var totalPrice = totals.getNetRevenue();
+        var totalOrder = totals.getCompletedOrders();
+        var aov = totalOrder > 0
+                ? totals.getCompletedRevenue().divide(BigDecimal.valueOf(totalOrder), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        var totalItemsSold = totals.getItemsSold();
         return RevenueStatResponse.builder()
                 .totalRevenue(totalPrice)
                 .totalOrder(totalOrder)
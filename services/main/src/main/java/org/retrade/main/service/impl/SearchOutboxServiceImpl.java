@@ -0,0 +1,147 @@
+package org.retrade.main.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.exception.ActionFailedException;
+import org.retrade.main.config.common.SearchOutboxConfig;
+import org.retrade.main.model.constant.SearchOutboxOperationEnum;
+import org.retrade.main.model.document.ProductDocument;
+import org.retrade.main.model.entity.SearchOutboxEntity;
+import org.retrade.main.repository.jpa.ProductRepository;
+import org.retrade.main.repository.jpa.SearchOutboxRepository;
+import org.retrade.main.service.SearchOutboxService;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class SearchOutboxServiceImpl implements SearchOutboxService {
+    private final SearchOutboxRepository searchOutboxRepository;
+    private final ProductRepository productRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final SearchOutboxConfig outboxConfig;
+    private final Counter coalescedEvents;
+    private final Counter indexedDocuments;
+    private final Counter deletedDocuments;
+    private final Counter failedBatches;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    public SearchOutboxServiceImpl(SearchOutboxRepository searchOutboxRepository,
+                                   ProductRepository productRepository,
+                                   ElasticsearchOperations elasticsearchOperations,
+                                   ElasticsearchClient elasticsearchClient,
+                                   SearchOutboxConfig outboxConfig,
+                                   MeterRegistry meterRegistry) {
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.productRepository = productRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.outboxConfig = outboxConfig;
+        this.coalescedEvents = eventCounter(meterRegistry, "coalesced");
+        this.indexedDocuments = eventCounter(meterRegistry, "indexed");
+        this.deletedDocuments = eventCounter(meterRegistry, "deleted");
+        this.failedBatches = Counter.builder("search.outbox.batches.failed")
+                .description("Outbox batches that could not be pushed to Elasticsearch")
+                .register(meterRegistry);
+        Gauge.builder("search.outbox.backlog", backlog, AtomicLong::get)
+                .description("Pending product search outbox events")
+                .register(meterRegistry);
+        Gauge.builder("search.outbox.lag", oldestPendingMillis,
+                        value -> value.get() == 0 ? 0 : (System.currentTimeMillis() - value.get()) / 1000.0)
+                .baseUnit("seconds")
+                .description("Age of the oldest pending product search outbox event")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public void enqueueUpsert(String productId) {
+        enqueue(productId, SearchOutboxOperationEnum.UPSERT);
+    }
+
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public void enqueueDelete(String productId) {
+        enqueue(productId, SearchOutboxOperationEnum.DELETE);
+    }
+
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public int relayBatch() {
+        var events = searchOutboxRepository.lockNextBatch(outboxConfig.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Map<String, SearchOutboxOperationEnum> latest = new LinkedHashMap<>();
+        events.forEach(event -> latest.put(event.getAggregateId(), event.getOperation()));
+        coalescedEvents.increment(events.size() - latest.size());
+
+        var upsertIds = latest.entrySet().stream()
+                .filter(entry -> entry.getValue() == SearchOutboxOperationEnum.UPSERT)
+                .map(Map.Entry::getKey)
+                .toList();
+        var documents = upsertIds.isEmpty() ? List.<ProductDocument>of() : productRepository.findAllByIdIn(upsertIds).stream()
+                .map(ProductDocument::wrapEntityToDocument)
+                .toList();
+        Set<String> deleteIds = new LinkedHashSet<>(latest.keySet());
+        documents.forEach(document -> deleteIds.remove(document.getId()));
+
+        var coordinates = elasticsearchOperations.getIndexCoordinatesFor(ProductDocument.class);
+        try {
+            if (!documents.isEmpty()) {
+                elasticsearchOperations.save(documents, coordinates);
+                indexedDocuments.increment(documents.size());
+            }
+            if (!deleteIds.isEmpty()) {
+                bulkDelete(coordinates.getIndexName(), deleteIds);
+                deletedDocuments.increment(deleteIds.size());
+            }
+        } catch (Exception e) {
+            failedBatches.increment();
+            throw new ActionFailedException("Đồng bộ chỉ mục tìm kiếm sản phẩm thất bại", e);
+        }
+        searchOutboxRepository.deleteAllInBatch(events);
+        return events.size();
+    }
+
+    @Override
+    public void refreshBacklog() {
+        backlog.set(searchOutboxRepository.count());
+        var oldest = searchOutboxRepository.findOldestCreatedDate();
+        oldestPendingMillis.set(oldest != null ? oldest.getTime() : 0L);
+    }
+
+    private void enqueue(String productId, SearchOutboxOperationEnum operation) {
+        searchOutboxRepository.save(SearchOutboxEntity.builder()
+                .aggregateId(productId)
+                .operation(operation)
+                .build());
+    }
+
+    private void bulkDelete(String indexName, Collection<String> ids) throws IOException {
+        var request = new BulkRequest.Builder();
+        ids.forEach(id -> request.operations(operation -> operation.delete(delete -> delete.index(indexName).id(id))));
+        var response = elasticsearchClient.bulk(request.build());
+        if (response.errors()) {
+            throw new IOException("Bulk delete reported errors for index " + indexName);
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("search.outbox.events")
+                .tag("result", result)
+                .description("Product search outbox events handled by the relay")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,139 @@
+package org.retrade.main.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.exception.ActionFailedException;
+import org.retrade.main.model.constant.OrderStatusCodes;
+import org.retrade.main.model.constant.PlatformStatEnum;
+import org.retrade.main.model.entity.OrderComboEntity;
+import org.retrade.main.model.entity.OrderItemEntity;
+import org.retrade.main.model.projection.RevenueMonthProjection;
+import org.retrade.main.model.projection.SellerMetricTotalProjection;
+import org.retrade.main.repository.jpa.OrderComboRepository;
+import org.retrade.main.repository.jpa.SellerMetricDailyRepository;
+import org.retrade.main.repository.jpa.SellerRepository;
+import org.retrade.main.repository.jpa.SellerRevenueRepository;
+import org.retrade.main.service.PlatformStatsService;
+import org.retrade.main.service.SellerMetricService;
+import org.retrade.main.util.KeysetBatchRebuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@Slf4j
+public class SellerMetricServiceImpl implements SellerMetricService {
+    private static final int REBUILD_BATCH_SIZE = 200;
+    private final SellerMetricDailyRepository sellerMetricDailyRepository;
+    private final SellerRepository sellerRepository;
+    private final OrderComboRepository orderComboRepository;
+    private final SellerRevenueRepository sellerRevenueRepository;
+    private final PlatformStatsService platformStatsService;
+    private final KeysetBatchRebuilder rebuilder;
+
+    public SellerMetricServiceImpl(SellerMetricDailyRepository sellerMetricDailyRepository,
+                                   SellerRepository sellerRepository,
+                                   OrderComboRepository orderComboRepository,
+                                   SellerRevenueRepository sellerRevenueRepository,
+                                   PlatformStatsService platformStatsService,
+                                   ThreadPoolTaskScheduler taskScheduler,
+                                   PlatformTransactionManager transactionManager) {
+        this.sellerMetricDailyRepository = sellerMetricDailyRepository;
+        this.sellerRepository = sellerRepository;
+        this.orderComboRepository = orderComboRepository;
+        this.sellerRevenueRepository = sellerRevenueRepository;
+        this.platformStatsService = platformStatsService;
+        this.rebuilder = new KeysetBatchRebuilder("Seller metric", REBUILD_BATCH_SIZE, taskScheduler, transactionManager);
+    }
+
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public void recordStatusChange(OrderComboEntity orderCombo, String previousStatusCode) {
+        var currentStatusCode = orderCombo.getOrderStatus().getCode();
+        int completed = transition(OrderStatusCodes.COMPLETED, previousStatusCode, currentStatusCode);
+        int cancelled = transition(OrderStatusCodes.CANCELLED, previousStatusCode, currentStatusCode);
+        if (completed == 0 && cancelled == 0) {
+            return;
+        }
+        var grandPrice = orderCombo.getGrandPrice() != null ? orderCombo.getGrandPrice() : BigDecimal.ZERO;
+        long itemsSold = 0;
+        BigDecimal netRevenue = BigDecimal.ZERO;
+        if (completed != 0) {
+            itemsSold = orderCombo.getOrderItems() == null ? 0 : orderCombo.getOrderItems().stream()
+                    .map(OrderItemEntity::getQuantity)
+                    .filter(Objects::nonNull)
+                    .mapToLong(Integer::longValue)
+                    .sum();
+            netRevenue = netRevenue(orderCombo.getId(), grandPrice);
+        }
+        var multiplier = BigDecimal.valueOf(completed);
+        var sellerId = orderCombo.getSeller().getId();
+        // Shares the per-seller lock with rebuilds, so a batch either sees this transition or runs before the delta lands.
+        sellerMetricDailyRepository.lockSellers(List.of(sellerId));
+        sellerMetricDailyRepository.applyDelta(sellerId,
+                orderCombo.getCreatedDate().toLocalDateTime().toLocalDate(),
+                completed,
+                grandPrice.multiply(multiplier),
+                netRevenue.multiply(multiplier),
+                cancelled,
+                itemsSold * completed);
+        platformStatsService.increment(PlatformStatEnum.COMPLETED_ORDERS, completed);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SellerMetricTotalProjection getTotals(String sellerId, LocalDate fromDate, LocalDate toDate) {
+        return sellerMetricDailyRepository.sumBySellerAndRange(sellerId, fromDate, toDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SellerMetricTotalProjection getTotals(String sellerId) {
+        return sellerMetricDailyRepository.sumBySeller(sellerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevenueMonthProjection> getRevenuePerMonth(String sellerId, int year) {
+        return sellerMetricDailyRepository.getRevenuePerMonth(sellerId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    @Override
+    public boolean triggerRebuild() {
+        return rebuilder.trigger(this::rebuildAll);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        rebuilder.backfillIf(() -> sellerMetricDailyRepository.count() == 0 && orderComboRepository.count() > 0,
+                this::rebuildAll);
+    }
+
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        int sellers = rebuilder.rebuild(sellerRepository::findIdsAfter, ids -> {
+            sellerMetricDailyRepository.lockSellers(ids);
+            sellerMetricDailyRepository.deleteBySellers(ids);
+            sellerMetricDailyRepository.rebuildSellers(ids);
+        });
+        log.info("Rebuilt seller metric rollups for {} sellers in {} ms", sellers, System.currentTimeMillis() - start);
+    }
+
+    // Reads the revenue recorded at completion, like the rebuild does, so a later cancellation reverses the fee
+    // that was actually charged rather than whatever tier applies today.
+    private BigDecimal netRevenue(String orderComboId, BigDecimal grandPrice) {
+        var sellerRevenue = sellerRevenueRepository.sumSellerRevenueByOrderComboId(orderComboId);
+        return sellerRevenue != null ? sellerRevenue : grandPrice;
+    }
+
+    private static int transition(String statusCode, String previousStatusCode, String currentStatusCode) {
+        return (statusCode.equals(currentStatusCode) ? 1 : 0) - (statusCode.equals(previousStatusCode) ? 1 : 0);
+    }
+}
@@ -1,7 +1,11 @@
 package org.retrade.main.service.impl;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.retrade.common.util.ExpiringCache;
+import org.retrade.main.config.security.TokenCacheConfig;
 import org.retrade.main.repository.jpa.AccountRepository;
+import org.retrade.main.security.AuthenticatedUser;
 import org.retrade.main.util.AuthUtils;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +17,14 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class UserDetailServiceImpl implements UserDetailsService {
     private final AccountRepository accountRepository;
+    private final TokenCacheConfig tokenCacheConfig;
+    private ExpiringCache<String, AuthenticatedUser> principalCache;
+
+    @PostConstruct
+    void init() {
+        principalCache = new ExpiringCache<>(tokenCacheConfig.getPrincipalMaxSize());
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         if (username == null) {
@@ -27,5 +39,26 @@ public class UserDetailServiceImpl implements UserDetailsService {
                 .accountLocked(account.isLocked())
                 .build();
     }
-    
+
+    public AuthenticatedUser loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        if (username == null) {
+            throw new UsernameNotFoundException("Tên đăng nhập không được để trống");
+        }
+        return principalCache.get(username, tokenCacheConfig.getPrincipalTtl(), key -> {
+            var account = accountRepository.findByUsername(key).orElseThrow(() -> new UsernameNotFoundException(key));
+            return new AuthenticatedUser(account.getUsername(),
+                    account.isEnabled(),
+                    account.isLocked(),
+                    AuthUtils.convertRoleToAuthority(account),
+                    account.getId(),
+                    account.getCustomer() != null ? account.getCustomer().getId() : null,
+                    account.getSeller() != null ? account.getSeller().getId() : null);
+        });
+    }
+
+    public void evictUser(String username) {
+        if (username != null) {
+            principalCache.invalidate(username);
+        }
+    }
 }
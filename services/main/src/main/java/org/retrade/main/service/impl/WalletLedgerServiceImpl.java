@@ -0,0 +1,139 @@
+package org.retrade.main.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.exception.ActionFailedException;
+import org.retrade.common.model.exception.ValidationException;
+import org.retrade.main.config.common.WalletCheckpointConfig;
+import org.retrade.main.model.entity.AccountEntity;
+import org.retrade.main.model.entity.WalletBalanceCheckpointEntity;
+import org.retrade.main.model.entity.WalletTransactionEntity;
+import org.retrade.main.repository.jpa.AccountRepository;
+import org.retrade.main.repository.jpa.WalletBalanceCheckpointRepository;
+import org.retrade.main.repository.jpa.WalletTransactionRepository;
+import org.retrade.main.service.WalletLedgerService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Every balance change is an append-only {@link WalletTransactionEntity}; the balance column on the account is an
+ * atomically incremented running total of those entries, so reads stay O(1) and concurrent writers never overwrite
+ * each other. Checkpoints periodically verify the running total against the ledger.
+ */
+@Service
+@Slf4j
+public class WalletLedgerServiceImpl implements WalletLedgerService {
+    private final AccountRepository accountRepository;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletBalanceCheckpointRepository checkpointRepository;
+    private final WalletCheckpointConfig checkpointConfig;
+    private final TransactionTemplate checkpointTransaction;
+
+    public WalletLedgerServiceImpl(AccountRepository accountRepository,
+                                   WalletTransactionRepository walletTransactionRepository,
+                                   WalletBalanceCheckpointRepository checkpointRepository,
+                                   WalletCheckpointConfig checkpointConfig,
+                                   PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.walletTransactionRepository = walletTransactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.checkpointConfig = checkpointConfig;
+        this.checkpointTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public WalletTransactionEntity credit(AccountEntity account, BigDecimal amount, String note) {
+        validateAmount(amount);
+        if (accountRepository.creditBalance(account.getId(), amount) == 0) {
+            throw new ValidationException("Không tìm thấy tài khoản");
+        }
+        return record(account, amount, note);
+    }
+
+    @Override
+    @Transactional(rollbackFor = {ActionFailedException.class, Exception.class})
+    public WalletTransactionEntity debit(AccountEntity account, BigDecimal amount, String note) {
+        validateAmount(amount);
+        if (accountRepository.debitBalance(account.getId(), amount) == 0) {
+            throw new ValidationException("Số dư không đủ");
+        }
+        return record(account, amount.negate(), note);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(String accountId) {
+        var balance = accountRepository.findBalanceById(accountId);
+        return balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    @Override
+    public int checkpoint() {
+        int batchSize = Math.max(1, checkpointConfig.getBatchSize());
+        int checkpointed = 0;
+        while (true) {
+            var accountIds = walletTransactionRepository.findAccountIdsPendingCheckpoint(batchSize);
+            int processed = 0;
+            for (String accountId : accountIds) {
+                try {
+                    checkpointTransaction.executeWithoutResult(status -> checkpointAccount(accountId));
+                    processed++;
+                } catch (Exception e) {
+                    log.error("Error during wallet checkpoint for account {}: {}", accountId, e.getMessage(), e);
+                }
+            }
+            checkpointed += processed;
+            if (accountIds.size() < batchSize || processed == 0) {
+                return checkpointed;
+            }
+        }
+    }
+
+    private void checkpointAccount(String accountId) {
+        // Holding the row lock blocks credits and debits, so the balance and the ledger describe the same moment.
+        var balance = accountRepository.lockBalanceById(accountId);
+        if (balance == null) {
+            return;
+        }
+        var latest = walletTransactionRepository.findLatestCreatedDate(accountId);
+        var checkpoint = checkpointRepository.findByAccountId(accountId)
+                .orElseGet(() -> WalletBalanceCheckpointEntity.builder().accountId(accountId).build());
+        if (checkpoint.getId() != null) {
+            var expected = checkpoint.getBalance()
+                    .add(walletTransactionRepository.sumAmountSince(accountId, checkpoint.getCheckpointDate()));
+            if (expected.compareTo(balance) != 0) {
+                log.error("Wallet balance drift for account {}: ledger {} but balance {}", accountId, expected, balance);
+            }
+        }
+        checkpoint.setBalance(balance);
+        checkpoint.setCheckpointDate(latest != null ? latest : Timestamp.valueOf(LocalDateTime.now()));
+        checkpointRepository.save(checkpoint);
+    }
+
+    private WalletTransactionEntity record(AccountEntity account, BigDecimal amount, String note) {
+        var balanceAfter = accountRepository.findBalanceById(account.getId());
+        account.setBalance(balanceAfter);
+        try {
+            return walletTransactionRepository.save(WalletTransactionEntity.builder()
+                    .account(account)
+                    .amount(amount)
+                    .balanceAfter(balanceAfter)
+                    .note(note)
+                    .build());
+        } catch (Exception e) {
+            throw new ActionFailedException("Có lỗi xảy ra khi ghi nhận giao dịch ví", e);
+        }
+    }
+
+    private void validateAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new ValidationException("Số tiền giao dịch phải lớn hơn 0");
+        }
+    }
+}
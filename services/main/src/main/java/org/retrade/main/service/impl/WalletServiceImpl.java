@@ -23,6 +23,7 @@ import org.retrade.main.repository.jpa.*;
 import org.retrade.main.repository.redis.VietQrBankRepository;
 import org.retrade.main.service.MessageProducerService;
 import org.retrade.main.service.VietQRService;
+import org.retrade.main.service.WalletLedgerService;
 import org.retrade.main.service.WalletService;
 import org.retrade.main.util.AuthUtils;
 import org.retrade.main.util.HashUtils;
@@ -41,12 +42,11 @@ import java.util.*;
 @RequiredArgsConstructor
 public class WalletServiceImpl implements WalletService {
     private final AuthUtils authUtils;
-    private final AccountRepository accountRepository;
     private final CustomerBankInfoRepository customerBankInfoRepository;
     private final TransactionRepository transactionRepository;
     private final WithdrawRepository withdrawRepository;
     private final VietQrBankRepository vietQrBankRepository;
-    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletLedgerService walletLedgerService;
     private final WithdrawConfig withdrawConfig;
     private final MessageProducerService messageProducerService;
     private final VietQRService vietQRService;
@@ -100,19 +100,9 @@ public class WalletServiceImpl implements WalletService {
             throw new ValidationException("Trạng thái yêu cầu rút tiền phải là ĐANG CHỜ");
         }
         if (request.getApproved()) {
-            if (account.getBalance().compareTo(withdraw.getAmount()) < 0) {
-                throw new ValidationException("Số dư không đủ");
-            }
+            walletLedgerService.debit(account, withdraw.getAmount(), "Yểu cầu rút tiền đã được chấp thuận");
             withdraw.setStatus(WithdrawStatusEnum.COMPLETED);
             withdraw.setProcessedDate(new Timestamp(System.currentTimeMillis()));
-            updateBalance(account.getBalance().subtract(withdraw.getAmount()), account);
-            var transaction = WalletTransactionEntity.builder()
-                    .account(account)
-                    .amount(withdraw.getAmount().negate())
-                    .note("Yểu cầu rút tiền đã được chấp thuận")
-                    .build();
-            walletTransactionRepository.save(transaction);
-
         } else {
             withdraw.setStatus(WithdrawStatusEnum.REJECTED);
             withdraw.setProcessedDate(new Timestamp(System.currentTimeMillis()));
@@ -237,15 +227,6 @@ public class WalletServiceImpl implements WalletService {
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
 
-    private void updateBalance(BigDecimal balance, AccountEntity account) {
-        account.setBalance(balance);
-        try {
-            accountRepository.save(account);
-        } catch (Exception ex) {
-            throw new ActionFailedException("Có lỗi xảy ra khi cập nhật số dư tài khoản", ex);
-        }
-    }
-
     private BankResponse wrapBankResponse(VietQrBankEntity bankEntity) {
         return BankResponse.builder()
                 .id(bankEntity.getId())
@@ -332,7 +313,7 @@ public class WalletServiceImpl implements WalletService {
     public AccountWalletResponse wrapAccountWalletResponse(AccountEntity accountEntity) {
         return AccountWalletResponse.builder()
                     .accountId(accountEntity.getId())
-                    .balance(accountEntity.getBalance())
+                    .balance(walletLedgerService.getBalance(accountEntity.getId()))
                     .build();
     }
 
@@ -340,7 +321,7 @@ public class WalletServiceImpl implements WalletService {
         LocalDate today = LocalDate.now();
         LocalDateTime startOfDay = today.atStartOfDay();
         LocalDateTime endOfDay = today.atTime(LocalTime.MAX);
-        if (request.getAmount().compareTo(account.getBalance()) > 0) {
+        if (request.getAmount().compareTo(walletLedgerService.getBalance(account.getId())) > 0) {
             throw new ValidationException("Số dư không đủ");
         }
         if (request.getAmount().compareTo(withdrawConfig.getMinWithdraw()) < 0) {
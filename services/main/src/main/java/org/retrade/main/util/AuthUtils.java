@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.retrade.main.model.dto.response.AccountRoleStatusResponse;
 import org.retrade.main.model.entity.AccountEntity;
 import org.retrade.main.repository.jpa.AccountRepository;
+import org.retrade.main.security.ResolvedPrincipal;
+import org.retrade.main.security.ResolvedPrincipalHolder;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,12 +19,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AuthUtils {
     private final AccountRepository accountRepository;
+    private final ResolvedPrincipalHolder resolvedPrincipalHolder;
     public AccountEntity getUserAccountFromAuthentication() {
         try {
             var auth = SecurityContextHolder.getContext().getAuthentication();
             if (auth == null) { throw new AuthenticationException("Authentication required") {}; }
-            String username = auth.getName();
-            return accountRepository.findByUsername(username).orElseThrow();
+            return findAccount(auth.getName()).orElseThrow();
         } catch (Exception ex) {
             throw new AuthenticationException("This user isn't authentication, please login again") {};
         }
@@ -31,18 +33,47 @@ public class AuthUtils {
         try {
             var auth = SecurityContextHolder.getContext().getAuthentication();
             if (auth == null) return Optional.empty();
-            String username = auth.getName();
-            return accountRepository.findByUsername(username);
+            return findAccount(auth.getName());
         } catch (Exception ex) {
             return Optional.empty();
         }
     }
 
+    public String getCurrentAccountId() {
+        var principal = getResolvedPrincipal();
+        if (principal.isPresent()) {
+            principal.get().countAvoidedLookup();
+            return principal.get().getAccountId();
+        }
+        return getUserAccountFromAuthentication().getId();
+    }
+
     public Set<String> getRolesFromAuthUser() {
+        var principal = getResolvedPrincipal();
+        if (principal.isPresent()) {
+            principal.get().countAvoidedLookup();
+            return new HashSet<>(principal.get().getRoles());
+        }
         var account = getUserAccountFromAuthentication();
         return new HashSet<>(convertAccountToRole(account));
     }
 
+    private Optional<ResolvedPrincipal> getResolvedPrincipal() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return Optional.empty();
+        }
+        return resolvedPrincipalHolder.current(auth.getName());
+    }
+
+    private Optional<AccountEntity> findAccount(String username) {
+        var principal = resolvedPrincipalHolder.current(username);
+        if (principal.isPresent()) {
+            return principal.get().getAccount();
+        }
+        return accountRepository.findByUsername(username);
+    }
+
     public static Collection<GrantedAuthority> convertRoleToAuthority (AccountEntity account) {
         List<GrantedAuthority> authorities = new ArrayList<>();
         account.getAccountRoles().forEach(accountRole -> {
@@ -0,0 +1,79 @@
+package org.retrade.main.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs a background rebuild of a derived table one keyset page of ids at a time, each page in its own transaction.
+ * Only one rebuild per instance runs at a time.
+ */
+@Slf4j
+public class KeysetBatchRebuilder {
+    private final String name;
+    private final int batchSize;
+    private final ThreadPoolTaskScheduler taskScheduler;
+    private final TransactionTemplate batchTransaction;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public KeysetBatchRebuilder(String name, int batchSize, ThreadPoolTaskScheduler taskScheduler,
+                                PlatformTransactionManager transactionManager) {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.taskScheduler = taskScheduler;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts {@code rebuild} on the task scheduler. Returns false when a rebuild is already running.
+     */
+    public boolean trigger(Runnable rebuild) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        taskScheduler.execute(() -> {
+            try {
+                rebuild.run();
+            } catch (Exception e) {
+                log.error("{} rebuild failed", name, e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public void backfillIf(BooleanSupplier empty, Runnable rebuild) {
+        if (empty.getAsBoolean()) {
+            log.info("{} rollups are empty, starting backfill", name);
+            trigger(rebuild);
+        }
+    }
+
+    /**
+     * Walks ids in ascending order and hands each page to {@code batchRebuilder} inside a transaction.
+     * Returns the number of ids processed.
+     */
+    public int rebuild(BiFunction<String, PageRequest, List<String>> idLoader, Consumer<List<String>> batchRebuilder) {
+        var pageRequest = PageRequest.of(0, batchSize);
+        String after = "";
+        int total = 0;
+        while (true) {
+            var ids = idLoader.apply(after, pageRequest);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            batchTransaction.executeWithoutResult(status -> batchRebuilder.accept(ids));
+            total += ids.size();
+            after = ids.getLast();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.retrade.main.util;
+
+import org.retrade.common.model.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+public class SearchAfterCursor {
+    private static final String SEPARATOR = "|";
+
+    public static String encode(List<Object> sortValues) {
+        if (sortValues == null || sortValues.isEmpty()) {
+            return null;
+        }
+        var parts = new ArrayList<String>();
+        for (Object value : sortValues) {
+            if (value instanceof Float || value instanceof Double) {
+                parts.add("d:" + ((Number) value).doubleValue());
+            } else if (value instanceof Number number) {
+                parts.add("l:" + number.longValue());
+            } else {
+                parts.add("s:" + value);
+            }
+        }
+        var raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<Object> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            List<Object> values = new ArrayList<>();
+            for (String part : raw.split("\\|")) {
+                if (part.length() < 2 || part.charAt(1) != ':') {
+                    throw new IllegalArgumentException("Malformed cursor");
+                }
+                var value = part.substring(2);
+                switch (part.charAt(0)) {
+                    case 'd' -> values.add(Double.parseDouble(value));
+                    case 'l' -> values.add(Long.parseLong(value));
+                    case 's' -> values.add(value);
+                    default -> throw new IllegalArgumentException("Malformed cursor");
+                }
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("The cursor is not valid", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.retrade.main.model.other;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryTreeTest {
+    // electronics ─┬─ phones ── smartphones
+    //              └─ laptops
+    // fashion ──── shoes
+    private final CategoryTree tree = CategoryTree.build(1, List.of(
+            node("electronics", null),
+            node("phones", "electronics"),
+            node("smartphones", "phones"),
+            node("laptops", "electronics"),
+            node("fashion", null),
+            node("shoes", "fashion")));
+
+    @Test
+    void wouldCreateLoop_ParentIsDescendant_ReturnsTrue() {
+        assertTrue(tree.wouldCreateLoop("electronics", "phones"));
+        assertTrue(tree.wouldCreateLoop("electronics", "smartphones"));
+        assertTrue(tree.wouldCreateLoop("phones", "smartphones"));
+    }
+
+    @Test
+    void wouldCreateLoop_ParentIsSelf_ReturnsTrue() {
+        assertTrue(tree.wouldCreateLoop("phones", "phones"));
+    }
+
+    @Test
+    void wouldCreateLoop_ParentIsAncestorOrSibling_ReturnsFalse() {
+        assertFalse(tree.wouldCreateLoop("smartphones", "electronics"));
+        assertFalse(tree.wouldCreateLoop("phones", "laptops"));
+        assertFalse(tree.wouldCreateLoop("laptops", "smartphones"));
+    }
+
+    @Test
+    void wouldCreateLoop_ParentInAnotherRoot_ReturnsFalse() {
+        assertFalse(tree.wouldCreateLoop("electronics", "shoes"));
+        assertFalse(tree.wouldCreateLoop("shoes", "electronics"));
+    }
+
+    @Test
+    void wouldCreateLoop_UnknownCategory_ReturnsFalse() {
+        assertFalse(tree.wouldCreateLoop("electronics", "missing"));
+        assertFalse(tree.wouldCreateLoop("missing", "electronics"));
+    }
+
+    @Test
+    void wouldCreateLoop_OrphanedParent_TreatsNodeAsRoot() {
+        // Danh mục cha đã bị xóa khỏi snapshot, nút con được xem là gốc
+        var orphaned = CategoryTree.build(1, List.of(node("a", "deleted"), node("b", "a")));
+
+        assertTrue(orphaned.wouldCreateLoop("a", "b"));
+        assertFalse(orphaned.wouldCreateLoop("b", "deleted"));
+    }
+
+    @Test
+    void isSameRoot_MixedTrees_ReturnsFalse() {
+        assertTrue(tree.isSameRoot(Set.of("smartphones", "laptops")));
+        assertFalse(tree.isSameRoot(Set.of("smartphones", "shoes")));
+    }
+
+    @Test
+    void getLineageIds_IncludesAncestorsAndDescendants() {
+        assertEquals(Set.of("electronics", "phones", "smartphones"), tree.getLineageIds(List.of("phones")));
+    }
+
+    private static CategoryTree.Node node(String id, String parentId) {
+        return new CategoryTree.Node(id, id, null, parentId, true, true, null, null);
+    }
+}
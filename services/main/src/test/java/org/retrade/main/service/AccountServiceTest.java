@@ -20,6 +20,7 @@ import org.retrade.main.model.entity.RoleEntity;
 import org.retrade.main.model.message.EmailNotificationMessage;
 import org.retrade.main.repository.jpa.AccountRepository;
 import org.retrade.main.service.impl.AccountServiceImpl;
+import org.retrade.main.service.impl.UserDetailServiceImpl;
 import org.retrade.main.util.AuthUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -50,6 +51,9 @@ class AccountServiceTest {
     @Mock
     private AuthUtils authUtils;
 
+    @Mock
+    private UserDetailServiceImpl userDetailService;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -8,11 +8,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.retrade.common.model.exception.ActionFailedException;
 import org.retrade.common.model.exception.ValidationException;
 import org.retrade.main.config.common.CartConfig;
+import org.retrade.main.model.constant.CartMutationStatusEnum;
 import org.retrade.main.model.constant.ProductConditionEnum;
 import org.retrade.main.model.constant.ProductStatusEnum;
 import org.retrade.main.model.dto.request.CartRequest;
 import org.retrade.main.model.dto.response.CartResponse;
 import org.retrade.main.model.entity.*;
+import org.retrade.main.model.other.CartMutationResult;
+import org.retrade.main.model.projection.CartProductCardProjection;
 
 
 import org.retrade.main.repository.jpa.ProductRepository;
@@ -26,6 +29,8 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -89,31 +94,21 @@ public class CartServiceTest {
 
     }
     private void mockAuth() {
-        AccountEntity account = new AccountEntity();
-        account.setId(USER_ID);
-        when(authUtils.getUserAccountFromAuthentication()).thenReturn(account);
+        when(authUtils.getCurrentAccountId()).thenReturn(USER_ID);
     }
 
     @Test
     void testAddToCart_Success() {
 
         CartRequest request = new CartRequest(PRODUCT_ID, 1);
-        CartEntity emptyCart = CartEntity.builder()
-                .customerId(USER_ID)
-                .shopItems(new HashMap<>())
-                .lastUpdated(LocalDateTime.now())
-                .build();
 
-        AccountEntity mockAccount = new AccountEntity();
-        mockAccount.setId(USER_ID);
-        when(authUtils.getUserAccountFromAuthentication()).thenReturn(mockAccount);
+        when(authUtils.getCurrentAccountId()).thenReturn(USER_ID);
 
         when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
-        when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.empty());
-        when(cartConfig.getMaxItemsPerCart()).thenReturn(10);
-        when(cartRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
-        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        when(cartConfig.getMaxQuantityPerItem()).thenReturn(99);
+        when(cartRepository.addItem(USER_ID, SHOP_ID, PRODUCT_ID, 1, 10))
+                .thenReturn(new CartMutationResult(CartMutationStatusEnum.OK, 1, cartWithItem(1)));
+        when(productRepository.findCartCardsByIdIn(any())).thenReturn(List.of(card(product)));
 
         CartResponse response = cartService.addToCart(request);
 
@@ -129,31 +124,13 @@ public class CartServiceTest {
 
         CartRequest request = new CartRequest(PRODUCT_ID, 5);
 
-        CartItemEntity item = CartItemEntity.builder()
-                .productId(PRODUCT_ID)
-                .quantity(1)
-                .addedAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        Set<CartItemEntity> items = new HashSet<>(Set.of(item));
-        Map<String, Set<CartItemEntity>> shopItems = new HashMap<>();
-        shopItems.put(SHOP_ID, items);
-
-        CartEntity cart = CartEntity.builder()
-                .customerId(USER_ID)
-                .shopItems(shopItems)
-                .lastUpdated(LocalDateTime.now())
-                .build();
-
-        AccountEntity mockAccount = new AccountEntity();
-        mockAccount.setId(USER_ID);
-        when(authUtils.getUserAccountFromAuthentication()).thenReturn(mockAccount);
+        when(authUtils.getCurrentAccountId()).thenReturn(USER_ID);
 
-        when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.of(cart));
-        when(cartRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
-        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(cartConfig.getMaxQuantityPerItem()).thenReturn(99);
+        when(cartRepository.updateItem(USER_ID, PRODUCT_ID, 5, 10))
+                .thenReturn(new CartMutationResult(CartMutationStatusEnum.OK, 5, cartWithItem(5)));
+        when(productRepository.findCartCardsByIdIn(any())).thenReturn(List.of(card(product)));
 
 
         CartResponse response = cartService.updateCartItem(request);
@@ -165,32 +142,10 @@ public class CartServiceTest {
     @Test
     void testRemoveFromCart_Success() {
 
-        CartItemEntity item = CartItemEntity.builder()
-                .productId(PRODUCT_ID)
-                .quantity(2)
-                .addedAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
+        when(authUtils.getCurrentAccountId()).thenReturn(USER_ID);
 
-        Set<CartItemEntity> items = new HashSet<>(Set.of(item));
-        Map<String, Set<CartItemEntity>> shopItems = new HashMap<>();
-        shopItems.put(SHOP_ID, items);
-
-        CartEntity cart = CartEntity.builder()
-                .customerId(USER_ID)
-                .shopItems(shopItems)
-                .lastUpdated(LocalDateTime.now())
-                .build();
-
-
-        AccountEntity mockAccount = new AccountEntity();
-        mockAccount.setId(USER_ID);
-        when(authUtils.getUserAccountFromAuthentication()).thenReturn(mockAccount);
-
-        when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.of(cart));
-        when(cartRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        //when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
-        //when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        when(cartRepository.removeItem(USER_ID, PRODUCT_ID))
+                .thenReturn(new CartMutationResult(CartMutationStatusEnum.OK, 0, emptyCart()));
 
 
         CartResponse response = cartService.removeFromCart(PRODUCT_ID);
@@ -202,13 +157,8 @@ public class CartServiceTest {
     @Test
     void testRemoveFromCart_ItemNotFound() {
         mockAuth();
-        CartEntity cart = CartEntity.builder()
-                .customerId(USER_ID)
-                .shopItems(new HashMap<>())
-                .lastUpdated(LocalDateTime.now())
-                .build();
-
-        when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.of(cart));
+        when(cartRepository.removeItem(USER_ID, "invalid_id"))
+                .thenReturn(new CartMutationResult(CartMutationStatusEnum.NOT_FOUND, 0, emptyCart()));
 
         assertThrows(ValidationException.class, () -> cartService.removeFromCart("invalid_id"));
     }
@@ -256,33 +206,18 @@ public class CartServiceTest {
         mockAuth();
         CartRequest request = new CartRequest(PRODUCT_ID, 2);
 
-        CartItemEntity existingItem = CartItemEntity.builder()
-                .productId(PRODUCT_ID)
-                .quantity(3)
-                .addedAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        Map<String, Set<CartItemEntity>> shopItems = new HashMap<>();
-        shopItems.put(SHOP_ID, new HashSet<>(Set.of(existingItem)));
-
-        CartEntity existingCart = CartEntity.builder()
-                .customerId(USER_ID)
-                .shopItems(shopItems)
-                .lastUpdated(LocalDateTime.now())
-                .build();
-
         when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
-        when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.of(existingCart));
-        when(cartConfig.getMaxItemsPerCart()).thenReturn(10);
-        when(cartRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
-        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        when(cartConfig.getMaxQuantityPerItem()).thenReturn(99);
+        when(cartRepository.addItem(USER_ID, SHOP_ID, PRODUCT_ID, 2, 10))
+                .thenReturn(new CartMutationResult(CartMutationStatusEnum.OK, 5, cartWithItem(5)));
+        when(productRepository.findCartCardsByIdIn(any())).thenReturn(List.of(card(product)));
 
         CartResponse response = cartService.addToCart(request);
 
         int quantity = response.getCartGroupResponses().get(0).getItems().iterator().next().getQuantity();
         assertEquals(5, quantity);
+        // Số lượng được cộng dồn trong Redis, dịch vụ chỉ gửi phần chênh lệch
+        verify(cartRepository).addItem(USER_ID, SHOP_ID, PRODUCT_ID, 2, 10);
     }
 
     @Test
@@ -307,12 +242,56 @@ public class CartServiceTest {
 
         when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.of(cart));
         when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
-        when(productRepository.findAllById(any())).thenReturn(Collections.emptyList());
+        when(productRepository.findCartCardsByIdIn(any())).thenReturn(Collections.emptyList());
 
         CartResponse response = cartService.getCart();
         assertFalse(response.getCartGroupResponses().get(0).getItems().iterator().next().getProductAvailable());
     }
 
+    @Test
+    void testGetCart_MultipleShops_HydratesWithSingleQueryInAddedOrder() {
+        mockAuth();
+        LocalDateTime now = LocalDateTime.now();
+        SellerEntity otherSeller = SellerEntity.builder().shopName("Other Shop").avatarUrl("other.jpg").build();
+        otherSeller.setId("shop000");
+        ProductEntity otherProduct = ProductEntity.builder()
+                .name("Other Product")
+                .seller(otherSeller)
+                .quantity(0)
+                .currentPrice(BigDecimal.TEN)
+                .status(ProductStatusEnum.ACTIVE)
+                .build();
+        otherProduct.setId("prod000");
+
+        Map<String, Set<CartItemEntity>> shopItems = new HashMap<>();
+        shopItems.put(SHOP_ID, new HashSet<>(Set.of(
+                CartItemEntity.builder().productId(PRODUCT_ID).quantity(1).addedAt(now.minusMinutes(1)).build())));
+        shopItems.put("shop000", new HashSet<>(Set.of(
+                CartItemEntity.builder().productId("prod000").quantity(2).addedAt(now.minusMinutes(5)).build())));
+        CartEntity cart = CartEntity.builder()
+                .customerId(USER_ID)
+                .shopItems(shopItems)
+                .lastUpdated(now)
+                .build();
+
+        when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.of(cart));
+        when(productRepository.findCartCardsByIdIn(Set.of(PRODUCT_ID, "prod000")))
+                .thenReturn(List.of(card(product), card(otherProduct)));
+
+        CartResponse response = cartService.getCart();
+
+        var groups = response.getCartGroupResponses();
+        assertEquals(List.of("shop000", SHOP_ID), groups.stream().map(group -> group.getSellerId()).toList());
+        assertEquals("Other Shop", groups.get(0).getSellerName());
+        assertFalse(groups.get(0).getItems().iterator().next().getProductAvailable());
+        var item = groups.get(1).getItems().iterator().next();
+        assertEquals("Short desc", item.getDescription());
+        assertEquals("TestBrand", item.getProductBrand());
+        assertTrue(item.getProductAvailable());
+        verify(productRepository, times(1)).findCartCardsByIdIn(any());
+        verify(sellerRepository, never()).findAllById(any());
+    }
+
     @Test
     void testClearCart_WhenCartNotExists_ShouldStillSucceed() {
         mockAuth();
@@ -326,11 +305,93 @@ public class CartServiceTest {
         CartRequest request = new CartRequest(PRODUCT_ID, 1);
 
         when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
-        when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.empty());
-        when(cartConfig.getMaxItemsPerCart()).thenReturn(10);
-        when(cartRepository.save(any())).thenThrow(new RuntimeException("DB Error"));
+        when(cartConfig.getMaxQuantityPerItem()).thenReturn(99);
+        when(cartRepository.addItem(anyString(), anyString(), anyString(), anyInt(), anyInt()))
+                .thenThrow(new RuntimeException("DB Error"));
 
         assertThrows(ActionFailedException.class, () -> cartService.addToCart(request));
     }
 
+    @Test
+    void testAddToCart_ExceedsStock_ShouldThrowValidationException() {
+        mockAuth();
+        CartRequest request = new CartRequest(PRODUCT_ID, 11);
+
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(cartConfig.getMaxQuantityPerItem()).thenReturn(99);
+        when(cartRepository.addItem(USER_ID, SHOP_ID, PRODUCT_ID, 11, 10))
+                .thenReturn(new CartMutationResult(CartMutationStatusEnum.QUANTITY_EXCEEDED, 0, emptyCart()));
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> cartService.addToCart(request));
+        assertTrue(ex.getMessage().contains("10"));
+    }
+
+    @Test
+    void testAddToCart_LimitCappedByMaxQuantityPerItem() {
+        mockAuth();
+        CartRequest request = new CartRequest(PRODUCT_ID, 1);
+
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(cartConfig.getMaxQuantityPerItem()).thenReturn(3);
+        when(cartRepository.addItem(USER_ID, SHOP_ID, PRODUCT_ID, 1, 3))
+                .thenReturn(new CartMutationResult(CartMutationStatusEnum.QUANTITY_EXCEEDED, 3, cartWithItem(3)));
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> cartService.addToCart(request));
+        assertTrue(ex.getMessage().contains("3"));
+    }
+
+    @Test
+    void testAddToCart_CartFull_ShouldThrowValidationException() {
+        mockAuth();
+        CartRequest request = new CartRequest(PRODUCT_ID, 1);
+
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(cartConfig.getMaxQuantityPerItem()).thenReturn(99);
+        when(cartConfig.getMaxItemsPerCart()).thenReturn(10);
+        when(cartRepository.addItem(USER_ID, SHOP_ID, PRODUCT_ID, 1, 10))
+                .thenReturn(new CartMutationResult(CartMutationStatusEnum.CART_FULL, 0, emptyCart()));
+
+        assertThrows(ValidationException.class, () -> cartService.addToCart(request));
+    }
+
+    private CartEntity cartWithItem(int quantity) {
+        CartItemEntity item = CartItemEntity.builder()
+                .productId(PRODUCT_ID)
+                .quantity(quantity)
+                .addedAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        Map<String, Set<CartItemEntity>> shopItems = new HashMap<>();
+        shopItems.put(SHOP_ID, new HashSet<>(Set.of(item)));
+        return CartEntity.builder()
+                .customerId(USER_ID)
+                .shopItems(shopItems)
+                .lastUpdated(LocalDateTime.now())
+                .build();
+    }
+
+    private CartEntity emptyCart() {
+        return CartEntity.builder()
+                .customerId(USER_ID)
+                .shopItems(new HashMap<>())
+                .lastUpdated(LocalDateTime.now())
+                .build();
+    }
+
+
+    private CartProductCardProjection card(ProductEntity source) {
+        return new CartProductCardProjection() {
+            @Override public String getId() { return source.getId(); }
+            @Override public String getName() { return source.getName(); }
+            @Override public String getThumbnail() { return source.getThumbnail(); }
+            @Override public String getShortDescription() { return source.getShortDescription(); }
+            @Override public String getBrandName() { return source.getBrand() != null ? source.getBrand().getName() : null; }
+            @Override public BigDecimal getCurrentPrice() { return source.getCurrentPrice(); }
+            @Override public Integer getQuantity() { return source.getQuantity(); }
+            @Override public ProductStatusEnum getStatus() { return source.getStatus(); }
+            @Override public String getSellerId() { return source.getSeller().getId(); }
+            @Override public String getSellerName() { return source.getSeller().getShopName(); }
+            @Override public String getSellerAvatarUrl() { return source.getSeller().getAvatarUrl(); }
+        };
+    }
 }
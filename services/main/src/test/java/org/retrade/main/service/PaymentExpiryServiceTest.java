@@ -0,0 +1,191 @@
+package org.retrade.main.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.retrade.main.config.common.PaymentExpiryConfig;
+import org.retrade.main.model.constant.OrderStatusCodes;
+import org.retrade.main.model.constant.PaymentStatusEnum;
+import org.retrade.main.model.entity.OrderComboEntity;
+import org.retrade.main.model.entity.OrderStatusEntity;
+import org.retrade.main.repository.jpa.*;
+import org.retrade.main.service.impl.PaymentExpiryServiceImpl;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentExpiryServiceTest {
+    private static final String DEADLINE_KEY = "payment:expiry:deadlines";
+    private static final String LEASE_KEY = "payment:expiry:lease";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private PaymentHistoryRepository paymentHistoryRepository;
+    @Mock
+    private OrderComboRepository orderComboRepository;
+    @Mock
+    private OrderStatusRepository orderStatusRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private SellerMetricService sellerMetricService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentExpiryServiceImpl paymentExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        var config = new PaymentExpiryConfig();
+        config.setBatchSize(10);
+        config.setLeaseTtl(Duration.ofMinutes(2));
+        paymentExpiryService = new PaymentExpiryServiceImpl(redisTemplate, paymentHistoryRepository, orderComboRepository,
+                orderStatusRepository, orderItemRepository, productRepository, sellerMetricService, config,
+                transactionManager, new SimpleMeterRegistry());
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    void sweep_LeaseHeldByAnotherInstance_DoesNothing() {
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertEquals(0, paymentExpiryService.sweep());
+
+        verifyNoInteractions(zSetOperations, paymentHistoryRepository, productRepository);
+    }
+
+    @Test
+    void sweep_ExpiresPendingCombosAndReleasesStockInOneUpdate() {
+        var due = dueOrders("o1", "o2");
+        var combo = pendingCombo("c1");
+        var cancelledStatus = status(OrderStatusCodes.CANCELLED);
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.PAID)).thenReturn(List.of("o2"));
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.CANCELED)).thenReturn(List.of());
+        when(orderComboRepository.lockByOrderIdsAndStatusCode(List.of("o1"), OrderStatusCodes.PENDING)).thenReturn(List.of(combo));
+        when(orderStatusRepository.findByCode(OrderStatusCodes.CANCELLED)).thenReturn(Optional.of(cancelledStatus));
+        when(orderItemRepository.sumQuantityByOrderComboIds(List.of("c1"))).thenReturn(3L);
+
+        assertEquals(1, paymentExpiryService.sweep());
+
+        // Thanh toán còn mở bị đóng trước để callback đến muộn không thể giành trạng thái CREATED
+        verify(paymentHistoryRepository).transitionStatusByOrderIds(due, PaymentStatusEnum.CREATED, PaymentStatusEnum.EXPIRED);
+        assertEquals(OrderStatusCodes.CANCELLED, combo.getOrderStatus().getCode());
+        verify(sellerMetricService).recordStatusChange(combo, OrderStatusCodes.PENDING);
+        verify(productRepository, times(1)).releaseStockForOrderCombos(List.of("c1"));
+        verify(zSetOperations).remove(DEADLINE_KEY, due.toArray());
+    }
+
+    @Test
+    void sweep_PaidOrders_KeepTheirStock() {
+        var due = dueOrders("o1");
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.PAID)).thenReturn(List.of("o1"));
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.CANCELED)).thenReturn(List.of());
+
+        assertEquals(0, paymentExpiryService.sweep());
+
+        verify(orderComboRepository, never()).lockByOrderIdsAndStatusCode(any(), anyString());
+        verify(productRepository, never()).releaseStockForOrderCombos(any());
+        verify(zSetOperations).remove(DEADLINE_KEY, due.toArray());
+    }
+
+    @Test
+    void sweep_CancelledPayment_DoesNotReleaseStockTwice() {
+        var due = dueOrders("o1");
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.PAID)).thenReturn(List.of());
+        // Callback hủy thanh toán đã hoàn lại tồn kho cho đơn này
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.CANCELED)).thenReturn(List.of("o1"));
+
+        assertEquals(0, paymentExpiryService.sweep());
+
+        verify(orderComboRepository, never()).lockByOrderIdsAndStatusCode(any(), anyString());
+        verify(productRepository, never()).releaseStockForOrderCombos(any());
+    }
+
+    @Test
+    void sweep_CombosNoLongerPending_ReleasesNothing() {
+        var due = dueOrders("o1");
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.PAID)).thenReturn(List.of());
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.CANCELED)).thenReturn(List.of());
+        when(orderComboRepository.lockByOrderIdsAndStatusCode(List.of("o1"), OrderStatusCodes.PENDING)).thenReturn(List.of());
+
+        assertEquals(0, paymentExpiryService.sweep());
+
+        verifyNoInteractions(sellerMetricService);
+        verify(productRepository, never()).releaseStockForOrderCombos(any());
+    }
+
+    @Test
+    void sweep_ReleasesOnlyItsOwnLeaseInOneScript() {
+        dueOrders();
+
+        paymentExpiryService.sweep();
+
+        var token = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).setIfAbsent(eq(LEASE_KEY), token.capture(), any(Duration.class));
+        // So sánh token và xóa trong cùng một script, không thể xóa lease vừa được instance khác giành
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), eq(token.getValue()));
+        verify(redisTemplate, never()).delete(anyString());
+        verify(valueOperations, never()).get(LEASE_KEY);
+    }
+
+    @Test
+    void sweep_LeaseLostBetweenBatches_StopsSweeping() {
+        var due = dueOrders(IntStream.range(0, 10).mapToObj(i -> "o" + i).toArray(String[]::new));
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.PAID)).thenReturn(List.copyOf(due));
+        when(paymentHistoryRepository.findOrderIdsByPaymentStatus(due, PaymentStatusEnum.CANCELED)).thenReturn(List.of());
+        // Script gia hạn trả về 0 khi lease không còn thuộc về instance này
+        lenient().when(redisTemplate.execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), anyString(), eq("120000")))
+                .thenReturn(0L);
+
+        paymentExpiryService.sweep();
+
+        verify(zSetOperations, times(1)).rangeByScore(eq(DEADLINE_KEY), eq(0.0), anyDouble(), eq(0L), eq(10L));
+        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+    }
+
+    private Set<String> dueOrders(String... orderIds) {
+        Set<String> due = new LinkedHashSet<>(List.of(orderIds));
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(zSetOperations.rangeByScore(eq(DEADLINE_KEY), eq(0.0), anyDouble(), eq(0L), eq(10L))).thenReturn(due);
+        return due;
+    }
+
+    private OrderComboEntity pendingCombo(String id) {
+        var combo = new OrderComboEntity();
+        combo.setId(id);
+        combo.setOrderStatus(status(OrderStatusCodes.PENDING));
+        return combo;
+    }
+
+    private OrderStatusEntity status(String code) {
+        var status = new OrderStatusEntity();
+        status.setCode(code);
+        return status;
+    }
+}
@@ -0,0 +1,208 @@
+package org.retrade.main.service;
+
+import org.junit.jupiter.api.Test;
+import org.retrade.common.model.exception.ValidationException;
+import org.retrade.main.model.constant.IdentityVerifiedStatusEnum;
+import org.retrade.main.model.constant.ProductConditionEnum;
+import org.retrade.main.model.constant.ProductStatusEnum;
+import org.retrade.main.model.entity.AccountEntity;
+import org.retrade.main.model.entity.BrandEntity;
+import org.retrade.main.model.entity.ProductEntity;
+import org.retrade.main.model.entity.SellerEntity;
+import org.retrade.main.repository.jpa.AccountRepository;
+import org.retrade.main.repository.jpa.BrandRepository;
+import org.retrade.main.repository.jpa.ProductRepository;
+import org.retrade.main.repository.jpa.SellerRepository;
+import org.retrade.main.service.impl.ProductStockServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ProductStockServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockConcurrencyTest {
+    private static final int BUYERS = 200;
+    private static final int THREADS = 32;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ProductStockService productStockService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private SellerRepository sellerRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reserve_ConcurrentBuyers_SellExactlyTheAvailableStock() throws Exception {
+        var productId = product(50).getId();
+        var succeeded = new AtomicInteger();
+        var rejected = new AtomicInteger();
+        var oversold = new AtomicBoolean();
+
+        runConcurrently(BUYERS, buyer -> {
+            try {
+                productStockService.reserve(Map.of(productId, 1));
+                succeeded.incrementAndGet();
+            } catch (ValidationException e) {
+                rejected.incrementAndGet();
+            }
+            if (quantityOf(productId) < 0) {
+                oversold.set(true);
+            }
+        });
+
+        assertEquals(50, succeeded.get());
+        assertEquals(BUYERS - 50, rejected.get());
+        assertFalse(oversold.get());
+        assertEquals(0, quantityOf(productId));
+    }
+
+    @Test
+    void reserve_MultiUnitRequests_LeaveTheRemainderUnsold() throws Exception {
+        var productId = product(50).getId();
+        var succeeded = new AtomicInteger();
+
+        runConcurrently(BUYERS, buyer -> {
+            try {
+                productStockService.reserve(Map.of(productId, 3));
+                succeeded.incrementAndGet();
+            } catch (ValidationException ignored) {
+                // Hết hàng cho yêu cầu 3 sản phẩm, tồn kho không bị trừ
+            }
+        });
+
+        assertEquals(16, succeeded.get());
+        assertEquals(2, quantityOf(productId));
+    }
+
+    @Test
+    void reserve_BasketsInOppositeOrder_DoNotDeadlockOrOversell() throws Exception {
+        var first = product(100).getId();
+        var second = product(100).getId();
+        var succeeded = new AtomicInteger();
+
+        runConcurrently(BUYERS, buyer -> {
+            // Một nửa giỏ hàng đưa sản phẩm theo thứ tự ngược lại, dịch vụ vẫn khóa theo thứ tự id
+            Map<String, Integer> basket = new LinkedHashMap<>();
+            basket.put(buyer % 2 == 0 ? first : second, 1);
+            basket.put(buyer % 2 == 0 ? second : first, 1);
+            try {
+                productStockService.reserve(basket);
+                succeeded.incrementAndGet();
+            } catch (ValidationException ignored) {
+                // Hết hàng, giao dịch hoàn tác toàn bộ giỏ hàng
+            }
+        });
+
+        assertEquals(100, succeeded.get());
+        assertEquals(0, quantityOf(first));
+        assertEquals(0, quantityOf(second));
+    }
+
+    private void runConcurrently(int tasks, Buyer buyer) throws Exception {
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                Callable<Void> task = () -> {
+                    start.await();
+                    buyer.buy(index);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private int quantityOf(String productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM main.products WHERE id = ?", Integer.class, productId);
+    }
+
+    private ProductEntity product(int quantity) {
+        var suffix = UUID.randomUUID().toString().substring(0, 8);
+        var account = accountRepository.save(AccountEntity.builder()
+                .username("seller-" + suffix)
+                .email("seller-" + suffix + "@retrade.test")
+                .hashPassword("hash")
+                .secret(UUID.randomUUID().toString())
+                .enabled(true)
+                .joinInDate(LocalDateTime.now())
+                .balance(BigDecimal.ZERO)
+                .build());
+        var seller = sellerRepository.save(SellerEntity.builder()
+                .shopName("Shop " + suffix)
+                .addressLine("1 Le Loi")
+                .district("Quan 1")
+                .ward("Ben Nghe")
+                .state("Ho Chi Minh")
+                .email("shop-" + suffix + "@retrade.test")
+                .phoneNumber("0900000000")
+                .identityNumber(suffix)
+                .verified(true)
+                .identityVerified(IdentityVerifiedStatusEnum.VERIFIED)
+                .account(account)
+                .build());
+        var brand = brandRepository.save(BrandEntity.builder().name("Brand " + suffix).enabled(true).build());
+        return productRepository.save(ProductEntity.builder()
+                .name("Product " + suffix)
+                .seller(seller)
+                .brand(brand)
+                .shortDescription("short")
+                .description("description")
+                .avgVote(0.0)
+                .quantity(quantity)
+                .condition(ProductConditionEnum.NEW)
+                .model("model")
+                .currentPrice(new BigDecimal("100000"))
+                .verified(true)
+                .status(ProductStatusEnum.ACTIVE)
+                .build());
+    }
+
+    @FunctionalInterface
+    private interface Buyer {
+        void buy(int index) throws Exception;
+    }
+}
@@ -0,0 +1,99 @@
+package org.retrade.main.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.retrade.common.model.exception.ValidationException;
+import org.retrade.main.repository.jpa.ProductRepository;
+import org.retrade.main.service.impl.ProductStockServiceImpl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductStockServiceImpl productStockService;
+
+    @Test
+    void reserve_RowUpdated_Succeeds() {
+        when(productRepository.reserveStock("p1", 2)).thenReturn(1);
+
+        assertDoesNotThrow(() -> productStockService.reserve(Map.of("p1", 2)));
+
+        verify(productRepository).reserveStock("p1", 2);
+    }
+
+    @Test
+    void reserve_NoRowUpdated_ThrowsValidationException() {
+        // Câu lệnh UPDATE có điều kiện quantity >= :quantity không cập nhật dòng nào khi thiếu hàng
+        when(productRepository.reserveStock("p1", 2)).thenReturn(0);
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> productStockService.reserve(Map.of("p1", 2)));
+
+        assertTrue(ex.getMessage().contains("p1"));
+    }
+
+    @Test
+    void reserve_StopsAtFirstShortProduct() {
+        when(productRepository.reserveStock("a", 1)).thenReturn(1);
+        when(productRepository.reserveStock("b", 1)).thenReturn(0);
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("c", 1);
+        quantities.put("b", 1);
+        quantities.put("a", 1);
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> productStockService.reserve(quantities));
+
+        assertTrue(ex.getMessage().contains("b"));
+        // Sản phẩm sau sản phẩm thiếu hàng không bị trừ, giao dịch sẽ hoàn tác phần đã trừ
+        verify(productRepository, never()).reserveStock(eq("c"), anyInt());
+    }
+
+    @Test
+    void reserve_NonPositiveQuantity_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> productStockService.reserve(Map.of("p1", 0)));
+        verify(productRepository, never()).reserveStock(anyString(), anyInt());
+    }
+
+    @Test
+    void reserve_LocksRowsInAscendingIdOrder() {
+        when(productRepository.reserveStock(anyString(), anyInt())).thenReturn(1);
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("c", 1);
+        quantities.put("a", 1);
+        quantities.put("b", 1);
+
+        productStockService.reserve(quantities);
+
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).reserveStock("a", 1);
+        inOrder.verify(productRepository).reserveStock("b", 1);
+        inOrder.verify(productRepository).reserveStock("c", 1);
+    }
+
+    @Test
+    void release_SkipsEmptyQuantities() {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("p1", 3);
+        quantities.put("p2", 0);
+
+        productStockService.release(quantities);
+
+        verify(productRepository).releaseStock("p1", 3);
+        verify(productRepository, never()).releaseStock(eq("p2"), anyInt());
+    }
+}
@@ -0,0 +1,151 @@
+package org.retrade.main.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.retrade.main.model.constant.OrderStatusCodes;
+import org.retrade.main.model.entity.*;
+import org.retrade.main.repository.jpa.OrderComboRepository;
+import org.retrade.main.repository.jpa.SellerMetricDailyRepository;
+import org.retrade.main.repository.jpa.SellerRepository;
+import org.retrade.main.repository.jpa.SellerRevenueRepository;
+import org.retrade.main.service.impl.SellerMetricServiceImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SellerMetricServiceTest {
+    @Mock
+    private SellerMetricDailyRepository sellerMetricDailyRepository;
+    @Mock
+    private SellerRepository sellerRepository;
+    @Mock
+    private OrderComboRepository orderComboRepository;
+    @Mock
+    private SellerRevenueRepository sellerRevenueRepository;
+    @Mock
+    private PlatformStatsService platformStatsService;
+    @Mock
+    private ThreadPoolTaskScheduler taskScheduler;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SellerMetricServiceImpl sellerMetricService;
+
+    private static final LocalDate ORDER_DATE = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void recordStatusChange_Completed_AddsRecordedRevenueAndItemsToOrderDay() {
+        when(sellerRevenueRepository.sumSellerRevenueByOrderComboId("combo-1")).thenReturn(new BigDecimal("190000.00"));
+
+        sellerMetricService.recordStatusChange(orderCombo(OrderStatusCodes.COMPLETED), OrderStatusCodes.RETRIEVED);
+
+        // Doanh thu ròng lấy từ bản ghi doanh thu đã lưu khi hoàn tất, số lượng sản phẩm là tổng của các dòng đơn hàng
+        InOrder inOrder = inOrder(sellerMetricDailyRepository);
+        inOrder.verify(sellerMetricDailyRepository).lockSellers(List.of("seller-1"));
+        inOrder.verify(sellerMetricDailyRepository).applyDelta("seller-1", ORDER_DATE, 1,
+                new BigDecimal("200000"), new BigDecimal("190000.00"), 0, 5);
+    }
+
+    @Test
+    void recordStatusChange_CancelledAfterCompleted_ReversesTheRevenueRecordedAtCompletion() {
+        // Phí sàn đã thu là 5%, biểu phí hiện tại không ảnh hưởng đến phần trừ lại
+        when(sellerRevenueRepository.sumSellerRevenueByOrderComboId("combo-1")).thenReturn(new BigDecimal("190000.00"));
+
+        sellerMetricService.recordStatusChange(orderCombo(OrderStatusCodes.CANCELLED), OrderStatusCodes.COMPLETED);
+
+        verify(sellerMetricDailyRepository).applyDelta("seller-1", ORDER_DATE, -1,
+                new BigDecimal("-200000"), new BigDecimal("-190000.00"), 1, -5);
+    }
+
+    @Test
+    void recordStatusChange_NoRevenueRecord_FallsBackToGrandPrice() {
+        // Giống câu lệnh dựng lại: không có bản ghi doanh thu thì doanh thu ròng bằng tổng tiền đơn hàng
+        when(sellerRevenueRepository.sumSellerRevenueByOrderComboId("combo-1")).thenReturn(null);
+
+        sellerMetricService.recordStatusChange(orderCombo(OrderStatusCodes.CANCELLED), OrderStatusCodes.COMPLETED);
+
+        verify(sellerMetricDailyRepository).applyDelta("seller-1", ORDER_DATE, -1,
+                new BigDecimal("-200000"), new BigDecimal("-200000"), 1, -5);
+    }
+
+    @Test
+    void recordStatusChange_Cancelled_OnlyCountsCancellation() {
+        sellerMetricService.recordStatusChange(orderCombo(OrderStatusCodes.CANCELLED), OrderStatusCodes.PENDING);
+
+        // Đơn chưa hoàn thành không có doanh thu nên không cần tra cứu bản ghi doanh thu
+        verify(sellerMetricDailyRepository).applyDelta("seller-1", ORDER_DATE, 0,
+                BigDecimal.ZERO, BigDecimal.ZERO, 1, 0);
+        verifyNoInteractions(sellerRevenueRepository);
+    }
+
+    @Test
+    void recordStatusChange_IntermediateStatus_DoesNothing() {
+        sellerMetricService.recordStatusChange(orderCombo(OrderStatusCodes.DELIVERING), OrderStatusCodes.PREPARING);
+
+        verifyNoInteractions(sellerMetricDailyRepository);
+    }
+
+    @Test
+    void triggerRebuild_LocksEachSellerBatchBeforeReplacingRollups() {
+        // Chạy tác vụ nền ngay trên luồng kiểm thử
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskScheduler).execute(any(Runnable.class));
+        when(sellerRepository.findIdsAfter(eq(""), any())).thenReturn(List.of("seller-1", "seller-2"));
+        when(sellerRepository.findIdsAfter(eq("seller-2"), any())).thenReturn(List.of());
+
+        assertTrue(sellerMetricService.triggerRebuild());
+
+        InOrder inOrder = inOrder(sellerMetricDailyRepository);
+        inOrder.verify(sellerMetricDailyRepository).lockSellers(List.of("seller-1", "seller-2"));
+        inOrder.verify(sellerMetricDailyRepository).deleteBySellers(List.of("seller-1", "seller-2"));
+        inOrder.verify(sellerMetricDailyRepository).rebuildSellers(List.of("seller-1", "seller-2"));
+    }
+
+    @Test
+    void triggerRebuild_AlreadyRunning_ReturnsFalse() {
+        // Giữ tác vụ đầu tiên chưa chạy để mô phỏng một lần dựng lại đang diễn ra
+        assertTrue(sellerMetricService.triggerRebuild());
+
+        assertFalse(sellerMetricService.triggerRebuild());
+        verify(taskScheduler, times(1)).execute(any(Runnable.class));
+    }
+
+    private OrderComboEntity orderCombo(String statusCode) {
+        var seller = new SellerEntity();
+        seller.setId("seller-1");
+        var status = new OrderStatusEntity();
+        status.setCode(statusCode);
+        var first = new OrderItemEntity();
+        first.setQuantity(2);
+        var second = new OrderItemEntity();
+        second.setQuantity(3);
+        var combo = new OrderComboEntity();
+        combo.setId("combo-1");
+        combo.setSeller(seller);
+        combo.setOrderStatus(status);
+        combo.setGrandPrice(new BigDecimal("200000"));
+        combo.setOrderItems(Set.of(first, second));
+        combo.setCreatedDate(Timestamp.valueOf(LocalDateTime.of(ORDER_DATE, LocalTime.of(10, 30))));
+        return combo;
+    }
+}
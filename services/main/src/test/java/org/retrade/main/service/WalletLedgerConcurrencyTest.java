@@ -0,0 +1,143 @@
+package org.retrade.main.service;
+
+import org.junit.jupiter.api.Test;
+import org.retrade.main.config.common.WalletCheckpointConfig;
+import org.retrade.main.model.entity.AccountEntity;
+import org.retrade.main.repository.jpa.AccountRepository;
+import org.retrade.main.service.impl.WalletLedgerServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({WalletLedgerServiceImpl.class, WalletCheckpointConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WalletLedgerConcurrencyTest {
+    private static final int OPERATIONS = 100;
+    private static final int THREADS = 32;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private WalletLedgerService walletLedgerService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void credit_ParallelCompletionsForOneSeller_LoseNoUpdates() throws Exception {
+        var accountId = account().getId();
+
+        runConcurrently(OPERATIONS, index ->
+                walletLedgerService.credit(load(accountId), new BigDecimal("100"), "Hoàn tất đơn hàng " + index));
+
+        assertEquals(0, new BigDecimal("10000").compareTo(balanceOf(accountId)));
+        assertEquals(0, balanceOf(accountId).compareTo(ledgerSumOf(accountId)));
+        assertEquals(OPERATIONS, ledgerCountOf(accountId));
+        // Mỗi lần cộng thấy một số dư riêng, không có hai giao dịch cùng đọc một giá trị cũ
+        var balancesAfter = jdbcTemplate.queryForList(
+                "SELECT balance_after FROM main.wallet_transactions WHERE account_id = ?", BigDecimal.class, accountId);
+        assertEquals(OPERATIONS, new HashSet<>(balancesAfter.stream().map(BigDecimal::stripTrailingZeros).toList()).size());
+    }
+
+    @Test
+    void creditAndDebit_InterleavedOnOneAccount_BalanceMatchesLedger() throws Exception {
+        var accountId = account().getId();
+        walletLedgerService.credit(load(accountId), new BigDecimal("10000"), "Số dư ban đầu");
+
+        runConcurrently(OPERATIONS * 2, index -> {
+            if (index % 2 == 0) {
+                walletLedgerService.credit(load(accountId), new BigDecimal("100"), "Hoàn tất đơn hàng " + index);
+            } else {
+                walletLedgerService.debit(load(accountId), new BigDecimal("40"), "Rút tiền " + index);
+            }
+        });
+
+        assertEquals(0, new BigDecimal("16000").compareTo(balanceOf(accountId)));
+        assertEquals(0, balanceOf(accountId).compareTo(ledgerSumOf(accountId)));
+        assertEquals(OPERATIONS * 2 + 1, ledgerCountOf(accountId));
+    }
+
+    private void runConcurrently(int tasks, Operation operation) throws Exception {
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                Callable<Void> task = () -> {
+                    start.await();
+                    operation.run(index);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private AccountEntity load(String accountId) {
+        return accountRepository.findById(accountId).orElseThrow();
+    }
+
+    private BigDecimal balanceOf(String accountId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM main.accounts WHERE id = ?", BigDecimal.class, accountId);
+    }
+
+    private BigDecimal ledgerSumOf(String accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM main.wallet_transactions WHERE account_id = ?", BigDecimal.class, accountId);
+    }
+
+    private int ledgerCountOf(String accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM main.wallet_transactions WHERE account_id = ?", Integer.class, accountId);
+    }
+
+    private AccountEntity account() {
+        var suffix = UUID.randomUUID().toString().substring(0, 8);
+        return accountRepository.save(AccountEntity.builder()
+                .username("seller-" + suffix)
+                .email("seller-" + suffix + "@retrade.test")
+                .hashPassword("hash")
+                .secret(UUID.randomUUID().toString())
+                .enabled(true)
+                .joinInDate(LocalDateTime.now())
+                .balance(BigDecimal.ZERO)
+                .build());
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int index) throws Exception;
+    }
+}
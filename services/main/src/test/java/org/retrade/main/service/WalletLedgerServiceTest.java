@@ -0,0 +1,128 @@
+package org.retrade.main.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.retrade.common.model.exception.ActionFailedException;
+import org.retrade.common.model.exception.ValidationException;
+import org.retrade.main.config.common.WalletCheckpointConfig;
+import org.retrade.main.model.entity.AccountEntity;
+import org.retrade.main.model.entity.WalletTransactionEntity;
+import org.retrade.main.repository.jpa.AccountRepository;
+import org.retrade.main.repository.jpa.WalletBalanceCheckpointRepository;
+import org.retrade.main.repository.jpa.WalletTransactionRepository;
+import org.retrade.main.service.impl.WalletLedgerServiceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletLedgerServiceTest {
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private WalletTransactionRepository walletTransactionRepository;
+    @Mock
+    private WalletBalanceCheckpointRepository checkpointRepository;
+    @Mock
+    private WalletCheckpointConfig checkpointConfig;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private WalletLedgerServiceImpl walletLedgerService;
+
+    @Test
+    void credit_RecordsPositiveEntryWithBalanceAfter() {
+        var account = account("a1");
+        when(accountRepository.creditBalance("a1", new BigDecimal("1000"))).thenReturn(1);
+        when(accountRepository.findBalanceById("a1")).thenReturn(new BigDecimal("1500"));
+        when(walletTransactionRepository.save(any(WalletTransactionEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        walletLedgerService.credit(account, new BigDecimal("1000"), "Hoàn tiền");
+
+        var captor = ArgumentCaptor.forClass(WalletTransactionEntity.class);
+        verify(walletTransactionRepository).save(captor.capture());
+        assertSame(account, captor.getValue().getAccount());
+        assertEquals(0, new BigDecimal("1000").compareTo(captor.getValue().getAmount()));
+        assertEquals(0, new BigDecimal("1500").compareTo(captor.getValue().getBalanceAfter()));
+        assertEquals("Hoàn tiền", captor.getValue().getNote());
+        // Số dư chỉ được cộng bằng câu lệnh UPDATE, không ghi đè cả entity tài khoản
+        verify(accountRepository, never()).save(any(AccountEntity.class));
+    }
+
+    @Test
+    void credit_UnknownAccount_ThrowsValidationException() {
+        when(accountRepository.creditBalance("a1", new BigDecimal("1000"))).thenReturn(0);
+
+        assertThrows(ValidationException.class,
+                () -> walletLedgerService.credit(account("a1"), new BigDecimal("1000"), "Hoàn tiền"));
+
+        verify(walletTransactionRepository, never()).save(any(WalletTransactionEntity.class));
+    }
+
+    @Test
+    void credit_NonPositiveAmount_ThrowsValidationException() {
+        assertThrows(ValidationException.class,
+                () -> walletLedgerService.credit(account("a1"), BigDecimal.ZERO, "Hoàn tiền"));
+        verify(accountRepository, never()).creditBalance(anyString(), any());
+    }
+
+    @Test
+    void debit_InsufficientBalance_ThrowsValidationException() {
+        // Câu lệnh UPDATE có điều kiện balance >= :amount không cập nhật dòng nào khi thiếu số dư
+        when(accountRepository.debitBalance("a1", new BigDecimal("501"))).thenReturn(0);
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> walletLedgerService.debit(account("a1"), new BigDecimal("501"), "Rút tiền"));
+
+        assertEquals("Số dư không đủ", ex.getMessage());
+        verify(accountRepository, never()).findBalanceById(anyString());
+        verify(walletTransactionRepository, never()).save(any(WalletTransactionEntity.class));
+    }
+
+    @Test
+    void debit_RecordsNegativeEntryWithBalanceAfter() {
+        var account = account("a1");
+        when(accountRepository.debitBalance("a1", new BigDecimal("200"))).thenReturn(1);
+        when(accountRepository.findBalanceById("a1")).thenReturn(new BigDecimal("300"));
+        when(walletTransactionRepository.save(any(WalletTransactionEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        walletLedgerService.debit(account, new BigDecimal("200"), "Rút tiền");
+
+        var captor = ArgumentCaptor.forClass(WalletTransactionEntity.class);
+        verify(walletTransactionRepository).save(captor.capture());
+        assertEquals(0, new BigDecimal("-200").compareTo(captor.getValue().getAmount()));
+        assertEquals(0, new BigDecimal("300").compareTo(captor.getValue().getBalanceAfter()));
+        assertEquals(0, new BigDecimal("300").compareTo(account.getBalance()));
+        verify(accountRepository, never()).save(any(AccountEntity.class));
+    }
+
+    @Test
+    void debit_LedgerWriteFails_ThrowsActionFailedException() {
+        when(accountRepository.debitBalance("a1", new BigDecimal("200"))).thenReturn(1);
+        when(accountRepository.findBalanceById("a1")).thenReturn(new BigDecimal("300"));
+        when(walletTransactionRepository.save(any(WalletTransactionEntity.class)))
+                .thenThrow(new RuntimeException("DB error"));
+
+        // Lỗi ghi sổ phải ném ra ngoài để giao dịch hoàn tác cả phần trừ số dư
+        assertThrows(ActionFailedException.class,
+                () -> walletLedgerService.debit(account("a1"), new BigDecimal("200"), "Rút tiền"));
+    }
+
+    private AccountEntity account(String id) {
+        var account = new AccountEntity();
+        account.setId(id);
+        return account;
+    }
+}
@@ -16,8 +16,9 @@ public class S3Config {
     private final AWSConfigValue awsConfigValue;
     private final S3Client awsClient;
     private final S3AsyncClient s3AsyncClient;
+    private final StorageServiceConfig storageServiceConfig;
     @Bean
     public S3FileHandler fileHandler() {
-        return new S3FileHandler(awsClient, s3AsyncClient, awsConfigValue);
+        return new S3FileHandler(awsClient, s3AsyncClient, awsConfigValue, storageServiceConfig.getMedia().getUploadConcurrency());
     }
 }
@@ -1,9 +1,12 @@
 package org.retrade.storage.config;
 
 import lombok.RequiredArgsConstructor;
+import org.retrade.auth.config.TokenVerificationConfig;
+import org.retrade.auth.verifier.LocalTokenVerifier;
 import org.retrade.storage.security.CustomAuthenticationEntryPoint;
 import org.retrade.storage.security.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,6 +18,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableWebSecurity
+@ComponentScan(basePackageClasses = {TokenVerificationConfig.class, LocalTokenVerifier.class})
 @EnableMethodSecurity(securedEnabled = true, jsr250Enabled = true, prePostEnabled = true)
 @RequiredArgsConstructor
 public class SecurityConfig {
@@ -3,6 +3,9 @@ package org.retrade.storage.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @Data
 @Configuration
@@ -17,11 +20,21 @@ public class StorageServiceConfig {
         private String maxFileSize = "500MB";
         private String supportedFormats = "mp4,avi,mov,mkv,webm";
         private ProcessingConfig processing = new ProcessingConfig();
+        private ProgressConfig progress = new ProgressConfig();
 
         @Data
         public static class ProcessingConfig {
             private String chunkSize = "1MB";
             private String timeout = "300s";
+            private DataSize partSize = DataSize.ofMegabytes(5);
+            private int partRetries = 3;
+            private int uploadConcurrency = 8;
+        }
+
+        @Data
+        public static class ProgressConfig {
+            private Duration flushInterval = Duration.ofSeconds(5);
+            private int flushStep = 5;
         }
     }
 
@@ -31,6 +44,7 @@ public class StorageServiceConfig {
         private String supportedImageFormats = "jpg,jpeg,png,gif,webp,bmp";
         private String supportedVideoFormats = "mp4,avi,mov,mkv,webm";
         private String supportedAudioFormats = "mp3,wav,aac,ogg";
+        private int uploadConcurrency = 32;
         private ThumbnailConfig thumbnail = new ThumbnailConfig();
 
         @Data
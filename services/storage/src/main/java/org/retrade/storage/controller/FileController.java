@@ -5,14 +5,12 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.retrade.common.model.dto.response.ResponseObject;
-import org.retrade.provider.aws.model.S3FileResponse;
+import org.retrade.provider.aws.model.S3FileUploadResult;
 import org.retrade.storage.service.FileService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestPart;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -43,13 +41,35 @@ public class FileController {
     @Operation(summary = "Upload multiple files")
     public ResponseEntity<ResponseObject<Set<String>>> uploadBulkFiles(
             @Parameter(description = "Files to upload") @RequestPart("files") List<MultipartFile> files) {
-        var result = fileService.uploadBulkFile(files);
-        var links = result.stream().map(S3FileResponse::getFileUrl).collect(Collectors.toSet());
+        var results = fileService.uploadBulkFile(files);
+        var links = results.stream()
+                .filter(S3FileUploadResult::isSuccess)
+                .map(item -> item.getResponse().getFileUrl())
+                .collect(Collectors.toSet());
+        var failed = results.stream()
+                .filter(item -> !item.isSuccess())
+                .map(S3FileUploadResult::getFileName)
+                .toList();
         return ResponseEntity.ok(new ResponseObject.Builder<Set<String>>()
                 .success(true)
                 .code("SUCCESS")
                 .content(links)
-                .messages("Files uploaded successfully")
+                .messages(failed.isEmpty()
+                        ? "Files uploaded successfully"
+                        : String.format("Uploaded %d of %d files, failed: %s", links.size(), results.size(), String.join(", ", failed)))
+                .build());
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Release a reference to an uploaded file; the object is deleted once nothing references it. Admin only, since references are not tracked per owner")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ResponseObject<Void>> releaseFile(
+            @Parameter(description = "URL of the uploaded file") @RequestParam String url) {
+        fileService.release(url);
+        return ResponseEntity.ok(new ResponseObject.Builder<Void>()
+                .success(true)
+                .code("SUCCESS")
+                .messages("File released successfully")
                 .build());
     }
 }
@@ -6,7 +6,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.retrade.common.model.dto.response.ResponseObject;
 import org.retrade.storage.model.constant.StreamStatus;
+import org.retrade.storage.model.dto.VideoStreamProgressResponse;
 import org.retrade.storage.model.entity.VideoStreamEntity;
+import org.retrade.storage.service.VideoStreamProgressService;
 import org.retrade.storage.service.VideoStreamService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 public class VideoStreamController {
     
     private final VideoStreamService videoStreamService;
+    private final VideoStreamProgressService videoStreamProgressService;
     
     @PostMapping
     @Operation(summary = "Create a new video stream")
@@ -158,6 +161,21 @@ public class VideoStreamController {
                 .build());
     }
     
+    @GetMapping("{streamId}/progress")
+    @Operation(summary = "Get live upload progress of a video stream")
+    public ResponseEntity<ResponseObject<VideoStreamProgressResponse>> getStreamProgress(
+            @Parameter(description = "Stream ID") @PathVariable String streamId) {
+        
+        VideoStreamProgressResponse progress = videoStreamProgressService.getProgress(streamId);
+        
+        return ResponseEntity.ok(new ResponseObject.Builder<VideoStreamProgressResponse>()
+                .success(true)
+                .code("SUCCESS")
+                .content(progress)
+                .messages("Stream progress retrieved successfully")
+                .build());
+    }
+    
     @PatchMapping("{streamId}/progress")
     @Operation(summary = "Update video stream processing progress")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SELLER')")
@@ -1,22 +1,29 @@
 package org.retrade.storage.grpc;
 
+import com.google.protobuf.ByteString;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.retrade.proto.storage.*;
+import org.retrade.storage.config.StorageServiceConfig;
 import org.retrade.storage.model.constant.StreamStatus;
 import org.retrade.storage.model.entity.VideoStreamEntity;
+import org.retrade.storage.service.VideoStreamProgressService;
 import org.retrade.storage.service.VideoStreamService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.grpc.server.service.GrpcService;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.unit.DataSize;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @GrpcService
 @RequiredArgsConstructor
@@ -24,100 +31,173 @@ import java.util.concurrent.ConcurrentMap;
 public class StorageGrpcServiceImpl extends GrpcStorageServiceGrpc.GrpcStorageServiceImplBase {
     
     private final VideoStreamService videoStreamService;
+    private final VideoStreamProgressService videoStreamProgressService;
+    private final StorageServiceConfig storageServiceConfig;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
-    private final ConcurrentMap<String, ByteArrayOutputStream> activeStreams = new ConcurrentHashMap<>();
+    private ExecutorService ingestExecutor;
+
+    @PostConstruct
+    public void init() {
+        ingestExecutor = Executors.newFixedThreadPool(Math.max(1, storageServiceConfig.getVideo().getProcessing().getUploadConcurrency()),
+                new CustomizableThreadFactory("video-ingest-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ingestExecutor.shutdownNow();
+    }
     
     @Override
     public StreamObserver<StreamVideoRequest> streamVideo(StreamObserver<StreamVideoResponse> responseObserver) {
+        // Messages are pulled one at a time and only after the previous one has been written out, so a stream never
+        // holds more than one part buffer plus one chunk regardless of how fast the client sends.
+        var serverObserver = (ServerCallStreamObserver<StreamVideoResponse>) responseObserver;
+        serverObserver.disableAutoRequest();
+        int partSize = (int) storageServiceConfig.getVideo().getProcessing().getPartSize().toBytes();
+        long maxFileSize = DataSize.parse(storageServiceConfig.getVideo().getMaxFileSize()).toBytes();
+        serverObserver.request(1);
         return new StreamObserver<>() {
             private String streamId;
-            private VideoStreamEntity videoStream;
+            private byte[] buffer;
+            private int buffered;
+            private int nextPartNumber;
+            private long receivedBytes;
+            private boolean failed;
+            private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
             
             @Override
             public void onNext(StreamVideoRequest request) {
-                try {
+                pending = pending.thenRunAsync(() -> {
                     if (request.hasStreamInfo()) {
                         handleStreamInfo(request.getStreamInfo());
                     } else if (request.hasChunk()) {
                         handleVideoChunk(request.getChunk());
                     }
-                } catch (Exception e) {
-                    log.error("Error processing stream request: {}", e.getMessage(), e);
-                    responseObserver.onError(e);
-                }
+                }, ingestExecutor).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        fail(error, true);
+                    } else {
+                        serverObserver.request(1);
+                    }
+                });
             }
             
             @Override
             public void onError(Throwable t) {
-                log.error("Stream error for stream {}: {}", streamId, t.getMessage(), t);
-                if (streamId != null) {
-                    activeStreams.remove(streamId);
-                    if (videoStream != null) {
-                        videoStreamService.updateStreamStatus(streamId, StreamStatus.FAILED);
-                    }
-                }
+                pending = pending.whenCompleteAsync((ignored, error) -> fail(t, false), ingestExecutor);
             }
             
             @Override
             public void onCompleted() {
-                try {
-                    if (streamId != null && activeStreams.containsKey(streamId)) {
-                        ByteArrayOutputStream outputStream = activeStreams.remove(streamId);
-                        byte[] videoData = outputStream.toByteArray();
-                        
-                        videoStreamService.processVideoStream(streamId, new ByteArrayInputStream(videoData));
-                        
-                        StreamVideoResponse response = StreamVideoResponse.newBuilder()
-                                .setSuccess(true)
-                                .setMessage("Video stream processed successfully")
-                                .setStreamId(streamId)
-                                .setStatus(org.retrade.proto.storage.StreamStatus.COMPLETED)
-                                .build();
-                        
-                        responseObserver.onNext(response);
-                        responseObserver.onCompleted();
-                        
-                        log.info("Video stream completed successfully: {}", streamId);
+                pending = pending.thenRunAsync(this::complete, ingestExecutor)
+                        .whenComplete((ignored, error) -> {
+                            if (error != null) {
+                                fail(error, true);
+                            }
+                        });
+            }
+
+            private void complete() {
+                if (streamId == null) {
+                    throw new IllegalStateException("Stream not initialized");
+                }
+                VideoStreamEntity stream = videoStreamService.completeUpload(streamId, buffer, buffered);
+                videoStreamProgressService.finish(streamId);
+                buffer = null;
+
+                StreamVideoResponse response = StreamVideoResponse.newBuilder()
+                        .setSuccess(true)
+                        .setMessage("Video stream processed successfully")
+                        .setStreamId(streamId)
+                        .setStatus(org.retrade.proto.storage.StreamStatus.COMPLETED)
+                        .setCommittedBytes(stream.getFileSize() != null ? stream.getFileSize() : 0)
+                        .build();
+
+                responseObserver.onNext(response);
+                responseObserver.onCompleted();
+
+                log.info("Video stream completed successfully: {}", streamId);
+            }
+
+            private void fail(Throwable error, boolean notifyClient) {
+                if (failed) {
+                    return;
+                }
+                failed = true;
+                buffer = null;
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                log.error("Stream error for stream {}: {}", streamId, cause.getMessage(), cause);
+                if (streamId != null) {
+                    videoStreamProgressService.finish(streamId);
+                    try {
+                        videoStreamService.failUpload(streamId, cause.getMessage());
+                    } catch (Exception e) {
+                        log.warn("Failed to mark video stream {} as failed: {}", streamId, e.getMessage());
                     }
-                } catch (Exception e) {
-                    log.error("Error completing stream: {}", e.getMessage(), e);
-                    responseObserver.onError(e);
+                }
+                if (notifyClient) {
+                    responseObserver.onError(cause);
                 }
             }
             
             private void handleStreamInfo(VideoStreamInfo streamInfo) {
-                VideoStreamEntity entity = VideoStreamEntity.builder()
-                        .sourceService(streamInfo.getSourceService())
-                        .streamUrl(streamInfo.getStreamUrl())
-                        .title(streamInfo.getTitle())
-                        .description(streamInfo.getDescription())
-                        .status(mapStreamStatus(streamInfo.getStatus()))
-                        .durationSeconds(streamInfo.getDurationSeconds())
-                        .resolution(streamInfo.getResolution())
-                        .bitrate(streamInfo.getBitrate())
-                        .format(streamInfo.getFormat())
-                        .build();
-                
-                videoStream = videoStreamService.createVideoStream(entity);
+                if (streamId != null) {
+                    throw new IllegalStateException("Stream already initialized: " + streamId);
+                }
+                VideoStreamEntity videoStream;
+                if (!streamInfo.getStreamId().isEmpty()) {
+                    videoStream = videoStreamService.getVideoStreamById(streamInfo.getStreamId());
+                } else {
+                    VideoStreamEntity entity = VideoStreamEntity.builder()
+                            .sourceService(streamInfo.getSourceService())
+                            .streamUrl(streamInfo.getStreamUrl())
+                            .title(streamInfo.getTitle())
+                            .description(streamInfo.getDescription())
+                            .status(mapStreamStatus(streamInfo.getStatus()))
+                            .durationSeconds(streamInfo.getDurationSeconds())
+                            .resolution(streamInfo.getResolution())
+                            .bitrate(streamInfo.getBitrate())
+                            .format(streamInfo.getFormat())
+                            .totalBytes(streamInfo.getTotalBytes() > 0 ? streamInfo.getTotalBytes() : null)
+                            .build();
+                    videoStream = videoStreamService.createVideoStream(entity);
+                }
+
+                // A resumed stream continues after the last part S3 acknowledged; the client resends from committed_bytes.
+                videoStream = videoStreamService.beginUpload(videoStream.getId());
                 streamId = videoStream.getId();
-                activeStreams.put(streamId, new ByteArrayOutputStream());
+                buffer = new byte[partSize];
+                buffered = 0;
+                nextPartNumber = videoStream.getUploadedParts() + 1;
+                receivedBytes = videoStream.getUploadedBytes();
+                videoStreamProgressService.start(streamId, receivedBytes, videoStream.getTotalBytes());
                 
-                log.info("Created video stream: {} from service: {}", streamId, streamInfo.getSourceService());
+                log.info("Started video stream: {} from service: {} at {} bytes", streamId, streamInfo.getSourceService(), receivedBytes);
             }
             
-            private void handleVideoChunk(VideoStreamChunk chunk) throws IOException {
-                if (streamId == null || !activeStreams.containsKey(streamId)) {
+            private void handleVideoChunk(VideoStreamChunk chunk) {
+                if (streamId == null) {
                     throw new IllegalStateException("Stream not initialized");
                 }
-                
-                ByteArrayOutputStream outputStream = activeStreams.get(streamId);
-                outputStream.write(chunk.getData().toByteArray());
-                
-                int progress = chunk.getSequenceNumber() * 10;
-                if (progress <= 100) {
-                    videoStreamService.updateStreamProgress(streamId, progress);
+
+                ByteString data = chunk.getData();
+                receivedBytes += data.size();
+                if (receivedBytes > maxFileSize) {
+                    throw new IllegalStateException("Video stream exceeds the maximum size of " + maxFileSize + " bytes");
+                }
+                int offset = 0;
+                while (offset < data.size()) {
+                    int length = Math.min(partSize - buffered, data.size() - offset);
+                    data.copyTo(buffer, offset, buffered, length);
+                    buffered += length;
+                    offset += length;
+                    if (buffered == partSize) {
+                        videoStreamService.uploadPart(streamId, nextPartNumber++, buffer, buffered);
+                        buffered = 0;
+                    }
                 }
+                videoStreamProgressService.record(streamId, receivedBytes);
                 
                 log.debug("Received chunk {} for stream {}", chunk.getSequenceNumber(), streamId);
             }
@@ -209,6 +289,8 @@ public class StorageGrpcServiceImpl extends GrpcStorageServiceGrpc.GrpcStorageSe
                 .setFormat(entity.getFormat() != null ? entity.getFormat() : "")
                 .setCreatedAt(entity.getCreatedDate() != null ? entity.getCreatedDate().toLocalDateTime().format(DATE_FORMATTER) : "")
                 .setUpdatedAt(entity.getUpdatedDate() != null ? entity.getUpdatedDate().toLocalDateTime().format(DATE_FORMATTER) : "")
+                .setCommittedBytes(entity.getUploadedBytes() != null ? entity.getUploadedBytes() : 0)
+                .setTotalBytes(entity.getTotalBytes() != null ? entity.getTotalBytes() : 0)
                 .build();
     }
 
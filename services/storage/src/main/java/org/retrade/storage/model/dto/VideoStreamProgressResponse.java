@@ -0,0 +1,20 @@
+package org.retrade.storage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.retrade.storage.model.constant.StreamStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoStreamProgressResponse {
+
+    private String streamId;
+    private StreamStatus status;
+    private Long receivedBytes;
+    private Long totalBytes;
+    private Integer progress;
+}
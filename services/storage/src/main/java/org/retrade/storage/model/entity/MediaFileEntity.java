@@ -2,6 +2,8 @@ package org.retrade.storage.model.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.*;
 import org.retrade.common.model.entity.BaseSQLEntity;
 
@@ -11,6 +13,10 @@ import org.retrade.common.model.entity.BaseSQLEntity;
 @NoArgsConstructor
 @Builder
 @Entity(name = "media_files")
+@Table(name = "media_files", indexes = {
+        @Index(name = "idx_media_files_content_hash", columnList = "content_hash", unique = true),
+        @Index(name = "idx_media_files_file_url", columnList = "file_url")
+})
 public class MediaFileEntity extends BaseSQLEntity {
     
     @Column(name = "original_name", nullable = false, length = 255)
@@ -30,4 +36,10 @@ public class MediaFileEntity extends BaseSQLEntity {
     
     @Column(name = "download_count")
     private Long downloadCount;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "reference_count")
+    private Long referenceCount;
 }
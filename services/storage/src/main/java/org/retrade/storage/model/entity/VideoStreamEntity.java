@@ -43,6 +43,9 @@ public class VideoStreamEntity extends BaseSQLEntity {
     
     @Column(name = "file_size")
     private Long fileSize;
+
+    @Column(name = "total_bytes")
+    private Long totalBytes;
     
     @Column(name = "stored_file_url", columnDefinition = "TEXT")
     private String storedFileUrl;
@@ -58,4 +61,16 @@ public class VideoStreamEntity extends BaseSQLEntity {
     
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
+
+    @Column(name = "storage_key", length = 255)
+    private String storageKey;
+
+    @Column(name = "upload_id", columnDefinition = "TEXT")
+    private String uploadId;
+
+    @Column(name = "uploaded_parts")
+    private Integer uploadedParts;
+
+    @Column(name = "uploaded_bytes")
+    private Long uploadedBytes;
 }
@@ -2,8 +2,45 @@ package org.retrade.storage.repository;
 
 import org.retrade.common.repository.BaseJpaRepository;
 import org.retrade.storage.model.entity.MediaFileEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MediaFileRepository extends BaseJpaRepository<MediaFileEntity, String> {
+
+    Optional<MediaFileEntity> findByContentHash(String contentHash);
+
+    List<MediaFileEntity> findByContentHashIn(Collection<String> contentHashes);
+
+    Optional<MediaFileEntity> findFirstByFileUrl(String fileUrl);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE media_files m
+        SET m.referenceCount = COALESCE(m.referenceCount, 1) + :delta, m.updatedDate = CURRENT_TIMESTAMP
+        WHERE m.id = :id AND COALESCE(m.referenceCount, 1) > 0
+    """)
+    int incrementReferenceCount(@Param("id") String id, @Param("delta") long delta);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE media_files m
+        SET m.referenceCount = COALESCE(m.referenceCount, 1) - 1, m.updatedDate = CURRENT_TIMESTAMP
+        WHERE m.id = :id AND COALESCE(m.referenceCount, 1) > 0
+    """)
+    int decrementReferenceCount(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM media_files m WHERE m.id = :id AND m.referenceCount <= 0")
+    int deleteUnreferenced(@Param("id") String id);
 }
@@ -5,9 +5,11 @@ import org.retrade.storage.model.constant.StreamStatus;
 import org.retrade.storage.model.entity.VideoStreamEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface VideoStreamRepository extends BaseJpaRepository<VideoStreamEntity, String> {
@@ -23,4 +25,9 @@ public interface VideoStreamRepository extends BaseJpaRepository<VideoStreamEnti
     
     @Query("SELECT COUNT(v) FROM video_streams v WHERE v.sourceService = :sourceService")
     long countBySourceService(@Param("sourceService") String sourceService);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE video_streams v SET v.processingProgress = :progress, v.updatedDate = CURRENT_TIMESTAMP WHERE v.id = :id")
+    int updateProgress(@Param("id") String id, @Param("progress") Integer progress);
 }
@@ -1,14 +1,16 @@
 package org.retrade.storage.service;
 
 import org.retrade.provider.aws.model.S3FileResponse;
+import org.retrade.provider.aws.model.S3FileUploadResult;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.Set;
 
 public interface FileService {
 
     S3FileResponse upload(MultipartFile file);
 
-    Set<S3FileResponse> uploadBulkFile(List<MultipartFile> files);
+    List<S3FileUploadResult> uploadBulkFile(List<MultipartFile> files);
+
+    void release(String fileUrl);
 }
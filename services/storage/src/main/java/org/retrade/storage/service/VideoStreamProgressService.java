@@ -0,0 +1,14 @@
+package org.retrade.storage.service;
+
+import org.retrade.storage.model.dto.VideoStreamProgressResponse;
+
+public interface VideoStreamProgressService {
+
+    void start(String streamId, long receivedBytes, Long totalBytes);
+
+    void record(String streamId, long receivedBytes);
+
+    void finish(String streamId);
+
+    VideoStreamProgressResponse getProgress(String streamId);
+}
@@ -5,8 +5,6 @@ import org.retrade.storage.model.entity.VideoStreamEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.io.InputStream;
-
 public interface VideoStreamService {
     
     VideoStreamEntity createVideoStream(VideoStreamEntity videoStream);
@@ -24,7 +22,13 @@ public interface VideoStreamService {
     
     Page<VideoStreamEntity> getVideoStreamsByOwnerId(String ownerId, Pageable pageable);
 
-    void processVideoStream(String streamId, InputStream videoData);
+    VideoStreamEntity beginUpload(String streamId);
+
+    VideoStreamEntity uploadPart(String streamId, int partNumber, byte[] data, int length);
+
+    VideoStreamEntity completeUpload(String streamId, byte[] lastPart, int length);
+
+    void failUpload(String streamId, String errorMessage);
     
     void updateStreamStatus(String streamId, StreamStatus status);
     
@@ -5,16 +5,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.retrade.common.model.exception.ValidationException;
 import org.retrade.provider.aws.model.S3FileRequest;
 import org.retrade.provider.aws.model.S3FileResponse;
+import org.retrade.provider.aws.model.S3FileUploadResult;
 import org.retrade.provider.aws.s3.S3FileHandler;
 import org.retrade.provider.aws.util.FileUtils;
 import org.retrade.storage.model.entity.MediaFileEntity;
 import org.retrade.storage.repository.MediaFileRepository;
 import org.retrade.storage.service.FileService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
-import java.util.Set;
+import java.io.IOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,17 +36,23 @@ public class FileServiceImpl implements FileService {
         }
 
         try {
-            if (!FileUtils.verifyFile(file.getBytes())) {
+            var content = readContent(file);
+            if (!FileUtils.verifyFile(content.bytes())) {
                 throw new ValidationException("Invalid file type. Only images (JPEG, PNG, WebP) and PDF files are allowed");
             }
 
+            var existing = reuseExisting(content.contentHash(), 1);
+            if (existing.isPresent()) {
+                log.info("Reused stored media file for content hash {}", content.contentHash());
+                return existing.get();
+            }
+
             String fileName = FileUtils.generateFileName(file.getOriginalFilename());
             var result = s3FileHandler.upload(S3FileRequest.builder()
-                    .file(file.getBytes())
+                    .file(content.bytes())
                     .fileName(fileName)
                     .build());
-            saveMediaFile(result);
-            return result;
+            return saveMediaFile(result, content.contentHash(), 1);
         } catch (ValidationException e) {
             throw e;
         } catch (Exception e) {
@@ -50,34 +61,69 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
-    public Set<S3FileResponse> uploadBulkFile(List<MultipartFile> files) {
+    public List<S3FileUploadResult> uploadBulkFile(List<MultipartFile> files) {
         if (files == null || files.isEmpty()) {
             throw new ValidationException("Files list cannot be empty");
         }
         try {
-            var fileMapper = files.stream()
+            var contents = files.stream()
                     .map(file -> {
                         if (file == null || file.isEmpty()) {
                             throw new ValidationException("One or more files are empty");
                         }
                         try {
-                            if (!FileUtils.verifyFile(file.getBytes())) {
+                            var content = readContent(file);
+                            if (!FileUtils.verifyFile(content.bytes())) {
                                 throw new ValidationException("Invalid file type in bulk upload. Only images (JPEG, PNG, WebP) and PDF files are allowed");
                             }
-
-                            String fileName = FileUtils.generateFileName(file.getOriginalFilename());
-                            return S3FileRequest.builder()
-                                    .file(file.getBytes())
-                                    .fileName(fileName)
-                                    .build();
+                            return content;
+                        } catch (ValidationException e) {
+                            throw e;
                         } catch (Exception e) {
                             throw new ValidationException("Failed to process file: " + file.getOriginalFilename() + ". " + e.getMessage());
                         }
                     })
-                    .collect(Collectors.toList());
-            var fileS3Response =  s3FileHandler.uploadBulkFile(fileMapper);
-            saveMediaFile(fileS3Response);
-            return fileS3Response;
+                    .toList();
+
+            Map<String, Long> occurrences = contents.stream()
+                    .collect(Collectors.groupingBy(FileContent::contentHash, LinkedHashMap::new, Collectors.counting()));
+            Map<String, S3FileUploadResult> resultByHash = new HashMap<>();
+            mediaFileRepository.findByContentHashIn(occurrences.keySet()).forEach(media -> {
+                if (mediaFileRepository.incrementReferenceCount(media.getId(), occurrences.get(media.getContentHash())) > 0) {
+                    resultByHash.put(media.getContentHash(), toUploadResult(toResponse(media)));
+                }
+            });
+
+            Map<String, FileContent> pending = new LinkedHashMap<>();
+            contents.stream()
+                    .filter(content -> !resultByHash.containsKey(content.contentHash()))
+                    .forEach(content -> pending.putIfAbsent(content.contentHash(), content));
+            var requests = pending.values().stream()
+                    .map(content -> S3FileRequest.builder()
+                            .file(content.bytes())
+                            .fileName(FileUtils.generateFileName(content.originalName()))
+                            .build())
+                    .toList();
+            var hashes = List.copyOf(pending.keySet());
+            var uploadResults = requests.isEmpty() ? List.<S3FileUploadResult>of() : s3FileHandler.uploadBulkFile(requests);
+            for (int i = 0; i < uploadResults.size(); i++) {
+                var result = uploadResults.get(i);
+                var hash = hashes.get(i);
+                if (!result.isSuccess()) {
+                    log.warn("Failed to upload file {}: {}", result.getFileName(), result.getError());
+                    resultByHash.put(hash, result);
+                    continue;
+                }
+                resultByHash.put(hash, toUploadResult(saveMediaFile(result.getResponse(), hash, occurrences.get(hash))));
+            }
+
+            var results = contents.stream()
+                    .map(content -> resultByHash.get(content.contentHash()))
+                    .toList();
+            if (results.stream().noneMatch(S3FileUploadResult::isSuccess)) {
+                throw new ValidationException("Failed to upload files: " + results.getFirst().getError());
+            }
+            return results;
         } catch (ValidationException e) {
             throw e;
         } catch (Exception e) {
@@ -85,28 +131,30 @@ public class FileServiceImpl implements FileService {
         }
     }
 
-    private void saveMediaFile(Set<S3FileResponse> fileUploadResponse) {
-        if (fileUploadResponse == null) {
-            throw new ValidationException("File upload response cannot be null");
+    @Override
+    public void release(String fileUrl) {
+        if (fileUrl == null || fileUrl.isBlank()) {
+            throw new ValidationException("File URL is required");
         }
-
-        var mediaFiles = fileUploadResponse.stream().map(item -> MediaFileEntity.builder()
-                .originalName(item.getFileName())
-                .storedName(item.getFileName())
-                .fileUrl(item.getFileUrl())
-                .fileSize((long) item.getFile().length)
-                .isPublic(true)
-                .downloadCount(0L)
-                .build()).collect(Collectors.toSet());
-
-        try {
-            mediaFileRepository.saveAllAndFlush(mediaFiles);
-        } catch (Exception e) {
-            throw new ValidationException("Failed to save media file to database: " + e.getMessage());
+        var media = mediaFileRepository.findFirstByFileUrl(fileUrl)
+                .orElseThrow(() -> new ValidationException("File not found: " + fileUrl));
+        if (mediaFileRepository.decrementReferenceCount(media.getId()) == 0) {
+            return;
         }
+        // The row only goes away once no upload references it; a concurrent re-upload that bumped the count keeps it.
+        if (mediaFileRepository.deleteUnreferenced(media.getId()) > 0) {
+            deleteObjectQuietly(media.getStoredName());
+            log.info("Deleted unreferenced media file {}", media.getStoredName());
+        }
+    }
+
+    private Optional<S3FileResponse> reuseExisting(String contentHash, long references) {
+        return mediaFileRepository.findByContentHash(contentHash)
+                .filter(media -> mediaFileRepository.incrementReferenceCount(media.getId(), references) > 0)
+                .map(this::toResponse);
     }
 
-    private void saveMediaFile(S3FileResponse fileUploadResponse) {
+    private S3FileResponse saveMediaFile(S3FileResponse fileUploadResponse, String contentHash, long references) {
         if (fileUploadResponse == null) {
             throw new ValidationException("File upload response cannot be null");
         }
@@ -118,13 +166,59 @@ public class FileServiceImpl implements FileService {
                     .fileSize((long) fileUploadResponse.getFile().length)
                     .isPublic(true)
                     .downloadCount(0L)
+                    .contentHash(contentHash)
+                    .referenceCount(references)
                     .build();
-            MediaFileEntity savedEntity = mediaFileRepository.save(mediaFile);
+            MediaFileEntity savedEntity = mediaFileRepository.saveAndFlush(mediaFile);
             log.info("Saved media file to database: {} with ID: {}", mediaFile.getOriginalName(), savedEntity.getId());
-
+            return fileUploadResponse;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent upload of the same content registered first; keep its object and drop the one just written.
+            var existing = reuseExisting(contentHash, references)
+                    .orElseThrow(() -> new ValidationException("Failed to save media file to database: " + e.getMessage()));
+            deleteObjectQuietly(fileUploadResponse.getFileName());
+            return existing;
         } catch (Exception e) {
             log.error("Failed to save media file to database: {}", fileUploadResponse.getFileName(), e);
             throw new ValidationException("Failed to save media file to database: " + e.getMessage());
         }
     }
+
+    private void deleteObjectQuietly(String fileName) {
+        try {
+            s3FileHandler.delete(fileName);
+        } catch (Exception e) {
+            log.warn("Failed to delete stored object {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    private S3FileResponse toResponse(MediaFileEntity media) {
+        return S3FileResponse.builder()
+                .fileName(media.getStoredName())
+                .fileUrl(media.getFileUrl())
+                .build();
+    }
+
+    private S3FileUploadResult toUploadResult(S3FileResponse response) {
+        return S3FileUploadResult.builder()
+                .fileName(response.getFileName())
+                .response(response)
+                .build();
+    }
+
+    private FileContent readContent(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (var input = new DigestInputStream(file.getInputStream(), digest)) {
+            byte[] bytes = input.readAllBytes();
+            return new FileContent(file.getOriginalFilename(), bytes, HexFormat.of().formatHex(digest.digest()));
+        }
+    }
+
+    private record FileContent(String originalName, byte[] bytes, String contentHash) {
+    }
 }
@@ -0,0 +1,108 @@
+package org.retrade.storage.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.retrade.common.model.exception.ValidationException;
+import org.retrade.storage.config.StorageServiceConfig;
+import org.retrade.storage.model.constant.StreamStatus;
+import org.retrade.storage.model.dto.VideoStreamProgressResponse;
+import org.retrade.storage.repository.VideoStreamRepository;
+import org.retrade.storage.service.VideoStreamProgressService;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VideoStreamProgressServiceImpl implements VideoStreamProgressService {
+
+    private final VideoStreamRepository videoStreamRepository;
+    private final StorageServiceConfig storageServiceConfig;
+    private final ConcurrentMap<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    @Override
+    public void start(String streamId, long receivedBytes, Long totalBytes) {
+        var tracker = new Tracker(totalBytes != null && totalBytes > 0 ? totalBytes : null);
+        tracker.receivedBytes = receivedBytes;
+        tracker.flushedProgress = tracker.progress();
+        tracker.flushedAt = System.currentTimeMillis();
+        trackers.put(streamId, tracker);
+    }
+
+    @Override
+    public void record(String streamId, long receivedBytes) {
+        var tracker = trackers.get(streamId);
+        if (tracker == null) {
+            return;
+        }
+        tracker.receivedBytes = receivedBytes;
+        Integer progress = tracker.progress();
+        if (progress == null || progress.equals(tracker.flushedProgress)) {
+            return;
+        }
+        var progressConfig = storageServiceConfig.getVideo().getProgress();
+        long now = System.currentTimeMillis();
+        int flushedProgress = tracker.flushedProgress != null ? tracker.flushedProgress : 0;
+        // Persist only on a percentage step or after the flush interval so large uploads do not write per chunk.
+        if (progress - flushedProgress < progressConfig.getFlushStep()
+                && now - tracker.flushedAt < progressConfig.getFlushInterval().toMillis()) {
+            return;
+        }
+        tracker.flushedProgress = progress;
+        tracker.flushedAt = now;
+        try {
+            videoStreamRepository.updateProgress(streamId, progress);
+        } catch (Exception e) {
+            log.warn("Failed to persist progress for video stream {}: {}", streamId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void finish(String streamId) {
+        trackers.remove(streamId);
+    }
+
+    @Override
+    public VideoStreamProgressResponse getProgress(String streamId) {
+        var tracker = trackers.get(streamId);
+        if (tracker != null) {
+            return VideoStreamProgressResponse.builder()
+                    .streamId(streamId)
+                    .status(StreamStatus.PROCESSING)
+                    .receivedBytes(tracker.receivedBytes)
+                    .totalBytes(tracker.totalBytes)
+                    .progress(tracker.progress())
+                    .build();
+        }
+        var stream = videoStreamRepository.findById(streamId)
+                .orElseThrow(() -> new ValidationException("Video stream not found with ID: " + streamId));
+        return VideoStreamProgressResponse.builder()
+                .streamId(streamId)
+                .status(stream.getStatus())
+                .receivedBytes(stream.getStatus() == StreamStatus.COMPLETED ? stream.getFileSize() : stream.getUploadedBytes())
+                .totalBytes(stream.getTotalBytes())
+                .progress(stream.getProcessingProgress())
+                .build();
+    }
+
+    private static final class Tracker {
+        private final Long totalBytes;
+        private volatile long receivedBytes;
+        private volatile Integer flushedProgress;
+        private volatile long flushedAt;
+
+        private Tracker(Long totalBytes) {
+            this.totalBytes = totalBytes;
+        }
+
+        private Integer progress() {
+            if (totalBytes == null) {
+                return null;
+            }
+            // 100 is reserved for the completed upload.
+            return (int) Math.min(99, receivedBytes * 100 / totalBytes);
+        }
+    }
+}
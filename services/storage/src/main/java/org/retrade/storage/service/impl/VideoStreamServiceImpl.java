@@ -3,10 +3,10 @@ package org.retrade.storage.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.retrade.common.model.exception.ValidationException;
-import org.retrade.provider.aws.model.S3FileRequest;
 import org.retrade.provider.aws.model.S3FileResponse;
 import org.retrade.provider.aws.s3.S3FileHandler;
 import org.retrade.provider.aws.util.FileUtils;
+import org.retrade.storage.config.StorageServiceConfig;
 import org.retrade.storage.model.constant.StreamStatus;
 import org.retrade.storage.model.entity.VideoStreamEntity;
 import org.retrade.storage.repository.VideoStreamRepository;
@@ -15,9 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
-import java.io.IOException;
-import java.io.InputStream;
+import software.amazon.awssdk.services.s3.model.Part;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +24,7 @@ public class VideoStreamServiceImpl implements VideoStreamService {
     
     private final VideoStreamRepository videoStreamRepository;
     private final S3FileHandler s3FileHandler;
+    private final StorageServiceConfig storageServiceConfig;
     
     @Override
     @Transactional
@@ -128,36 +127,97 @@ public class VideoStreamServiceImpl implements VideoStreamService {
     }
     
     @Override
-    @Transactional
-    public void processVideoStream(String streamId, InputStream videoData) {
+    public VideoStreamEntity beginUpload(String streamId) {
         VideoStreamEntity stream = getVideoStreamById(streamId);
-        
-        try {
-            stream.setStatus(StreamStatus.PROCESSING);
-            videoStreamRepository.save(stream);
-            
-            byte[] data = videoData.readAllBytes();
-            String fileName = FileUtils.generateFileName(stream.getTitle() + ".mp4");
-            
-            S3FileResponse response = s3FileHandler.upload(S3FileRequest.builder()
-                    .file(data)
-                    .fileName(fileName)
-                    .build());
-            
-            stream.setStoredFileUrl(response.getFileUrl());
-            stream.setFileSize((long) data.length);
-            stream.setStatus(StreamStatus.COMPLETED);
-            stream.setProcessingProgress(100);
-            
-            log.info("Video stream processed successfully: {}", streamId);
-            videoStreamRepository.save(stream);
-            
-        } catch (IOException e) {
-            stream.setStatus(StreamStatus.FAILED);
-            stream.setErrorMessage("Failed to process video: " + e.getMessage());
-            videoStreamRepository.save(stream);
-            throw new ValidationException("Failed to process video stream: " + e.getMessage());
+        if (stream.getStatus() == StreamStatus.COMPLETED) {
+            throw new ValidationException("Video stream already completed: " + streamId);
+        }
+
+        if (stream.getUploadId() == null) {
+            String storageKey = FileUtils.generateFileName(stream.getTitle() + ".mp4");
+            stream.setStorageKey(storageKey);
+            stream.setUploadId(s3FileHandler.createMultipartUpload(storageKey, "video/mp4"));
+            stream.setUploadedParts(0);
+            stream.setUploadedBytes(0L);
+        } else {
+            // Only the leading run of parts that actually reached S3 counts towards the resume offset.
+            int parts = 0;
+            long bytes = 0;
+            for (Part part : s3FileHandler.listParts(stream.getStorageKey(), stream.getUploadId())) {
+                if (part.partNumber() != parts + 1) {
+                    break;
+                }
+                parts++;
+                bytes += part.size();
+            }
+            stream.setUploadedParts(parts);
+            stream.setUploadedBytes(bytes);
+            log.info("Resuming video stream {} from part {} ({} bytes)", streamId, parts + 1, bytes);
         }
+
+        stream.setStatus(StreamStatus.PROCESSING);
+        stream.setErrorMessage(null);
+        return videoStreamRepository.save(stream);
+    }
+
+    @Override
+    public VideoStreamEntity uploadPart(String streamId, int partNumber, byte[] data, int length) {
+        VideoStreamEntity stream = getVideoStreamById(streamId);
+        if (stream.getUploadId() == null) {
+            throw new ValidationException("Upload has not been started for video stream: " + streamId);
+        }
+
+        int attempts = Math.max(1, storageServiceConfig.getVideo().getProcessing().getPartRetries());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                s3FileHandler.uploadPart(stream.getStorageKey(), stream.getUploadId(), partNumber, data, length);
+                break;
+            } catch (IllegalArgumentException e) {
+                if (attempt >= attempts) {
+                    throw new ValidationException("Failed to upload part " + partNumber + " of video stream " + streamId + ": " + e.getMessage());
+                }
+                log.warn("Retrying part {} of video stream {} after attempt {} failed: {}", partNumber, streamId, attempt, e.getMessage());
+            }
+        }
+
+        stream.setUploadedParts(partNumber);
+        stream.setUploadedBytes((stream.getUploadedBytes() != null ? stream.getUploadedBytes() : 0L) + length);
+        return videoStreamRepository.save(stream);
+    }
+
+    @Override
+    public VideoStreamEntity completeUpload(String streamId, byte[] lastPart, int length) {
+        VideoStreamEntity stream = getVideoStreamById(streamId);
+        if (stream.getUploadId() == null) {
+            throw new ValidationException("Upload has not been started for video stream: " + streamId);
+        }
+        int uploadedParts = stream.getUploadedParts() != null ? stream.getUploadedParts() : 0;
+        if (length > 0) {
+            stream = uploadPart(streamId, uploadedParts + 1, lastPart, length);
+        } else if (uploadedParts == 0) {
+            throw new ValidationException("Video stream has no data: " + streamId);
+        }
+
+        S3FileResponse response = s3FileHandler.completeMultipartUpload(stream.getStorageKey(), stream.getUploadId());
+
+        stream.setStoredFileUrl(response.getFileUrl());
+        stream.setFileSize(stream.getUploadedBytes());
+        stream.setUploadId(null);
+        stream.setStatus(StreamStatus.COMPLETED);
+        stream.setProcessingProgress(100);
+
+        log.info("Video stream processed successfully: {}", streamId);
+        return videoStreamRepository.save(stream);
+    }
+
+    @Override
+    public void failUpload(String streamId, String errorMessage) {
+        VideoStreamEntity stream = getVideoStreamById(streamId);
+        stream.setStatus(StreamStatus.FAILED);
+        stream.setErrorMessage("Failed to process video: " + errorMessage);
+
+        log.info("Video stream {} failed after {} bytes", streamId, stream.getUploadedBytes());
+        videoStreamRepository.save(stream);
     }
     
     @Override
@@ -183,6 +243,9 @@ public class VideoStreamServiceImpl implements VideoStreamService {
     @Transactional
     public void deleteVideoStream(String streamId) {
         VideoStreamEntity stream = getVideoStreamById(streamId);
+        if (stream.getUploadId() != null) {
+            s3FileHandler.abortMultipartUpload(stream.getStorageKey(), stream.getUploadId());
+        }
         
         log.info("Deleting video stream: {}", streamId);
         videoStreamRepository.delete(stream);